@@ -26,7 +26,7 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,32 +38,34 @@ import java.util.concurrent.ConcurrentHashMap;
  * request parameters, request attributes, session attributes, and action results—into a
  * single, convenient view.
  *
- * <p>It employs a lazy-loading strategy: when a key is accessed, if it's not already
- * present in the map, {@code ActivityData} attempts to resolve it from the underlying
- * {@code Activity}'s data sources in a predefined order. This makes it an efficient
- * data container, especially for use as a data model for views (e.g., in a web MVC context),
- * where templates can seamlessly access any piece of data from the current request lifecycle
+ * <p>It is a lazy, layered view: values explicitly stored in this map take precedence,
+ * and any other key is resolved on demand against the underlying {@code Activity}'s data
+ * sources in a predefined order. Nothing is copied or enumerated up front; the names of
+ * all data sources are only collected when this map is iterated. Resolved values are
+ * never cached, so changes to the data sources are always visible. Only the keys that
+ * could not be resolved are remembered, until the activity hands out this map again
+ * and {@link #refresh()} forgets them. This makes it an efficient data container,
+ * especially for use as a data model for views (e.g., in a web MVC context), where
+ * templates can seamlessly access any piece of data from the current request lifecycle
  * without needing to know its specific origin.</p>
  *
- * <p>This class is primarily designed for use in a single thread only and is not thread-safe.</p>
+ * <p>Values stored explicitly are kept in the concurrent map itself so that they can be
+ * safely added from asynchronous tasks that share the activity.</p>
  */
 public class ActivityData extends ConcurrentHashMap<String, Object> {
 
     @Serial
     private static final long serialVersionUID = -4557424414862800204L;
 
-    /**
-     * Placeholder marker indicating that a value was preemptively cached as absent.
-     * Used internally to avoid repeated lookups for missing entries.
-     */
-    private static final Object PREEMPTED = new Object();
-
     /**
      * The backing activity used to lazily resolve parameters, attributes,
      * session attributes, and action results.
      */
     private final Activity activity;
 
+    /** Names that none of the data sources could resolve since the last refresh. */
+    private final Set<String> missingNames = ConcurrentHashMap.newKeySet();
+
     /**
      * Creates a new ActivityData instance.
      * @param activity the activity associated with this data
@@ -71,54 +73,44 @@ public class ActivityData extends ConcurrentHashMap<String, Object> {
     ActivityData(Activity activity) {
         super();
         this.activity = activity;
-        refresh();
     }
 
     /**
-     * Returns the value to which the specified key is mapped, performing a lazy lookup
-     * from action results, request attributes/parameters, and session attributes if not
-     * already cached in this map. Successfully resolved values are cached for subsequent
-     * access; missing values are marked to avoid repeated lookups.
+     * Forgets the names that could not be resolved, so that they are looked up
+     * again on the next access. Explicitly stored values are kept.
+     */
+    public void refresh() {
+        missingNames.clear();
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped. Values explicitly stored
+     * in this map are returned first; otherwise the value is looked up from action results,
+     * request attributes/parameters, and session attributes. A key that cannot be resolved
+     * is not looked up again until this map is refreshed.
      * <p>The lookup order is: action results, request attributes, request parameters, session attributes.</p>
      * @param key the key whose associated value is to be returned
      * @return the mapped value, or {@code null} if none
      */
     @Override
     public Object get(Object key) {
-        Object value = super.get(key);
-        if (value != null && !value.equals(PREEMPTED)) {
-            return value;
-        }
         if (key == null) {
             return null;
         }
-
-        String name = key.toString();
-        value = getActionResultWithoutCache(name);
-        if (value != null) {
-            preempt(name, value);
-            return value;
-        }
-
-        value = getAttributeWithoutCache(name);
+        Object value = super.get(key);
         if (value != null) {
-            preempt(name, value);
             return value;
         }
 
-        value = getParameterWithoutCache(name);
-        if (value != null) {
-            preempt(name, value);
-            return value;
+        String name = key.toString();
+        if (missingNames.contains(name)) {
+            return null;
         }
-
-        value = getSessionAttributeWithoutCache(name);
-        if (value != null) {
-            preempt(name, value);
-            return value;
+        value = resolve(name);
+        if (value == null) {
+            missingNames.add(name);
         }
-
-        return null;
+        return value;
     }
 
     /**
@@ -126,7 +118,7 @@ public class ActivityData extends ConcurrentHashMap<String, Object> {
      * Prevents storing this map instance itself as a value to avoid self-references.
      * @param key key with which the specified value is to be associated
      * @param value value to be associated with the specified key
-     * @return the previous value associated with key, or {@code null} if there was no mapping
+     * @return the previous value explicitly associated with key, or {@code null} if there was none
      * @throws IllegalArgumentException if {@code value} is this map instance
      */
     @Override
@@ -138,48 +130,104 @@ public class ActivityData extends ConcurrentHashMap<String, Object> {
     }
 
     /**
-     * Returns {@code true} if this map contains a mapping for the specified key.
-     * This method triggers lazy resolution for preempted keys if necessary.
+     * Removes the value explicitly stored for the specified key.
+     * Values provided by the underlying data sources are not affected.
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value explicitly associated with key, or {@code null} if there was none
+     */
+    @Override
+    public Object remove(Object key) {
+        return (key != null ? super.remove(key) : null);
+    }
+
+    /**
+     * Removes all values explicitly stored in this map and forgets the names
+     * that could not be resolved.
+     * Values provided by the underlying data sources are not affected.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        missingNames.clear();
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified key,
+     * either explicitly stored or resolvable from the underlying data sources.
      * @param key key whose presence in this map is to be tested
      * @return {@code true} if this map contains a mapping for the specified key
      */
     @Override
     public boolean containsKey(Object key) {
-        return (super.get(key) != null);
+        return (get(key) != null);
+    }
+
+    /**
+     * Returns the number of mappings visible through this map.
+     * The names of all data sources are enumerated, but no entries are created.
+     * @return the number of mappings in this map
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (String name : collectNames()) {
+            if (isVisible(name)) {
+                size++;
+            }
+        }
+        return size;
     }
 
     /**
-     * Returns a Collection view of the values contained in this map.
-     * Values are resolved lazily for preempted entries upon access.
-     * @return a collection view of the values contained in this map
+     * Returns {@code true} if no mapping is visible through this map.
+     * Stops at the first name that resolves to a value.
+     * @return {@code true} if this map contains no mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        if (!super.isEmpty()) {
+            return false;
+        }
+        for (String name : collectNames()) {
+            if (isVisible(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a snapshot of the values visible through this map,
+     * resolved with the same precedence as {@link #get(Object)}.
+     * @return a collection of the values contained in this map
      */
     @Override
     @NonNull
     public Collection<Object> values() {
-        List<Object> list = new ArrayList<>(size());
-        for (String name : keySet()) {
-            list.add(get(name));
+        List<Object> list = new ArrayList<>();
+        for (String name : collectNames()) {
+            Object value = get(name);
+            if (value != null && value != this) {
+                list.add(value);
+            }
         }
         return list;
     }
 
     /**
-     * Returns a Set view of the mappings contained in this map.
-     * Preempted entries are resolved on access so that callers see actual values
-     * instead of internal placeholders.
-     * @return a set view of the mappings contained in this map
+     * Returns a snapshot of the mappings visible through this map.
+     * The names of all data sources are enumerated only when this method is called,
+     * and each value is resolved with the same precedence as {@link #get(Object)}.
+     * @return a set of the mappings contained in this map
      */
     @Override
     @NonNull
     public Set<Map.Entry<String, Object>> entrySet() {
-        Set<Map.Entry<String, Object>> set = new HashSet<>();
-        for (Map.Entry<String, Object> entry : super.entrySet()) {
-            if (entry.getValue() == PREEMPTED) {
-                String key = entry.getKey();
-                Object value = get(key);
-                set.add(new AbstractMap.SimpleEntry<>(key, value));
-            } else {
-                set.add(entry);
+        Set<Map.Entry<String, Object>> set = new LinkedHashSet<>();
+        for (String name : collectNames()) {
+            Object value = get(name);
+            if (value != null && value != this) {
+                set.add(new AbstractMap.SimpleEntry<>(name, value));
             }
         }
         return set;
@@ -259,64 +307,71 @@ public class ActivityData extends ConcurrentHashMap<String, Object> {
     }
 
     /**
-     * Refreshes this map by preemptively marking all known parameter, attribute,
-     * session attribute, and action result names for lazy resolution. This avoids
-     * immediate value retrieval while guaranteeing that subsequent access will
-     * attempt to resolve from the underlying sources.
+     * Resolves the named value from the underlying data sources in the order of
+     * action results, request attributes, request parameters and session attributes.
+     * @param name the name of the value to resolve
+     * @return the resolved value, or {@code null} if none of the data sources has it
      */
-    public void refresh() {
-        if (activity.getRequestAdapter() != null) {
-            for (String name : activity.getRequestAdapter().getParameterNames()) {
-                preempt(name);
-            }
-            for (String name : activity.getRequestAdapter().getAttributeNames()) {
-                Object value = activity.getRequestAdapter().getAttribute(name);
-                if (this != value) {
-                    preempt(name);
-                }
-            }
+    private Object resolve(String name) {
+        Object value = getActionResultWithoutCache(name);
+        if (value != null) {
+            return value;
         }
-        if (activity.hasSessionAdapter()) {
-            SessionAdapter sessionAdapter = activity.getSessionAdapter();
-            Enumeration<String> enumer = sessionAdapter.getAttributeNames();
-            if (enumer != null) {
-                while (enumer.hasMoreElements()) {
-                    String name = enumer.nextElement();
-                    Object value = sessionAdapter.getAttribute(name);
-                    if (this != value) {
-                        preempt(name);
-                    }
-                }
-            }
+        value = getAttributeWithoutCache(name);
+        if (value != null) {
+            return value;
         }
-        if (activity.getProcessResult() != null) {
-            for (ContentResult cr : activity.getProcessResult()) {
-                for (ActionResult ar : cr) {
-                    if (ar.getActionId() != null && this != ar.getResultValue()) {
-                        preempt(ar.getActionId());
-                    }
-                }
-            }
+        value = getParameterWithoutCache(name);
+        if (value != null) {
+            return value;
         }
+        return getSessionAttributeWithoutCache(name);
     }
 
     /**
-     * Marks the given name as preempted, i.e., eligible for lazy resolution on first access.
-     * @param name the entry name to preempt
+     * Returns whether the named value is exposed when this map is iterated.
+     * @param name the name of the value
+     * @return {@code true} if the name resolves to a value other than this map
      */
-    private void preempt(String name) {
-        preempt(name, super.get(name));
+    private boolean isVisible(String name) {
+        Object value = get(name);
+        return (value != null && value != this);
     }
 
     /**
-     * Internal helper to mark a name as preempted only when a current mapping has no value.
-     * @param name the entry name
-     * @param value the current mapped value (may be {@code null})
+     * Collects the names of the explicitly stored values and of all entries in the
+     * underlying data sources.
+     * @return the set of all names visible through this map
      */
-    private void preempt(String name, Object value) {
-        if (value == null) {
-            put(name, PREEMPTED);
+    @NonNull
+    private Set<String> collectNames() {
+        Set<String> names = new LinkedHashSet<>();
+        // keys() walks the table directly, whereas keySet().size() would call back into size()
+        for (Enumeration<String> keys = keys(); keys.hasMoreElements(); ) {
+            names.add(keys.nextElement());
+        }
+        if (activity.getProcessResult() != null) {
+            for (ContentResult cr : activity.getProcessResult()) {
+                for (ActionResult ar : cr) {
+                    if (ar.getActionId() != null) {
+                        names.add(ar.getActionId());
+                    }
+                }
+            }
+        }
+        if (activity.getRequestAdapter() != null) {
+            names.addAll(activity.getRequestAdapter().getAttributeNames());
+            names.addAll(activity.getRequestAdapter().getParameterNames());
+        }
+        if (activity.hasSessionAdapter()) {
+            Enumeration<String> enumer = activity.getSessionAdapter().getAttributeNames();
+            if (enumer != null) {
+                while (enumer.hasMoreElements()) {
+                    names.add(enumer.nextElement());
+                }
+            }
         }
+        return names;
     }
 
 }
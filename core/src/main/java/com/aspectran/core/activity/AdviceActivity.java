@@ -25,9 +25,12 @@ import com.aspectran.core.activity.process.result.ContentResult;
 import com.aspectran.core.activity.process.result.ProcessResult;
 import com.aspectran.core.component.aspect.AdviceRulePostRegister;
 import com.aspectran.core.component.aspect.AdviceRuleRegistry;
+import com.aspectran.core.component.aspect.AspectRuleRegistry;
+import com.aspectran.core.component.aspect.TransletAspectPartition;
 import com.aspectran.core.component.aspect.pointcut.Pointcut;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.asel.token.TokenEvaluator;
+import com.aspectran.core.context.metrics.jfr.AdviceExecuteEvent;
 import com.aspectran.core.context.rule.AdviceRule;
 import com.aspectran.core.context.rule.AspectRule;
 import com.aspectran.core.context.rule.ExceptionRule;
@@ -77,6 +80,15 @@ public abstract class AdviceActivity extends AbstractActivity {
     /** Stores the results of advice executions. */
     private AdviceResult adviceResult;
 
+    /** Whether the time spent in advice actions is being measured. */
+    private boolean adviceTimed;
+
+    /** The nesting depth of advice actions being executed, used to avoid counting nested time twice. */
+    private int adviceDepth;
+
+    /** The accumulated time spent in advice actions, in nanoseconds. */
+    private long adviceTime;
+
     /**
      * Instantiates a new AdviceActivity.
      * @param context the activity context
@@ -117,23 +129,18 @@ public abstract class AdviceActivity extends AbstractActivity {
     /**
      * Prepares the {@link AdviceRuleRegistry} for the current translet execution.
      * This method identifies and registers aspect rules that are relevant to the given translet
-     * based on pointcut matching.
+     * based on pointcut matching. For translets whose request name varies at runtime, the
+     * aspect rules are pre-partitioned per translet so that only pointcuts depending on the
+     * concrete request name are evaluated.
      * @param transletRule the translet rule being executed
      * @param requestName the name of the current request
      */
     protected void prepareAdviceRules(@NonNull TransletRule transletRule, String requestName) {
         AdviceRuleRegistry adviceRuleRegistryToUse;
-        if (transletRule.hasPathVariables() || getActivityContext().getAspectRuleRegistry().hasNewAspectRules()) {
-            AdviceRulePostRegister postRegister = new AdviceRulePostRegister();
-            for (AspectRule aspectRule : getActivityContext().getAspectRuleRegistry().getAspectRules()) {
-                if (!aspectRule.isBeanRelevant()) {
-                    Pointcut pointcut = aspectRule.getPointcut();
-                    if (pointcut == null || pointcut.matches(requestName)) {
-                        postRegister.register(aspectRule);
-                    }
-                }
-            }
-            adviceRuleRegistryToUse = postRegister.getAdviceRuleRegistry();
+        AspectRuleRegistry aspectRuleRegistry = getActivityContext().getAspectRuleRegistry();
+        if (transletRule.hasPathVariables() || aspectRuleRegistry.hasNewAspectRules()) {
+            TransletAspectPartition partition = aspectRuleRegistry.retrieveTransletAspectPartition(transletRule);
+            adviceRuleRegistryToUse = partition.createAdviceRuleRegistry(requestName);
         } else {
             adviceRuleRegistryToUse = transletRule.replicateAdviceRuleRegistry();
         }
@@ -353,6 +360,9 @@ public abstract class AdviceActivity extends AbstractActivity {
 
             AdviceRule oldAdviceRule = currentAdviceRule;
             currentAdviceRule = adviceRule;
+            long startTime = (adviceTimed && adviceDepth++ == 0 ? System.nanoTime() : 0L);
+            AdviceExecuteEvent adviceEvent = new AdviceExecuteEvent();
+            adviceEvent.begin();
             try {
                 Object adviceBean = getAdviceBean(adviceRule.getAspectId());
                 if (adviceBean == null) {
@@ -389,10 +399,37 @@ public abstract class AdviceActivity extends AbstractActivity {
                 }
             } finally {
                 currentAdviceRule = oldAdviceRule;
+                if (adviceTimed && --adviceDepth == 0) {
+                    adviceTime += System.nanoTime() - startTime;
+                }
+                adviceEvent.end();
+                if (adviceEvent.shouldCommit()) {
+                    adviceEvent.aspectId = adviceRule.getAspectId();
+                    adviceEvent.adviceType = adviceRule.getAdviceType().toString();
+                    adviceEvent.action = action.toString();
+                    adviceEvent.commit();
+                }
             }
         }
     }
 
+    /**
+     * Starts measuring the time spent in advice actions from zero.
+     */
+    protected void startAdviceTiming() {
+        adviceTimed = true;
+        adviceDepth = 0;
+        adviceTime = 0L;
+    }
+
+    /**
+     * Returns the time spent in advice actions since {@link #startAdviceTiming()} was called.
+     * @return the accumulated advice time in nanoseconds
+     */
+    protected long getAdviceTime() {
+        return adviceTime;
+    }
+
     /**
      * Determines if an {@link AspectRule} is applicable to the current request by checking
      * its configured request methods and headers against the current request.
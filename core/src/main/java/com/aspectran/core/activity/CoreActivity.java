@@ -32,6 +32,7 @@ import com.aspectran.core.activity.response.ResponseException;
 import com.aspectran.core.component.bean.NoSuchBeanException;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.asel.token.Token;
+import com.aspectran.core.context.metrics.jfr.ActivityPerformEvent;
 import com.aspectran.core.context.rule.ChooseWhenRule;
 import com.aspectran.core.context.rule.ExceptionRule;
 import com.aspectran.core.context.rule.ExceptionThrownRule;
@@ -99,6 +100,17 @@ public class CoreActivity extends AdviceActivity {
 
     private boolean responded;
 
+    /** Whether the current activity, including its forwards, is being timed for metrics */
+    private boolean metricsEnabled;
+
+    private long metricsStartTime;
+
+    private String metricsTransletName;
+
+    private MethodType metricsRequestMethod;
+
+    private long responseTime;
+
     /**
      * Instantiates a new CoreActivity.
      * @param context the activity context
@@ -317,6 +329,28 @@ public class CoreActivity extends AdviceActivity {
         }
 
         V result = null;
+        boolean failed = false;
+        boolean timed = false;
+        if (!forwarding && translet != null && getActivityContext().getActivityMetricsRegistry().isEnabled()) {
+            metricsEnabled = true;
+            metricsStartTime = System.nanoTime();
+            metricsTransletName = getTransletRule().getName();
+            metricsRequestMethod = translet.getRequestMethod();
+            responseTime = 0L;
+            startAdviceTiming();
+            timed = true;
+        }
+        ActivityPerformEvent performEvent = null;
+        if (!forwarding && translet != null) {
+            performEvent = new ActivityPerformEvent();
+            if (performEvent.isEnabled()) {
+                performEvent.transletName = translet.getRequestName();
+                if (translet.getRequestMethod() != null) {
+                    performEvent.requestMethod = translet.getRequestMethod().name();
+                }
+            }
+            performEvent.begin();
+        }
         try {
             getActivityContext().getActivityCounter().increment();
 
@@ -343,7 +377,17 @@ public class CoreActivity extends AdviceActivity {
                         produce();
                     }
 
-                    ForwardRule forwardRule = response();
+                    ForwardRule forwardRule;
+                    if (metricsEnabled) {
+                        long responseStartTime = System.nanoTime();
+                        try {
+                            forwardRule = response();
+                        } finally {
+                            responseTime += System.nanoTime() - responseStartTime;
+                        }
+                    } else {
+                        forwardRule = response();
+                    }
                     if (forwardRule != null) {
                         if (forwarding) {
                             forward(forwardRule);
@@ -384,8 +428,10 @@ public class CoreActivity extends AdviceActivity {
                 setCurrentAdviceType(null);
             }
         } catch (ActivityTerminatedException e) {
+            // Termination is a deliberate end of the activity, not a failure
             throw e;
         } catch (Throwable e) {
+            failed = true;
             throw createActivityPerformException(e, instantAction);
         } finally {
             try {
@@ -394,11 +440,39 @@ public class CoreActivity extends AdviceActivity {
                 }
             } finally {
                 getActivityContext().getActivityCounter().decrement();
+                if (timed) {
+                    recordMetrics(failed);
+                }
+                if (performEvent != null) {
+                    commitPerformEvent(performEvent, failed);
+                }
             }
         }
         return result;
     }
 
+    /**
+     * Records the times taken by this activity in the activity metrics registry.
+     * Metrics are recorded against the translet that was originally requested,
+     * even if the request was forwarded to other translets.
+     * @param failed whether the activity ended with an unhandled exception
+     */
+    private void recordMetrics(boolean failed) {
+        long duration = System.nanoTime() - metricsStartTime;
+        metricsEnabled = false;
+        getActivityContext().getActivityMetricsRegistry().record(
+                metricsTransletName, metricsRequestMethod, duration, getAdviceTime(), responseTime,
+                failed || isExceptionRaised());
+    }
+
+    private void commitPerformEvent(@NonNull ActivityPerformEvent performEvent, boolean failed) {
+        performEvent.end();
+        if (performEvent.shouldCommit()) {
+            performEvent.failed = (failed || isExceptionRaised());
+            performEvent.commit();
+        }
+    }
+
     /**
      * Executes the main logic of the translet by processing its content sections.
      * <p>This method iterates through the {@code <content>} sections defined in the translet rule
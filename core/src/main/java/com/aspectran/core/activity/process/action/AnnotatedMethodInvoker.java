@@ -22,6 +22,7 @@ import com.aspectran.core.activity.request.ParameterMap;
 import com.aspectran.core.component.bean.NoUniqueBeanException;
 import com.aspectran.core.component.bean.annotation.Component;
 import com.aspectran.core.component.bean.annotation.Qualifier;
+import com.aspectran.core.component.bean.annotation.RequestBody;
 import com.aspectran.core.component.converter.TypeConversionException;
 import com.aspectran.core.component.converter.TypeConverter;
 import com.aspectran.core.component.converter.TypeConverterRegistry;
@@ -215,7 +216,12 @@ public abstract class AnnotatedMethodInvoker {
 
         if (result == Void.TYPE) {
             if (translet != null && !type.isAnnotationPresent(Component.class)) {
-                result = bindModel(activity, type);
+                if (isRequestBody(pbr.getAnnotations())) {
+                    result = translet.getRequestAdapter().getBodyAsObject(type);
+                }
+                if (result == null || result == Void.TYPE) {
+                    result = bindModel(activity, type);
+                }
             } else {
                 try {
                     result = activity.getBean(type);
@@ -227,6 +233,17 @@ public abstract class AnnotatedMethodInvoker {
         return (result != Void.TYPE ? result : null);
     }
 
+    private static boolean isRequestBody(Annotation[] annotations) {
+        if (annotations != null) {
+            for (Annotation anno : annotations) {
+                if (anno.annotationType() == RequestBody.class) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Creates an instance of the specified type and populates its properties from request parameters.
      * This is used for binding complex objects (models) from the request.
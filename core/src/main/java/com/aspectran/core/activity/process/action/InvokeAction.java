@@ -17,6 +17,7 @@ package com.aspectran.core.activity.process.action;
 
 import com.aspectran.core.activity.Activity;
 import com.aspectran.core.activity.Translet;
+import com.aspectran.core.context.metrics.jfr.InvokeActionEvent;
 import com.aspectran.core.context.rule.InvokeActionRule;
 import com.aspectran.core.context.rule.ItemRule;
 import com.aspectran.core.context.rule.ItemRuleMap;
@@ -100,6 +101,8 @@ public class InvokeAction implements Executable {
      * @throws Exception if an error occurs during method invocation
      */
     private Object execute(Activity activity, Object bean) throws Exception {
+        InvokeActionEvent event = new InvokeActionEvent();
+        event.begin();
         try {
             ItemRuleMap propertyItemRuleMap = invokeActionRule.getPropertyItemRuleMap();
             if (propertyItemRuleMap != null && !propertyItemRuleMap.isEmpty()) {
@@ -129,6 +132,15 @@ public class InvokeAction implements Executable {
             throw new ActionExecutionException(this, ExceptionUtils.getCause(e));
         } catch (Exception e) {
             throw new ActionExecutionException(this, e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.actionId = invokeActionRule.getActionId();
+                event.beanClass = bean.getClass();
+                Method method = invokeActionRule.getMethod();
+                event.methodName = (method != null ? method.getName() : invokeActionRule.getMethodName());
+                event.commit();
+            }
         }
     }
 
@@ -22,11 +22,13 @@ import com.aspectran.utils.LinkedCaseInsensitiveMultiValueMap;
 import com.aspectran.utils.MultiValueMap;
 import com.aspectran.utils.apon.Parameters;
 import com.aspectran.utils.apon.VariableParameters;
+import org.jspecify.annotations.Nullable;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -63,6 +65,8 @@ public abstract class AbstractRequest {
 
     private ParameterMap parameterMap;
 
+    private Map<String, String[]> parameterSource;
+
     private FileParameterMap fileParameterMap;
 
     private String encoding;
@@ -274,20 +278,30 @@ public abstract class AbstractRequest {
      * Retrieves a single parameter value.
      */
     public String getParameter(String name) {
-        return getParameterMap().getParameter(name);
+        Map<String, String[]> params = getReadableParameters();
+        if (params != null) {
+            String[] values = params.get(name);
+            return (values != null && values.length > 0 ? values[0] : null);
+        } else {
+            return null;
+        }
     }
 
     /**
      * Retrieves multiple values for a parameter.
      */
     public String[] getParameterValues(String name) {
-        return getParameterMap().getParameterValues(name);
+        Map<String, String[]> params = getReadableParameters();
+        return (params != null ? params.get(name) : null);
     }
 
     /**
      * @return the names of all available parameters.
      */
     public Set<String> getParameterNames() {
+        if (parameterMap == null && parameterSource != null) {
+            return Collections.unmodifiableSet(parameterSource.keySet());
+        }
         return getParameterMap().getParameterNames();
     }
 
@@ -310,7 +324,8 @@ public abstract class AbstractRequest {
      * @return an {@code Map<String, Object>} object, must not be {@code null}
      */
     public Map<String, Object> getAllParameters() {
-        return getParameterMap().extractAsMap();
+        Map<String, String[]> params = getReadableParameters();
+        return ParameterMap.extractAsMap(params != null ? params : Collections.emptyMap(), new HashMap<>());
     }
 
     /**
@@ -339,18 +354,25 @@ public abstract class AbstractRequest {
      */
     public void extractParameters(Map<String, Object> targetMap) {
         if (hasParameters()) {
-            getParameterMap().extractAsMap(targetMap);
+            ParameterMap.extractAsMap(getReadableParameters(), targetMap);
         }
     }
 
     /**
      * Returns a map of the request parameters that can be modified.
      * If not yet instantiated then create a new one.
+     * <p>If a parameter source has been set, its entries are copied into the
+     * new map, and from then on the parameter map is used exclusively.</p>
      * @return a {@code ParameterMap} object, may not be {@code null}
      */
     public ParameterMap getParameterMap() {
         if (parameterMap == null) {
-            parameterMap = new ParameterMap();
+            if (parameterSource != null) {
+                parameterMap = new ParameterMap(parameterSource);
+                parameterSource = null;
+            } else {
+                parameterMap = new ParameterMap();
+            }
         }
         return parameterMap;
     }
@@ -360,24 +382,46 @@ public abstract class AbstractRequest {
      */
     public void setParameterMap(ParameterMap parameterMap) {
         this.parameterMap = parameterMap;
+        this.parameterSource = null;
+    }
+
+    /**
+     * Sets a read-only view of the parameters of the native request.
+     * <p>Parameter lookups read through to the given map without copying it.
+     * The entries are copied into a {@link ParameterMap} only when the parameter
+     * map is requested as a whole or when a parameter is modified.</p>
+     * @param parameterSource the native request parameters; must not be modified
+     *      by the caller while this request is in use
+     * @since 9.6.5
+     */
+    protected void setParameterSource(@Nullable Map<String, String[]> parameterSource) {
+        this.parameterMap = null;
+        this.parameterSource = parameterSource;
+    }
+
+    /**
+     * Returns the map from which parameters can currently be read without
+     * copying the parameter source.
+     */
+    @Nullable
+    private Map<String, String[]> getReadableParameters() {
+        return (parameterMap != null ? parameterMap : parameterSource);
     }
 
     /**
      * @return whether any parameters exist.
      */
     public boolean hasParameters() {
-        return (parameterMap != null && !parameterMap.isEmpty());
+        Map<String, String[]> params = getReadableParameters();
+        return (params != null && !params.isEmpty());
     }
 
     /**
      * @return whether a parameter with the given name exists.
      */
     public boolean hasParameter(String name) {
-        if (parameterMap != null) {
-            return parameterMap.containsKey(name);
-        } else {
-            return false;
-        }
+        Map<String, String[]> params = getReadableParameters();
+        return (params != null && params.containsKey(name));
     }
 
     /**
@@ -560,6 +604,21 @@ public abstract class AbstractRequest {
         return RequestBodyParser.parseBodyAsParameters(getBody(), requiredType);
     }
 
+    /**
+     * Binds the body directly to an object of the specified type.
+     * <p>The format of the body is not known at this level, so this implementation
+     * always returns {@code null}; subclasses that know the content type override it.</p>
+     * @param requiredType the class of the object to return
+     * @param <T> the type of the object
+     * @return the bound object, or {@code null} if the body cannot be bound directly
+     * @throws RequestParseException if binding fails
+     * @since 9.6.5
+     */
+    @Nullable
+    public <T> T getBodyAsObject(Class<T> requiredType) throws RequestParseException {
+        return null;
+    }
+
     /**
      * @return all request parameters as a {@link Parameters} object.
      */
@@ -575,11 +634,14 @@ public abstract class AbstractRequest {
      */
     public <T extends Parameters> T getParameters(Class<T> requiredType) {
         T parameters = ClassUtils.createInstance(requiredType);
-        for (Map.Entry<String, String[]> entry : getParameterMap().entrySet()) {
-            String name = entry.getKey();
-            String[] values = entry.getValue();
-            for (String value : values) {
-                parameters.putValue(name, value);
+        Map<String, String[]> params = getReadableParameters();
+        if (params != null) {
+            for (Map.Entry<String, String[]> entry : params.entrySet()) {
+                String name = entry.getKey();
+                String[] values = entry.getValue();
+                for (String value : values) {
+                    parameters.putValue(name, value);
+                }
             }
         }
         return parameters;
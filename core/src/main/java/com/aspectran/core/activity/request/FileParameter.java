@@ -22,11 +22,13 @@ import org.jspecify.annotations.Nullable;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Represents a file item that was received in a multipart/form-data request.
@@ -175,15 +177,7 @@ public class FileParameter {
 
         try {
             destFile = determineDestinationFile(destFile, overwrite);
-
-            final byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            try (InputStream input = getInputStream();
-                 OutputStream output = new FileOutputStream(destFile)) {
-                while ((len = input.read(buffer)) != -1) {
-                    output.write(buffer, 0, len);
-                }
-            }
+            transferTo(destFile.toPath());
         } catch (Exception e) {
             throw new IOException("Could not save as file " + destFile, e);
         }
@@ -192,6 +186,48 @@ public class FileParameter {
         return destFile;
     }
 
+    /**
+     * Transfers the contents of the uploaded file to the given path, replacing the
+     * file at that path if it exists.
+     * <p>If the contents are stored in a file on disk, they are copied with
+     * {@link FileChannel#transferTo}, which lets the operating system copy the bytes
+     * without passing them through the Java heap. Otherwise, the contents are read
+     * from {@link #getInputStream()}.</p>
+     * <p>Unlike {@link #saveAs(File)}, this method does not record the target as
+     * the saved file.</p>
+     * @param target the path to transfer the contents to
+     * @return the number of bytes transferred
+     * @throws IOException if an I/O error occurs
+     * @since 9.6.5
+     */
+    public long transferTo(Path target) throws IOException {
+        if (target == null) {
+            throw new IllegalArgumentException("target can not be null");
+        }
+        File srcFile = getFile();
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (srcFile != null && srcFile.isFile()) {
+                try (FileChannel in = FileChannel.open(srcFile.toPath(), StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long position = 0L;
+                    while (position < size) {
+                        long transferred = in.transferTo(position, size - position, out);
+                        if (transferred <= 0L) {
+                            break;
+                        }
+                        position += transferred;
+                    }
+                    return position;
+                }
+            } else {
+                try (InputStream input = getInputStream()) {
+                    return input.transferTo(Channels.newOutputStream(out));
+                }
+            }
+        }
+    }
+
     /**
      * Moves the uploaded file to the specified destination.
      * @param destFile the destination file
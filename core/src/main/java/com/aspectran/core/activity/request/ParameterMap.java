@@ -145,8 +145,19 @@ public class ParameterMap extends LinkedHashMap<String, String[]> {
      * @return the updated {@code targetMap} containing parameters
      */
     public Map<String, Object> extractAsMap(Map<String, Object> targetMap) {
+        return extractAsMap(this, targetMap);
+    }
+
+    /**
+     * Extracts the given multi-valued parameters and populates the specified target map.
+     * @param params the parameters to extract
+     * @param targetMap the map into which parameters should be inserted
+     * @return the updated {@code targetMap} containing parameters
+     */
+    static Map<String, Object> extractAsMap(Map<String, String[]> params, Map<String, Object> targetMap) {
+        Assert.notNull(params, "params must not be null");
         Assert.notNull(targetMap, "targetMap must not be null");
-        for (Map.Entry<String, String[]> entry : this.entrySet()) {
+        for (Map.Entry<String, String[]> entry : params.entrySet()) {
             String name = entry.getKey();
             String[] values = entry.getValue();
             if (values.length == 1) {
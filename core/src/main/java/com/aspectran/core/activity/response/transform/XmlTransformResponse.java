@@ -18,42 +18,28 @@ package com.aspectran.core.activity.response.transform;
 import com.aspectran.core.activity.Activity;
 import com.aspectran.core.activity.process.result.ProcessResult;
 import com.aspectran.core.activity.response.Response;
-import com.aspectran.core.activity.response.transform.xml.ContentsInputSource;
-import com.aspectran.core.activity.response.transform.xml.ContentsXMLReader;
+import com.aspectran.core.activity.response.transform.xml.ContentsXmlWriter;
 import com.aspectran.core.adapter.ResponseAdapter;
 import com.aspectran.core.context.rule.TransformRule;
 import com.aspectran.utils.StringifyContext;
 import org.jspecify.annotations.NonNull;
 
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.sax.SAXSource;
-import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
 import java.io.Writer;
 
 /**
  * A {@link TransformResponse} that converts the activity's results into XML format.
  *
  * <p>This class serializes the structured data from a {@link ProcessResult} into an
- * XML string. It uses JAXP (Java API for XML Processing) and a custom
- * {@link ContentsXMLReader} to perform the transformation, supporting configuration
- * for content type, encoding, and pretty-printing.</p>
+ * XML document. It uses a {@link ContentsXmlWriter} to stream the document straight
+ * to the response writer, supporting configuration for content type, encoding, and
+ * pretty-printing.</p>
  *
  * <p>Created: 2008. 03. 22 PM 5:51:58</p>
  */
 public class XmlTransformResponse extends TransformResponse {
 
-    private static final String OUTPUT_METHOD_XML = "xml";
-
-    private static final String INDENT_NUMBER_KEY = "indent-number";
-
-    private static final Integer DEFAULT_INDENT_SIZE = 2;
-
-    private static final String YES = "yes";
-
     private final String contentType;
 
     private final String encoding;
@@ -122,31 +108,15 @@ public class XmlTransformResponse extends TransformResponse {
         boolean pretty = (prettyForce != null ? prettyForce :
                 (stringifyContext == null || stringifyContext.isPrettyPrint()));
 
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        if (pretty) {
-            if (stringifyContext != null && stringifyContext.hasIndentSize()) {
-                transformerFactory.setAttribute(INDENT_NUMBER_KEY, stringifyContext.getIndentSize());
-            } else {
-                transformerFactory.setAttribute(INDENT_NUMBER_KEY, DEFAULT_INDENT_SIZE);
-            }
+        ContentsXmlWriter xmlWriter = new ContentsXmlWriter(writer);
+        xmlWriter.setStringifyContext(stringifyContext);
+        xmlWriter.setEncoding(encoding);
+        xmlWriter.setPrettyPrint(pretty);
+        try {
+            xmlWriter.write(object);
+        } catch (IOException e) {
+            throw new TransformerException(e);
         }
-
-        Transformer transformer = transformerFactory.newTransformer();
-        transformer.setOutputProperty(OutputKeys.METHOD, OUTPUT_METHOD_XML);
-        if (encoding != null) {
-            transformer.setOutputProperty(OutputKeys.ENCODING, encoding);
-        }
-        if (pretty) {
-            transformer.setOutputProperty(OutputKeys.INDENT, YES);
-            transformer.setOutputProperty(OutputKeys.DOCTYPE_PUBLIC, YES);
-        }
-
-        ContentsXMLReader xmlReader = new ContentsXMLReader();
-        xmlReader.setStringifyContext(stringifyContext);
-
-        ContentsInputSource inputSource = new ContentsInputSource(object);
-        Source source = new SAXSource(xmlReader, inputSource);
-        transformer.transform(source, new StreamResult(writer));
     }
 
 }
@@ -45,6 +45,8 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * A {@link TransformResponse} that applies an XSLT transformation to the activity's results.
@@ -53,7 +55,9 @@ import java.util.Properties;
  * format using {@link ContentsXMLReader}, and then applies an XSLT stylesheet to
  * transform it into the final output format (e.g., XML, HTML, or text). It supports
  * dynamic loading and caching of XSLT templates based on the configured
- * {@link TemplateRule}.</p>
+ * {@link TemplateRule}. Transformers created from cached templates are kept in a
+ * bounded pool and reused once they have been reset; the pool is discarded whenever
+ * the templates are reloaded.</p>
  *
  * <p>Created: 2008. 03. 22 PM 5:51:58</p>
  */
@@ -65,10 +69,17 @@ public class XslTransformResponse extends TransformResponse {
 
     private static final String OUTPUT_METHOD_TEXT = "text";
 
+    /** The maximum number of idle transformers kept for reuse */
+    private static final int MAX_IDLE_TRANSFORMERS = 16;
+
+    private static final TransformerFactory transformerFactory = createTransformerFactory();
+
     private final TemplateRule templateRule;
 
     private Templates templates;
 
+    private volatile TransformerPool transformerPool;
+
     private String contentType;
 
     private String outputEncoding;
@@ -99,6 +110,7 @@ public class XslTransformResponse extends TransformResponse {
             responseAdapter.setContentType(contentType);
         }
 
+        Templates templates = this.templates;
         Writer writer = responseAdapter.getWriter();
         ProcessResult processResult = activity.getProcessResult();
         StringifyContext stringifyContext = activity.getStringifyContext();
@@ -109,8 +121,37 @@ public class XslTransformResponse extends TransformResponse {
         ContentsInputSource inputSource = new ContentsInputSource(processResult);
         Source source = new SAXSource(xmlReader, inputSource);
 
-        Transformer transformer = templates.newTransformer();
-        transformer.transform(source, new StreamResult(writer));
+        if (templateRule.isNoCache()) {
+            Transformer transformer = templates.newTransformer();
+            transformer.transform(source, new StreamResult(writer));
+        } else {
+            TransformerPool pool = getTransformerPool(templates);
+            Transformer transformer = pool.borrow();
+            transformer.transform(source, new StreamResult(writer));
+            // A transformer that failed is not returned, as its state is unknown
+            pool.release(transformer);
+        }
+    }
+
+    /**
+     * Returns the transformer pool for the given templates, replacing the pool
+     * of previously loaded templates so that their transformers are discarded.
+     * @param templates the compiled templates
+     * @return the transformer pool bound to the given templates
+     */
+    @NonNull
+    private TransformerPool getTransformerPool(Templates templates) {
+        TransformerPool pool = this.transformerPool;
+        if (pool == null || pool.templates != templates) {
+            synchronized (this) {
+                pool = this.transformerPool;
+                if (pool == null || pool.templates != templates) {
+                    pool = new TransformerPool(templates);
+                    this.transformerPool = pool;
+                }
+            }
+        }
+        return pool;
     }
 
     @Override
@@ -217,9 +258,10 @@ public class XslTransformResponse extends TransformResponse {
     }
 
     private Templates createTemplates(Source source) throws TransformerConfigurationException {
-        TransformerFactory transFactory = TransformerFactory.newInstance();
-        transFactory.setAttribute("generate-translet", Boolean.TRUE);
-        return transFactory.newTemplates(source);
+        // TransformerFactory is not guaranteed to be thread-safe
+        synchronized (transformerFactory) {
+            return transformerFactory.newTemplates(source);
+        }
     }
 
     /**
@@ -253,4 +295,39 @@ public class XslTransformResponse extends TransformResponse {
         return outputProperties.getProperty(OutputKeys.ENCODING);
     }
 
+    @NonNull
+    private static TransformerFactory createTransformerFactory() {
+        TransformerFactory transformerFactory = TransformerFactory.newInstance();
+        transformerFactory.setAttribute("generate-translet", Boolean.TRUE);
+        return transformerFactory;
+    }
+
+    /**
+     * A bounded pool of transformers created from a single {@link Templates} instance.
+     * Transformers are created on demand when none is idle, and those returned while
+     * the pool is full are simply dropped.
+     */
+    private static final class TransformerPool {
+
+        private final Templates templates;
+
+        private final BlockingQueue<Transformer> idleTransformers = new ArrayBlockingQueue<>(MAX_IDLE_TRANSFORMERS);
+
+        TransformerPool(Templates templates) {
+            this.templates = templates;
+        }
+
+        Transformer borrow() throws TransformerConfigurationException {
+            Transformer transformer = idleTransformers.poll();
+            return (transformer != null ? transformer : templates.newTransformer());
+        }
+
+        void release(@NonNull Transformer transformer) {
+            transformer.reset();
+            transformer.clearParameters();
+            idleTransformers.offer(transformer);
+        }
+
+    }
+
 }
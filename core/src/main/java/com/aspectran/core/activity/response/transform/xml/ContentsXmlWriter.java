@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.activity.response.transform.xml;
+
+import com.aspectran.core.activity.process.result.ActionResult;
+import com.aspectran.core.activity.process.result.ContentResult;
+import com.aspectran.core.activity.process.result.ProcessResult;
+import com.aspectran.utils.BeanUtils;
+import com.aspectran.utils.StringifyContext;
+import com.aspectran.utils.apon.Parameter;
+import com.aspectran.utils.apon.Parameters;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Serializes an arbitrary Java object (typically a
+ * {@link com.aspectran.core.activity.process.result.ProcessResult}) directly to
+ * a character stream as an XML document.
+ *
+ * <p>The document has the same structure as the one produced by running the SAX
+ * events of {@link ContentsXMLReader} through an identity transformer, but it is
+ * written in a single pass without building a transformer for every response.
+ * Characters that cannot be represented in the output encoding are written as
+ * numeric character references, and characters that are not allowed in XML
+ * cause an {@link IOException}.</p>
+ *
+ * @since 9.6.5
+ */
+public class ContentsXmlWriter {
+
+    private static final String CONTENTS_TAG = "contents";
+
+    private static final String CONTENT_TAG = "content";
+
+    private static final String ROWS_TAG = "rows";
+
+    private static final String ROW_TAG = "row";
+
+    private static final String DEFAULT_ENCODING = StandardCharsets.UTF_8.name();
+
+    private static final int DEFAULT_INDENT_SIZE = 2;
+
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final Writer writer;
+
+    private StringifyContext stringifyContext;
+
+    private String encoding = DEFAULT_ENCODING;
+
+    private CharsetEncoder charsetEncoder;
+
+    private boolean prettyPrint = true;
+
+    private int indentSize = DEFAULT_INDENT_SIZE;
+
+    private int depth;
+
+    /** Whether the start tag of the current element is still open. */
+    private boolean startTagOpen;
+
+    /** Whether the current element contains child elements. */
+    private boolean hasChildElements;
+
+    /** Whether character data was the last thing written. */
+    private boolean textWritten;
+
+    /**
+     * Instantiates a new ContentsXmlWriter.
+     * @param writer the character stream to write to
+     */
+    public ContentsXmlWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Sets the context used to format dates and to determine pretty-printing
+     * and the indent size.
+     * @param stringifyContext the stringify context
+     */
+    public void setStringifyContext(@Nullable StringifyContext stringifyContext) {
+        this.stringifyContext = stringifyContext;
+        if (stringifyContext != null) {
+            if (stringifyContext.hasPrettyPrint()) {
+                setPrettyPrint(stringifyContext.isPrettyPrint());
+            }
+            if (stringifyContext.hasIndentSize()) {
+                setIndentSize(stringifyContext.getIndentSize());
+            }
+        }
+    }
+
+    /**
+     * Sets the character encoding declared in the XML declaration.
+     * Characters that cannot be encoded in it are written as character references.
+     * @param encoding the character encoding; if {@code null}, UTF-8 is used
+     */
+    public void setEncoding(@Nullable String encoding) {
+        this.encoding = (encoding != null ? encoding : DEFAULT_ENCODING);
+        this.charsetEncoder = null;
+        if (encoding != null && Charset.isSupported(encoding)) {
+            Charset charset = Charset.forName(encoding);
+            if (!charset.name().startsWith("UTF-")) {
+                this.charsetEncoder = charset.newEncoder();
+            }
+        }
+    }
+
+    /**
+     * Sets whether to indent nested elements.
+     * @param prettyPrint true to enable pretty-printing, false otherwise
+     */
+    public void setPrettyPrint(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+
+    /**
+     * Sets the number of spaces used to indent each level of nested elements.
+     * @param indentSize the number of spaces
+     */
+    public void setIndentSize(int indentSize) {
+        this.indentSize = Math.max(indentSize, 0);
+    }
+
+    /**
+     * Writes the given object as an XML document.
+     * @param object the object to write
+     * @throws IOException if an I/O error occurs, a circular reference is detected,
+     *      or the object contains characters that are not allowed in XML
+     */
+    public void write(Object object) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"");
+        writer.write(encoding);
+        writer.write("\"?>");
+        if (prettyPrint) {
+            writer.write(NEW_LINE);
+        }
+        if (object != null) {
+            if (object instanceof ProcessResult processResult) {
+                if (!processResult.isEmpty()) {
+                    writeProcessResult(processResult);
+                }
+            } else {
+                writeObject(object);
+            }
+        }
+        if (prettyPrint && !textWritten) {
+            writer.write(NEW_LINE);
+        }
+        writer.flush();
+    }
+
+    private void writeProcessResult(@NonNull ProcessResult processResult) throws IOException {
+        String contentsName = (processResult.getName() != null ? processResult.getName() : CONTENTS_TAG);
+        if (processResult.isExplicit()) {
+            startElement(contentsName);
+        }
+        for (ContentResult contentResult : processResult) {
+            String contentName = (contentResult.getName() != null ? contentResult.getName() : CONTENT_TAG);
+            if (contentResult.isExplicit()) {
+                startElement(contentName);
+            }
+            for (ActionResult actionResult : contentResult) {
+                String actionId = actionResult.getActionId();
+                if (actionId != null) {
+                    startElement(actionId);
+                }
+                writeObject(actionResult.getResultValue());
+                if (actionId != null) {
+                    endElement(actionId);
+                }
+            }
+            if (contentResult.isExplicit()) {
+                endElement(contentName);
+            }
+        }
+        if (processResult.isExplicit()) {
+            endElement(contentsName);
+        }
+    }
+
+    private void writeObject(Object object) throws IOException {
+        if (object == null) {
+            return;
+        }
+        if (object instanceof ProcessResult processResult) {
+            writeProcessResult(processResult);
+        } else if (object instanceof String ||
+                object instanceof Number ||
+                object instanceof Boolean) {
+            writeText(object.toString());
+        } else if (object instanceof Parameters parameters) {
+            for (Parameter p : parameters.getParameterValues()) {
+                writeMember(object, p.getName(), p.getValue());
+            }
+        } else if (object instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeMember(object, entry.getKey().toString(), entry.getValue());
+            }
+        } else if (object instanceof Collection<?> collection) {
+            writeRows(collection.iterator(), object);
+        } else if (object instanceof Iterator<?> iterator) {
+            writeRows(iterator, object);
+        } else if (object instanceof Enumeration<?> enumeration) {
+            writeRows(enumeration.asIterator(), object);
+        } else if (object.getClass().isArray()) {
+            startElement(ROWS_TAG);
+            int len = Array.getLength(object);
+            for (int i = 0; i < len; i++) {
+                writeMember(object, ROW_TAG, Array.get(object, i));
+            }
+            endElement(ROWS_TAG);
+        } else if (object instanceof LocalDateTime localDateTime) {
+            writeText(stringifyContext != null ? stringifyContext.toString(localDateTime) : localDateTime.toString());
+        } else if (object instanceof LocalDate localDate) {
+            writeText(stringifyContext != null ? stringifyContext.toString(localDate) : localDate.toString());
+        } else if (object instanceof LocalTime localTime) {
+            writeText(stringifyContext != null ? stringifyContext.toString(localTime) : localTime.toString());
+        } else if (object instanceof Date date) {
+            writeText(stringifyContext != null ? stringifyContext.toString(date) : date.toString());
+        } else {
+            String[] readablePropertyNames = BeanUtils.getReadablePropertyNamesWithoutNonSerializable(object);
+            if (readablePropertyNames != null) {
+                for (String name : readablePropertyNames) {
+                    Object value;
+                    try {
+                        value = BeanUtils.getProperty(object, name);
+                    } catch (InvocationTargetException e) {
+                        throw new IOException(e);
+                    }
+                    writeMember(object, name, value);
+                }
+            }
+        }
+    }
+
+    private void writeRows(@NonNull Iterator<?> iterator, Object container) throws IOException {
+        startElement(ROWS_TAG);
+        while (iterator.hasNext()) {
+            writeMember(container, ROW_TAG, iterator.next());
+        }
+        endElement(ROWS_TAG);
+    }
+
+    private void writeMember(Object container, String name, Object value) throws IOException {
+        checkCircularReference(container, value);
+        startElement(name);
+        writeObject(value);
+        endElement(name);
+    }
+
+    private void startElement(String name) throws IOException {
+        if (startTagOpen) {
+            writer.write('>');
+            startTagOpen = false;
+        }
+        if (prettyPrint && depth > 0 && !textWritten) {
+            newLineAndIndent(depth);
+        }
+        writer.write('<');
+        writer.write(name);
+        startTagOpen = true;
+        hasChildElements = false;
+        textWritten = false;
+        depth++;
+    }
+
+    private void endElement(String name) throws IOException {
+        depth--;
+        if (startTagOpen) {
+            writer.write("/>");
+            startTagOpen = false;
+        } else {
+            if (prettyPrint && hasChildElements && !textWritten) {
+                newLineAndIndent(depth);
+            }
+            writer.write("</");
+            writer.write(name);
+            writer.write('>');
+        }
+        // the parent of this element now contains a child element
+        hasChildElements = true;
+        textWritten = false;
+    }
+
+    private void writeText(@NonNull String text) throws IOException {
+        if (text.isEmpty()) {
+            return;
+        }
+        if (startTagOpen) {
+            writer.write('>');
+            startTagOpen = false;
+        }
+        int len = text.length();
+        int start = 0;
+        for (int i = 0; i < len; i++) {
+            char c = text.charAt(i);
+            String replacement = null;
+            int skip = 0;
+            switch (c) {
+                case '&' -> replacement = "&amp;";
+                case '<' -> replacement = "&lt;";
+                case '>' -> replacement = "&gt;";
+                case '\r' -> replacement = "&#13;";
+                case '\t', '\n' -> {
+                }
+                default -> {
+                    if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(text.charAt(i + 1))) {
+                        if (charsetEncoder != null && !charsetEncoder.canEncode(text.subSequence(i, i + 2))) {
+                            replacement = "&#" + Character.toCodePoint(c, text.charAt(i + 1)) + ";";
+                        }
+                        skip = 1;
+                    } else if (c < 0x20 || Character.isSurrogate(c) || c == 0xFFFE || c == 0xFFFF) {
+                        throw new IOException("An invalid XML character (Unicode: 0x" +
+                                Integer.toHexString(c) + ") was found in the character data content");
+                    } else if (c >= 0x80 && charsetEncoder != null && !charsetEncoder.canEncode(c)) {
+                        replacement = "&#" + (int)c + ";";
+                    }
+                }
+            }
+            if (replacement != null) {
+                if (i > start) {
+                    writer.write(text, start, i - start);
+                }
+                writer.write(replacement);
+                start = i + skip + 1;
+            }
+            i += skip;
+        }
+        if (start < len) {
+            writer.write(text, start, len - start);
+        }
+        textWritten = true;
+    }
+
+    private void newLineAndIndent(int level) throws IOException {
+        writer.write(NEW_LINE);
+        for (int i = level * indentSize; i > 0; i--) {
+            writer.write(' ');
+        }
+    }
+
+    private void checkCircularReference(@NonNull Object wrapper, Object member) throws IOException {
+        if (wrapper.equals(member)) {
+            throw new IOException("XML Serialization Failure: Circular reference was detected" +
+                    " while converting member object " + member + " in " + wrapper);
+        }
+    }
+
+}
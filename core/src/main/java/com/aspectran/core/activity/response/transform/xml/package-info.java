@@ -20,6 +20,9 @@
  * {@link com.aspectran.core.activity.Activity} into XML (Extensible Markup
 - * Language). It supports the serialization of
  * {@link com.aspectran.core.activity.process.result.ProcessResult} and facilitates
- * integration with XML transformation technologies like XSLT.</p>
+ * integration with XML transformation technologies like XSLT.
+ * {@link com.aspectran.core.activity.response.transform.xml.ContentsXmlWriter}
+ * writes the same document directly to a character stream when no stylesheet
+ * is applied.</p>
  */
 package com.aspectran.core.activity.response.transform.xml;
@@ -416,6 +416,22 @@ public interface RequestAdapter {
      */
     <T extends Parameters> T getBodyAsParameters(Class<T> requiredType) throws RequestParseException;
 
+    /**
+     * Binds the request body directly to a new object of the specified type,
+     * such as a JavaBean or a record, without first converting the body to
+     * a {@link Parameters} object.
+     * <p>This is only possible if the format of the body is known to be JSON;
+     * otherwise {@code null} is returned. Implementations may bind straight from
+     * the request input without buffering the body as a string, in which case the
+     * body can be bound only once.</p>
+     * @param <T> the type of the object
+     * @param requiredType the class of the object to return
+     * @return the bound object, or {@code null} if the body cannot be bound directly
+     * @throws RequestParseException if an error occurs during binding
+     * @since 9.6.5
+     */
+    <T> T getBodyAsObject(Class<T> requiredType) throws RequestParseException;
+
     /**
      * Returns all request parameters (from query string and body) as a {@link Parameters} object.
      * @return the {@code Parameters} object
@@ -21,6 +21,7 @@ import com.aspectran.core.component.aspect.pointcut.PointcutPattern;
 import com.aspectran.core.context.rule.AspectRule;
 import com.aspectran.core.context.rule.IllegalRuleException;
 import com.aspectran.core.context.rule.PointcutPatternRule;
+import com.aspectran.core.context.rule.TransletRule;
 import com.aspectran.core.context.rule.type.JoinpointTargetType;
 import com.aspectran.utils.Assert;
 import com.aspectran.utils.cache.Cache;
@@ -62,6 +63,13 @@ public class AspectRuleRegistry extends AbstractComponent {
     private final Cache<PointcutPattern, RelevantAspectRuleHolder> weakCache =
             new ConcurrentReferenceCache<>(ReferenceType.WEAK, this::createRelevantAspectRuleHolder);
 
+    /**
+     * Cache for the partitioned aspect rules of translets whose request names vary at runtime.
+     * Nothing else holds the partitions, so soft references keep them until memory runs low.
+     */
+    private final Cache<TransletRule, TransletAspectPartition> partitionCache =
+            new ConcurrentReferenceCache<>(ReferenceType.SOFT, this::createTransletAspectPartition);
+
     private final Map<String, AspectRule> aspectRuleMap = new ConcurrentHashMap<>();
 
     private final List<AspectRule> aspectRules = new CopyOnWriteArrayList<>();
@@ -119,6 +127,7 @@ public class AspectRuleRegistry extends AbstractComponent {
                 newAspectRules.add(aspectRule.getId());
                 softCache.clear();
                 weakCache.clear();
+                partitionCache.clear();
             }
         } else {
             throw new IllegalRuleException("Duplicate AspectRule ID: " + aspectRule.getId());
@@ -138,6 +147,7 @@ public class AspectRuleRegistry extends AbstractComponent {
                     if (newAspectRules.remove(aspectId)) {
                         softCache.clear();
                         weakCache.clear();
+                        partitionCache.clear();
                     }
                 }
             }
@@ -164,6 +174,19 @@ public class AspectRuleRegistry extends AbstractComponent {
         newAspectRules.clear();
         softCache.clear();
         weakCache.clear();
+        partitionCache.clear();
+    }
+
+    /**
+     * Retrieves the partitioned translet-scoped aspect rules for the given translet.
+     * The partition is computed once per translet and reused until the aspect rules change,
+     * so that only the pointcuts that depend on the concrete request name are evaluated
+     * per request.
+     * @param transletRule the translet rule
+     * @return the partitioned aspect rules for the translet
+     */
+    public TransletAspectPartition retrieveTransletAspectPartition(TransletRule transletRule) {
+        return partitionCache.get(transletRule);
     }
 
     /**
@@ -217,6 +240,15 @@ public class AspectRuleRegistry extends AbstractComponent {
         }
     }
 
+    /**
+     * Creates a {@link TransletAspectPartition} for a given translet rule.
+     * @param transletRule the translet rule
+     * @return a new partition of the translet-scoped aspect rules
+     */
+    private TransletAspectPartition createTransletAspectPartition(TransletRule transletRule) {
+        return TransletAspectPartition.partition(transletRule, aspectRules);
+    }
+
     /**
      * Determines if an aspect rule is relevant to bean proxying.
      * An aspect is considered relevant if its joinpoint target is a method, or if its
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.aspect;
+
+import com.aspectran.core.component.aspect.pointcut.Pointcut;
+import com.aspectran.core.component.aspect.pointcut.PointcutPattern;
+import com.aspectran.core.component.aspect.pointcut.WildcardPointcut;
+import com.aspectran.core.context.rule.AspectRule;
+import com.aspectran.core.context.rule.PointcutPatternRule;
+import com.aspectran.core.context.rule.TransletRule;
+import com.aspectran.utils.ToStringBuilder;
+import com.aspectran.utils.wildcard.WildcardPattern;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringTokenizer;
+
+/**
+ * A precomputed partition of the translet-scoped aspect rules for a single translet.
+ *
+ * <p>For translets whose request name is not known until runtime (translets with path
+ * variables or wildcard names), every aspect rule is classified once against the literal
+ * prefix and suffix of the translet name into one of three groups: aspects that always
+ * apply, aspects that can never apply, and aspects whose applicability depends on the
+ * concrete request name. Only the last group has its pointcut evaluated per request.
+ * </p>
+ *
+ * <p>Instances are immutable and are cached by the {@link AspectRuleRegistry}.</p>
+ *
+ * @since 9.6.5
+ */
+public class TransletAspectPartition {
+
+    private static final String OR_MATCH_DELIMITER = "|";
+
+    private static final int NEVER = 0;
+
+    private static final int ALWAYS = 1;
+
+    private static final int DEPENDS = 2;
+
+    /** Candidate aspect rules in registration order; never-matching rules are excluded. */
+    private final AspectRule[] aspectRules;
+
+    /** Whether the aspect rule at the same index must be matched against the request name. */
+    private final boolean[] conditional;
+
+    /** Prebuilt registry used when no candidate aspect rule is conditional. */
+    private final AdviceRuleRegistry adviceRuleRegistry;
+
+    private final int conditionalCount;
+
+    private TransletAspectPartition(@NonNull List<AspectRule> aspectRuleList, @NonNull List<Boolean> conditionalList) {
+        this.aspectRules = aspectRuleList.toArray(new AspectRule[0]);
+        this.conditional = new boolean[conditionalList.size()];
+        int count = 0;
+        for (int i = 0; i < conditional.length; i++) {
+            conditional[i] = conditionalList.get(i);
+            if (conditional[i]) {
+                count++;
+            }
+        }
+        this.conditionalCount = count;
+        if (count == 0 && aspectRules.length > 0) {
+            AdviceRulePostRegister postRegister = new AdviceRulePostRegister();
+            for (AspectRule aspectRule : aspectRules) {
+                postRegister.register(aspectRule);
+            }
+            this.adviceRuleRegistry = postRegister.getAdviceRuleRegistry();
+        } else {
+            this.adviceRuleRegistry = null;
+        }
+    }
+
+    /**
+     * Returns the number of aspect rules that may apply to the translet.
+     * @return the number of candidate aspect rules
+     */
+    public int getCandidateCount() {
+        return aspectRules.length;
+    }
+
+    /**
+     * Returns the number of aspect rules whose pointcut must be evaluated per request.
+     * @return the number of conditional aspect rules
+     */
+    public int getConditionalCount() {
+        return conditionalCount;
+    }
+
+    /**
+     * Creates a new {@link AdviceRuleRegistry} for the given concrete request name.
+     * The registration order is identical to that of iterating over all aspect rules
+     * in the {@link AspectRuleRegistry} and matching each pointcut.
+     * @param requestName the concrete request name
+     * @return a new advice rule registry, or {@code null} if no aspect rule applies
+     */
+    @Nullable
+    public AdviceRuleRegistry createAdviceRuleRegistry(String requestName) {
+        if (adviceRuleRegistry != null) {
+            return adviceRuleRegistry.replicate();
+        }
+        if (conditionalCount == 0) {
+            return null;
+        }
+        AdviceRulePostRegister postRegister = new AdviceRulePostRegister();
+        for (int i = 0; i < aspectRules.length; i++) {
+            AspectRule aspectRule = aspectRules[i];
+            if (!conditional[i] || aspectRule.getPointcut().matches(requestName)) {
+                postRegister.register(aspectRule);
+            }
+        }
+        return postRegister.getAdviceRuleRegistry();
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("candidates", aspectRules.length);
+        tsb.append("conditionals", conditionalCount);
+        return tsb.toString();
+    }
+
+    /**
+     * Partitions the translet-relevant aspect rules for the specified translet.
+     * @param transletRule the translet rule
+     * @param aspectRules all aspect rules in registration order
+     * @return a new partition of the aspect rules
+     */
+    @NonNull
+    public static TransletAspectPartition partition(
+            @NonNull TransletRule transletRule, @NonNull Iterable<AspectRule> aspectRules) {
+        String namePattern = null;
+        if (transletRule.getNamePattern() != null) {
+            namePattern = transletRule.getNamePattern().toString();
+        }
+        return partition(transletRule.getName(), namePattern, aspectRules);
+    }
+
+    /**
+     * Partitions the translet-relevant aspect rules for a translet name.
+     * @param transletName the translet name
+     * @param namePattern the wildcard pattern that concrete request names of the translet
+     *      always match, or {@code null} if the translet name is an exact name
+     * @param aspectRules all aspect rules in registration order
+     * @return a new partition of the aspect rules
+     */
+    @NonNull
+    static TransletAspectPartition partition(
+            String transletName, @Nullable String namePattern, @NonNull Iterable<AspectRule> aspectRules) {
+        String prefix = null;
+        String suffix = null;
+        if (namePattern != null) {
+            prefix = literalPrefix(namePattern);
+            suffix = literalSuffix(namePattern);
+        }
+        List<AspectRule> aspectRuleList = new ArrayList<>();
+        List<Boolean> conditionalList = new ArrayList<>();
+        for (AspectRule aspectRule : aspectRules) {
+            if (!aspectRule.isBeanRelevant()) {
+                Pointcut pointcut = aspectRule.getPointcut();
+                int result;
+                if (pointcut == null) {
+                    result = ALWAYS;
+                } else if (namePattern == null) {
+                    result = (pointcut.matches(transletName) ? ALWAYS : NEVER);
+                } else {
+                    result = classify(pointcut, prefix, suffix);
+                }
+                if (result != NEVER) {
+                    aspectRuleList.add(aspectRule);
+                    conditionalList.add(result == DEPENDS);
+                }
+            }
+        }
+        return new TransletAspectPartition(aspectRuleList, conditionalList);
+    }
+
+    /**
+     * Determines whether the pointcut matches all, none or only some of the request names
+     * that start with the given prefix and end with the given suffix.
+     * This mirrors the evaluation order of {@link Pointcut#matches(String)}, where the first
+     * inclusion pattern that matches decides the result.
+     */
+    private static int classify(@NonNull Pointcut pointcut, String prefix, String suffix) {
+        List<PointcutPatternRule> pointcutPatternRuleList = pointcut.getPointcutPatternRuleList();
+        if (pointcutPatternRuleList == null) {
+            return NEVER;
+        }
+        for (PointcutPatternRule ppr : pointcutPatternRuleList) {
+            int included = classify(pointcut, ppr, prefix, suffix);
+            if (included == NEVER) {
+                continue;
+            }
+            if (included == DEPENDS) {
+                return DEPENDS;
+            }
+            List<PointcutPatternRule> excludePatternRuleList = ppr.getExcludePatternRuleList();
+            if (excludePatternRuleList != null) {
+                int result = ALWAYS;
+                for (PointcutPatternRule excludePatternRule : excludePatternRuleList) {
+                    int excluded = classify(pointcut, excludePatternRule, prefix, suffix);
+                    if (excluded == ALWAYS) {
+                        return NEVER;
+                    } else if (excluded == DEPENDS) {
+                        result = DEPENDS;
+                    }
+                }
+                return result;
+            }
+            return ALWAYS;
+        }
+        return NEVER;
+    }
+
+    private static int classify(Pointcut pointcut, @NonNull PointcutPatternRule ppr, String prefix, String suffix) {
+        PointcutPattern pp = ppr.getPointcutPattern();
+        if (pp == null || pp.getTransletNamePattern() == null) {
+            return ALWAYS;
+        }
+        if (!(pointcut instanceof WildcardPointcut)) {
+            return DEPENDS;
+        }
+        String patternString = pp.getTransletNamePattern();
+        if (patternString.contains(OR_MATCH_DELIMITER)) {
+            int result = NEVER;
+            StringTokenizer parser = new StringTokenizer(patternString, OR_MATCH_DELIMITER);
+            while (parser.hasMoreTokens()) {
+                int r = classifyWildcard(parser.nextToken(), prefix, suffix);
+                if (r == ALWAYS) {
+                    return ALWAYS;
+                } else if (r == DEPENDS) {
+                    result = DEPENDS;
+                }
+            }
+            return result;
+        } else {
+            return classifyWildcard(patternString, prefix, suffix);
+        }
+    }
+
+    private static int classifyWildcard(@NonNull String patternString, String prefix, String suffix) {
+        String patternPrefix = literalPrefix(patternString);
+        String patternSuffix = literalSuffix(patternString);
+        if (!regionMatches(patternPrefix, prefix, true) || !regionMatches(patternSuffix, suffix, false)) {
+            return NEVER;
+        }
+        // A literal prefix followed by a trailing '**' matches any remainder
+        if (patternString.length() == patternPrefix.length() + 2 &&
+                patternString.endsWith("**") &&
+                prefix.startsWith(patternPrefix)) {
+            return ALWAYS;
+        }
+        return DEPENDS;
+    }
+
+    /**
+     * Compares the overlapping leading (or trailing) characters of the two strings.
+     */
+    private static boolean regionMatches(@NonNull String s1, @NonNull String s2, boolean leading) {
+        int len = Math.min(s1.length(), s2.length());
+        if (leading) {
+            return s1.regionMatches(0, s2, 0, len);
+        } else {
+            return s1.regionMatches(s1.length() - len, s2, s2.length() - len, len);
+        }
+    }
+
+    @NonNull
+    private static String literalPrefix(@NonNull String patternString) {
+        for (int i = 0; i < patternString.length(); i++) {
+            if (isSpecialChar(patternString.charAt(i))) {
+                return patternString.substring(0, i);
+            }
+        }
+        return patternString;
+    }
+
+    @NonNull
+    private static String literalSuffix(@NonNull String patternString) {
+        for (int i = patternString.length() - 1; i >= 0; i--) {
+            if (isSpecialChar(patternString.charAt(i))) {
+                return patternString.substring(i + 1);
+            }
+        }
+        return patternString;
+    }
+
+    private static boolean isSpecialChar(char c) {
+        return (c == WildcardPattern.STAR_CHAR ||
+                c == WildcardPattern.QUESTION_CHAR ||
+                c == WildcardPattern.PLUS_CHAR ||
+                c == '\\');
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean.async;
+
+import com.aspectran.core.context.ActivityContext;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * An {@link AsyncTaskDecorator} that propagates the current activity and logging
+ * group of the submitting thread to the thread that executes the task.
+ * <p>The state is captured as a {@link ContextSnapshot} when the task is decorated,
+ * which happens on the submitting thread, and is restored only while the task runs.</p>
+ * <pre>
+ * SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+ * executor.setTaskDecorator(new ContextPropagatingTaskDecorator(context));
+ * </pre>
+ *
+ * @since 9.6.5
+ */
+public class ContextPropagatingTaskDecorator implements AsyncTaskDecorator {
+
+    private final ActivityContext context;
+
+    /**
+     * Creates a new ContextPropagatingTaskDecorator.
+     * @param context the activity context whose current activity is propagated
+     */
+    public ContextPropagatingTaskDecorator(ActivityContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public Runnable decorate(@NonNull Runnable runnable) {
+        return ContextSnapshot.capture(context).wrap(runnable);
+    }
+
+}
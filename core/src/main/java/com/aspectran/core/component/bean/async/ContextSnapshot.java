@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean.async;
+
+import com.aspectran.core.activity.Activity;
+import com.aspectran.core.activity.ProxyActivity;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.utils.Assert;
+import com.aspectran.utils.ToStringBuilder;
+import com.aspectran.utils.logging.LoggingGroupHelper;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An immutable snapshot of the thread-bound state of the current activity, taken on one
+ * thread and restored on another.
+ * <p>A snapshot holds the current activity of the given {@link ActivityContext} and the
+ * logging group held in the MDC. The locale and other request-scoped state travel with
+ * the activity itself, since they are resolved through its request adapter. A snapshot
+ * is captured once, on the submitting thread, and restored around the execution of each
+ * task on the executing thread. The captured activity is not installed on the executing
+ * thread itself; each restore installs a new {@link ProxyActivity} that wraps it, just
+ * as asynchronous bean methods do, so the state of the captured activity is not changed
+ * by other threads. The previous state is reinstated afterwards, so nothing is left
+ * behind on the executing thread once a task completes, on platform and virtual
+ * threads alike.</p>
+ * <pre>
+ * ContextSnapshot snapshot = ContextSnapshot.capture(context);
+ * CompletableFuture.supplyAsync(snapshot.wrapSupplier(() -&gt; loadOrders()), executor)
+ *         .thenApplyAsync(snapshot.wrapFunction(orders -&gt; summarize(orders)), executor);
+ * </pre>
+ * <p>Note that an activity is not thread-safe. Tasks that run concurrently with the
+ * activity that submitted them should only read from it.</p>
+ *
+ * @see ContextPropagatingTaskDecorator
+ * @since 9.6.5
+ */
+public final class ContextSnapshot {
+
+    private final ActivityContext context;
+
+    private final Activity activity;
+
+    private final String loggingGroup;
+
+    private ContextSnapshot(@Nullable ActivityContext context, @Nullable Activity activity,
+                            @Nullable String loggingGroup) {
+        this.context = context;
+        this.activity = activity;
+        this.loggingGroup = loggingGroup;
+    }
+
+    /**
+     * Returns the captured activity.
+     * @return the captured activity, or {@code null} if there was no current activity
+     */
+    @Nullable
+    public Activity getActivity() {
+        return activity;
+    }
+
+    /**
+     * Returns the captured logging group.
+     * @return the captured logging group, or {@code null} if none was set
+     */
+    @Nullable
+    public String getLoggingGroup() {
+        return loggingGroup;
+    }
+
+    /**
+     * Makes the captured state current on the calling thread until the returned
+     * scope is closed, at which point the previous state is reinstated.
+     * The captured activity is made current through a new {@link ProxyActivity}
+     * that wraps it.
+     * <pre>
+     * try (ContextSnapshot.Scope ignored = snapshot.restore()) {
+     *     ...
+     * }
+     * </pre>
+     * @return the scope to close after use
+     */
+    @NonNull
+    public Scope restore() {
+        Activity previousActivity = null;
+        if (context != null) {
+            previousActivity = (context.hasCurrentActivity() ? context.getAvailableActivity() : null);
+            if (activity != null) {
+                context.setCurrentActivity(new ProxyActivity(activity));
+            } else if (previousActivity != null) {
+                context.removeCurrentActivity();
+            }
+        }
+        String previousLoggingGroup = LoggingGroupHelper.get();
+        setLoggingGroup(loggingGroup);
+        return new RestoringScope(previousActivity, previousLoggingGroup);
+    }
+
+    /**
+     * Wraps the given task so that it runs with the captured state.
+     * @param task the task to wrap
+     * @return the wrapped task
+     */
+    @NonNull
+    public Runnable wrap(@NonNull Runnable task) {
+        Assert.notNull(task, "task must not be null");
+        return () -> {
+            try (Scope ignored = restore()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wraps the given task so that it runs with the captured state.
+     * @param task the task to wrap
+     * @param <V> the result type of the task
+     * @return the wrapped task
+     */
+    @NonNull
+    public <V> Callable<V> wrap(@NonNull Callable<V> task) {
+        Assert.notNull(task, "task must not be null");
+        return () -> {
+            try (Scope ignored = restore()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Wraps the given supplier, such as one passed to
+     * {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier, Executor)},
+     * so that it runs with the captured state.
+     * @param supplier the supplier to wrap
+     * @param <T> the type of the result
+     * @return the wrapped supplier
+     */
+    @NonNull
+    public <T> Supplier<T> wrapSupplier(@NonNull Supplier<T> supplier) {
+        Assert.notNull(supplier, "supplier must not be null");
+        return () -> {
+            try (Scope ignored = restore()) {
+                return supplier.get();
+            }
+        };
+    }
+
+    /**
+     * Wraps the given function, such as a {@link java.util.concurrent.CompletableFuture}
+     * stage, so that it runs with the captured state.
+     * @param function the function to wrap
+     * @param <T> the type of the input
+     * @param <R> the type of the result
+     * @return the wrapped function
+     */
+    @NonNull
+    public <T, R> Function<T, R> wrapFunction(@NonNull Function<T, R> function) {
+        Assert.notNull(function, "function must not be null");
+        return value -> {
+            try (Scope ignored = restore()) {
+                return function.apply(value);
+            }
+        };
+    }
+
+    /**
+     * Wraps the given function, such as a {@link java.util.concurrent.CompletableFuture}
+     * completion stage, so that it runs with the captured state.
+     * @param function the function to wrap
+     * @param <T> the type of the first input
+     * @param <U> the type of the second input
+     * @param <R> the type of the result
+     * @return the wrapped function
+     */
+    @NonNull
+    public <T, U, R> BiFunction<T, U, R> wrapBiFunction(@NonNull BiFunction<T, U, R> function) {
+        Assert.notNull(function, "function must not be null");
+        return (t, u) -> {
+            try (Scope ignored = restore()) {
+                return function.apply(t, u);
+            }
+        };
+    }
+
+    /**
+     * Wraps the given executor so that every task it executes runs with the
+     * captured state. This is convenient for passing to the {@code *Async} methods
+     * of {@link java.util.concurrent.CompletableFuture}, so that all dependent stages
+     * are covered at once.
+     * @param executor the executor to wrap
+     * @return the wrapped executor
+     */
+    @NonNull
+    public Executor wrap(@NonNull Executor executor) {
+        Assert.notNull(executor, "executor must not be null");
+        return task -> executor.execute(wrap(task));
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("activity", activity);
+        tsb.append("loggingGroup", loggingGroup);
+        return tsb.toString();
+    }
+
+    /**
+     * Captures the state of the calling thread, including the current activity
+     * of the given context.
+     * @param context the activity context, may be {@code null} to capture only
+     *      the logging group
+     * @return a new snapshot
+     */
+    @NonNull
+    public static ContextSnapshot capture(@Nullable ActivityContext context) {
+        Activity activity = null;
+        if (context != null && context.hasCurrentActivity()) {
+            activity = context.getCurrentActivity();
+        }
+        return new ContextSnapshot(context, activity, LoggingGroupHelper.get());
+    }
+
+    private static void setLoggingGroup(@Nullable String loggingGroup) {
+        if (loggingGroup != null) {
+            LoggingGroupHelper.set(loggingGroup);
+        } else {
+            LoggingGroupHelper.clear();
+        }
+    }
+
+    /**
+     * A scope during which a snapshot is current on the calling thread.
+     */
+    public interface Scope extends AutoCloseable {
+
+        /**
+         * Reinstates the state that was current before the snapshot was restored.
+         */
+        @Override
+        void close();
+
+    }
+
+    private class RestoringScope implements Scope {
+
+        private final Activity previousActivity;
+
+        private final String previousLoggingGroup;
+
+        private boolean closed;
+
+        RestoringScope(@Nullable Activity previousActivity, @Nullable String previousLoggingGroup) {
+            this.previousActivity = previousActivity;
+            this.previousLoggingGroup = previousLoggingGroup;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (context != null) {
+                if (previousActivity != null) {
+                    context.setCurrentActivity(previousActivity);
+                } else {
+                    context.removeCurrentActivity();
+                }
+            }
+            setLoggingGroup(previousLoggingGroup);
+        }
+
+    }
+
+}
@@ -98,6 +98,33 @@ public class ThreadPoolAsyncTaskExecutor implements AsyncTaskExecutor, Initializ
         this.waitForTasksToCompleteOnShutdown = waitForTasksToCompleteOnShutdown;
     }
 
+    /**
+     * Returns the number of tasks waiting in the queue to be executed.
+     * @return the queue depth, or 0 if the executor has not been initialized
+     * @since 9.6.5
+     */
+    public int getQueueSize() {
+        return (executor instanceof ThreadPoolExecutor tpe ? tpe.getQueue().size() : 0);
+    }
+
+    /**
+     * Returns the approximate number of threads that are actively executing tasks.
+     * @return the number of active threads, or 0 if the executor has not been initialized
+     * @since 9.6.5
+     */
+    public int getActiveCount() {
+        return (executor instanceof ThreadPoolExecutor tpe ? tpe.getActiveCount() : 0);
+    }
+
+    /**
+     * Returns the current number of threads in the pool.
+     * @return the pool size, or 0 if the executor has not been initialized
+     * @since 9.6.5
+     */
+    public int getPoolSize() {
+        return (executor instanceof ThreadPoolExecutor tpe ? tpe.getPoolSize() : 0);
+    }
+
     @Override
     public void execute(@NonNull Runnable task) {
         executor.execute(task);
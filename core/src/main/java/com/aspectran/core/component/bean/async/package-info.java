@@ -18,6 +18,8 @@
  * <p>This package contains the core {@link com.aspectran.core.component.bean.async.AsyncTaskExecutor}
  * interface, along with implementations like {@link com.aspectran.core.component.bean.async.SimpleAsyncTaskExecutor}
  * (which creates a new thread for each task) and {@link com.aspectran.core.component.bean.async.ThreadPoolAsyncTaskExecutor}
- * (which uses a thread pool). It also includes supporting classes for exception handling and task decoration.</p>
+ * (which uses a thread pool). It also includes supporting classes for exception handling and task decoration,
+ * and {@link com.aspectran.core.component.bean.async.ContextSnapshot} for carrying the current activity
+ * over to other threads.</p>
  */
 package com.aspectran.core.component.bean.async;
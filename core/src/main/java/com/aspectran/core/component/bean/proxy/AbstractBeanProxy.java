@@ -30,6 +30,7 @@ import com.aspectran.core.component.bean.annotation.Advisable;
 import com.aspectran.core.component.bean.annotation.Async;
 import com.aspectran.core.component.bean.async.AsyncExecutionException;
 import com.aspectran.core.component.bean.async.AsyncTaskExecutor;
+import com.aspectran.core.component.bean.async.ContextSnapshot;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.NoActivityStateException;
 import com.aspectran.core.context.rule.AdviceRule;
@@ -142,7 +143,7 @@ public abstract class AbstractBeanProxy {
             @Nullable Activity activity) throws Exception {
         Async async = method.getAnnotation(Async.class);
         if (async != null) {
-            return invokeAsync(method, args, superInvoker, async, activity);
+            return invokeAsync(method, args, superInvoker, async);
         } else {
             return invokeSync(method, superInvoker, activity, null);
         }
@@ -152,26 +153,28 @@ public abstract class AbstractBeanProxy {
      * Handles the asynchronous invocation of a method.
      * It submits the task to an {@link AsyncTaskExecutor} and returns a {@link Future}
      * if the method has a return value, otherwise returns null.
+     * The state of the calling thread is captured as a {@link ContextSnapshot}
+     * before the task is submitted.
      * @param method the method to invoke asynchronously
      * @param args the method arguments
      * @param superInvoker a callback to invoke the original method
      * @param async the {@link Async} annotation instance
-     * @param activity the current activity
      * @return a {@link Future} representing the result of the async computation, or null for void methods
      * @throws Exception if submitting the task fails
      */
     @Nullable
     private Object invokeAsync(
             @NonNull Method method, Object[] args, SuperInvoker superInvoker,
-            Async async, @Nullable Activity activity) throws Exception {
+            Async async) throws Exception {
         AsyncTaskExecutor executor = findAsyncExecutor(async);
         if (method.getReturnType() != Void.TYPE && !Future.class.isAssignableFrom(method.getReturnType())) {
             throw new AsyncExecutionException("Cannot use @Async on a method that does not return void or Future: " + method);
         }
+        ContextSnapshot snapshot = ContextSnapshot.capture(context);
         if (method.getReturnType() == Void.TYPE) {
             executor.execute(() -> {
                 try {
-                    invokeAsync(method, args, superInvoker, activity, executor);
+                    invokeAsync(method, args, superInvoker, snapshot, executor);
                 } catch (Exception e) {
                     // The exception is handled by the uncaught exception handler, so no need to rethrow.
                 }
@@ -180,7 +183,7 @@ public abstract class AbstractBeanProxy {
         } else {
             return executor.submit(() -> {
                 try {
-                    return invokeAsync(method, args, superInvoker, activity, executor);
+                    return invokeAsync(method, args, superInvoker, snapshot, executor);
                 } catch (Exception e) {
                     throw new CompletionException(e);
                 }
@@ -190,31 +193,32 @@ public abstract class AbstractBeanProxy {
 
     /**
      * The core logic for an asynchronous method invocation, executed within a worker thread.
-     * It sets up a {@link ProxyActivity} to ensure the activity context is available
-     * and then proceeds with a synchronous-style advice execution.
+     * It restores the given {@link ContextSnapshot}, which makes a {@link ProxyActivity}
+     * wrapping the calling thread's activity current, and then proceeds with a
+     * synchronous-style advice execution.
      * @param method the method to invoke
      * @param args the method arguments
      * @param superInvoker a callback to invoke the original method
-     * @param activity the original activity from the calling thread
+     * @param snapshot the state captured on the calling thread
      * @param executor the async task executor
      * @return the result of the method invocation
      * @throws Exception if the invocation fails
      */
     private Object invokeAsync(
             @NonNull Method method, Object[] args, SuperInvoker superInvoker,
-            @Nullable Activity activity, AsyncTaskExecutor executor) throws Exception {
+            @NonNull ContextSnapshot snapshot, AsyncTaskExecutor executor) throws Exception {
         return ThreadContextHelper.call(context.getClassLoader(), () -> {
-            try {
-                final Activity proxyActivity;
+            try (ContextSnapshot.Scope ignored = snapshot.restore()) {
+                Activity activity = snapshot.getActivity();
                 Object result;
                 if (activity == null) {
                     // When there is no parent activity, the proxy activity itself becomes the execution subject.
-                    proxyActivity = new ProxyActivity(context);
+                    ProxyActivity proxyActivity = new ProxyActivity(context);
                     result = proxyActivity.perform(() -> invokeSync(method, superInvoker, proxyActivity, null));
                 } else {
                     // The proxy activity serves only as a wrapper, and the actual execution subject is the parent activity.
-                    proxyActivity = new ProxyActivity(activity);
-                    result = proxyActivity.perform(() -> invokeSync(method, superInvoker, activity, proxyActivity));
+                    Activity proxyActivity = context.getAvailableActivity();
+                    result = invokeSync(method, superInvoker, activity, proxyActivity);
                 }
                 if (result instanceof Future<?> future) {
                     return future.get();
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean.proxy;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Supported modes for proxying beans of concrete classes.
+ * <p>Beans whose class is an interface, a JDK proxy class or a lambda class are
+ * always proxied with JDK dynamic proxies regardless of the mode.</p>
+ *
+ * @see ProxyBeanFactory
+ * @since 9.6.5
+ */
+public enum BeanProxyMode {
+
+    /**
+     * Proxies are created with Javassist's {@code ProxyFactory}. Every overridable
+     * method is intercepted and the original method is invoked reflectively.
+     */
+    JAVASSIST("javassist"),
+
+    /**
+     * Proxy subclasses are generated so that only advisable and hinted methods are
+     * overridden, and the original method is invoked directly rather than reflectively.
+     * @see BytecodeBeanProxy
+     */
+    BYTECODE("bytecode");
+
+    private final String alias;
+
+    BeanProxyMode(String alias) {
+        this.alias = alias;
+    }
+
+    @Override
+    public String toString() {
+        return this.alias;
+    }
+
+    /**
+     * Returns a {@code BeanProxyMode} with a value represented
+     * by the specified {@code String}.
+     * @param alias the bean proxy mode as a {@code String}
+     * @return a {@code BeanProxyMode}, may be {@code null}
+     */
+    @Nullable
+    public static BeanProxyMode resolve(String alias) {
+        if (alias != null) {
+            for (BeanProxyMode mode : values()) {
+                if (mode.alias.equals(alias)) {
+                    return mode;
+                }
+            }
+        }
+        return null;
+    }
+
+}
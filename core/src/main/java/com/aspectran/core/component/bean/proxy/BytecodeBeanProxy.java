@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean.proxy;
+
+import com.aspectran.core.activity.HintParameters;
+import com.aspectran.core.component.bean.annotation.Advisable;
+import com.aspectran.core.component.bean.annotation.Async;
+import com.aspectran.core.component.bean.annotation.Hint;
+import com.aspectran.core.component.bean.annotation.Hints;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.rule.BeanRule;
+import com.aspectran.utils.ClassUtils;
+import com.aspectran.utils.ExceptionUtils;
+import com.aspectran.utils.TypeUtils;
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import org.jspecify.annotations.NonNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bean proxy that applies Aspectran AOP advice to concrete classes through
+ * generated subclasses.
+ * <p>Unlike {@link JavassistBeanProxy}, which intercepts every overridable method and
+ * calls the original method reflectively, the generated subclass overrides only the
+ * methods that can be advised, that is, those annotated with {@link Advisable},
+ * {@link Async}, {@link Hint} or {@link Hints}. All other methods are inherited as is
+ * and never pass through the proxy. An overridden method calls back into this proxy
+ * with the index of the method, and the original method is then invoked from a
+ * generated dispatcher using a direct {@code invokespecial} call instead of reflection.</p>
+ * <p>The subclass is generated once per bean class, defined in the same package and
+ * class loader as the bean class, and shared by all beans of that class.</p>
+ *
+ * @since 9.6.5
+ */
+public class BytecodeBeanProxy extends AbstractBeanProxy {
+
+    private static final String PROXY_CLASS_SUFFIX = "$$BytecodeProxy";
+
+    private static final String BEAN_PROXY_FIELD = "$$beanProxy";
+
+    private static final ClassValue<ProxyClass> proxyClasses = new ClassValue<>() {
+        @Override
+        protected ProxyClass computeValue(Class<?> type) {
+            try {
+                return generateProxyClass(type);
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to generate proxy class for " + type.getName(), e);
+            }
+        }
+    };
+
+    private final BeanRule beanRule;
+
+    private final Method[] methods;
+
+    /**
+     * Creates a new BytecodeBeanProxy.
+     * @param context the activity context
+     * @param beanRule the bean rule for which the proxy is being created
+     * @param methods the methods overridden by the proxy class, in dispatch order
+     */
+    private BytecodeBeanProxy(@NonNull ActivityContext context, @NonNull BeanRule beanRule, Method[] methods) {
+        super(context);
+        this.beanRule = beanRule;
+        this.methods = methods;
+    }
+
+    @Override
+    protected BeanRule getBeanRule() {
+        return beanRule;
+    }
+
+    /**
+     * Intercepts an invocation of an overridden method. This method is called
+     * by the generated proxy class and is not intended to be called directly.
+     * @param self the proxy instance
+     * @param index the index of the invoked method
+     * @param args the arguments to the method
+     * @return the result of the method invocation
+     * @throws Exception if the invocation fails
+     */
+    public Object invoke(Object self, int index, Object[] args) throws Exception {
+        ProxyObject proxyObject = (ProxyObject)self;
+        return invoke(methods[index], args, () -> proxyObject.$$invokeSuper(index, args));
+    }
+
+    /**
+     * Creates a proxy instance for the given bean rule using a generated subclass.
+     * @param context the activity context
+     * @param beanRule the bean rule for which to create the proxy
+     * @param args the arguments passed to the bean's constructor, may be {@code null}
+     * @param argTypes the parameter types for the bean's constructor, may be {@code null}
+     * @return a new proxy bean object
+     * @throws BeanProxyException if an error occurs during proxy creation
+     */
+    public static Object create(ActivityContext context, BeanRule beanRule, Object[] args, Class<?>[] argTypes) {
+        ProxyClass proxyClass;
+        try {
+            proxyClass = proxyClasses.get(beanRule.getBeanClass());
+        } catch (IllegalStateException e) {
+            throw new BeanProxyException(beanRule, e.getMessage(), e.getCause());
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = proxyClass.type().getDeclaredConstructor(argTypes != null ? argTypes : new Class<?>[0]);
+        } catch (NoSuchMethodException e) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("No constructor found in class '").append(beanRule.getBeanClass().getName()).append("'");
+            if (argTypes != null && argTypes.length > 0) {
+                sb.append(" matching argument types: ");
+                for (int i = 0; i < argTypes.length; i++) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append(argTypes[i].getName());
+                }
+            } else {
+                sb.append(" with no arguments");
+            }
+            throw new BeanProxyException(beanRule, sb.toString(), e);
+        }
+        BytecodeBeanProxy beanProxy = new BytecodeBeanProxy(context, beanRule, proxyClass.methods());
+        Map<Method, List<HintParameters>> methodHints = ProxyHintScanner.scan(beanRule);
+        beanProxy.setMethodHints(methodHints);
+        try {
+            Object bean = constructor.newInstance(args != null ? args : new Object[0]);
+            ((ProxyObject)bean).$$setBeanProxy(beanProxy);
+            return bean;
+        } catch (InvocationTargetException e) {
+            throw new BeanProxyException(beanRule, ExceptionUtils.getCause(e));
+        } catch (Exception e) {
+            throw new BeanProxyException(beanRule, e);
+        }
+    }
+
+    /**
+     * Returns the methods that a proxy class generated for the given bean class
+     * would override, in dispatch order. The order is determined by the method
+     * signatures only, so it is the same every time for a given class.
+     * @param beanClass the bean class
+     * @return the list of advisable methods
+     */
+    @NonNull
+    static List<Method> getAdvisableMethods(@NonNull Class<?> beanClass) {
+        Map<String, Method> candidates = new LinkedHashMap<>();
+        for (Method method : beanClass.getMethods()) {
+            candidates.putIfAbsent(signatureOf(method), method);
+        }
+        for (Class<?> clazz = beanClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                candidates.putIfAbsent(signatureOf(method), method);
+            }
+        }
+        List<Method> methods = new ArrayList<>();
+        for (Method method : candidates.values()) {
+            if (isOverridable(beanClass, method) &&
+                    (method.isAnnotationPresent(Advisable.class) || method.isAnnotationPresent(Async.class) ||
+                    method.isAnnotationPresent(Hint.class) || method.isAnnotationPresent(Hints.class))) {
+                methods.add(method);
+            }
+        }
+        methods.sort(Comparator.comparing(BytecodeBeanProxy::signatureOf));
+        return methods;
+    }
+
+    private static boolean isOverridable(@NonNull Class<?> beanClass, @NonNull Method method) {
+        int modifiers = method.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isPrivate(modifiers) ||
+                Modifier.isAbstract(modifiers) || method.isBridge() || method.isSynthetic() ||
+                method.getDeclaringClass() == Object.class) {
+            return false;
+        }
+        if (!Modifier.isPublic(modifiers) && !Modifier.isProtected(modifiers)) {
+            // Package-private methods can only be overridden from within the same runtime package
+            Class<?> declaringClass = method.getDeclaringClass();
+            return (declaringClass.getClassLoader() == beanClass.getClassLoader() &&
+                    declaringClass.getPackageName().equals(beanClass.getPackageName()));
+        }
+        return true;
+    }
+
+    @NonNull
+    private static String signatureOf(@NonNull Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    @NonNull
+    static ProxyClass generateProxyClass(@NonNull Class<?> beanClass) throws Exception {
+        ClassLoader classLoader = Objects.requireNonNullElseGet(
+                beanClass.getClassLoader(), ClassUtils::getDefaultClassLoader);
+        ClassPool pool = new ClassPool(true);
+        pool.appendClassPath(new LoaderClassPath(classLoader));
+        pool.insertClassPath(new ClassClassPath(BytecodeBeanProxy.class));
+
+        CtClass superClass = pool.get(beanClass.getName());
+        CtClass ctClass = pool.makeClass(beanClass.getName() + PROXY_CLASS_SUFFIX, superClass);
+        ctClass.addInterface(pool.get(ProxyObject.class.getName()));
+        ctClass.addField(CtField.make("private " + BytecodeBeanProxy.class.getName() + " " +
+                BEAN_PROXY_FIELD + ";", ctClass));
+
+        for (Constructor<?> constructor : beanClass.getDeclaredConstructors()) {
+            if (!Modifier.isPrivate(constructor.getModifiers())) {
+                ctClass.addConstructor(CtNewConstructor.make(toCtClasses(pool, constructor.getParameterTypes()),
+                        toCtClasses(pool, constructor.getExceptionTypes()), ctClass));
+            }
+        }
+
+        List<Method> methods = getAdvisableMethods(beanClass);
+        StringBuilder dispatcher = new StringBuilder("{ switch ($1) {");
+        for (int i = 0; i < methods.size(); i++) {
+            Method method = methods.get(i);
+            boolean isVoid = (method.getReturnType() == Void.TYPE);
+            String body;
+            if (isVoid) {
+                body = "{ if (" + BEAN_PROXY_FIELD + " == null) { super." + method.getName() + "($$); } " +
+                        "else { " + BEAN_PROXY_FIELD + ".invoke(this, " + i + ", $args); } }";
+            } else {
+                body = "{ if (" + BEAN_PROXY_FIELD + " == null) { return super." + method.getName() + "($$); } " +
+                        "return ($r)" + BEAN_PROXY_FIELD + ".invoke(this, " + i + ", $args); }";
+            }
+            CtMethod ctMethod = CtNewMethod.make(
+                    method.getModifiers() & (Modifier.PUBLIC | Modifier.PROTECTED),
+                    pool.get(typeNameOf(method.getReturnType())),
+                    method.getName(),
+                    toCtClasses(pool, method.getParameterTypes()),
+                    toCtClasses(pool, method.getExceptionTypes()),
+                    body, ctClass);
+            ctClass.addMethod(ctMethod);
+
+            dispatcher.append(" case ").append(i).append(": ");
+            String call = "super." + method.getName() + "(" + unpackArguments(method.getParameterTypes()) + ")";
+            if (isVoid) {
+                dispatcher.append(call).append("; return null;");
+            } else {
+                dispatcher.append("return ($w)").append(call).append(";");
+            }
+        }
+        dispatcher.append(" default: throw new java.lang.IllegalArgumentException(\"No method at index \" + $1); } }");
+        ctClass.addMethod(CtNewMethod.make(Modifier.PUBLIC, pool.get(Object.class.getName()), "$$invokeSuper",
+                new CtClass[] {CtClass.intType, pool.get(Object[].class.getName())},
+                new CtClass[] {pool.get(Exception.class.getName())}, dispatcher.toString(), ctClass));
+        ctClass.addMethod(CtNewMethod.make("public void $$setBeanProxy(" + BytecodeBeanProxy.class.getName() +
+                " beanProxy) { " + BEAN_PROXY_FIELD + " = beanProxy; }", ctClass));
+
+        Class<?> type;
+        try {
+            byte[] bytecode = ctClass.toBytecode();
+            type = MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup()).defineClass(bytecode);
+        } catch (LinkageError e) {
+            // ClassValue may compute the value for the same class on several threads at once,
+            // in which case the class has already been defined by another thread
+            try {
+                type = Class.forName(ctClass.getName(), false, classLoader);
+            } catch (ClassNotFoundException ex) {
+                throw e;
+            }
+        } finally {
+            ctClass.detach();
+        }
+        return new ProxyClass(type, methods.toArray(new Method[0]));
+    }
+
+    @NonNull
+    private static CtClass[] toCtClasses(ClassPool pool, @NonNull Class<?>[] types) throws Exception {
+        CtClass[] ctClasses = new CtClass[types.length];
+        for (int i = 0; i < types.length; i++) {
+            ctClasses[i] = pool.get(typeNameOf(types[i]));
+        }
+        return ctClasses;
+    }
+
+    @NonNull
+    private static String unpackArguments(@NonNull Class<?>[] types) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Class<?> type = types[i];
+            if (type.isPrimitive()) {
+                sb.append("((").append(TypeUtils.getPrimitiveWrapper(type).getName()).append(")$2[").append(i)
+                        .append("]).").append(type.getName()).append("Value()");
+            } else {
+                sb.append("(").append(typeNameOf(type)).append(")$2[").append(i).append("]");
+            }
+        }
+        return sb.toString();
+    }
+
+    @NonNull
+    private static String typeNameOf(@NonNull Class<?> type) {
+        if (type.isArray()) {
+            return typeNameOf(type.getComponentType()) + "[]";
+        } else {
+            return type.getName();
+        }
+    }
+
+    /**
+     * Interface implemented by generated proxy classes.
+     * Not intended to be used directly.
+     */
+    public interface ProxyObject {
+
+        /**
+         * Binds the proxy that applies advice to this instance.
+         * @param beanProxy the bean proxy
+         */
+        void $$setBeanProxy(BytecodeBeanProxy beanProxy);
+
+        /**
+         * Invokes the original method at the given index.
+         * @param index the index of the method
+         * @param args the arguments to the method
+         * @return the result of the method, boxed if it is primitive
+         * @throws Exception if the original method throws an exception
+         */
+        Object $$invokeSuper(int index, Object[] args) throws Exception;
+
+    }
+
+    record ProxyClass(Class<?> type, Method[] methods) {
+    }
+
+}
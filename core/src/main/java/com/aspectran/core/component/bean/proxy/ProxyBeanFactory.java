@@ -17,7 +17,9 @@ package com.aspectran.core.component.bean.proxy;
 
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.rule.BeanRule;
+import com.aspectran.utils.Assert;
 import com.aspectran.utils.ClassUtils;
+import com.aspectran.utils.SystemUtils;
 import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,22 +30,62 @@ import java.lang.reflect.Proxy;
  * Factory that creates proxy instances for beans requiring AOP advice.
  * <p>
  * Chooses between JDK dynamic proxies (for interface-based beans) and
- * Javassist proxies (for concrete classes) and delegates creation to the
- * corresponding proxy implementation.
+ * Javassist proxies or generated subclass proxies (for concrete classes)
+ * and delegates creation to the corresponding proxy implementation.
  * </p>
+ * <p>The proxy mode for concrete classes defaults to {@link BeanProxyMode#JAVASSIST}
+ * and can be changed with the system property {@value #PROXY_MODE_PROPERTY}.</p>
  */
 public class ProxyBeanFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(ProxyBeanFactory.class);
 
+    /**
+     * The system property that specifies the proxy mode for concrete classes;
+     * either {@code javassist} or {@code bytecode}.
+     * @since 9.6.5
+     */
+    public static final String PROXY_MODE_PROPERTY = "aspectran.proxy.mode";
+
     private final ActivityContext context;
 
+    private BeanProxyMode proxyMode;
+
     /**
      * Creates a new ProxyBeanFactory.
      * @param context the activity context
      */
     public ProxyBeanFactory(ActivityContext context) {
         this.context = context;
+        String mode = SystemUtils.getProperty(PROXY_MODE_PROPERTY);
+        if (mode != null) {
+            this.proxyMode = BeanProxyMode.resolve(mode);
+            if (this.proxyMode == null) {
+                logger.warn("Unknown proxy mode '{}'; using {}", mode, BeanProxyMode.JAVASSIST);
+            }
+        }
+        if (this.proxyMode == null) {
+            this.proxyMode = BeanProxyMode.JAVASSIST;
+        }
+    }
+
+    /**
+     * Returns the mode used to proxy beans of concrete classes.
+     * @return the proxy mode
+     * @since 9.6.5
+     */
+    public BeanProxyMode getProxyMode() {
+        return proxyMode;
+    }
+
+    /**
+     * Sets the mode used to proxy beans of concrete classes.
+     * @param proxyMode the proxy mode
+     * @since 9.6.5
+     */
+    public void setProxyMode(BeanProxyMode proxyMode) {
+        Assert.notNull(proxyMode, "proxyMode must not be null");
+        this.proxyMode = proxyMode;
     }
 
     /**
@@ -54,7 +96,8 @@ public class ProxyBeanFactory {
      *     <li>If the bean class is an interface, a JDK dynamic proxy is used.</li>
      *     <li>If the bean class is already a JDK proxy class, a JDK dynamic proxy is used.</li>
      *     <li>If the bean class is a lambda class, a JDK dynamic proxy is used.</li>
-     *     <li>Otherwise (for concrete classes), a Javassist-based proxy is used.</li>
+     *     <li>Otherwise (for concrete classes), a Javassist-based proxy is used, or
+     *     a generated subclass proxy if the proxy mode is {@link BeanProxyMode#BYTECODE}.</li>
      * </ul>
      * </p>
      * @param beanRule the rule for the bean to be proxied
@@ -70,6 +113,11 @@ public class ProxyBeanFactory {
                 logger.trace("Create a proxied bean {} using JDK", beanRule);
             }
             bean = JdkBeanProxy.create(context, beanRule, args, argTypes);
+        } else if (proxyMode == BeanProxyMode.BYTECODE) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Create a proxied bean {} using a generated subclass", beanRule);
+            }
+            bean = BytecodeBeanProxy.create(context, beanRule, args, argTypes);
         } else {
             if (logger.isTraceEnabled()) {
                 logger.trace("Create a proxied bean {} using Javassist", beanRule);
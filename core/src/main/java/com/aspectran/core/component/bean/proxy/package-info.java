@@ -17,7 +17,8 @@
  * Provides support for creating dynamic proxies for beans, primarily for AOP-style interception.
  * <p>
  * This package includes implementations for different proxying mechanisms, such as
- * JDK dynamic proxies and Javassist-based proxies, along with a factory for their creation.
+ * JDK dynamic proxies, Javassist-based proxies and generated subclass proxies, along with
+ * a factory for their creation.
  * </p>
  */
 package com.aspectran.core.component.bean.proxy;
@@ -16,6 +16,7 @@
 package com.aspectran.core.component.session;
 
 import com.aspectran.core.component.AbstractComponent;
+import com.aspectran.core.context.metrics.jfr.SessionCacheEvent;
 import com.aspectran.utils.ObjectUtils;
 import com.aspectran.utils.StringUtils;
 import com.aspectran.utils.concurrent.AutoLock;
@@ -253,6 +254,8 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
         if (sessionStore == null) {
             return null; // can't load it
         }
+        SessionCacheEvent event = new SessionCacheEvent();
+        event.begin();
         try {
             SessionData data = sessionStore.load(id);
             if (data != null) {
@@ -270,6 +273,8 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
                 sessionStore.delete(id);
             }
             throw e;
+        } finally {
+            commitEvent(event, SessionCacheEvent.LOAD);
         }
     }
 
@@ -338,7 +343,13 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
             if (session.getRequests() <= 0) {
                 if (sessionStore != null) {
                     // save the session
-                    sessionStore.save(id, session.getSessionData());
+                    SessionCacheEvent event = new SessionCacheEvent();
+                    event.begin();
+                    try {
+                        sessionStore.save(id, session.getSessionData());
+                    } finally {
+                        commitEvent(event, SessionCacheEvent.SAVE);
+                    }
                 } else {
                     if (logger.isTraceEnabled()) {
                         logger.trace("No SessionStore, session in {} only id={}", thisName, id);
@@ -544,12 +555,18 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
                 if (logger.isDebugEnabled()) {
                     logger.debug("Evict idle session id={}", session.getId());
                 }
-                // save before evicting
-                if (sessionStore != null && (isClusterEnabled() || isSaveOnInactiveEviction())) {
-                    sessionStore.save(session.getId(), session.getSessionData());
+                SessionCacheEvent event = new SessionCacheEvent();
+                event.begin();
+                try {
+                    // save before evicting
+                    if (sessionStore != null && (isClusterEnabled() || isSaveOnInactiveEviction())) {
+                        sessionStore.save(session.getId(), session.getSessionData());
+                    }
+                    doDelete(session.getId()); // detach from this cache
+                    session.setResident(false);
+                } finally {
+                    commitEvent(event, SessionCacheEvent.EVICT);
                 }
-                doDelete(session.getId()); // detach from this cache
-                session.setResident(false);
                 return true;
             }
         } catch (Exception e) {
@@ -558,6 +575,15 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
         return false;
     }
 
+    private void commitEvent(@NonNull SessionCacheEvent event, String operation) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.store = storeName;
+            event.commit();
+        }
+    }
+
     @Override
     public void cleanOrphans(long time) {
         if (sessionStore != null) {
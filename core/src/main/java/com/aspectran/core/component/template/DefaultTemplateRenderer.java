@@ -22,7 +22,8 @@ import com.aspectran.core.activity.request.ParameterMap;
 import com.aspectran.core.component.AbstractComponent;
 import com.aspectran.core.component.template.engine.TemplateEngine;
 import com.aspectran.core.context.ActivityContext;
-import com.aspectran.core.context.asel.token.Token;
+import com.aspectran.core.context.asel.token.CompiledTokenTemplate;
+import com.aspectran.core.context.metrics.jfr.TemplateRenderEvent;
 import com.aspectran.core.context.rule.TemplateRule;
 import com.aspectran.utils.Assert;
 
@@ -108,6 +109,8 @@ public class DefaultTemplateRenderer extends AbstractComponent implements Templa
 
     @Override
     public void render(TemplateRule templateRule, Activity activity) {
+        TemplateRenderEvent event = new TemplateRenderEvent();
+        event.begin();
         try {
             Assert.notNull(templateRule, "templateRule must not be null");
             Assert.notNull(activity, "activity must not be null");
@@ -146,15 +149,23 @@ public class DefaultTemplateRenderer extends AbstractComponent implements Templa
                     }
                 }
             } else {
-                Token[] templateTokens = templateRule.getTemplateTokens(context);
-                if (templateTokens != null) {
-                    activity.getTokenEvaluator().evaluate(templateTokens, writer);
+                CompiledTokenTemplate compiledTemplate = templateRule.getCompiledTemplate(context);
+                if (compiledTemplate != null) {
+                    compiledTemplate.render(activity.getTokenEvaluator(), writer);
                 } else {
                     writer.write(templateRule.getTemplateSource(context));
                 }
             }
         } catch (Exception e) {
             throw new TemplateRenderingException("An error occurred during rendering of the template", templateRule, e);
+        } finally {
+            event.end();
+            if (event.shouldCommit() && templateRule != null) {
+                event.templateId = templateRule.getId();
+                event.templateName = templateRule.getName();
+                event.engine = templateRule.getEngine();
+                event.commit();
+            }
         }
     }
 
@@ -26,6 +26,7 @@ import com.aspectran.core.component.schedule.ScheduleRuleRegistry;
 import com.aspectran.core.component.template.TemplateRenderer;
 import com.aspectran.core.component.translet.TransletRuleRegistry;
 import com.aspectran.core.context.env.Environment;
+import com.aspectran.core.context.metrics.ActivityMetricsRegistry;
 import com.aspectran.core.service.CoreService;
 import com.aspectran.core.support.i18n.message.MessageSource;
 import com.aspectran.utils.statistic.CounterStatistic;
@@ -201,4 +202,11 @@ public interface ActivityContext {
      */
     CounterStatistic getActivityCounter();
 
+    /**
+     * Returns the registry of the latency distributions of performed activities.
+     * @return the activity metrics registry
+     * @since 9.6.5
+     */
+    ActivityMetricsRegistry getActivityMetricsRegistry();
+
 }
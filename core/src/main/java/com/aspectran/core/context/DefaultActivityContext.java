@@ -33,6 +33,7 @@ import com.aspectran.core.component.template.TemplateRenderer;
 import com.aspectran.core.component.translet.TransletRuleRegistry;
 import com.aspectran.core.context.env.ActivityEnvironment;
 import com.aspectran.core.context.env.Environment;
+import com.aspectran.core.context.metrics.ActivityMetricsRegistry;
 import com.aspectran.core.context.rule.DescriptionRule;
 import com.aspectran.core.service.CoreService;
 import com.aspectran.core.support.i18n.message.DelegatingMessageSource;
@@ -61,6 +62,8 @@ public class DefaultActivityContext extends AbstractComponent implements Activit
 
     private final CounterStatistic activityCounter = new CounterStatistic();
 
+    private final ActivityMetricsRegistry activityMetricsRegistry = new ActivityMetricsRegistry();
+
     private final ClassLoader classLoader;
 
     private final ApplicationAdapter applicationAdapter;
@@ -327,6 +330,11 @@ public class DefaultActivityContext extends AbstractComponent implements Activit
         return activityCounter;
     }
 
+    @Override
+    public ActivityMetricsRegistry getActivityMetricsRegistry() {
+        return activityMetricsRegistry;
+    }
+
     /**
      * Resolves the {@link MessageSource} for this context.
      * <p>If a bean with the specific name {@link #MESSAGE_SOURCE_BEAN_ID} is defined,
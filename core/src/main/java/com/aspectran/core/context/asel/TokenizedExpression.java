@@ -30,11 +30,14 @@ import ognl.OgnlContext;
 import ognl.OgnlException;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The default, concrete implementation of the {@link ExpressionEvaluator} interface.
@@ -46,11 +49,18 @@ import java.util.Set;
  * <p>During evaluation, it resolves the value of each token and places it into the
  * OGNL context using the temporary variable name. Finally, it invokes the OGNL
  * engine to evaluate the expression, producing the final result.</p>
+ * <p>When expression compilation is enabled in {@link OgnlSupport}, an eligible expression
+ * is compiled to bytecode after its first successful evaluation, so that it has already
+ * passed the member access checks once. If the compiled form fails for any reason, for
+ * example because later evaluations see different runtime types, it is discarded and the
+ * expression falls back to interpretation for good.</p>
  *
  * <p>Created: 2024. 11. 26.</p>
  */
 public class TokenizedExpression implements ExpressionEvaluator {
 
+    private static final Logger logger = LoggerFactory.getLogger(TokenizedExpression.class);
+
     private static final String TOKEN_VAR_REF_SYMBOL = "#";
 
     private static final String TOKEN_VAR_NAME_PREFIX = "__";
@@ -69,6 +79,14 @@ public class TokenizedExpression implements ExpressionEvaluator {
 
     private Set<String> tokenVarNames;
 
+    private String processedExpression;
+
+    private boolean compilable;
+
+    private final AtomicBoolean compileAttempted = new AtomicBoolean();
+
+    private volatile Object compiledExpression;
+
     public TokenizedExpression(String expression) throws ExpressionParserException {
         this.expression = expression;
         parseExpression();
@@ -108,6 +126,15 @@ public class TokenizedExpression implements ExpressionEvaluator {
         return (tokenVarNames != null && !tokenVarNames.isEmpty());
     }
 
+    /**
+     * Returns whether this expression is currently evaluated in its compiled form.
+     * @return {@code true} if a compiled form is in use; {@code false} otherwise
+     * @since 9.6.5
+     */
+    public boolean isCompiled() {
+        return (compiledExpression != null);
+    }
+
     private void parseExpression() throws ExpressionParserException {
         Token[] tokens = TokenParser.makeTokens(expression, true);
         Map<String, Token> tokenVars = null;
@@ -148,6 +175,8 @@ public class TokenizedExpression implements ExpressionEvaluator {
             } catch (OgnlException e) {
                 throw new ExpressionParserException(expression, e);
             }
+            this.processedExpression = substitutedExpression;
+            this.compilable = OgnlSupport.isCompilable(parsedExpression);
         }
     }
 
@@ -170,13 +199,45 @@ public class TokenizedExpression implements ExpressionEvaluator {
         }
         try {
             preProcess(activity, ognlContext);
-            Object value = OgnlSupport.getValue(getParsedExpression(), ognlContext, root, resultType);
+            Object value = getValue(ognlContext, root, resultType);
             return postProcess(activity, ognlContext, value);
         } catch (Exception e) {
             throw new ExpressionEvaluationException(getExpressionString(), e);
         }
     }
 
+    private Object getValue(OgnlContext ognlContext, Object root, Class<?> resultType) throws OgnlException {
+        Object compiled = compiledExpression;
+        if (compiled != null) {
+            try {
+                return OgnlSupport.getValue(compiled, ognlContext, root, resultType);
+            } catch (Exception e) {
+                compiledExpression = null;
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Discarded compiled expression '{}'; falling back to interpretation. Reason: {}",
+                            expression, e.toString());
+                }
+            }
+            return OgnlSupport.getValue(getParsedExpression(), ognlContext, root, resultType);
+        }
+        Object value = OgnlSupport.getValue(getParsedExpression(), ognlContext, root, resultType);
+        if (compilable && OgnlSupport.isCompileEnabled() && compileAttempted.compareAndSet(false, true)) {
+            compile(ognlContext, root);
+        }
+        return value;
+    }
+
+    private void compile(OgnlContext ognlContext, Object root) {
+        try {
+            compiledExpression = OgnlSupport.compileExpression(processedExpression, ognlContext, root);
+        } catch (Exception | LinkageError e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Unable to compile expression '{}'; it will be interpreted. Reason: {}",
+                        expression, e.toString());
+            }
+        }
+    }
+
     private void preProcess(Activity activity, OgnlContext ognlContext) {
         if (hasTokenVars()) {
             TokenEvaluator tokenEvaluator = activity.getTokenEvaluator();
@@ -16,12 +16,26 @@
 package com.aspectran.core.context.asel.ognl;
 
 import com.aspectran.utils.Assert;
+import com.aspectran.utils.SystemUtils;
+import ognl.ASTAssign;
+import ognl.ASTCtor;
+import ognl.ASTEval;
+import ognl.ASTMethod;
+import ognl.ASTProject;
+import ognl.ASTSelect;
+import ognl.ASTSelectFirst;
+import ognl.ASTSelectLast;
+import ognl.ASTSequence;
+import ognl.ASTStaticField;
+import ognl.ASTStaticMethod;
 import ognl.DefaultTypeConverter;
 import ognl.Node;
+import ognl.Ognl;
 import ognl.OgnlContext;
 import ognl.OgnlException;
 import ognl.TypeConverter;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.Map;
 
@@ -44,6 +58,21 @@ import java.util.Map;
  */
 public abstract class OgnlSupport {
 
+    /**
+     * The system property that enables compiling AsEL expressions to bytecode.
+     * <p>Compilation relies on OGNL's Javassist-based expression compiler, which defines
+     * the generated accessor classes through reflective access to {@code java.lang}.
+     * On JDK 17 and later, the JVM must therefore be started with both options:</p>
+     * <pre>
+     * -Daspectran.asel.compile=true --add-opens java.base/java.lang=ALL-UNNAMED
+     * </pre>
+     * <p>Without {@code --add-opens}, compilation fails silently and every expression
+     * is evaluated by interpretation, as when compilation is disabled. Expressions that
+     * cannot be compiled are always evaluated by interpretation.</p>
+     * @since 9.6.5
+     */
+    public static final String COMPILE_EXPRESSIONS_PROPERTY = "aspectran.asel.compile";
+
     /** A shared, reusable instance of the custom OGNL class resolver. */
     public static final OgnlClassResolver CLASS_RESOLVER = new OgnlClassResolver();
 
@@ -53,6 +82,29 @@ public abstract class OgnlSupport {
     /** A shared, reusable instance of the custom OGNL member access controller. */
     public static final OgnlMemberAccess MEMBER_ACCESS = new OgnlMemberAccess();
 
+    private static volatile boolean compileEnabled =
+            Boolean.parseBoolean(SystemUtils.getProperty(COMPILE_EXPRESSIONS_PROPERTY));
+
+    /**
+     * Returns whether AsEL expressions may be compiled to bytecode.
+     * @return {@code true} if expression compilation is enabled; {@code false} otherwise
+     * @since 9.6.5
+     */
+    public static boolean isCompileEnabled() {
+        return compileEnabled;
+    }
+
+    /**
+     * Sets whether AsEL expressions may be compiled to bytecode.
+     * The initial value is taken from the {@value #COMPILE_EXPRESSIONS_PROPERTY} system property.
+     * Compilation also requires the JVM option described there.
+     * @param compileEnabled {@code true} to enable expression compilation
+     * @since 9.6.5
+     */
+    public static void setCompileEnabled(boolean compileEnabled) {
+        OgnlSupport.compileEnabled = compileEnabled;
+    }
+
     /**
      * Creates a default {@link OgnlContext} configured with security restrictions.
      * <p>The returned context uses a custom {@link OgnlClassResolver} for class resolution,
@@ -117,4 +169,54 @@ public abstract class OgnlSupport {
         return result;
     }
 
+    /**
+     * Returns whether the given OGNL expression tree is eligible for compilation.
+     * <p>OGNL's compiler evaluates parts of the expression while generating code, and
+     * compiled accessors invoke members directly instead of going through the
+     * {@link OgnlMemberAccess}. Therefore, only trees made of property navigation,
+     * variable references, constants and operators are eligible; method and constructor
+     * calls, static member references, assignments, projections, selections, sequences
+     * and dynamic evaluation are never compiled.</p>
+     * @param tree the parsed OGNL expression tree
+     * @return {@code true} if the tree may be compiled; {@code false} otherwise
+     * @since 9.6.5
+     */
+    public static boolean isCompilable(Object tree) {
+        if (!(tree instanceof Node node)) {
+            return false;
+        }
+        if (node instanceof ASTMethod || node instanceof ASTStaticMethod || node instanceof ASTStaticField ||
+                node instanceof ASTCtor || node instanceof ASTAssign || node instanceof ASTEval ||
+                node instanceof ASTSequence || node instanceof ASTProject || node instanceof ASTSelect ||
+                node instanceof ASTSelectFirst || node instanceof ASTSelectLast) {
+            return false;
+        }
+        for (int i = 0; i < node.jjtGetNumChildren(); i++) {
+            if (!isCompilable(node.jjtGetChild(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compiles the given OGNL expression into a tree whose evaluation is delegated to a
+     * generated accessor class. The compiled code is specialized for the runtime types
+     * found in the given root object.
+     * @param expression the OGNL expression string
+     * @param ognlContext the OGNL context used for compilation
+     * @param root the root object whose runtime types drive the generated code
+     * @return the compiled expression tree, or {@code null} if no accessor could be generated
+     * @throws Exception if the expression could not be compiled
+     * @since 9.6.5
+     */
+    @Nullable
+    public static Object compileExpression(String expression, OgnlContext ognlContext, Object root)
+            throws Exception {
+        Assert.notNull(expression, "expression must not be null");
+        Assert.notNull(ognlContext, "ognlContext must not be null");
+        Node node = Ognl.compileExpression(ognlContext, root, expression);
+        return (node != null && node.getAccessor() != null ? node : null);
+    }
+
 }
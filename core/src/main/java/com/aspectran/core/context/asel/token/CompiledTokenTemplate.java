@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.asel.token;
+
+import com.aspectran.core.context.rule.type.TokenType;
+import org.jspecify.annotations.NonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A precompiled form of a token template used by the built-in template engine.
+ * <p>Adjacent text tokens are merged into a single literal segment that is kept as
+ * a character array, so that rendering writes literal text straight to the writer
+ * without evaluating text tokens or converting them to strings again. Only the
+ * dynamic tokens are evaluated on each render.</p>
+ * <p>Instances are immutable and thread-safe.</p>
+ *
+ * @since 9.6.5
+ */
+public class CompiledTokenTemplate {
+
+    /** Literal character segments; {@code null} where the segment is a dynamic token. */
+    private final char[][] literals;
+
+    /** Dynamic tokens; {@code null} where the segment is literal text. */
+    private final Token[] tokens;
+
+    private CompiledTokenTemplate(char[][] literals, Token[] tokens) {
+        this.literals = literals;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Returns the number of segments in this template.
+     * @return the number of segments
+     */
+    public int getSegmentCount() {
+        return tokens.length;
+    }
+
+    /**
+     * Renders this template by writing literal segments directly and evaluating
+     * the dynamic tokens with the given evaluator.
+     * The output is identical to that of {@link TokenEvaluator#evaluate(Token[], Writer)}.
+     * @param tokenEvaluator the token evaluator to use for dynamic tokens
+     * @param writer the writer to output the result to
+     * @throws IOException if an I/O error occurs
+     */
+    public void render(TokenEvaluator tokenEvaluator, Writer writer) throws IOException {
+        for (int i = 0; i < tokens.length; i++) {
+            Token token = tokens[i];
+            if (token == null) {
+                char[] literal = literals[i];
+                writer.write(literal, 0, literal.length);
+            } else {
+                Object value = tokenEvaluator.evaluate(token);
+                if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Compiles the given tokens into a {@code CompiledTokenTemplate}.
+     * @param tokens the tokens to compile
+     * @return the compiled template
+     */
+    @NonNull
+    public static CompiledTokenTemplate compile(@NonNull Token[] tokens) {
+        List<char[]> literalList = new ArrayList<>(tokens.length);
+        List<Token> tokenList = new ArrayList<>(tokens.length);
+        StringBuilder text = null;
+        for (Token token : tokens) {
+            if (token.getType() == TokenType.TEXT) {
+                if (token.getDefaultValue() != null) {
+                    if (text == null) {
+                        text = new StringBuilder();
+                    }
+                    text.append(token.getDefaultValue());
+                }
+            } else {
+                if (text != null) {
+                    literalList.add(text.toString().toCharArray());
+                    tokenList.add(null);
+                    text = null;
+                }
+                literalList.add(null);
+                tokenList.add(token);
+            }
+        }
+        if (text != null) {
+            literalList.add(text.toString().toCharArray());
+            tokenList.add(null);
+        }
+        return new CompiledTokenTemplate(literalList.toArray(new char[0][]), tokenList.toArray(new Token[0]));
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics;
+
+import com.aspectran.core.context.rule.type.MethodType;
+import com.aspectran.utils.Assert;
+import com.aspectran.utils.SystemUtils;
+import com.aspectran.utils.ToStringBuilder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A registry of the latency distributions of the activities performed in an
+ * {@link com.aspectran.core.context.ActivityContext}.
+ * <p>Metrics are kept per translet and request method, and additionally aggregated
+ * per request method. Collection is disabled by default; it can be enabled with the
+ * {@value #METRICS_ENABLED_PROPERTY} system property or {@link #setEnabled(boolean)}.
+ * Translets are keyed by their declared name rather than the concrete request name,
+ * so translets with path variables share a single entry. Once
+ * {@link #getMaxTransletMetrics()} translets are tracked, further translets are only
+ * included in the per-method aggregates.</p>
+ *
+ * @since 9.6.5
+ */
+public class ActivityMetricsRegistry {
+
+    /** The system property that enables metrics collection. */
+    public static final String METRICS_ENABLED_PROPERTY = "aspectran.metrics.enabled";
+
+    /** The default maximum number of translets for which metrics are kept. */
+    public static final int DEFAULT_MAX_TRANSLET_METRICS = 500;
+
+    private final Map<MetricsKey, TransletMetrics> transletMetricsMap = new ConcurrentHashMap<>();
+
+    private final AtomicReferenceArray<TransletMetrics> methodMetrics =
+            new AtomicReferenceArray<>(MethodType.values().length);
+
+    private volatile boolean enabled = Boolean.parseBoolean(SystemUtils.getProperty(METRICS_ENABLED_PROPERTY));
+
+    private volatile int maxTransletMetrics = DEFAULT_MAX_TRANSLET_METRICS;
+
+    /**
+     * Returns whether metrics collection is enabled.
+     * @return {@code true} if metrics are being collected; {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables metrics collection.
+     * @param enabled {@code true} to collect metrics
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the maximum number of translets for which metrics are kept.
+     * @return the maximum number of translets
+     */
+    public int getMaxTransletMetrics() {
+        return maxTransletMetrics;
+    }
+
+    /**
+     * Sets the maximum number of translets for which metrics are kept.
+     * @param maxTransletMetrics the maximum number of translets
+     */
+    public void setMaxTransletMetrics(int maxTransletMetrics) {
+        Assert.isTrue(maxTransletMetrics >= 0, "maxTransletMetrics must not be negative");
+        this.maxTransletMetrics = maxTransletMetrics;
+    }
+
+    /**
+     * Records the times taken by a single activity.
+     * @param transletName the declared name of the translet
+     * @param requestMethod the request method, may be {@code null}
+     * @param durationNanos the total time taken to perform the activity
+     * @param adviceNanos the time spent executing advice actions
+     * @param responseNanos the time spent producing the response
+     * @param failed whether the activity ended with an unhandled exception
+     */
+    public void record(String transletName, @Nullable MethodType requestMethod,
+                       long durationNanos, long adviceNanos, long responseNanos, boolean failed) {
+        Assert.notNull(transletName, "transletName must not be null");
+        TransletMetrics transletMetrics = obtainTransletMetrics(transletName, requestMethod);
+        if (transletMetrics != null) {
+            transletMetrics.record(durationNanos, adviceNanos, responseNanos, failed);
+        }
+        if (requestMethod != null) {
+            obtainMethodMetrics(requestMethod).record(durationNanos, adviceNanos, responseNanos, failed);
+        }
+    }
+
+    /**
+     * Returns the metrics of the given translet.
+     * @param transletName the declared name of the translet
+     * @param requestMethod the request method, may be {@code null}
+     * @return the translet metrics, or {@code null} if nothing has been recorded
+     */
+    @Nullable
+    public TransletMetrics getTransletMetrics(String transletName, @Nullable MethodType requestMethod) {
+        return transletMetricsMap.get(new MetricsKey(transletName, requestMethod));
+    }
+
+    /**
+     * Returns the metrics of all translets for which something has been recorded.
+     * @return an unmodifiable collection of translet metrics
+     */
+    @NonNull
+    public Collection<TransletMetrics> getAllTransletMetrics() {
+        return Collections.unmodifiableCollection(transletMetricsMap.values());
+    }
+
+    /**
+     * Returns the metrics aggregated over all translets requested with the given method.
+     * @param requestMethod the request method
+     * @return the aggregated metrics, or {@code null} if nothing has been recorded
+     */
+    @Nullable
+    public TransletMetrics getMethodMetrics(@NonNull MethodType requestMethod) {
+        return methodMetrics.get(requestMethod.ordinal());
+    }
+
+    /**
+     * Discards the metrics of all translets and resets the per-method aggregates.
+     */
+    public void reset() {
+        transletMetricsMap.clear();
+        for (int i = 0; i < methodMetrics.length(); i++) {
+            TransletMetrics metrics = methodMetrics.get(i);
+            if (metrics != null) {
+                metrics.reset();
+            }
+        }
+    }
+
+    @Nullable
+    private TransletMetrics obtainTransletMetrics(String transletName, @Nullable MethodType requestMethod) {
+        MetricsKey key = new MetricsKey(transletName, requestMethod);
+        TransletMetrics metrics = transletMetricsMap.get(key);
+        if (metrics == null) {
+            if (transletMetricsMap.size() >= maxTransletMetrics) {
+                return null;
+            }
+            metrics = transletMetricsMap.computeIfAbsent(key, k -> new TransletMetrics(transletName, requestMethod));
+        }
+        return metrics;
+    }
+
+    @NonNull
+    private TransletMetrics obtainMethodMetrics(@NonNull MethodType requestMethod) {
+        int index = requestMethod.ordinal();
+        TransletMetrics metrics = methodMetrics.get(index);
+        if (metrics == null) {
+            methodMetrics.compareAndSet(index, null, new TransletMetrics(null, requestMethod));
+            metrics = methodMetrics.get(index);
+        }
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("enabled", enabled);
+        tsb.append("translets", transletMetricsMap.size());
+        return tsb.toString();
+    }
+
+    private record MetricsKey(String transletName, MethodType requestMethod) {
+    }
+
+}
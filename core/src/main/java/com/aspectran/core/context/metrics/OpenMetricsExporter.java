@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics;
+
+import com.aspectran.core.component.bean.async.ThreadPoolAsyncTaskExecutor;
+import com.aspectran.core.component.session.SessionManager;
+import com.aspectran.core.component.session.SessionStatistics;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.AsyncTaskExecutorNotAvailableException;
+import com.aspectran.core.scheduler.activity.JobExecutionStatistics;
+import com.aspectran.core.scheduler.service.SchedulerService;
+import com.aspectran.core.service.CoreService;
+import com.aspectran.utils.Assert;
+import com.aspectran.utils.statistic.CounterStatistic;
+import com.aspectran.utils.statistic.HistogramSnapshot;
+import com.aspectran.utils.statistic.HistogramStatistic;
+import org.jspecify.annotations.NonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Renders the metrics of an {@link ActivityContext} in the OpenMetrics text format,
+ * so that they can be scraped by Prometheus and compatible monitoring systems.
+ * <p>The exposition includes the activity counters, the per-translet latency
+ * distributions kept by the {@link ActivityMetricsRegistry} (when enabled), the
+ * statistics of the registered session managers, the queue depth of the async task
+ * executor, the job statistics of the scheduler service, and basic JVM metrics.
+ * Sections whose source is not available are omitted.</p>
+ * <p>This class is thread-safe; concurrent scrapes each write to their own writer.</p>
+ *
+ * @since 9.6.5
+ */
+public class OpenMetricsExporter {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    private static final double MILLIS_PER_SECOND = 1_000D;
+
+    private static final double[] QUANTILES = {0.5D, 0.9D, 0.99D};
+
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99"};
+
+    private final ActivityContext context;
+
+    private final List<SessionManager> sessionManagers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean jvmMetricsEnabled = true;
+
+    /**
+     * Instantiates a new OpenMetricsExporter.
+     * @param context the activity context whose metrics are to be exported
+     */
+    public OpenMetricsExporter(ActivityContext context) {
+        Assert.notNull(context, "context must not be null");
+        this.context = context;
+    }
+
+    /**
+     * Adds a session manager whose statistics are to be exported.
+     * Its worker name is used as the value of the {@code manager} label.
+     * @param sessionManager the session manager
+     */
+    public void addSessionManager(SessionManager sessionManager) {
+        Assert.notNull(sessionManager, "sessionManager must not be null");
+        sessionManagers.add(sessionManager);
+    }
+
+    /**
+     * Returns whether JVM metrics are included in the exposition.
+     * @return {@code true} if JVM metrics are exported; {@code false} otherwise
+     */
+    public boolean isJvmMetricsEnabled() {
+        return jvmMetricsEnabled;
+    }
+
+    /**
+     * Sets whether JVM metrics are included in the exposition.
+     * Defaults to {@code true}.
+     * @param jvmMetricsEnabled {@code true} to export JVM metrics
+     */
+    public void setJvmMetricsEnabled(boolean jvmMetricsEnabled) {
+        this.jvmMetricsEnabled = jvmMetricsEnabled;
+    }
+
+    /**
+     * Writes all available metrics to the given writer, followed by the end-of-exposition marker.
+     * @param writer the writer to output to; it should be buffered
+     * @throws IOException if an I/O error occurs
+     */
+    public void export(Writer writer) throws IOException {
+        OpenMetricsWriter out = new OpenMetricsWriter(writer);
+        writeActivityMetrics(out);
+        writeTransletMetrics(out);
+        writeSessionMetrics(out);
+        writeAsyncMetrics(out);
+        writeSchedulerMetrics(out);
+        if (jvmMetricsEnabled) {
+            writeJvmMetrics(out);
+        }
+        out.eof();
+    }
+
+    private void writeActivityMetrics(@NonNull OpenMetricsWriter out) throws IOException {
+        CounterStatistic counter = context.getActivityCounter();
+        out.family("aspectran_activities", OpenMetricsWriter.TYPE_COUNTER, null,
+                "Number of activities performed");
+        out.sample("aspectran_activities", "_total").value(counter.getTotal());
+        out.family("aspectran_activities_active", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Number of activities currently being performed");
+        out.sample("aspectran_activities_active", null).value(counter.getCurrent());
+        out.family("aspectran_activities_active_max", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Highest number of activities performed concurrently");
+        out.sample("aspectran_activities_active_max", null).value(counter.getMax());
+    }
+
+    private void writeTransletMetrics(@NonNull OpenMetricsWriter out) throws IOException {
+        Collection<TransletMetrics> metricsList = context.getActivityMetricsRegistry().getAllTransletMetrics();
+        if (metricsList.isEmpty()) {
+            return;
+        }
+        writeTransletSummary(out, metricsList, "aspectran_translet_duration_seconds",
+                "Time taken to perform translets", TransletMetrics::getDuration);
+        writeTransletSummary(out, metricsList, "aspectran_translet_advice_seconds",
+                "Time spent executing advice actions of translets", TransletMetrics::getAdviceTime);
+        writeTransletSummary(out, metricsList, "aspectran_translet_response_seconds",
+                "Time spent producing the responses of translets", TransletMetrics::getResponseTime);
+        out.family("aspectran_translet_errors", OpenMetricsWriter.TYPE_COUNTER, null,
+                "Number of translets that ended with an unhandled exception");
+        for (TransletMetrics metrics : metricsList) {
+            writeTransletLabels(out.sample("aspectran_translet_errors", "_total"), metrics)
+                    .value(metrics.getErrorCount());
+        }
+    }
+
+    private void writeTransletSummary(
+            @NonNull OpenMetricsWriter out, @NonNull Collection<TransletMetrics> metricsList,
+            String name, String help, Function<TransletMetrics, HistogramStatistic> histogramGetter)
+            throws IOException {
+        out.family(name, OpenMetricsWriter.TYPE_SUMMARY, "seconds", help);
+        for (TransletMetrics metrics : metricsList) {
+            HistogramSnapshot snapshot = histogramGetter.apply(metrics).snapshot();
+            for (int i = 0; i < QUANTILES.length; i++) {
+                writeTransletLabels(out.sample(name, null), metrics)
+                        .label("quantile", QUANTILE_LABELS[i])
+                        .value(snapshot.getValueAtPercentile(QUANTILES[i] * 100D) / NANOS_PER_SECOND);
+            }
+            writeTransletLabels(out.sample(name, "_count"), metrics).value(snapshot.getCount());
+            writeTransletLabels(out.sample(name, "_sum"), metrics).value(snapshot.getTotal() / NANOS_PER_SECOND);
+        }
+    }
+
+    @NonNull
+    private OpenMetricsWriter writeTransletLabels(@NonNull OpenMetricsWriter out, @NonNull TransletMetrics metrics)
+            throws IOException {
+        out.label("translet", metrics.getTransletName());
+        if (metrics.getRequestMethod() != null) {
+            out.label("method", metrics.getRequestMethod().name());
+        }
+        return out;
+    }
+
+    private void writeSessionMetrics(@NonNull OpenMetricsWriter out) throws IOException {
+        if (sessionManagers.isEmpty()) {
+            return;
+        }
+        out.family("aspectran_sessions_created", OpenMetricsWriter.TYPE_COUNTER, null,
+                "Number of sessions created");
+        for (SessionManager sessionManager : sessionManagers) {
+            SessionStatistics statistics = sessionManager.getStatistics();
+            out.sample("aspectran_sessions_created", "_total")
+                    .label("manager", sessionManager.getWorkerName())
+                    .value(statistics.getNumberOfCreated());
+        }
+        out.family("aspectran_sessions_expired", OpenMetricsWriter.TYPE_COUNTER, null,
+                "Number of sessions expired");
+        for (SessionManager sessionManager : sessionManagers) {
+            SessionStatistics statistics = sessionManager.getStatistics();
+            out.sample("aspectran_sessions_expired", "_total")
+                    .label("manager", sessionManager.getWorkerName())
+                    .value(statistics.getNumberOfExpired());
+        }
+        out.family("aspectran_sessions_rejected", OpenMetricsWriter.TYPE_COUNTER, null,
+                "Number of sessions rejected because the maximum number of active sessions was reached");
+        for (SessionManager sessionManager : sessionManagers) {
+            SessionStatistics statistics = sessionManager.getStatistics();
+            out.sample("aspectran_sessions_rejected", "_total")
+                    .label("manager", sessionManager.getWorkerName())
+                    .value(statistics.getNumberOfRejected());
+        }
+        out.family("aspectran_sessions_active", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Number of active sessions");
+        for (SessionManager sessionManager : sessionManagers) {
+            SessionStatistics statistics = sessionManager.getStatistics();
+            out.sample("aspectran_sessions_active", null)
+                    .label("manager", sessionManager.getWorkerName())
+                    .value(statistics.getNumberOfActives());
+        }
+        out.family("aspectran_sessions_active_max", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Highest number of sessions that were active at the same time");
+        for (SessionManager sessionManager : sessionManagers) {
+            SessionStatistics statistics = sessionManager.getStatistics();
+            out.sample("aspectran_sessions_active_max", null)
+                    .label("manager", sessionManager.getWorkerName())
+                    .value(statistics.getHighestNumberOfActives());
+        }
+    }
+
+    private void writeAsyncMetrics(@NonNull OpenMetricsWriter out) throws IOException {
+        ThreadPoolAsyncTaskExecutor executor;
+        try {
+            if (!(context.getAsyncTaskExecutor() instanceof ThreadPoolAsyncTaskExecutor tpe)) {
+                return;
+            }
+            executor = tpe;
+        } catch (AsyncTaskExecutorNotAvailableException e) {
+            return;
+        }
+        out.family("aspectran_async_queue_depth", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Number of async tasks waiting to be executed");
+        out.sample("aspectran_async_queue_depth", null).value(executor.getQueueSize());
+        out.family("aspectran_async_threads_active", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Number of threads actively executing async tasks");
+        out.sample("aspectran_async_threads_active", null).value(executor.getActiveCount());
+        out.family("aspectran_async_threads", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Number of threads in the async task executor pool");
+        out.sample("aspectran_async_threads", null).value(executor.getPoolSize());
+    }
+
+    private void writeSchedulerMetrics(@NonNull OpenMetricsWriter out) throws IOException {
+        CoreService masterService = context.getMasterService();
+        SchedulerService schedulerService = (masterService != null ? masterService.getSchedulerService() : null);
+        if (schedulerService == null) {
+            return;
+        }
+        JobExecutionStatistics statistics = schedulerService.getJobExecutionStatistics();
+        out.family("aspectran_scheduler_jobs_executed", OpenMetricsWriter.TYPE_COUNTER, null,
+                "Number of scheduled jobs executed");
+        out.sample("aspectran_scheduler_jobs_executed", "_total").value(statistics.getNumberOfExecuted());
+        out.family("aspectran_scheduler_jobs_failed", OpenMetricsWriter.TYPE_COUNTER, null,
+                "Number of scheduled jobs that ended with an exception");
+        out.sample("aspectran_scheduler_jobs_failed", "_total").value(statistics.getNumberOfFailed());
+        out.family("aspectran_scheduler_jobs_vetoed", OpenMetricsWriter.TYPE_COUNTER, null,
+                "Number of scheduled jobs whose execution was vetoed");
+        out.sample("aspectran_scheduler_jobs_vetoed", "_total").value(statistics.getNumberOfVetoed());
+        out.family("aspectran_scheduler_jobs_running", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Number of scheduled jobs currently running");
+        out.sample("aspectran_scheduler_jobs_running", null).value(statistics.getNumberOfRunning());
+    }
+
+    private void writeJvmMetrics(@NonNull OpenMetricsWriter out) throws IOException {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        out.family("jvm_uptime_seconds", OpenMetricsWriter.TYPE_GAUGE, "seconds",
+                "Uptime of the Java virtual machine");
+        out.sample("jvm_uptime_seconds", null).value(runtime.getUptime() / MILLIS_PER_SECOND);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+        out.family("jvm_memory_used_bytes", OpenMetricsWriter.TYPE_GAUGE, "bytes",
+                "Amount of used memory");
+        out.sample("jvm_memory_used_bytes", null).label("area", "heap").value(heap.getUsed());
+        out.sample("jvm_memory_used_bytes", null).label("area", "nonheap").value(nonHeap.getUsed());
+        out.family("jvm_memory_committed_bytes", OpenMetricsWriter.TYPE_GAUGE, "bytes",
+                "Amount of memory committed for use by the Java virtual machine");
+        out.sample("jvm_memory_committed_bytes", null).label("area", "heap").value(heap.getCommitted());
+        out.sample("jvm_memory_committed_bytes", null).label("area", "nonheap").value(nonHeap.getCommitted());
+        out.family("jvm_memory_max_bytes", OpenMetricsWriter.TYPE_GAUGE, "bytes",
+                "Maximum amount of memory that can be used; -1 if undefined");
+        out.sample("jvm_memory_max_bytes", null).label("area", "heap").value(heap.getMax());
+        out.sample("jvm_memory_max_bytes", null).label("area", "nonheap").value(nonHeap.getMax());
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        out.family("jvm_threads_current", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Current number of live threads");
+        out.sample("jvm_threads_current", null).value(threads.getThreadCount());
+        out.family("jvm_threads_daemon", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Current number of live daemon threads");
+        out.sample("jvm_threads_daemon", null).value(threads.getDaemonThreadCount());
+        out.family("jvm_threads_peak", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Peak number of live threads");
+        out.sample("jvm_threads_peak", null).value(threads.getPeakThreadCount());
+
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        out.family("jvm_classes_loaded", OpenMetricsWriter.TYPE_GAUGE, null,
+                "Number of classes currently loaded");
+        out.sample("jvm_classes_loaded", null).value(classLoading.getLoadedClassCount());
+
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        out.family("jvm_gc_collections", OpenMetricsWriter.TYPE_COUNTER, null,
+                "Number of garbage collections");
+        for (GarbageCollectorMXBean collector : collectors) {
+            out.sample("jvm_gc_collections", "_total")
+                    .label("gc", collector.getName())
+                    .value(Math.max(0L, collector.getCollectionCount()));
+        }
+        out.family("jvm_gc_collection_seconds", OpenMetricsWriter.TYPE_COUNTER, "seconds",
+                "Accumulated time spent in garbage collection");
+        for (GarbageCollectorMXBean collector : collectors) {
+            out.sample("jvm_gc_collection_seconds", "_total")
+                    .label("gc", collector.getName())
+                    .value(Math.max(0L, collector.getCollectionTime()) / MILLIS_PER_SECOND);
+        }
+    }
+
+}
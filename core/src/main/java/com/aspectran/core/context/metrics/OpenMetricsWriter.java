@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A low-level writer for the OpenMetrics text exposition format.
+ * <p>Metric families, samples and labels are written straight to the underlying
+ * writer piece by piece, so that rendering a scrape does not build intermediate
+ * strings. A sample is started with {@link #sample(String, String)}, optionally
+ * followed by {@link #label(String, String)} calls, and completed with one of the
+ * {@code value} methods. The caller is responsible for writing all samples of a
+ * metric family directly after its metadata, as the format requires.</p>
+ *
+ * @since 9.6.5
+ */
+public class OpenMetricsWriter {
+
+    /** The content type of the OpenMetrics text format. */
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    /** The type of metric families whose values only increase. */
+    public static final String TYPE_COUNTER = "counter";
+
+    /** The type of metric families whose values can go up and down. */
+    public static final String TYPE_GAUGE = "gauge";
+
+    /** The type of metric families that report quantiles, a count and a sum. */
+    public static final String TYPE_SUMMARY = "summary";
+
+    private final Writer writer;
+
+    private boolean labelsOpen;
+
+    /**
+     * Instantiates a new OpenMetricsWriter.
+     * @param writer the writer to output to; it should be buffered
+     */
+    public OpenMetricsWriter(@NonNull Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes the metadata of a metric family.
+     * @param name the name of the metric family
+     * @param type the type of the metric family
+     * @param unit the unit of the metric family, may be {@code null};
+     *      if specified, the name must end with it
+     * @param help the description of the metric family, may be {@code null}
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public OpenMetricsWriter family(@NonNull String name, @NonNull String type,
+                                    @Nullable String unit, @Nullable String help) throws IOException {
+        writer.write("# TYPE ");
+        writer.write(name);
+        writer.write(' ');
+        writer.write(type);
+        writer.write('\n');
+        if (unit != null) {
+            writer.write("# UNIT ");
+            writer.write(name);
+            writer.write(' ');
+            writer.write(unit);
+            writer.write('\n');
+        }
+        if (help != null) {
+            writer.write("# HELP ");
+            writer.write(name);
+            writer.write(' ');
+            writeEscaped(help, false);
+            writer.write('\n');
+        }
+        return this;
+    }
+
+    /**
+     * Starts a new sample.
+     * @param name the name of the metric family
+     * @param suffix the suffix of the sample name, such as {@code _total}; may be {@code null}
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public OpenMetricsWriter sample(@NonNull String name, @Nullable String suffix) throws IOException {
+        writer.write(name);
+        if (suffix != null) {
+            writer.write(suffix);
+        }
+        labelsOpen = false;
+        return this;
+    }
+
+    /**
+     * Adds a label to the current sample.
+     * @param name the label name
+     * @param value the label value; a {@code null} value is written as an empty string
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public OpenMetricsWriter label(@NonNull String name, @Nullable String value) throws IOException {
+        writer.write(labelsOpen ? ',' : '{');
+        labelsOpen = true;
+        writer.write(name);
+        writer.write("=\"");
+        if (value != null) {
+            writeEscaped(value, true);
+        }
+        writer.write('"');
+        return this;
+    }
+
+    /**
+     * Completes the current sample with an integral value.
+     * @param value the sample value
+     * @throws IOException if an I/O error occurs
+     */
+    public void value(long value) throws IOException {
+        closeLabels();
+        writer.write(Long.toString(value));
+        writer.write('\n');
+    }
+
+    /**
+     * Completes the current sample with a floating-point value.
+     * @param value the sample value
+     * @throws IOException if an I/O error occurs
+     */
+    public void value(double value) throws IOException {
+        closeLabels();
+        if (Double.isNaN(value)) {
+            writer.write("NaN");
+        } else if (Double.isInfinite(value)) {
+            writer.write(value > 0 ? "+Inf" : "-Inf");
+        } else {
+            writer.write(Double.toString(value));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Writes the end-of-exposition marker and flushes the underlying writer.
+     * @throws IOException if an I/O error occurs
+     */
+    public void eof() throws IOException {
+        writer.write("# EOF\n");
+        writer.flush();
+    }
+
+    private void closeLabels() throws IOException {
+        if (labelsOpen) {
+            writer.write('}');
+            labelsOpen = false;
+        }
+        writer.write(' ');
+    }
+
+    private void writeEscaped(@NonNull String str, boolean quoted) throws IOException {
+        int len = str.length();
+        int start = 0;
+        for (int i = 0; i < len; i++) {
+            char c = str.charAt(i);
+            String replacement;
+            if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == '\n') {
+                replacement = "\\n";
+            } else if (c == '"' && quoted) {
+                replacement = "\\\"";
+            } else {
+                continue;
+            }
+            if (i > start) {
+                writer.write(str, start, i - start);
+            }
+            writer.write(replacement);
+            start = i + 1;
+        }
+        if (start < len) {
+            writer.write(str, start, len - start);
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics;
+
+import com.aspectran.core.context.rule.type.MethodType;
+import com.aspectran.utils.ToStringBuilder;
+import com.aspectran.utils.statistic.HistogramStatistic;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the latency distributions recorded for a translet, or for all translets
+ * requested with the same request method.
+ * <p>All times are recorded in nanoseconds.</p>
+ *
+ * @since 9.6.5
+ */
+public class TransletMetrics {
+
+    private final String transletName;
+
+    private final MethodType requestMethod;
+
+    private final HistogramStatistic duration = new HistogramStatistic();
+
+    private final HistogramStatistic adviceTime = new HistogramStatistic();
+
+    private final HistogramStatistic responseTime = new HistogramStatistic();
+
+    private final LongAdder errors = new LongAdder();
+
+    TransletMetrics(@Nullable String transletName, @Nullable MethodType requestMethod) {
+        this.transletName = transletName;
+        this.requestMethod = requestMethod;
+    }
+
+    /**
+     * Returns the name of the translet.
+     * @return the translet name, or {@code null} if these metrics aggregate
+     *      all translets with the same request method
+     */
+    @Nullable
+    public String getTransletName() {
+        return transletName;
+    }
+
+    /**
+     * Returns the request method.
+     * @return the request method, or {@code null} if the request had no method
+     */
+    @Nullable
+    public MethodType getRequestMethod() {
+        return requestMethod;
+    }
+
+    /**
+     * Returns the distribution of the total time taken to perform the activity.
+     * @return the duration histogram
+     */
+    public HistogramStatistic getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns the distribution of the time spent executing advice actions.
+     * @return the advice time histogram
+     */
+    public HistogramStatistic getAdviceTime() {
+        return adviceTime;
+    }
+
+    /**
+     * Returns the distribution of the time spent producing the response.
+     * @return the response time histogram
+     */
+    public HistogramStatistic getResponseTime() {
+        return responseTime;
+    }
+
+    /**
+     * Returns the number of activities that ended with an unhandled exception.
+     * @return the number of errors
+     */
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Records the times taken by a single activity.
+     * @param durationNanos the total time taken to perform the activity
+     * @param adviceNanos the time spent executing advice actions
+     * @param responseNanos the time spent producing the response
+     * @param failed whether the activity ended with an unhandled exception
+     */
+    public void record(long durationNanos, long adviceNanos, long responseNanos, boolean failed) {
+        duration.record(durationNanos);
+        adviceTime.record(adviceNanos);
+        responseTime.record(responseNanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Resets all recorded values.
+     */
+    public void reset() {
+        duration.reset();
+        adviceTime.reset();
+        responseTime.reset();
+        errors.reset();
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("transletName", transletName);
+        tsb.append("requestMethod", requestMethod);
+        tsb.append("duration", duration.snapshot());
+        tsb.append("errors", getErrorCount());
+        return tsb.toString();
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for the execution of a single advice action.
+ *
+ * @since 9.6.5
+ */
+@Name("com.aspectran.AdviceExecute")
+@Label("Advice Execute")
+@Category({"Aspectran", "Activity"})
+@Description("Execution of an advice action")
+@StackTrace(false)
+public class AdviceExecuteEvent extends jdk.jfr.Event {
+
+    @Label("Aspect ID")
+    public String aspectId;
+
+    @Label("Advice Type")
+    public String adviceType;
+
+    @Label("Action")
+    public String action;
+
+}
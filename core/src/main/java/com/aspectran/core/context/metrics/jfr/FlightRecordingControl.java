@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics.jfr;
+
+import com.aspectran.utils.Assert;
+import com.aspectran.utils.ToStringBuilder;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Starts, dumps and stops a single JDK Flight Recorder recording in which the
+ * Aspectran events are enabled, so that hot translets can be profiled in a
+ * running application without a restart.
+ * <p>Only one recording is managed at a time. It is based on one of the
+ * predefined JFR configurations, {@code default} or {@code profile}, with the
+ * Aspectran events enabled on top of it.</p>
+ *
+ * @since 9.6.5
+ */
+public final class FlightRecordingControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingControl.class);
+
+    /** The name given to recordings started by this class. */
+    public static final String RECORDING_NAME = "aspectran";
+
+    /** The name of the predefined JFR configuration used by default. */
+    public static final String DEFAULT_SETTINGS = "default";
+
+    private static final List<Class<? extends Event>> EVENT_TYPES = List.of(
+            ActivityPerformEvent.class,
+            AdviceExecuteEvent.class,
+            InvokeActionEvent.class,
+            TemplateRenderEvent.class,
+            SessionCacheEvent.class
+    );
+
+    private static Recording recording;
+
+    private FlightRecordingControl() {
+    }
+
+    /**
+     * Returns whether the Flight Recorder is available in the running JVM.
+     * @return {@code true} if recordings can be started; {@code false} otherwise
+     */
+    public static boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    /**
+     * Returns whether a recording started by this class is in progress.
+     * @return {@code true} if recording; {@code false} otherwise
+     */
+    public static synchronized boolean isRecording() {
+        return (recording != null && recording.getState() == RecordingState.RUNNING);
+    }
+
+    /**
+     * Starts a new recording.
+     * @param settings the name of the predefined JFR configuration, such as
+     *      {@code default} or {@code profile}; if {@code null}, {@value #DEFAULT_SETTINGS} is used
+     * @param threshold the minimum duration of the Aspectran events to record;
+     *      if {@code null}, all events are recorded
+     * @param maxAge how long recorded data is kept; if {@code null}, data is kept
+     *      until the recording is stopped
+     * @throws IllegalStateException if a recording is already in progress or
+     *      the Flight Recorder is not available
+     * @throws IOException if the configuration cannot be read
+     * @throws ParseException if the configuration cannot be parsed
+     */
+    public static synchronized void start(@Nullable String settings, @Nullable Duration threshold,
+                                          @Nullable Duration maxAge) throws IOException, ParseException {
+        Assert.state(isAvailable(), "Flight Recorder is not available in this JVM");
+        Assert.state(!isRecording(), "A recording is already in progress");
+        close();
+        Configuration configuration = Configuration.getConfiguration(settings != null ? settings : DEFAULT_SETTINGS);
+        Recording newRecording = new Recording(configuration);
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        if (maxAge != null) {
+            newRecording.setMaxAge(maxAge);
+        }
+        for (Class<? extends Event> eventType : EVENT_TYPES) {
+            newRecording.enable(eventType).withThreshold(threshold != null ? threshold : Duration.ZERO);
+        }
+        newRecording.start();
+        recording = newRecording;
+        logger.info("Started flight recording {} with {} settings", newRecording.getId(), configuration.getName());
+    }
+
+    /**
+     * Writes the data recorded so far to the given file without stopping the recording.
+     * @param destination the file to write to; if {@code null}, a temporary file is created
+     * @return the file the data was written to
+     * @throws IllegalStateException if no recording is in progress
+     * @throws IOException if the data cannot be written
+     */
+    @NonNull
+    public static synchronized Path dump(@Nullable Path destination) throws IOException {
+        Assert.state(isRecording(), "No recording in progress");
+        Path path = resolveDestination(destination);
+        recording.dump(path);
+        return path;
+    }
+
+    /**
+     * Stops the recording and writes the recorded data to the given file.
+     * @param destination the file to write to; if {@code null}, a temporary file is created
+     * @return the file the data was written to
+     * @throws IllegalStateException if no recording is in progress
+     * @throws IOException if the data cannot be written
+     */
+    @NonNull
+    public static synchronized Path stop(@Nullable Path destination) throws IOException {
+        Assert.state(isRecording(), "No recording in progress");
+        Path path = resolveDestination(destination);
+        try {
+            recording.stop();
+            recording.dump(path);
+        } finally {
+            close();
+        }
+        logger.info("Stopped flight recording; data written to {}", path);
+        return path;
+    }
+
+    /**
+     * Returns a description of the current recording.
+     * @return the description, or {@code null} if no recording has been started
+     */
+    @Nullable
+    public static synchronized String describe() {
+        if (recording == null) {
+            return null;
+        }
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("id", recording.getId());
+        tsb.append("name", recording.getName());
+        tsb.append("state", recording.getState());
+        tsb.append("startTime", recording.getStartTime());
+        tsb.append("maxAge", recording.getMaxAge());
+        tsb.append("size", recording.getSize());
+        return tsb.toString();
+    }
+
+    private static void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    @NonNull
+    private static Path resolveDestination(@Nullable Path destination) throws IOException {
+        if (destination != null) {
+            return destination;
+        }
+        return Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+    }
+
+}
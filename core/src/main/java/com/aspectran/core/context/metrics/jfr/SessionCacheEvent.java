@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a session cache operation that involves
+ * the session store: loading, saving or evicting a session.
+ * <p>Session IDs are deliberately not recorded, since they grant access
+ * to the session to anyone who can read the recording.</p>
+ *
+ * @since 9.6.5
+ */
+@Name("com.aspectran.SessionCache")
+@Label("Session Cache")
+@Category({"Aspectran", "Session"})
+@Description("Loading, saving or evicting a session")
+@StackTrace(false)
+public class SessionCacheEvent extends jdk.jfr.Event {
+
+    /** The operation of loading a session from the session store. */
+    public static final String LOAD = "load";
+
+    /** The operation of saving a session to the session store. */
+    public static final String SAVE = "save";
+
+    /** The operation of evicting an idle session from the cache. */
+    public static final String EVICT = "evict";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Store")
+    public String store;
+
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Provides classes for collecting runtime metrics of activities.
+ *
+ * <p>The {@link com.aspectran.core.context.metrics.ActivityMetricsRegistry}, which is
+ * available from the {@link com.aspectran.core.context.ActivityContext}, keeps latency
+ * distributions per translet and per request method once metrics collection has
+ * been enabled.</p>
+ */
+package com.aspectran.core.context.metrics;
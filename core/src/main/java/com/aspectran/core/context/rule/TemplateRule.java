@@ -16,6 +16,7 @@
 package com.aspectran.core.context.rule;
 
 import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.asel.token.CompiledTokenTemplate;
 import com.aspectran.core.context.asel.token.Token;
 import com.aspectran.core.context.asel.token.Tokenizer;
 import com.aspectran.core.context.rule.ability.BeanReferenceable;
@@ -79,6 +80,8 @@ public class TemplateRule implements Replicable<TemplateRule>, BeanReferenceable
 
     private Token[] templateTokens;
 
+    private CompiledTokenTemplate compiledTemplate;
+
     private boolean tokenize;
 
     private volatile long lastModifiedTime;
@@ -395,12 +398,14 @@ public class TemplateRule implements Replicable<TemplateRule>, BeanReferenceable
         this.templateSource = templateSource;
         if (isTokenize()) {
             this.templateTokens = parseContentTokens(templateSource);
+            this.compiledTemplate = compileTokens(this.templateTokens);
         }
     }
 
     protected void setTemplateSource(String templateSource, Token[] templateTokens) {
         this.templateSource = templateSource;
         this.templateTokens = templateTokens;
+        this.compiledTemplate = compileTokens(templateTokens);
     }
 
     /**
@@ -434,6 +439,33 @@ public class TemplateRule implements Replicable<TemplateRule>, BeanReferenceable
         }
     }
 
+    /**
+     * Gets the precompiled form of the parsed tokens, loading the template source if necessary.
+     * @param context the activity context
+     * @return the compiled token template, or {@code null} if there are no tokens
+     * @throws IOException if an I/O error occurs
+     */
+    public CompiledTokenTemplate getCompiledTemplate(ActivityContext context) throws IOException {
+        if (isExternalEngine()) {
+            throw new UnsupportedOperationException();
+        }
+        if (this.file != null || this.resource != null || this.url != null) {
+            if (isNoCache()) {
+                String source = loadTemplateSource(context);
+                return compileTokens(parseContentTokens(source));
+            } else {
+                loadCachedTemplateSource(context);
+                return this.compiledTemplate;
+            }
+        } else {
+            return this.compiledTemplate;
+        }
+    }
+
+    private CompiledTokenTemplate compileTokens(Token[] tokens) {
+        return (tokens != null ? CompiledTokenTemplate.compile(tokens) : null);
+    }
+
     private Token[] parseContentTokens(String content) {
         if (content == null || content.isEmpty()) {
             return null;
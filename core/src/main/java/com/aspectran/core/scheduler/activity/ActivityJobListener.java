@@ -34,12 +34,26 @@ public class ActivityJobListener implements JobListener {
 
     private final String loggingGroup;
 
+    private final JobExecutionStatistics statistics;
+
     /**
      * Constructs an ActivityJobListener with a specific logging group.
      * @param loggingGroup the name of the logging group to set for jobs handled by this listener
      */
     public ActivityJobListener(String loggingGroup) {
+        this(loggingGroup, null);
+    }
+
+    /**
+     * Constructs an ActivityJobListener with a specific logging group that
+     * records job executions in the given statistics.
+     * @param loggingGroup the name of the logging group to set for jobs handled by this listener
+     * @param statistics the statistics to update, may be {@code null}
+     * @since 9.6.5
+     */
+    public ActivityJobListener(String loggingGroup, JobExecutionStatistics statistics) {
         this.loggingGroup = loggingGroup;
+        this.statistics = statistics;
     }
 
     /**
@@ -59,6 +73,9 @@ public class ActivityJobListener implements JobListener {
     @Override
     public void jobToBeExecuted(JobExecutionContext context) {
         setLoggingGroup();
+        if (statistics != null) {
+            statistics.jobStarted();
+        }
         ActivityJobReporter.jobToBeExecuted(context, false);
     }
 
@@ -70,6 +87,9 @@ public class ActivityJobListener implements JobListener {
     @Override
     public void jobExecutionVetoed(JobExecutionContext context) {
         setLoggingGroup();
+        if (statistics != null) {
+            statistics.jobVetoed();
+        }
         ActivityJobReporter.jobToBeExecuted(context, true);
     }
 
@@ -82,6 +102,9 @@ public class ActivityJobListener implements JobListener {
     @Override
     public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
         setLoggingGroup();
+        if (statistics != null) {
+            statistics.jobFinished(jobException != null);
+        }
         ActivityJobReporter.jobWasExecuted(context, jobException);
     }
 
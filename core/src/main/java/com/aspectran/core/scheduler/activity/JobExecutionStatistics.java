@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.scheduler.activity;
+
+import com.aspectran.utils.ToStringBuilder;
+import com.aspectran.utils.statistic.CounterStatistic;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the number of executed, failed and vetoed scheduled jobs,
+ * as well as the number of jobs that are currently running.
+ * <p>The counters are updated by {@link ActivityJobListener} and cover every
+ * scheduler managed by the same scheduler service.</p>
+ *
+ * @since 9.6.5
+ */
+public class JobExecutionStatistics {
+
+    private final CounterStatistic running = new CounterStatistic();
+
+    private final LongAdder executed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder vetoed = new LongAdder();
+
+    /**
+     * Called when a job is about to be executed.
+     */
+    void jobStarted() {
+        running.increment();
+    }
+
+    /**
+     * Called when a job has been executed.
+     * @param failed whether the job ended with an exception
+     */
+    void jobFinished(boolean failed) {
+        running.decrement();
+        executed.increment();
+        if (failed) {
+            this.failed.increment();
+        }
+    }
+
+    /**
+     * Called when the execution of a job has been vetoed.
+     */
+    void jobVetoed() {
+        vetoed.increment();
+    }
+
+    /**
+     * Returns the number of jobs that are currently running.
+     * @return the number of running jobs
+     */
+    public long getNumberOfRunning() {
+        return running.getCurrent();
+    }
+
+    /**
+     * Returns the highest number of jobs that were running at the same time.
+     * @return the highest number of running jobs
+     */
+    public long getHighestNumberOfRunning() {
+        return running.getMax();
+    }
+
+    /**
+     * Returns the number of jobs that have been executed, including failed ones.
+     * @return the number of executed jobs
+     */
+    public long getNumberOfExecuted() {
+        return executed.sum();
+    }
+
+    /**
+     * Returns the number of jobs that ended with an exception.
+     * @return the number of failed jobs
+     */
+    public long getNumberOfFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of jobs whose execution was vetoed.
+     * @return the number of vetoed jobs
+     */
+    public long getNumberOfVetoed() {
+        return vetoed.sum();
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("running", getNumberOfRunning());
+        tsb.append("executed", getNumberOfExecuted());
+        tsb.append("failed", getNumberOfFailed());
+        tsb.append("vetoed", getNumberOfVetoed());
+        return tsb.toString();
+    }
+
+}
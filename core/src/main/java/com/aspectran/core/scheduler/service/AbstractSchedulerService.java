@@ -25,6 +25,7 @@ import com.aspectran.core.context.rule.params.TriggerExpressionParameters;
 import com.aspectran.core.context.rule.type.MisfirePolicy;
 import com.aspectran.core.context.rule.type.TriggerType;
 import com.aspectran.core.scheduler.activity.ActivityJobListener;
+import com.aspectran.core.scheduler.activity.JobExecutionStatistics;
 import com.aspectran.core.scheduler.activity.ActivityLauncherJob;
 import com.aspectran.core.service.AbstractServiceLifeCycle;
 import com.aspectran.core.service.CoreService;
@@ -64,6 +65,8 @@ public abstract class AbstractSchedulerService extends AbstractServiceLifeCycle
 
     private final Map<String, Scheduler> schedulerMap = new HashMap<>();
 
+    private final JobExecutionStatistics jobExecutionStatistics = new JobExecutionStatistics();
+
     private ScheduledJobLockProvider jobLockProvider;
 
     private int startDelaySeconds = 0;
@@ -88,6 +91,11 @@ public abstract class AbstractSchedulerService extends AbstractServiceLifeCycle
         return getParentService().getActivityContext();
     }
 
+    @Override
+    public JobExecutionStatistics getJobExecutionStatistics() {
+        return jobExecutionStatistics;
+    }
+
     @Override
     public ScheduledJobLockProvider getJobLockProvider() {
         if (jobLockProvider != null) {
@@ -192,7 +200,7 @@ public abstract class AbstractSchedulerService extends AbstractServiceLifeCycle
                 logger.info("Starting scheduler '{}'", scheduler.getSchedulerName());
 
                 // Listener attached to jobKey
-                JobListener defaultJobListener = new ActivityJobListener(getLoggingGroup());
+                JobListener defaultJobListener = new ActivityJobListener(getLoggingGroup(), jobExecutionStatistics);
                 scheduler.getListenerManager().addJobListener(defaultJobListener);
 
                 if (getStartDelaySeconds() > 0) {
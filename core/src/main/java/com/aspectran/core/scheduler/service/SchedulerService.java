@@ -17,6 +17,7 @@ package com.aspectran.core.scheduler.service;
 
 import com.aspectran.core.component.schedule.ScheduledJobLockProvider;
 import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.scheduler.activity.JobExecutionStatistics;
 import com.aspectran.core.service.ServiceLifeCycle;
 
 /**
@@ -50,6 +51,13 @@ public interface SchedulerService extends ServiceLifeCycle {
      */
     ActivityContext getActivityContext();
 
+    /**
+     * Returns the statistics of the jobs executed by this service.
+     * @return the job execution statistics
+     * @since 9.6.5
+     */
+    JobExecutionStatistics getJobExecutionStatistics();
+
     /**
      * Returns the job lock provider.
      * @return the job lock provider
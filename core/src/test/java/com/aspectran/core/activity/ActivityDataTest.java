@@ -25,6 +25,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Testcase for ActivityData.
@@ -66,4 +70,78 @@ class ActivityDataTest {
         builder.destroy();
     }
 
+    @Test
+    void testLazyResolution() throws ActivityContextBuilderException, ActivityPerformException {
+        HybridActivityContextBuilder builder = new HybridActivityContextBuilder();
+        ActivityContext context = builder.build();
+
+        ParameterMap parameterMap = new ParameterMap();
+        parameterMap.setParameter("param1", "Apple");
+
+        InstantActivity activity = new InstantActivity(context);
+        activity.setParameterMap(parameterMap);
+        activity.perform(() -> {
+            ActivityData activityData = activity.getActivityData();
+            assertFalse(activityData.containsKey("attr1"));
+
+            // missing keys are looked up again once the activity data is handed out again
+            activity.getRequestAdapter().setAttribute("attr1", "Strawberry");
+            assertSame(activityData, activity.getActivityData());
+            assertTrue(activityData.containsKey("attr1"));
+            assertEquals("Strawberry", activityData.get("attr1"));
+
+            // explicitly stored values take precedence over the data sources
+            activityData.put("param1", "Banana");
+            assertEquals("Banana", activityData.get("param1"));
+            assertEquals(2, activityData.size());
+            assertEquals("Banana", activityData.entrySet().stream()
+                    .filter(entry -> entry.getKey().equals("param1"))
+                    .findFirst().orElseThrow().getValue());
+
+            activityData.remove("param1");
+            assertEquals("Apple", activityData.get("param1"));
+            assertNull(activityData.get("param2"));
+
+            // the activity data itself is never exposed through iteration
+            activity.getRequestAdapter().setAttribute("self", activityData);
+            assertEquals(2, activityData.size());
+            return null;
+        });
+
+        builder.destroy();
+    }
+
+    @Test
+    void testDataSourceUpdates() throws ActivityContextBuilderException, ActivityPerformException {
+        HybridActivityContextBuilder builder = new HybridActivityContextBuilder();
+        ActivityContext context = builder.build();
+
+        InstantActivity activity = new InstantActivity(context);
+        activity.perform(() -> {
+            ActivityData activityData = activity.getActivityData();
+            assertTrue(activityData.isEmpty());
+            assertEquals(0, activityData.size());
+
+            activity.getRequestAdapter().setAttribute("attr1", "Strawberry");
+            assertFalse(activityData.isEmpty());
+            assertEquals("Strawberry", activityData.get("attr1"));
+
+            // updates to the data sources are visible on the next lookup
+            activity.getRequestAdapter().setAttribute("attr1", "Melon");
+            assertEquals("Melon", activityData.get("attr1"));
+            assertTrue(activityData.containsKey("attr1"));
+            assertEquals(1, activityData.size());
+
+            // keys that could not be resolved are remembered until the next refresh
+            assertNull(activityData.get("attr2"));
+            activity.getRequestAdapter().setAttribute("attr2", "Apple");
+            assertNull(activityData.get("attr2"));
+            activityData.refresh();
+            assertEquals("Apple", activityData.get("attr2"));
+            return null;
+        });
+
+        builder.destroy();
+    }
+
 }
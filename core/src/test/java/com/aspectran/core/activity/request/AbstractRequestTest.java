@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.activity.request;
+
+import com.aspectran.core.context.rule.type.MethodType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for reading parameters through a parameter source.
+ */
+class AbstractRequestTest {
+
+    @Test
+    void testParameterSource() {
+        Map<String, String[]> source = new LinkedHashMap<>();
+        source.put("foo", new String[] {"foo1", "foo2"});
+        source.put("bar", new String[] {"bar"});
+
+        TestRequest request = new TestRequest();
+        request.setParameterSource(Collections.unmodifiableMap(source));
+
+        assertTrue(request.hasParameters());
+        assertTrue(request.hasParameter("foo"));
+        assertFalse(request.hasParameter("baz"));
+        assertEquals("foo1", request.getParameter("foo"));
+        assertArrayEquals(new String[] {"foo1", "foo2"}, request.getParameterValues("foo"));
+        assertNull(request.getParameter("baz"));
+        assertEquals(Set.of("foo", "bar"), request.getParameterNames());
+        assertEquals("bar", request.getAllParameters().get("bar"));
+
+        // Modifying a parameter copies the source and leaves it untouched
+        request.setParameter("bar", "changed");
+        request.setParameter("baz", "baz");
+        assertEquals("changed", request.getParameter("bar"));
+        assertEquals("baz", request.getParameter("baz"));
+        assertEquals("foo1", request.getParameter("foo"));
+        assertEquals(3, request.getParameterMap().size());
+        assertEquals(2, source.size());
+        assertEquals("bar", source.get("bar")[0]);
+    }
+
+    private static class TestRequest extends AbstractRequest {
+
+        TestRequest() {
+            super(MethodType.GET);
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.activity.request;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Test cases for {@link FileParameter}.
+ */
+class FileParameterTest {
+
+    @Test
+    void testTransferTo(@TempDir Path tempDir) throws IOException {
+        Path source = tempDir.resolve("source.txt");
+        Files.writeString(source, "file parameter contents", StandardCharsets.UTF_8);
+        FileParameter fileParameter = new FileParameter(source.toFile(), "text/plain");
+
+        Path target = tempDir.resolve("target.txt");
+        Files.writeString(target, "contents to be replaced with something shorter or longer");
+        assertEquals(Files.size(source), fileParameter.transferTo(target));
+        assertEquals("file parameter contents", Files.readString(target, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testSaveAs(@TempDir Path tempDir) throws IOException {
+        Path source = tempDir.resolve("source.txt");
+        Files.writeString(source, "saved contents", StandardCharsets.UTF_8);
+        FileParameter fileParameter = new FileParameter(source.toFile());
+
+        File destFile = tempDir.resolve("dest.txt").toFile();
+        File savedFile = fileParameter.saveAs(destFile);
+        assertEquals(destFile, savedFile);
+        assertEquals("saved contents", Files.readString(savedFile.toPath(), StandardCharsets.UTF_8));
+
+        // saving again without overwriting picks a unique name
+        File savedAgain = fileParameter.saveAs(destFile);
+        assertNotEquals(destFile, savedAgain);
+        assertEquals(savedAgain, fileParameter.getSavedFile());
+        assertEquals("saved contents", Files.readString(savedAgain.toPath(), StandardCharsets.UTF_8));
+    }
+
+}
@@ -26,8 +26,12 @@ import javax.xml.transform.TransformerException;
 import java.io.StringWriter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * <p>Created: 2019-01-12</p>
@@ -99,4 +103,30 @@ class XmlTransformResponseTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void toCompactXmlWithEscaping() throws TransformerException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("text", "a < b & \"c\" > d\r");
+        map.put("empty", "");
+        map.put("list", List.of("x", "\u4e2d"));
+
+        StringifyContext stringifyContext = new StringifyContext();
+        stringifyContext.setPrettyPrint(false);
+
+        StringWriter writer = new StringWriter();
+        XmlTransformResponse.transform(map, writer, "ISO-8859-1", stringifyContext);
+
+        String expected = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                "<text>a &lt; b &amp; \"c\" &gt; d&#13;</text><empty/>" +
+                "<list><rows><row>x</row><row>&#20013;</row></rows></list>";
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    void toXmlWithInvalidCharacter() {
+        StringWriter writer = new StringWriter();
+        assertThrows(TransformerException.class, () ->
+                XmlTransformResponse.transform(Map.of("text", "\u0001"), writer, null, null));
+    }
+
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.aspect;
+
+import com.aspectran.core.context.rule.AdviceRule;
+import com.aspectran.core.context.rule.AspectRule;
+import com.aspectran.core.context.rule.IllegalRuleException;
+import com.aspectran.core.context.rule.JoinpointRule;
+import com.aspectran.core.context.rule.PointcutRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for {@link TransletAspectPartition}.
+ */
+class TransletAspectPartitionTest {
+
+    private static final String[] REQUEST_NAMES = {
+            "/users/1", "/users/abc", "/users/1/", "/users/", "/users/a/b",
+            "/users/1.json", "/users/admin", "/users/x.xml"
+    };
+
+    @Test
+    void testPartition() throws IllegalRuleException {
+        List<AspectRule> aspectRules = new ArrayList<>();
+        aspectRules.add(newAspectRule("global"));
+        aspectRules.add(newAspectRule("all", "+: /**"));
+        aspectRules.add(newAspectRule("users", "+: /users/**"));
+        aspectRules.add(newAspectRule("orders", "+: /orders/**"));
+        aspectRules.add(newAspectRule("json", "+: /**/*.json"));
+        aspectRules.add(newAspectRule("admin", "+: /users/admin"));
+        aspectRules.add(newAspectRule("excluded", "+: /users/**", "-: /users/*"));
+        aspectRules.add(newAspectRule("excludeOnly", "-: /orders/**"));
+        aspectRules.add(newAspectRule("either", "+: /orders/*|/users/**"));
+        aspectRules.add(newAspectRule("xml", "+: /users/*.xml"));
+
+        TransletAspectPartition partition = TransletAspectPartition.partition(
+                "/users/${id}", "/users/*", aspectRules);
+
+        // "orders" never applies, and only "json", "admin", "excluded" and "xml" are conditional
+        assertEquals(9, partition.getCandidateCount());
+        assertEquals(4, partition.getConditionalCount());
+
+        for (String requestName : REQUEST_NAMES) {
+            assertEquals(bruteForce(aspectRules, requestName),
+                    collectAspectIds(partition.createAdviceRuleRegistry(requestName)),
+                    "requestName: " + requestName);
+        }
+    }
+
+    @Test
+    void testPartitionWithoutConditionals() throws IllegalRuleException {
+        List<AspectRule> aspectRules = new ArrayList<>();
+        aspectRules.add(newAspectRule("users", "+: /users/**"));
+        aspectRules.add(newAspectRule("orders", "+: /orders/*"));
+
+        TransletAspectPartition partition = TransletAspectPartition.partition(
+                "/users/${id}", "/users/*", aspectRules);
+        assertEquals(1, partition.getCandidateCount());
+        assertEquals(0, partition.getConditionalCount());
+        assertEquals(List.of("users"), collectAspectIds(partition.createAdviceRuleRegistry("/users/1")));
+    }
+
+    @Test
+    void testPartitionExactName() throws IllegalRuleException {
+        List<AspectRule> aspectRules = new ArrayList<>();
+        aspectRules.add(newAspectRule("users", "+: /users/*"));
+        aspectRules.add(newAspectRule("orders", "+: /orders/*"));
+
+        TransletAspectPartition partition = TransletAspectPartition.partition(
+                "/orders/list", null, aspectRules);
+        assertEquals(1, partition.getCandidateCount());
+        assertEquals(0, partition.getConditionalCount());
+        assertEquals(List.of("orders"), collectAspectIds(partition.createAdviceRuleRegistry("/orders/list")));
+
+        partition = TransletAspectPartition.partition("/products/list", null, aspectRules);
+        assertEquals(0, partition.getCandidateCount());
+        assertNull(partition.createAdviceRuleRegistry("/products/list"));
+    }
+
+    private static List<String> bruteForce(List<AspectRule> aspectRules, String requestName) {
+        List<String> list = new ArrayList<>();
+        for (AspectRule aspectRule : aspectRules) {
+            if (aspectRule.getPointcut() == null || aspectRule.getPointcut().matches(requestName)) {
+                list.add(aspectRule.getId());
+            }
+        }
+        return list;
+    }
+
+    private static List<String> collectAspectIds(AdviceRuleRegistry adviceRuleRegistry) {
+        List<String> list = new ArrayList<>();
+        if (adviceRuleRegistry != null && adviceRuleRegistry.getBeforeAdviceRuleList() != null) {
+            for (AdviceRule adviceRule : adviceRuleRegistry.getBeforeAdviceRuleList()) {
+                list.add(adviceRule.getAspectRule().getId());
+            }
+        }
+        return list;
+    }
+
+    private static AspectRule newAspectRule(String id, String... patterns) throws IllegalRuleException {
+        AspectRule aspectRule = AspectRule.newInstance(id, null, null, null);
+        JoinpointRule joinpointRule = JoinpointRule.newInstance();
+        joinpointRule.setPointcutRule(PointcutRule.newInstance(patterns));
+        aspectRule.setJoinpointRule(joinpointRule);
+        aspectRule.newBeforeAdviceRule();
+        return aspectRule;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean.async;
+
+import com.aspectran.core.activity.Activity;
+import com.aspectran.core.activity.ActivityPerformException;
+import com.aspectran.core.activity.InstantActivity;
+import com.aspectran.core.activity.ProxyActivity;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.test.AspectranTest;
+import com.aspectran.utils.logging.LoggingGroupHelper;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test cases for {@link ContextSnapshot}.
+ */
+@AspectranTest(
+    basePackages = "com.aspectran.core.component.bean.async"
+)
+class ContextSnapshotTest {
+
+    @Test
+    void testPropagateToPooledThread(@NonNull ActivityContext context) throws Exception {
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            InstantActivity activity = new InstantActivity(context);
+            ContextSnapshot snapshot = activity.perform(() -> {
+                LoggingGroupHelper.set("group1");
+                try {
+                    return ContextSnapshot.capture(context);
+                } finally {
+                    LoggingGroupHelper.clear();
+                }
+            });
+            assertSame(activity, snapshot.getActivity());
+
+            String result = executor.submit(snapshot.wrap(() -> {
+                assertSame(activity, context.getCurrentActivity());
+                assertProxyOf(activity, context.getAvailableActivity());
+                return LoggingGroupHelper.get();
+            })).get();
+            assertEquals("group1", result);
+
+            // Nothing is left behind on the pooled thread
+            executor.submit(() -> {
+                assertFalse(context.hasCurrentActivity());
+                assertNull(LoggingGroupHelper.get());
+            }).get();
+        }
+    }
+
+    @Test
+    void testCompletableFutureOnVirtualThreads(@NonNull ActivityContext context) throws ActivityPerformException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            InstantActivity activity = new InstantActivity(context);
+            Activity[] activities = activity.perform(() -> {
+                ContextSnapshot snapshot = ContextSnapshot.capture(context);
+                return CompletableFuture.supplyAsync(() -> context.getCurrentActivity(), snapshot.wrap(executor))
+                        .thenApplyAsync(snapshot.wrapFunction(first ->
+                                new Activity[] {first, context.getCurrentActivity()}), executor)
+                        .join();
+            });
+            assertSame(activity, activities[0]);
+            assertSame(activity, activities[1]);
+        }
+    }
+
+    @Test
+    void testRestoreReinstatesPreviousState(@NonNull ActivityContext context) throws ActivityPerformException {
+        ContextSnapshot empty = ContextSnapshot.capture(context);
+        assertNull(empty.getActivity());
+
+        InstantActivity activity = new InstantActivity(context);
+        activity.perform(() -> {
+            LoggingGroupHelper.set("outer");
+            try {
+                try (ContextSnapshot.Scope ignored = empty.restore()) {
+                    assertFalse(context.hasCurrentActivity());
+                    assertNull(LoggingGroupHelper.get());
+                }
+                assertSame(activity, context.getCurrentActivity());
+                assertEquals("outer", LoggingGroupHelper.get());
+            } finally {
+                LoggingGroupHelper.clear();
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void testTaskDecorator(@NonNull ActivityContext context) throws Exception {
+        ContextPropagatingTaskDecorator decorator = new ContextPropagatingTaskDecorator(context);
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            InstantActivity activity = new InstantActivity(context);
+            Activity[] holder = new Activity[2];
+            Runnable task = activity.perform(() -> decorator.decorate(() -> {
+                holder[0] = context.getCurrentActivity();
+                holder[1] = context.getAvailableActivity();
+            }));
+            executor.submit(task).get();
+            executor.submit(task).get();
+            assertSame(activity, holder[0]);
+            assertProxyOf(activity, holder[1]);
+        }
+    }
+
+    private static void assertProxyOf(Activity activity, Activity installed) {
+        // The live activity of the submitting thread is never installed on another thread
+        assertNotSame(activity, installed);
+        ProxyActivity proxyActivity = assertInstanceOf(ProxyActivity.class, installed);
+        assertSame(activity, proxyActivity.getActualActivity());
+    }
+
+}
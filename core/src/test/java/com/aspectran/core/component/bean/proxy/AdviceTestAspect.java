@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean.proxy;
+
+import com.aspectran.core.activity.Translet;
+import com.aspectran.core.component.bean.annotation.After;
+import com.aspectran.core.component.bean.annotation.Aspect;
+import com.aspectran.core.component.bean.annotation.Before;
+import com.aspectran.core.component.bean.annotation.Component;
+import com.aspectran.core.component.bean.annotation.Finally;
+import com.aspectran.core.component.bean.annotation.Joinpoint;
+import com.aspectran.core.context.rule.type.JoinpointTargetType;
+import org.jspecify.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Aspect(
+        id = "adviceTestAspect",
+        order = 2
+)
+@Joinpoint(
+        target = JoinpointTargetType.METHOD,
+        pointcut = "+: @class:com.aspectran.core.component.bean.proxy.AdviceTestService^multiply"
+)
+public class AdviceTestAspect {
+
+    @Before
+    public void before(@NonNull Translet translet) {
+        record(translet, "before");
+    }
+
+    @After
+    public void after(@NonNull Translet translet) {
+        record(translet, "after");
+    }
+
+    @Finally
+    public void done(@NonNull Translet translet) {
+        record(translet, "finally");
+    }
+
+    private static void record(@NonNull Translet translet, String advice) {
+        List<String> advices = translet.getAttribute("advices");
+        if (advices == null) {
+            advices = new ArrayList<>();
+            translet.setAttribute("advices", advices);
+        }
+        advices.add(advice);
+    }
+
+}
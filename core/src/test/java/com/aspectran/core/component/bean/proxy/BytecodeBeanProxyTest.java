@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean.proxy;
+
+import com.aspectran.core.activity.ActivityPerformException;
+import com.aspectran.core.component.bean.annotation.Advisable;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.rule.BeanRule;
+import com.aspectran.test.ActivityTester;
+import com.aspectran.test.AspectranTest;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for {@link BytecodeBeanProxy}.
+ */
+@AspectranTest(
+    basePackages = "com.aspectran.core.component.bean.proxy"
+)
+class BytecodeBeanProxyTest {
+
+    @Test
+    void testAdvisableMethods(@NonNull ActivityTester tester) throws ActivityPerformException {
+        List<String> names = BytecodeBeanProxy.getAdvisableMethods(Calculator.class).stream()
+                .map(Method::getName)
+                .sorted()
+                .toList();
+        assertEquals(List.of("add", "divide", "join", "reset", "scale"), names);
+        tester.perform(activity -> {
+            // Methods that are not advisable are inherited as is
+            Class<?> proxyClass = createProxy(activity.getActivityContext(), Calculator.class, null, null).getClass();
+            assertThrows(NoSuchMethodException.class, () -> proxyClass.getDeclaredMethod("plain", int.class));
+            assertEquals(proxyClass, proxyClass.getDeclaredMethod("add", int.class, int.class).getDeclaringClass());
+            return null;
+        });
+    }
+
+    @Test
+    void testInvokeSuper(@NonNull ActivityTester tester) throws ActivityPerformException {
+        tester.perform(activity -> {
+            Calculator calculator = (Calculator)createProxy(activity.getActivityContext(), Calculator.class,
+                    new Object[] {10}, new Class<?>[] {int.class});
+            assertInstanceOf(BytecodeBeanProxy.ProxyObject.class, calculator);
+            assertEquals(13, calculator.add(1, 2));
+            assertEquals(2.5d, calculator.scale(0.25d));
+            assertArrayEquals(new String[] {"a", "b"}, calculator.join(new String[] {"a"}, "b"));
+            assertEquals(3, calculator.plain(3));
+            calculator.reset();
+            assertEquals(3, calculator.add(1, 2));
+            assertThrows(ArithmeticException.class, () -> calculator.divide(1, 0));
+            return null;
+        });
+    }
+
+    @Test
+    void testHint(@NonNull ActivityTester tester) throws ActivityPerformException {
+        tester.perform(activity -> {
+            HintTestService testService = (HintTestService)createProxy(
+                    activity.getActivityContext(), HintTestService.class, null, null);
+            activity.getRequestAdapter().setAttribute("testCase", "testHint");
+            testService.testHint();
+            activity.getRequestAdapter().setAttribute("testCase", "inner");
+            activity.getRequestAdapter().setAttribute("isolated", false);
+            testService.outerPropagated();
+            activity.getRequestAdapter().setAttribute("isolated", true);
+            testService.outerIsolated();
+            return null;
+        });
+    }
+
+    @Test
+    void testAdviceApplied(@NonNull ActivityTester tester) throws ActivityPerformException {
+        tester.perform(activity -> {
+            AdviceTestService testService = (AdviceTestService)createProxy(
+                    activity.getActivityContext(), AdviceTestService.class, null, null);
+            assertEquals(6, testService.multiply(2, 3));
+            List<String> advices = activity.getRequestAdapter().getAttribute("advices");
+            assertEquals(List.of("before", "after", "finally"), advices);
+
+            // Methods that are not matched by the pointcut are not advised
+            advices.clear();
+            assertEquals("ab", testService.concat("a", "b"));
+            assertEquals(List.of(), advices);
+            return null;
+        });
+    }
+
+    @Test
+    void testProxyClassDefinedOnce() throws Exception {
+        BytecodeBeanProxy.ProxyClass first = BytecodeBeanProxy.generateProxyClass(Calculator.class);
+        // Generating again, as a concurrent ClassValue computation would, reuses the defined class
+        BytecodeBeanProxy.ProxyClass second = BytecodeBeanProxy.generateProxyClass(Calculator.class);
+        assertSame(first.type(), second.type());
+        assertArrayEquals(first.methods(), second.methods());
+    }
+
+    private static Object createProxy(ActivityContext context, Class<?> beanClass, Object[] args, Class<?>[] argTypes) {
+        BeanRule beanRule = new BeanRule();
+        beanRule.setBeanClass(beanClass);
+        return BytecodeBeanProxy.create(context, beanRule, args, argTypes);
+    }
+
+    public static class Calculator {
+
+        private int base;
+
+        public Calculator() {
+        }
+
+        public Calculator(int base) {
+            this.base = base;
+        }
+
+        @Advisable
+        public int add(int a, int b) {
+            return base + a + b;
+        }
+
+        @Advisable
+        public double scale(double factor) {
+            return base * factor;
+        }
+
+        @Advisable
+        public String[] join(String[] values, String value) {
+            String[] result = new String[values.length + 1];
+            System.arraycopy(values, 0, result, 0, values.length);
+            result[values.length] = value;
+            return result;
+        }
+
+        @Advisable
+        public void reset() {
+            base = 0;
+        }
+
+        @Advisable
+        protected int divide(int a, int b) {
+            return a / b;
+        }
+
+        public int plain(int a) {
+            return a;
+        }
+
+    }
+
+}
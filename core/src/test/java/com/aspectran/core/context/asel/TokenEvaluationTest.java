@@ -18,9 +18,11 @@ package com.aspectran.core.context.asel;
 import com.aspectran.core.activity.ActivityPerformException;
 import com.aspectran.core.activity.InstantActivity;
 import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.asel.token.CompiledTokenTemplate;
 import com.aspectran.core.context.asel.token.Token;
 import com.aspectran.core.context.asel.token.TokenEvaluator;
 import com.aspectran.core.context.asel.token.TokenParser;
+import com.aspectran.core.context.asel.token.Tokenizer;
 import com.aspectran.core.context.builder.ActivityContextBuilder;
 import com.aspectran.core.context.builder.ActivityContextBuilderException;
 import com.aspectran.core.context.builder.HybridActivityContextBuilder;
@@ -28,6 +30,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.List;
 
@@ -59,6 +62,30 @@ class TokenEvaluationTest {
         assertEquals("Apple, Tomato, Strawberry, Melon", result);
     }
 
+    @Test
+    void testCompiledTokenTemplate() throws ActivityPerformException {
+        InstantActivity activity = new InstantActivity(context);
+        activity.perform(() -> {
+            activity.getRequestAdapter().setParameter("param1", "Apple");
+            activity.getRequestAdapter().setAttribute("attr1", "Strawberry");
+
+            String content = "<fruits>\n  <a>${param1}</a>${param2:Tomato}\n  <b>@{attr1}</b>@{attr2}\n</fruits>";
+            Token[] tokens = Tokenizer.tokenize(content, false).toArray(new Token[0]);
+            CompiledTokenTemplate compiledTemplate = CompiledTokenTemplate.compile(tokens);
+
+            TokenEvaluator tokenEvaluator = activity.getTokenEvaluator();
+            StringWriter writer1 = new StringWriter();
+            tokenEvaluator.evaluate(tokens, writer1);
+            StringWriter writer2 = new StringWriter();
+            compiledTemplate.render(tokenEvaluator, writer2);
+
+            assertEquals("<fruits>\n  <a>Apple</a>Tomato\n  <b>Strawberry</b>\n</fruits>", writer2.toString());
+            assertEquals(writer1.toString(), writer2.toString());
+            assertEquals(9, compiledTemplate.getSegmentCount());
+            return null;
+        });
+    }
+
     @Test
     void testEvaluateArray() throws ActivityPerformException {
         InstantActivity activity = new InstantActivity(context);
@@ -18,6 +18,7 @@ package com.aspectran.core.context.asel;
 import com.aspectran.core.activity.Activity;
 import com.aspectran.core.activity.NonActivity;
 import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.asel.ognl.OgnlSupport;
 import com.aspectran.core.context.asel.value.ValueExpression;
 import com.aspectran.core.context.builder.ActivityContextBuilder;
 import com.aspectran.core.context.builder.ActivityContextBuilderException;
@@ -26,8 +27,13 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * <p>Created: 2021/02/04</p>
@@ -81,6 +87,42 @@ class ValueExpressionTest {
         assertEquals("[bar1, bar2, bar3]", ValueExpression.evaluate("'${bars}'", activity));
     }
 
+    @Test
+    void evaluateCompiled() throws ExpressionParserException {
+        boolean compileEnabled = OgnlSupport.isCompileEnabled();
+        OgnlSupport.setCompileEnabled(true);
+        try {
+            TokenizedExpression expression = new TokenizedExpression("n * 2 + 1");
+            Map<String, Object> root = new HashMap<>();
+            root.put("n", 10);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(21, expression.evaluate(activity, OgnlSupport.createDefaultContext(), root));
+            }
+            // Requires --add-opens java.base/java.lang=ALL-UNNAMED, which the surefire argLine provides
+            assertTrue(expression.isCompiled());
+            // A different runtime type must not break the expression, compiled or not
+            root.put("n", 10L);
+            assertEquals(21L, expression.evaluate(activity, OgnlSupport.createDefaultContext(), root));
+            assertFalse(expression.isCompiled());
+            assertEquals(21L, expression.evaluate(activity, OgnlSupport.createDefaultContext(), root));
+
+            TokenizedExpression expression2 = new TokenizedExpression("${bars}.length > 3 ? \"F\" : \"T\"");
+            for (int i = 0; i < 3; i++) {
+                assertEquals("T", expression2.evaluate(activity, OgnlSupport.createDefaultContext()));
+            }
+
+            // Method calls are never compiled
+            TokenizedExpression expression3 = new TokenizedExpression("foo.concat('bar')");
+            for (int i = 0; i < 3; i++) {
+                assertEquals("foobar", expression3.evaluate(activity, OgnlSupport.createDefaultContext(),
+                        activity.getActivityData()));
+            }
+            assertFalse(expression3.isCompiled());
+        } finally {
+            OgnlSupport.setCompileEnabled(compileEnabled);
+        }
+    }
+
     @Test
     void failed() {
         // This should fail because there is no operator between tokens,
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics;
+
+import com.aspectran.core.context.rule.type.MethodType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for {@link ActivityMetricsRegistry}.
+ */
+class ActivityMetricsRegistryTest {
+
+    @Test
+    void testRecord() {
+        ActivityMetricsRegistry registry = new ActivityMetricsRegistry();
+        registry.record("/users/${id}", MethodType.GET, 3000L, 1000L, 500L, false);
+        registry.record("/users/${id}", MethodType.GET, 5000L, 1000L, 500L, true);
+        registry.record("/users/${id}", MethodType.POST, 7000L, 0L, 0L, false);
+
+        TransletMetrics metrics = registry.getTransletMetrics("/users/${id}", MethodType.GET);
+        assertNotNull(metrics);
+        assertEquals(2L, metrics.getDuration().getCount());
+        assertEquals(8000L, metrics.getDuration().getTotal());
+        assertEquals(2000L, metrics.getAdviceTime().getTotal());
+        assertEquals(1L, metrics.getErrorCount());
+        assertEquals(2, registry.getAllTransletMetrics().size());
+
+        TransletMetrics getMetrics = registry.getMethodMetrics(MethodType.GET);
+        assertNotNull(getMetrics);
+        assertEquals(2L, getMetrics.getDuration().getCount());
+        assertNull(registry.getMethodMetrics(MethodType.PUT));
+
+        registry.reset();
+        assertNull(registry.getTransletMetrics("/users/${id}", MethodType.GET));
+        assertEquals(0L, getMetrics.getDuration().getCount());
+    }
+
+    @Test
+    void testMaxTransletMetrics() {
+        ActivityMetricsRegistry registry = new ActivityMetricsRegistry();
+        registry.setMaxTransletMetrics(1);
+        registry.record("/a", MethodType.GET, 1000L, 0L, 0L, false);
+        registry.record("/b", MethodType.GET, 1000L, 0L, 0L, false);
+        assertNotNull(registry.getTransletMetrics("/a", MethodType.GET));
+        assertNull(registry.getTransletMetrics("/b", MethodType.GET));
+        assertEquals(2L, registry.getMethodMetrics(MethodType.GET).getDuration().getCount());
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics;
+
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.builder.ActivityContextBuilderException;
+import com.aspectran.core.context.builder.HybridActivityContextBuilder;
+import com.aspectran.core.context.rule.type.MethodType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link OpenMetricsExporter}.
+ */
+class OpenMetricsExporterTest {
+
+    @Test
+    void testExport() throws ActivityContextBuilderException, IOException {
+        HybridActivityContextBuilder builder = new HybridActivityContextBuilder();
+        ActivityContext context = builder.build();
+        try {
+            context.getActivityMetricsRegistry().record("/users/${id}", MethodType.GET,
+                    2_000_000L, 0L, 1_000_000L, true);
+
+            OpenMetricsExporter exporter = new OpenMetricsExporter(context);
+            StringWriter writer = new StringWriter();
+            exporter.export(writer);
+            String result = writer.toString();
+
+            assertTrue(result.contains("# TYPE aspectran_activities counter\n"));
+            assertTrue(result.contains("\naspectran_activities_total 0\n"));
+            assertTrue(result.contains("# UNIT aspectran_translet_duration_seconds seconds\n"));
+            assertTrue(result.contains(
+                    "\naspectran_translet_duration_seconds_count{translet=\"/users/${id}\",method=\"GET\"} 1\n"));
+            assertTrue(result.contains(
+                    "\naspectran_translet_errors_total{translet=\"/users/${id}\",method=\"GET\"} 1\n"));
+            assertTrue(result.contains("\njvm_threads_current "));
+            assertTrue(result.endsWith("# EOF\n"));
+        } finally {
+            builder.destroy();
+        }
+    }
+
+    @Test
+    void testWriteEscaped() throws IOException {
+        StringWriter writer = new StringWriter();
+        OpenMetricsWriter out = new OpenMetricsWriter(writer);
+        out.family("test_metric", OpenMetricsWriter.TYPE_GAUGE, null, "Help with \\ and\nnewline");
+        out.sample("test_metric", null).label("a", "x\"y\\z").label("b", null).value(1.5D);
+        out.sample("test_metric", null).value(Double.POSITIVE_INFINITY);
+        assertEquals("# TYPE test_metric gauge\n" +
+                "# HELP test_metric Help with \\\\ and\\nnewline\n" +
+                "test_metric{a=\"x\\\"y\\\\z\",b=\"\"} 1.5\n" +
+                "test_metric +Inf\n", writer.toString());
+    }
+
+}
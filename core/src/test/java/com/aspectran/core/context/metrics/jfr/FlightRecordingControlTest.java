@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.metrics.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test cases for {@link FlightRecordingControl}.
+ */
+class FlightRecordingControlTest {
+
+    @Test
+    void testStartAndStop(@TempDir Path tempDir) throws Exception {
+        assumeTrue(FlightRecordingControl.isAvailable());
+
+        FlightRecordingControl.start(null, null, null);
+        try {
+            assertTrue(FlightRecordingControl.isRecording());
+            assertNotNull(FlightRecordingControl.describe());
+            assertThrows(IllegalStateException.class, () -> FlightRecordingControl.start(null, null, null));
+
+            ActivityPerformEvent event = new ActivityPerformEvent();
+            event.begin();
+            event.transletName = "/jfr/test";
+            event.requestMethod = "GET";
+            event.commit();
+        } finally {
+            Path file = FlightRecordingControl.stop(tempDir.resolve("test.jfr"));
+            assertFalse(FlightRecordingControl.isRecording());
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> "com.aspectran.ActivityPerform".equals(e.getEventType().getName()))
+                    .toList();
+            assertEquals(1, events.size());
+            assertEquals("/jfr/test", events.get(0).getString("transletName"));
+        }
+        assertThrows(IllegalStateException.class, () -> FlightRecordingControl.stop(null));
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.daemon.command.builtins;
+
+import com.aspectran.core.context.metrics.jfr.FlightRecordingControl;
+import com.aspectran.daemon.command.AbstractCommand;
+import com.aspectran.daemon.command.CommandParameters;
+import com.aspectran.daemon.command.CommandRegistry;
+import com.aspectran.daemon.command.CommandResult;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+
+/**
+ * Built-in command that starts, dumps and stops a JDK Flight Recorder recording
+ * in which the Aspectran activity, advice, action, template and session events
+ * are enabled.
+ * <p>The first argument is one of {@code start}, {@code dump}, {@code stop} or
+ * {@code status}. The optional second argument is the name of the JFR settings
+ * for {@code start}, or the file to write the recorded data to for {@code dump}
+ * and {@code stop}.</p>
+ * <p>Command name: "jfr" (namespace: "builtins").</p>
+ *
+ * @since 9.6.5
+ */
+public class JfrCommand extends AbstractCommand {
+
+    private static final String NAMESPACE = "builtins";
+
+    private static final String COMMAND_NAME = "jfr";
+
+    private final CommandDescriptor descriptor = new CommandDescriptor();
+
+    public JfrCommand(CommandRegistry registry) {
+        super(registry);
+    }
+
+    @Override
+    public CommandResult execute(CommandParameters parameters) {
+        try {
+            Object[] args = parameters.getArguments();
+            String action = (args != null && args.length > 0 ? args[0].toString() : "status");
+            String value = (args != null && args.length > 1 && args[1] != null ? args[1].toString() : null);
+            switch (action) {
+                case "start" -> {
+                    if (FlightRecordingControl.isRecording()) {
+                        return failed(warn("A flight recording is already in progress."));
+                    }
+                    FlightRecordingControl.start(value, null, null);
+                    return success(info("Flight recording started: " + FlightRecordingControl.describe()));
+                }
+                case "dump" -> {
+                    if (!FlightRecordingControl.isRecording()) {
+                        return failed(warn("No flight recording in progress."));
+                    }
+                    Path path = FlightRecordingControl.dump(toPath(value));
+                    return success(info("Recorded data written to " + path));
+                }
+                case "stop" -> {
+                    if (!FlightRecordingControl.isRecording()) {
+                        return failed(warn("No flight recording in progress."));
+                    }
+                    Path path = FlightRecordingControl.stop(toPath(value));
+                    return success(info("Flight recording stopped; recorded data written to " + path));
+                }
+                case "status" -> {
+                    String description = FlightRecordingControl.describe();
+                    return success(description != null ? description : "No flight recording has been started.");
+                }
+                default -> {
+                    return failed(error("Unknown action: " + action + "; expected start, dump, stop or status"));
+                }
+            }
+        } catch (Exception e) {
+            return failed(e);
+        }
+    }
+
+    @Nullable
+    private Path toPath(@Nullable String file) {
+        return (file != null ? Path.of(file) : null);
+    }
+
+    @Override
+    public Descriptor getDescriptor() {
+        return descriptor;
+    }
+
+    private static class CommandDescriptor implements Descriptor {
+
+        @Override
+        public String getNamespace() {
+            return NAMESPACE;
+        }
+
+        @Override
+        public String getName() {
+            return COMMAND_NAME;
+        }
+
+        @Override
+        @NonNull
+        public String getDescription() {
+            return "Starts, dumps and stops a JDK Flight Recorder recording";
+        }
+
+    }
+
+}
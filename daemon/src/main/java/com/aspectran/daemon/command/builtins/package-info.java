@@ -33,6 +33,8 @@
  *       — executes a method on a specified bean</li>
  *   <li>{@link com.aspectran.daemon.command.builtins.SysInfoCommand SysInfoCommand}
  *       — print JVM/system information</li>
+ *   <li>{@link com.aspectran.daemon.command.builtins.JfrCommand JfrCommand}
+ *       — start, dump and stop a JDK Flight Recorder recording</li>
  *   <li>{@link com.aspectran.daemon.command.builtins.RestartCommand RestartCommand}
  *       and {@link com.aspectran.daemon.command.builtins.QuitCommand QuitCommand}
  *       — control daemon lifecycle</li>
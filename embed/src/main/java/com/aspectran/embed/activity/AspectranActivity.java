@@ -21,6 +21,7 @@ import com.aspectran.core.activity.CoreActivity;
 import com.aspectran.core.activity.TransletNotFoundException;
 import com.aspectran.core.activity.request.ParameterMap;
 import com.aspectran.core.adapter.DefaultSessionAdapter;
+import com.aspectran.core.context.rule.TransletRule;
 import com.aspectran.core.context.rule.type.MethodType;
 import com.aspectran.embed.adapter.AspectranRequestAdapter;
 import com.aspectran.embed.adapter.AspectranResponseAdapter;
@@ -159,6 +160,24 @@ public class AspectranActivity extends CoreActivity {
         prepare(requestName, requestMethod);
     }
 
+    /**
+     * Prepares this activity for execution with a translet rule that has already been
+     * resolved for the configured request name and method, skipping the translet lookup.
+     * If no request name is configured, the name of the translet rule is used as the
+     * request name and the GET method is assumed.
+     * @param transletRule the pre-resolved translet rule to execute
+     * @throws ActivityPrepareException if preparation fails for any reason
+     * @since 9.6.5
+     */
+    @Override
+    public void prepare(TransletRule transletRule) throws ActivityPrepareException {
+        if (requestName != null) {
+            prepare(requestName, (requestMethod != null ? requestMethod : MethodType.GET), transletRule);
+        } else {
+            super.prepare(transletRule);
+        }
+    }
+
     @Override
     protected void adapt() throws AdapterException {
         setSessionAdapter(aspectran.newSessionAdapter());
@@ -21,18 +21,26 @@ import com.aspectran.core.activity.InstantActivity;
 import com.aspectran.core.activity.InstantActivityException;
 import com.aspectran.core.activity.Translet;
 import com.aspectran.core.activity.request.ParameterMap;
+import com.aspectran.core.activity.TransletNotFoundException;
 import com.aspectran.core.context.config.AspectranConfig;
+import com.aspectran.core.context.rule.TransletRule;
 import com.aspectran.core.context.rule.type.MethodType;
 import com.aspectran.core.service.CoreServiceException;
 import com.aspectran.core.service.CoreServiceHolder;
 import com.aspectran.core.service.ServiceStateListener;
 import com.aspectran.embed.activity.AspectranActivity;
+import com.aspectran.utils.io.OutputStringWriter;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * The default implementation of the {@link EmbeddedAspectran} interface.
@@ -46,8 +54,14 @@ public class DefaultEmbeddedAspectran extends AbstractEmbeddedAspectran {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultEmbeddedAspectran.class);
 
+    private final Object asyncExecutorMonitor = new Object();
+
     private volatile long pauseTimeout = -1L;
 
+    private volatile Executor asyncExecutor;
+
+    private ExecutorService defaultAsyncExecutor;
+
     DefaultEmbeddedAspectran() {
         super();
     }
@@ -133,9 +147,99 @@ public class DefaultEmbeddedAspectran extends AbstractEmbeddedAspectran {
         activity.setAttributeMap(attributeMap);
         activity.setParameterMap(parameterMap);
         activity.setBody(body);
+        return perform(activity, null);
+    }
+
+    @Override
+    public void setAsyncExecutor(Executor executor) {
+        this.asyncExecutor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Translet> translateAsync(String name) {
+        return translateAsync(name, null, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Translet> translateAsync(String name, ParameterMap parameterMap) {
+        return translateAsync(name, null, null, parameterMap, null);
+    }
+
+    @Override
+    public CompletableFuture<Translet> translateAsync(
+            String name, Map<String, Object> attributeMap, ParameterMap parameterMap) {
+        return translateAsync(name, null, attributeMap, parameterMap, null);
+    }
+
+    @Override
+    public CompletableFuture<Translet> translateAsync(
+            String name, @Nullable MethodType method,
+            @Nullable Map<String, Object> attributeMap, @Nullable ParameterMap parameterMap,
+            @Nullable String body) {
+        if (name == null) {
+            throw new IllegalArgumentException("name must not be null");
+        }
+        return CompletableFuture.supplyAsync(() -> translate(name, method, attributeMap, parameterMap, body),
+                obtainAsyncExecutor());
+    }
+
+    @Override
+    public int translateBatch(
+            String name, @Nullable MethodType method, Iterable<TranslateRequest> requests,
+            Consumer<Translet> resultHandler) {
+        if (checkPaused()) {
+            return 0;
+        }
+        if (name == null) {
+            throw new IllegalArgumentException("name must not be null");
+        }
+        if (requests == null) {
+            throw new IllegalArgumentException("requests must not be null");
+        }
+        if (resultHandler == null) {
+            throw new IllegalArgumentException("resultHandler must not be null");
+        }
+        if (!isRequestAcceptable(name)) {
+            logger.error("Unavailable translet: {}", name);
+            return 0;
+        }
+
+        MethodType requestMethod = (method != null ? method : MethodType.GET);
+        TransletRule transletRule = getActivityContext().getTransletRuleRegistry()
+                .getTransletRule(name, requestMethod);
+        if (transletRule == null) {
+            throw new CoreServiceException("Error occurred while processing request: " +
+                    requestMethod + " " + name, new TransletNotFoundException(name, requestMethod));
+        }
+
+        OutputStringWriter outputWriter = new OutputStringWriter();
+        int count = 0;
+        for (TranslateRequest request : requests) {
+            outputWriter.reset();
+            AspectranActivity activity = new AspectranActivity(this, outputWriter);
+            activity.setRequestName(name);
+            activity.setRequestMethod(requestMethod);
+            activity.setAttributeMap(request.attributeMap());
+            activity.setParameterMap(request.parameterMap());
+            activity.setBody(request.body());
+            Translet translet = perform(activity, transletRule);
+            if (translet != null) {
+                resultHandler.accept(translet);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    @Nullable
+    private Translet perform(@NonNull AspectranActivity activity, @Nullable TransletRule transletRule) {
         Translet translet = null;
         try {
-            activity.prepare();
+            if (transletRule != null) {
+                activity.prepare(transletRule);
+            } else {
+                activity.prepare();
+            }
             activity.perform();
             translet = activity.getTranslet();
         } catch (ActivityTerminatedException e) {
@@ -189,6 +293,29 @@ public class DefaultEmbeddedAspectran extends AbstractEmbeddedAspectran {
         }
     }
 
+    @NonNull
+    private Executor obtainAsyncExecutor() {
+        Executor executor = asyncExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (asyncExecutorMonitor) {
+            if (defaultAsyncExecutor == null) {
+                defaultAsyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            }
+            return defaultAsyncExecutor;
+        }
+    }
+
+    private void shutdownDefaultAsyncExecutor() {
+        synchronized (asyncExecutorMonitor) {
+            if (defaultAsyncExecutor != null) {
+                defaultAsyncExecutor.shutdown();
+                defaultAsyncExecutor = null;
+            }
+        }
+    }
+
     /**
      * Returns a new instance of {@code DefaultEmbeddedAspectran} configured with the
      * provided configuration. This method initializes the service, sets up lifecycle
@@ -239,6 +366,7 @@ public class DefaultEmbeddedAspectran extends AbstractEmbeddedAspectran {
 
             @Override
             public void stopped() {
+                aspectran.shutdownDefaultAsyncExecutor();
                 aspectran.destroySessionManager();
                 CoreServiceHolder.release(aspectran);
             }
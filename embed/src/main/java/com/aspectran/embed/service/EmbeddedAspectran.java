@@ -35,6 +35,9 @@ import java.io.File;
 import java.io.Reader;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * Defines the primary interface for embedding the Aspectran framework within a Java application.
@@ -157,6 +160,79 @@ public interface EmbeddedAspectran {
      */
     Translet translate(String name, MethodType method, Map<String, Object> attributeMap, ParameterMap parameterMap, String body);
 
+    /**
+     * Sets the executor on which asynchronous translations are performed.
+     * If not set, each asynchronous translation runs on a new virtual thread.
+     * An executor set here is not shut down when this instance is destroyed.
+     * @param executor the executor for asynchronous translations
+     * @since 9.6.5
+     */
+    void setAsyncExecutor(Executor executor);
+
+    /**
+     * Executes a translet with the specified name asynchronously.
+     * @param name the name of the translet to execute
+     * @return a future that completes with the {@link Translet} containing the result
+     *      of the execution, or exceptionally if the execution fails
+     * @since 9.6.5
+     */
+    CompletableFuture<Translet> translateAsync(String name);
+
+    /**
+     * Executes a translet with the specified name and parameters asynchronously.
+     * @param name the name of the translet to execute
+     * @param parameterMap a map of parameters to be passed to the activity
+     * @return a future that completes with the {@link Translet} containing the result
+     *      of the execution, or exceptionally if the execution fails
+     * @since 9.6.5
+     */
+    CompletableFuture<Translet> translateAsync(String name, ParameterMap parameterMap);
+
+    /**
+     * Executes a translet with the specified name, attributes, and parameters asynchronously.
+     * @param name the name of the translet to execute
+     * @param attributeMap a map of attributes to be passed to the activity
+     * @param parameterMap a map of parameters to be passed to the activity
+     * @return a future that completes with the {@link Translet} containing the result
+     *      of the execution, or exceptionally if the execution fails
+     * @since 9.6.5
+     */
+    CompletableFuture<Translet> translateAsync(
+            String name, Map<String, Object> attributeMap, ParameterMap parameterMap);
+
+    /**
+     * Executes a translet with the specified name, request method, attributes, parameters,
+     * and request body asynchronously.
+     * @param name the name of the translet to execute
+     * @param method the request method (e.g., GET, POST)
+     * @param attributeMap a map of attributes to be passed to the activity
+     * @param parameterMap a map of parameters to be passed to the activity
+     * @param body the request body content
+     * @return a future that completes with the {@link Translet} containing the result
+     *      of the execution, or exceptionally if the execution fails
+     * @since 9.6.5
+     */
+    CompletableFuture<Translet> translateAsync(
+            String name, MethodType method, Map<String, Object> attributeMap, ParameterMap parameterMap, String body);
+
+    /**
+     * Executes the same translet once for each of the given requests, in order, on the
+     * calling thread.
+     * <p>The translet rule is resolved and the request is checked for acceptability only
+     * once for the whole batch, and a single output buffer is reused for all requests.
+     * Because the buffer is reused, the {@link Translet} passed to the result handler,
+     * including its written response, is only valid until the handler returns.
+     * The batch stops at the first request that fails.</p>
+     * @param name the name of the translet to execute
+     * @param method the request method (e.g., GET, POST)
+     * @param requests the requests to execute
+     * @param resultHandler the handler that receives the translet of each executed request
+     * @return the number of requests executed
+     * @since 9.6.5
+     */
+    int translateBatch(String name, MethodType method, Iterable<TranslateRequest> requests,
+                       Consumer<Translet> resultHandler);
+
     /**
      * Renders a template with the given ID.
      * @param templateId the ID of the template to render
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.embed.service;
+
+import com.aspectran.core.activity.request.ParameterMap;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * The per-request input of a batch executed by
+ * {@link EmbeddedAspectran#translateBatch(String, com.aspectran.core.context.rule.type.MethodType, Iterable, java.util.function.Consumer)}.
+ *
+ * @param attributeMap a map of attributes to be passed to the activity
+ * @param parameterMap a map of parameters to be passed to the activity
+ * @param body the request body content
+ * @since 9.6.5
+ */
+public record TranslateRequest(
+        @Nullable Map<String, Object> attributeMap,
+        @Nullable ParameterMap parameterMap,
+        @Nullable String body) {
+
+    /**
+     * Creates a request with the given parameters.
+     * @param parameterMap a map of parameters to be passed to the activity
+     * @return a new {@code TranslateRequest}
+     */
+    @NonNull
+    public static TranslateRequest of(ParameterMap parameterMap) {
+        return new TranslateRequest(null, parameterMap, null);
+    }
+
+    /**
+     * Creates a request with the given attributes.
+     * @param attributeMap a map of attributes to be passed to the activity
+     * @return a new {@code TranslateRequest}
+     */
+    @NonNull
+    public static TranslateRequest of(Map<String, Object> attributeMap) {
+        return new TranslateRequest(attributeMap, null, null);
+    }
+
+    /**
+     * Creates a request with the given request body.
+     * @param body the request body content
+     * @return a new {@code TranslateRequest}
+     */
+    @NonNull
+    public static TranslateRequest of(String body) {
+        return new TranslateRequest(null, null, body);
+    }
+
+}
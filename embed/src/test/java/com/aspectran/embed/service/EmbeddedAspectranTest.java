@@ -29,8 +29,14 @@ import org.junit.jupiter.api.TestInstance;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * <p>Created: 2016. 9. 7.</p>
@@ -184,4 +190,29 @@ class EmbeddedAspectranTest {
         assertEquals("staticfieldstaticfieldstaticfield", StringUtils.trimAllWhitespace(message));
     }
 
+    @Test
+    void translateAsyncTest() throws Exception {
+        CompletableFuture<Translet> future = aspectran.translateAsync("attr-test");
+        assertEquals("abc123", future.get(10, TimeUnit.SECONDS).getWrittenResponse());
+    }
+
+    @Test
+    void translateBatchTest() {
+        List<TranslateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ParameterMap params = new ParameterMap();
+            params.setParameter("input-1", "value" + i);
+            requests.add(TranslateRequest.of(params));
+        }
+        List<String> responses = new ArrayList<>();
+        int count = aspectran.translateBatch("echo", null, requests,
+                translet -> responses.add(translet.getWrittenResponse()));
+        assertEquals(3, count);
+        assertEquals(3, responses.size());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(responses.get(i).contains("input-1: value" + i));
+            assertFalse(responses.get(i).contains("input-1: value" + (i + 1)));
+        }
+    }
+
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.shell.command.builtins;
+
+import com.aspectran.core.context.metrics.jfr.FlightRecordingControl;
+import com.aspectran.shell.command.AbstractCommand;
+import com.aspectran.shell.command.CommandRegistry;
+import com.aspectran.shell.command.option.Option;
+import com.aspectran.shell.command.option.OptionValueType;
+import com.aspectran.shell.command.option.ParsedOptions;
+import com.aspectran.shell.console.ShellConsole;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Built-in command that starts, dumps and stops a JDK Flight Recorder recording
+ * in which the Aspectran activity, advice, action, template and session events
+ * are enabled.
+ * <p>Command name: "jfr" (namespace: "builtins").</p>
+ *
+ * @since 9.6.5
+ */
+public class JfrCommand extends AbstractCommand {
+
+    private static final String NAMESPACE = "builtins";
+
+    private static final String COMMAND_NAME = "jfr";
+
+    private final CommandDescriptor descriptor = new CommandDescriptor();
+
+    public JfrCommand(CommandRegistry registry) {
+        super(registry);
+
+        addOption(Option.builder("start")
+                .hasValue()
+                .optionalValue()
+                .valueName("settings")
+                .desc("Starts a recording based on the given JFR settings (default or profile)")
+                .build());
+        addOption(Option.builder("threshold")
+                .hasValue()
+                .valueName("millis")
+                .valueType(OptionValueType.LONG)
+                .desc("Records only Aspectran events that take longer than the given milliseconds")
+                .build());
+        addOption(Option.builder("maxAge")
+                .hasValue()
+                .valueName("minutes")
+                .valueType(OptionValueType.LONG)
+                .desc("Keeps only the data recorded within the given minutes")
+                .build());
+        addOption(Option.builder("dump")
+                .hasValue()
+                .optionalValue()
+                .valueName("file")
+                .desc("Writes the data recorded so far to a file")
+                .build());
+        addOption(Option.builder("stop")
+                .hasValue()
+                .optionalValue()
+                .valueName("file")
+                .desc("Stops the recording and writes the recorded data to a file")
+                .build());
+        addOption(Option.builder("status")
+                .desc("Displays the status of the recording")
+                .build());
+        addOption(Option.builder("h")
+                .longName("help")
+                .desc("Display help for this command")
+                .build());
+    }
+
+    @Override
+    public void execute(@NonNull ParsedOptions options, ShellConsole console) throws Exception {
+        if (options.hasOption("help")) {
+            printHelp(console);
+        } else if (options.hasOption("start")) {
+            Long threshold = options.getTypedValue("threshold");
+            Long maxAge = options.getTypedValue("maxAge");
+            FlightRecordingControl.start(options.getValue("start"),
+                    (threshold != null ? Duration.ofMillis(threshold) : null),
+                    (maxAge != null ? Duration.ofMinutes(maxAge) : null));
+            console.writeLine("Flight recording started");
+            printStatus(console);
+        } else if (options.hasOption("dump")) {
+            if (checkRecording(console)) {
+                Path path = FlightRecordingControl.dump(toPath(options.getValue("dump")));
+                console.writeLine("Recorded data written to " + path);
+            }
+        } else if (options.hasOption("stop")) {
+            if (checkRecording(console)) {
+                Path path = FlightRecordingControl.stop(toPath(options.getValue("stop")));
+                console.writeLine("Flight recording stopped; recorded data written to " + path);
+            }
+        } else if (options.hasOption("status")) {
+            printStatus(console);
+        } else {
+            printQuickHelp(console);
+        }
+    }
+
+    private boolean checkRecording(@NonNull ShellConsole console) {
+        if (!FlightRecordingControl.isRecording()) {
+            console.writeError("No flight recording in progress");
+            return false;
+        }
+        return true;
+    }
+
+    private void printStatus(@NonNull ShellConsole console) {
+        String description = FlightRecordingControl.describe();
+        if (description != null) {
+            console.writeLine(description);
+        } else {
+            console.writeLine("No flight recording has been started");
+        }
+    }
+
+    @Nullable
+    private Path toPath(@Nullable String file) {
+        return (file != null ? Path.of(file) : null);
+    }
+
+    @Override
+    public Descriptor getDescriptor() {
+        return descriptor;
+    }
+
+    private static class CommandDescriptor implements Descriptor {
+
+        @Override
+        public String getNamespace() {
+            return NAMESPACE;
+        }
+
+        @Override
+        public String getName() {
+            return COMMAND_NAME;
+        }
+
+        @Override
+        @NonNull
+        public String getDescription() {
+            return "Starts, dumps and stops a JDK Flight Recorder recording";
+        }
+
+        @Override
+        @Nullable
+        public String getUsage() {
+            return null;
+        }
+
+    }
+
+}
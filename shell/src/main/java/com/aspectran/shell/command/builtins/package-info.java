@@ -33,6 +33,8 @@
  *       — list/describe/enable/disable scheduled jobs</li>
  *   <li>{@link com.aspectran.shell.command.builtins.SysInfoCommand SysInfoCommand}
  *       — print JVM/system information</li>
+ *   <li>{@link com.aspectran.shell.command.builtins.JfrCommand JfrCommand}
+ *       — start, dump and stop a JDK Flight Recorder recording</li>
  *   <li>{@link com.aspectran.shell.command.builtins.HelpCommand HelpCommand}
  *       — display general or command-specific help</li>
  *   <li>{@link com.aspectran.shell.command.builtins.HistoryCommand HistoryCommand}
@@ -17,6 +17,7 @@ package com.aspectran.shell.command;
 
 import com.aspectran.shell.command.builtins.EvaluateCommand;
 import com.aspectran.shell.command.builtins.HelpCommand;
+import com.aspectran.shell.command.builtins.JfrCommand;
 import com.aspectran.shell.command.builtins.PBDecryptCommand;
 import com.aspectran.shell.command.builtins.PBEncryptCommand;
 import com.aspectran.shell.command.builtins.SysInfoCommand;
@@ -27,7 +28,10 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.io.File;
+
 import static com.aspectran.utils.PBEncryptionUtils.ENCRYPTION_PASSWORD_PROPERTY;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * <p>Created: 2017. 11. 19.</p>
@@ -78,6 +82,19 @@ class CommandTest {
         command.execute(lineParser.parseOptions(command.getOptions()), getConsole());
     }
 
+    @Test
+    void testJfrCommand() throws Exception {
+        JfrCommand command = new JfrCommand(runner.getCommandRegistry());
+        command.printHelp(getConsole());
+        CommandLineParser lineParser = new CommandLineParser("jfr -start -threshold=1");
+        command.execute(lineParser.parseOptions(command.getOptions()), getConsole());
+        File file = File.createTempFile("aspectran-", ".jfr");
+        file.deleteOnExit();
+        lineParser = new CommandLineParser("jfr -stop=" + file.getPath());
+        command.execute(lineParser.parseOptions(command.getOptions()), getConsole());
+        assertTrue(file.length() > 0);
+    }
+
     @Test
     void testPBEncryptCommand() throws Exception {
         PBEncryptCommand command = new PBEncryptCommand(runner.getCommandRegistry());
@@ -15,6 +15,8 @@
  */
 package com.aspectran.utils;
 
+import com.aspectran.utils.cache.Cache;
+import com.aspectran.utils.cache.ConcurrentLruCache;
 import org.jasypt.encryption.ByteEncryptor;
 import org.jasypt.encryption.StringEncryptor;
 import org.jasypt.encryption.pbe.StandardPBEByteEncryptor;
@@ -82,6 +84,20 @@ public class PBEncryptionUtils {
 
     private static final Charset ENCRYPTED_MESSAGE_CHARSET = StandardCharsets.US_ASCII;
 
+    /**
+     * The maximum number of string encryptors kept for distinct combinations of
+     * algorithm, password and salt.
+     */
+    private static final int ENCRYPTOR_CACHE_SIZE = 64;
+
+    /**
+     * Encryptors are thread-safe once initialized, and initializing one is expensive
+     * because it sets up the cipher and, with a fixed salt, derives the key.
+     */
+    private static final Cache<EncryptorKey, StringEncryptor> encryptorCache =
+            new ConcurrentLruCache<>(ENCRYPTOR_CACHE_SIZE, key ->
+                    new CustomStringEncryptor(getByteEncryptor(key.algorithm(), key.password(), key.salt())));
+
     private static volatile EncryptionConfig config;
 
     static {
@@ -100,6 +116,7 @@ public class PBEncryptionUtils {
      * @since 8.1.0
      */
     public static void reload() {
+        encryptorCache.clear();
         config = new EncryptionConfig();
     }
 
@@ -181,7 +198,7 @@ public class PBEncryptionUtils {
 
     /**
      * Encrypts the input string using the specified password.
-     * This method creates a temporary encryptor for the operation.
+     * The encryptor for the given settings is shared between calls.
      * @param inputString the string to encrypt
      * @param encryptionPassword the password to be used for encryption
      * @return the result of encryption, as a URL-safe Base64-encoded string
@@ -193,7 +210,7 @@ public class PBEncryptionUtils {
 
     /**
      * Decrypts the input string using the specified password.
-     * This method creates a temporary encryptor for the operation.
+     * The encryptor for the given settings is shared between calls.
      * @param encryptedString the URL-safe Base64-encoded string to decrypt
      * @param encryptionPassword the password used for encryption
      * @return the result of decryption
@@ -205,7 +222,7 @@ public class PBEncryptionUtils {
 
     /**
      * Encrypts the input string using the specified password and salt.
-     * This method creates a temporary encryptor for the operation.
+     * The encryptor for the given settings is shared between calls.
      * @param inputString the string to encrypt
      * @param encryptionPassword the password to be used for encryption
      * @param salt the salt to be used for encryption
@@ -218,7 +235,7 @@ public class PBEncryptionUtils {
 
     /**
      * Decrypts the input string using the specified password and salt.
-     * This method creates a temporary encryptor for the operation.
+     * The encryptor for the given settings is shared between calls.
      * @param encryptedString the URL-safe Base64-encoded string to decrypt
      * @param encryptionPassword the password used for encryption
      * @param salt the salt used for encryption
@@ -246,10 +263,10 @@ public class PBEncryptionUtils {
     }
 
     /**
-     * Creates and returns a new {@link StringEncryptor} instance for the given password.
+     * Returns a {@link StringEncryptor} instance for the given password.
      * The algorithm used is the one configured via the system property.
      * @param encryptionPassword the password to be used for encryption/decryption
-     * @return a new string encryptor instance
+     * @return a shared string encryptor instance
      * @throws InsufficientEnvironmentException if the provided password is null or empty
      */
     @NonNull
@@ -258,11 +275,11 @@ public class PBEncryptionUtils {
     }
 
     /**
-     * Creates and returns a new {@link StringEncryptor} instance for the given password and salt.
+     * Returns a {@link StringEncryptor} instance for the given password and salt.
      * The algorithm used is the one configured via the system property.
      * @param encryptionPassword the password to be used for encryption/decryption
      * @param salt the salt to be used for encryption/decryption
-     * @return a new string encryptor instance
+     * @return a shared string encryptor instance
      * @throws InsufficientEnvironmentException if the provided password is null or empty
      */
     @NonNull
@@ -271,16 +288,22 @@ public class PBEncryptionUtils {
     }
 
     /**
-     * Creates and returns a new {@link StringEncryptor} instance for the given algorithm, password and salt.
+     * Returns a {@link StringEncryptor} instance for the given algorithm, password and salt.
+     * <p>String encryptors are thread-safe and are shared through a bounded cache keyed by
+     * the algorithm, password and salt, so that repeated encryption and decryption with the
+     * same settings do not initialize a new encryptor each time. The cache is cleared
+     * when {@link #reload()} is called.</p>
      * @param algorithm the name of the encryption algorithm
      * @param encryptionPassword the password to be used for encryption/decryption
      * @param salt the salt to be used for encryption/decryption
-     * @return a new string encryptor instance
+     * @return a shared string encryptor instance
      * @throws InsufficientEnvironmentException if the provided password is null or empty
      */
     @NonNull
     public static StringEncryptor getStringEncryptor(String algorithm, String encryptionPassword, String salt) {
-        return new CustomStringEncryptor(getByteEncryptor(algorithm, encryptionPassword, salt));
+        Assert.notNull(algorithm, "algorithm must not be null");
+        checkPassword(encryptionPassword);
+        return encryptorCache.get(new EncryptorKey(algorithm, encryptionPassword, (StringUtils.hasText(salt) ? salt : null)));
     }
 
     /**
@@ -366,7 +389,22 @@ public class PBEncryptionUtils {
             this.algorithm = StringUtils.trimWhitespace(SystemUtils.getProperty(ENCRYPTION_ALGORITHM_PROPERTY, DEFAULT_ALGORITHM));
             this.password = StringUtils.trimWhitespace(SystemUtils.getProperty(ENCRYPTION_PASSWORD_PROPERTY));
             this.salt = StringUtils.trimWhitespace(SystemUtils.getProperty(ENCRYPTION_SALT_PROPERTY));
-            this.encryptor = (StringUtils.hasText(password) ? getStringEncryptor(algorithm, password, salt) : null);
+            this.encryptor = (StringUtils.hasText(password) ?
+                    new CustomStringEncryptor(getByteEncryptor(algorithm, password, salt)) : null);
+        }
+
+    }
+
+    /**
+     * The key of a cached string encryptor.
+     */
+    private record EncryptorKey(String algorithm, String password, String salt) {
+
+        @Override
+        @NonNull
+        public String toString() {
+            // Never expose the password
+            return "EncryptorKey[algorithm=" + algorithm + "]";
         }
 
     }
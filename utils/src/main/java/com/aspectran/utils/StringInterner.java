@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A small, bounded table of strings used by parsers to share a single {@code String}
+ * instance for each distinct name they encounter.
+ * <p>Lookups are made directly against a range of characters, so a name that has
+ * been seen before is resolved without allocating a new string. Strings longer than
+ * the maximum length are never interned, and once the table holds the maximum number
+ * of entries, new strings are returned without being added, so that a document with
+ * many distinct names cannot make the table grow without limit.</p>
+ * <p>This class is not thread-safe; each parser is expected to use its own instance.</p>
+ *
+ * @since 9.6.5
+ */
+public class StringInterner {
+
+    private static final int DEFAULT_MAX_ENTRIES = 512;
+
+    private static final int DEFAULT_MAX_LENGTH = 128;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final int maxEntries;
+
+    private final int maxLength;
+
+    private String[] table = new String[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Creates a new StringInterner with the default limits.
+     */
+    public StringInterner() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Creates a new StringInterner with the given limits.
+     * @param maxEntries the maximum number of strings held
+     * @param maxLength the maximum length of a string to be interned
+     */
+    public StringInterner(int maxEntries, int maxLength) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength must not be negative");
+        }
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the number of strings held.
+     * @return the number of interned strings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the interned string for the given range of characters.
+     * @param chars the character array
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return the interned string, or a new string if it cannot be interned
+     */
+    @NonNull
+    public String intern(char[] chars, int offset, int length) {
+        if (length > maxLength) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        int mask = table.length - 1;
+        int index = spread(hash) & mask;
+        String str;
+        while ((str = table[index]) != null) {
+            if (str.length() == length && str.hashCode() == hash && regionMatches(str, chars, offset)) {
+                return str;
+            }
+            index = (index + 1) & mask;
+        }
+        return add(new String(chars, offset, length), index);
+    }
+
+    /**
+     * Returns the interned string for the given range of a character sequence.
+     * @param cs the character sequence
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @return the interned string, or a new string if it cannot be interned
+     */
+    @NonNull
+    public String intern(CharSequence cs, int start, int end) {
+        int length = end - start;
+        if (length > maxLength) {
+            return cs.subSequence(start, end).toString();
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + cs.charAt(i);
+        }
+        int mask = table.length - 1;
+        int index = spread(hash) & mask;
+        String str;
+        while ((str = table[index]) != null) {
+            if (str.length() == length && str.hashCode() == hash && regionMatches(str, cs, start)) {
+                return str;
+            }
+            index = (index + 1) & mask;
+        }
+        return add(cs.subSequence(start, end).toString(), index);
+    }
+
+    /**
+     * Returns the interned string equal to the given string.
+     * @param str the string to intern
+     * @return the interned string, or the given string if it cannot be interned
+     */
+    @NonNull
+    public String intern(@NonNull String str) {
+        if (str.length() > maxLength) {
+            return str;
+        }
+        int mask = table.length - 1;
+        int index = spread(str.hashCode()) & mask;
+        String existing;
+        while ((existing = table[index]) != null) {
+            if (existing.equals(str)) {
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+        return add(str, index);
+    }
+
+    /**
+     * Removes all interned strings.
+     */
+    public void clear() {
+        table = new String[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    @NonNull
+    private String add(String str, int index) {
+        if (size >= maxEntries) {
+            return str;
+        }
+        table[index] = str;
+        size++;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return str;
+    }
+
+    private void rehash() {
+        String[] oldTable = table;
+        String[] newTable = new String[oldTable.length * 2];
+        int mask = newTable.length - 1;
+        for (String str : oldTable) {
+            if (str != null) {
+                int index = spread(str.hashCode()) & mask;
+                while (newTable[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                newTable[index] = str;
+            }
+        }
+        table = newTable;
+    }
+
+    private static boolean regionMatches(@NonNull String str, char[] chars, int offset) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionMatches(@NonNull String str, CharSequence cs, int start) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) != cs.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16));
+    }
+
+}
@@ -16,15 +16,16 @@
 package com.aspectran.utils.apon;
 
 import com.aspectran.utils.Assert;
+import com.aspectran.utils.StringInterner;
 import com.aspectran.utils.StringUtils;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.aspectran.utils.apon.AponFormat.ARRAY_CLOSE;
@@ -55,18 +56,39 @@ import static com.aspectran.utils.apon.AponFormat.TRUE;
  * APON is a simplified text format designed for representing hierarchical
  * parameter objects, supporting properties, arrays, and nested structures.
  * </p>
+ * <p>The parser scans a reusable character window rather than creating a string per
+ * line or token: lines are read into a reusable buffer, parameter names are interned
+ * so that repeated names share a single string, and keywords and integer values are
+ * recognized without materializing the token as a string.</p>
  */
 public class AponParser {
 
-    private final BufferedReader reader;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int bufferPos;
+
+    private int bufferLimit;
+
+    private boolean skipLineFeed;
+
+    /** The characters of the current line, without the line terminator. */
+    private char[] line = new char[128];
+
+    /** The length of the current line, or -1 if there is no current line. */
+    private int lineLength = -1;
 
     private int lineNumber = 0;
 
     private int linePos = 0;
 
-    private String originalLine;
+    /** A reusable buffer that holds the characters of the token being read. */
+    private final StringBuilder tokenBuilder = new StringBuilder();
 
-    private String currentLine;
+    private final StringInterner nameInterner = new StringInterner();
 
     /**
      * Constructs a new parser using the specified APON format string.
@@ -82,11 +104,7 @@ public class AponParser {
      */
     public AponParser(Reader reader) {
         Assert.notNull(reader, "reader must not be null");
-        if (reader instanceof BufferedReader bufferedReader) {
-            this.reader = bufferedReader;
-        } else {
-            this.reader = new BufferedReader(reader);
-        }
+        this.reader = reader;
     }
 
     /**
@@ -172,7 +190,7 @@ public class AponParser {
         boolean valueTypeHinted = false;
         if (valueType != null) {
             valueTypeHinted = true;
-            name = ValueType.stripHint(name);
+            name = nameInterner.intern(ValueType.stripHint(name));
             if (valueType == ValueType.VARIABLE || valueType == ValueType.PARAMETERS) {
                 valueType = null;
             }
@@ -205,14 +223,14 @@ public class AponParser {
     }
 
     /**
-     * Reads a quoted string from the current position, handling escape sequences.
+     * Reads a quoted string from the current position into the token buffer,
+     * handling escape sequences.
      * @param quoteChar the character used for quoting (e.g., single or double quote)
-     * @return the decoded string value
      * @throws IOException if an I/O error occurs or the string is unclosed
      */
-    @NonNull
-    private String readQuotedString(char quoteChar) throws IOException {
-        StringBuilder sb = new StringBuilder();
+    private void readQuotedToken(char quoteChar) throws IOException {
+        StringBuilder sb = tokenBuilder;
+        sb.setLength(0);
         while (true) {
             char c = readRawChar();
             if (c == NO_CONTROL_CHAR || c == NEW_LINE_CHAR) {
@@ -232,23 +250,25 @@ public class AponParser {
                 else if (next == 'f') sb.append('\f');
                 else if (next == 'r') sb.append('\r');
                 else if (next == 'u') {
-                    StringBuilder hex = new StringBuilder();
                     for (int i = 0; i < 4; i++) {
                         char h = readRawChar();
                         if (h == NO_CONTROL_CHAR) throw syntaxError("Unterminated escape sequence");
-                        hex.append(h);
                     }
-                    try {
-                        sb.append((char)Integer.parseInt(hex.toString(), 16));
-                    } catch (NumberFormatException e) {
-                        throw syntaxError("Invalid unicode escape sequence: \\u" + hex, e);
+                    int code = 0;
+                    for (int i = linePos - 4; i < linePos; i++) {
+                        int digit = Character.digit(line[i], 16);
+                        if (digit < 0) {
+                            throw syntaxError("Invalid unicode escape sequence: \\u" +
+                                    new String(line, linePos - 4, 4));
+                        }
+                        code = (code << 4) | digit;
                     }
+                    sb.append((char)code);
                 } else sb.append(next);
             } else {
                 sb.append(c);
             }
         }
-        return sb.toString();
     }
 
     /**
@@ -262,9 +282,11 @@ public class AponParser {
         char firstChar = peekChar();
         if (firstChar == DOUBLE_QUOTE_CHAR || firstChar == SINGLE_QUOTE_CHAR) {
             readChar();
-            return readQuotedString(firstChar);
+            readQuotedToken(firstChar);
+            return nameInterner.intern(tokenBuilder, 0, tokenBuilder.length());
         } else {
-            StringBuilder sb = new StringBuilder();
+            StringBuilder sb = tokenBuilder;
+            sb.setLength(0);
             while (true) {
                 char c = peekChar();
                 if (c == NO_CONTROL_CHAR || c == NEW_LINE_CHAR || c == NAME_VALUE_SEPARATOR ||
@@ -289,7 +311,15 @@ public class AponParser {
                 }
                 sb.append(readChar());
             }
-            return sb.toString().trim();
+            int start = 0;
+            int end = sb.length();
+            while (start < end && sb.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && sb.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return nameInterner.intern(sb, start, end);
         }
     }
 
@@ -403,44 +433,109 @@ public class AponParser {
 
         if (firstChar == BLOCK_CLOSE || firstChar == ARRAY_CLOSE) return null;
 
-        String valueStr = readToken(inArray);
-        if (valueStr == null) return null;
+        if (!readTokenInto(inArray)) return null;
 
-        switch (valueStr) {
-            case EMPTY_BLOCK -> {
-                Parameters nestedParams = null;
-                if (container instanceof ArrayParameters arrayParameters) {
-                    nestedParams = arrayParameters.createParameters(ArrayParameters.NONAME);
-                } else if (container != null && name != null && container.hasParameter(name)) {
-                    nestedParams = container.createParameters(name);
-                }
-                return (nestedParams != null ? nestedParams : new VariableParameters());
+        // Keywords and integers are recognized in the token buffer without creating a string
+        StringBuilder token = tokenBuilder;
+        if (tokenEquals(EMPTY_BLOCK)) {
+            Parameters nestedParams = null;
+            if (container instanceof ArrayParameters arrayParameters) {
+                nestedParams = arrayParameters.createParameters(ArrayParameters.NONAME);
+            } else if (container != null && name != null && container.hasParameter(name)) {
+                nestedParams = container.createParameters(name);
             }
-            case EMPTY_ARRAY -> {
-                return new ArrayList<>();
+            return (nestedParams != null ? nestedParams : new VariableParameters());
+        }
+        if (tokenEquals(EMPTY_ARRAY)) return new ArrayList<>();
+        if (tokenEquals(NULL)) return null;
+        if (tokenEquals(TRUE)) return Boolean.TRUE;
+        if (tokenEquals(FALSE)) return Boolean.FALSE;
+
+        boolean decimal = false;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') {
+                decimal = true;
+                break;
             }
-            case NULL -> {
+        }
+        if (!decimal) {
+            Number number = parseInteger(token);
+            return (number != null ? number : token.toString());
+        }
+        String valueStr = token.toString();
+        try {
+            return Double.parseDouble(valueStr);
+        } catch (NumberFormatException e) {
+            return valueStr;
+        }
+    }
+
+    /**
+     * Parses the token buffer as a decimal integer with an optional sign, following the
+     * rules of {@link Long#parseLong(String)}, without creating a string.
+     * @param token the token to parse
+     * @return an {@code Integer} if the value fits in an int, a {@code Long} if it fits
+     *      in a long, or {@code null} if the token is not a valid long value
+     */
+    @Nullable
+    private static Number parseInteger(@NonNull CharSequence token) {
+        int len = token.length();
+        if (len == 0) {
+            return null;
+        }
+        int i = 0;
+        boolean negative = false;
+        long limit = -Long.MAX_VALUE;
+        char firstChar = token.charAt(0);
+        if (firstChar < '0') {
+            if (firstChar == '-') {
+                negative = true;
+                limit = Long.MIN_VALUE;
+            } else if (firstChar != '+') {
+                return null;
+            }
+            if (len == 1) {
                 return null;
             }
-            case TRUE -> {
-                return Boolean.TRUE;
+            i++;
+        }
+        long multmin = limit / 10;
+        long result = 0L;
+        while (i < len) {
+            int digit = Character.digit(token.charAt(i++), 10);
+            if (digit < 0 || result < multmin) {
+                return null;
             }
-            case FALSE -> {
-                return Boolean.FALSE;
+            result *= 10;
+            if (result < limit + digit) {
+                return null;
             }
+            result -= digit;
+        }
+        long value = (negative ? result : -result);
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return (int)value;
         }
+        return value;
+    }
 
-        try {
-            if (valueStr.indexOf('.') > -1 || valueStr.indexOf('e') > -1 || valueStr.indexOf('E') > -1) {
-                return Double.parseDouble(valueStr);
-            } else {
-                long longValue = Long.parseLong(valueStr);
-                if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) return (int)longValue;
-                return longValue;
+    /**
+     * Returns whether the token buffer holds exactly the given keyword.
+     * @param keyword the keyword to compare with
+     * @return true if the token equals the keyword
+     */
+    private boolean tokenEquals(@NonNull String keyword) {
+        StringBuilder token = tokenBuilder;
+        if (token.length() != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (token.charAt(i) != keyword.charAt(i)) {
+                return false;
             }
-        } catch (NumberFormatException e) {
-            return valueStr;
         }
+        return true;
     }
 
     /**
@@ -452,13 +547,26 @@ public class AponParser {
      */
     @Nullable
     private String readToken(boolean inArray) throws IOException {
+        return (readTokenInto(inArray) ? tokenBuilder.toString() : null);
+    }
+
+    /**
+     * Reads a plain or quoted value token into the token buffer.
+     * Plain tokens are trimmed; quoted tokens are kept as they are, even if empty.
+     * @param inArray whether the token is being read within an array
+     * @return true if a token was read, false if the value is empty
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean readTokenInto(boolean inArray) throws IOException {
         skipWhitespace();
         char firstChar = peekChar();
         if (firstChar == DOUBLE_QUOTE_CHAR || firstChar == SINGLE_QUOTE_CHAR) {
             readChar();
-            return readQuotedString(firstChar);
+            readQuotedToken(firstChar);
+            return true;
         }
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = tokenBuilder;
+        sb.setLength(0);
         while (true) {
             char c = peekChar();
             if (c == NO_CONTROL_CHAR || c == NEW_LINE_CHAR || c == COMMENT_CHAR) {
@@ -505,8 +613,19 @@ public class AponParser {
             }
             sb.append(readChar());
         }
-        String valueStr = sb.toString().trim();
-        return (valueStr.isEmpty() ? null : valueStr);
+        int end = sb.length();
+        while (end > 0 && sb.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        sb.setLength(end);
+        int start = 0;
+        while (start < end && sb.charAt(start) <= ' ') {
+            start++;
+        }
+        if (start > 0) {
+            sb.delete(0, start);
+        }
+        return !sb.isEmpty();
     }
 
     /**
@@ -515,9 +634,9 @@ public class AponParser {
      * @return true if a colon is found ahead on the current line; false otherwise
      */
     private boolean hasColonAheadOnLine() {
-        if (currentLine == null) return false;
-        for (int i = linePos + 1; i < currentLine.length(); i++) {
-            char next = currentLine.charAt(i);
+        if (lineLength < 0) return false;
+        for (int i = linePos + 1; i < lineLength; i++) {
+            char next = line[i];
             if (next == NAME_VALUE_SEPARATOR) return true;
             if (next == BLOCK_OPEN || next == BLOCK_CLOSE || next == ARRAY_OPEN || next == ARRAY_CLOSE ||
                     next == COMMENT_CHAR) break;
@@ -570,12 +689,21 @@ public class AponParser {
             return (NULL.equals(valueStr) ? null : valueStr);
         }
 
-        String valueStr = readToken(false);
-        if (valueStr == null || NULL.equals(valueStr)) return null;
+        if (!readTokenInto(false) || tokenEquals(NULL)) return null;
+
+        if (tokenEquals(EMPTY_BLOCK)) return new VariableParameters();
+        if (tokenEquals(EMPTY_ARRAY)) return new ArrayList<>();
 
-        if (EMPTY_BLOCK.equals(valueStr)) return new VariableParameters();
-        if (EMPTY_ARRAY.equals(valueStr)) return new ArrayList<>();
+        if (valueType == ValueType.INT || valueType == ValueType.LONG) {
+            Number number = parseInteger(tokenBuilder);
+            if (number instanceof Integer) {
+                return (valueType == ValueType.INT ? number : Long.valueOf(number.longValue()));
+            } else if (number != null && valueType == ValueType.LONG) {
+                return number;
+            }
+        }
 
+        String valueStr = tokenBuilder.toString();
         try {
             switch (valueType) {
                 case STRING -> { return valueStr; }
@@ -607,17 +735,14 @@ public class AponParser {
         }
 
         while (true) {
-            String line = reader.readLine();
-            if (line == null) break;
+            if (!readLine()) break;
 
             lineNumber++;
-            originalLine = line;
-            currentLine = line;
             linePos = 0;
 
             skipWhitespaceOnlyOnLine();
-            if (linePos < currentLine.length()) {
-                char c = currentLine.charAt(linePos);
+            if (linePos < lineLength) {
+                char c = line[linePos];
                 if (c == TEXT_CLOSE) {
                     linePos++;
                     return (sb != null ? sb.toString() : "");
@@ -625,8 +750,8 @@ public class AponParser {
                 if (c == TEXT_LINE_START) {
                     if (sb == null) sb = new StringBuilder();
                     else sb.append(SYSTEM_NEW_LINE);
-                    sb.append(currentLine.substring(linePos + 1));
-                    linePos = currentLine.length();
+                    sb.append(line, linePos + 1, lineLength - linePos - 1);
+                    linePos = lineLength;
                     continue;
                 }
             } else {
@@ -643,13 +768,13 @@ public class AponParser {
      * @throws IOException if an I/O error occurs
      */
     private char peekChar() throws IOException {
-        if (currentLine == null || linePos > currentLine.length()) {
-            if (nextLine() == null) return NO_CONTROL_CHAR;
+        if (lineLength < 0 || linePos > lineLength) {
+            if (!nextLine()) return NO_CONTROL_CHAR;
         }
-        if (linePos == currentLine.length()) {
+        if (linePos == lineLength) {
             return NEW_LINE_CHAR;
         }
-        return currentLine.charAt(linePos);
+        return line[linePos];
     }
 
     /**
@@ -670,34 +795,83 @@ public class AponParser {
      * @return the character at the current position, or {@link AponFormat#NO_CONTROL_CHAR} if at the end of the line
      */
     private char readRawChar() {
-        if (currentLine == null || linePos >= currentLine.length()) {
+        if (lineLength < 0 || linePos >= lineLength) {
             return NO_CONTROL_CHAR;
         }
-        return currentLine.charAt(linePos++);
+        return line[linePos++];
     }
 
     /**
-     * Reads the next line from the buffered reader, ignoring comment lines.
-     * @return the next valid line content, or null if the end of the stream is reached
+     * Reads the next line into the line buffer, ignoring blank and comment lines.
+     * @return true if a line was read, false if the end of the stream is reached
      * @throws IOException if an I/O error occurs
      */
-    @Nullable
-    private String nextLine() throws IOException {
-        while ((originalLine = reader.readLine()) != null) {
+    private boolean nextLine() throws IOException {
+        while (readLine()) {
             lineNumber++;
-            currentLine = originalLine;
             linePos = 0;
             skipWhitespaceOnlyOnLine();
-            if (linePos < currentLine.length() && currentLine.charAt(linePos) == COMMENT_CHAR) {
+            if (linePos < lineLength && line[linePos] == COMMENT_CHAR) {
                 continue;
             }
-            if (linePos == currentLine.length()) {
+            if (linePos == lineLength) {
                 continue;
             }
-            return currentLine;
+            return true;
+        }
+        lineLength = -1;
+        return false;
+    }
+
+    /**
+     * Reads the next line of characters into the line buffer. A line is terminated by
+     * a line feed, a carriage return, or a carriage return followed by a line feed,
+     * as with {@link java.io.BufferedReader#readLine()}.
+     * If the end of the stream is reached, the current line is left unchanged.
+     * @return true if a line was read, false if the end of the stream is reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean readLine() throws IOException {
+        int len = 0;
+        while (true) {
+            if (bufferPos >= bufferLimit) {
+                int n = reader.read(buffer, 0, buffer.length);
+                if (n <= 0) {
+                    if (len > 0) {
+                        lineLength = len;
+                        return true;
+                    }
+                    return false;
+                }
+                bufferPos = 0;
+                bufferLimit = n;
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[bufferPos] == NEW_LINE_CHAR) {
+                    bufferPos++;
+                    continue;
+                }
+            }
+            int start = bufferPos;
+            int end = start;
+            while (end < bufferLimit && buffer[end] != NEW_LINE_CHAR && buffer[end] != '\r') {
+                end++;
+            }
+            int count = end - start;
+            if (len + count > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, len + count));
+            }
+            System.arraycopy(buffer, start, line, len, count);
+            len += count;
+            if (end < bufferLimit) {
+                skipLineFeed = (buffer[end] == '\r');
+                bufferPos = end + 1;
+                lineLength = len;
+                return true;
+            }
+            bufferPos = end;
         }
-        currentLine = null;
-        return null;
     }
 
     /**
@@ -709,7 +883,7 @@ public class AponParser {
             char c = peekChar();
             if (c == NO_CONTROL_CHAR) break;
             if (c == COMMENT_CHAR) {
-                linePos = (currentLine != null ? currentLine.length() : 0);
+                linePos = Math.max(lineLength, 0);
                 continue;
             }
             if (Character.isWhitespace(c) && c != NEW_LINE_CHAR) {
@@ -724,8 +898,8 @@ public class AponParser {
      * Skips only the horizontal whitespace characters on the current line.
      */
     private void skipWhitespaceOnlyOnLine() {
-        if (currentLine != null) {
-            while (linePos < currentLine.length() && Character.isWhitespace(currentLine.charAt(linePos))) {
+        if (lineLength >= 0) {
+            while (linePos < lineLength && Character.isWhitespace(line[linePos])) {
                 linePos++;
             }
         }
@@ -740,7 +914,7 @@ public class AponParser {
             char c = peekChar();
             if (c == NO_CONTROL_CHAR) break;
             if (c == COMMENT_CHAR) {
-                linePos = (currentLine != null ? currentLine.length() : 0);
+                linePos = Math.max(lineLength, 0);
                 continue;
             }
             if (Character.isWhitespace(c) || c == COMMA_CHAR) {
@@ -751,6 +925,15 @@ public class AponParser {
         }
     }
 
+    /**
+     * Returns the current line as a string, for use in error messages.
+     * @return the current line, or null if there is no current line
+     */
+    @Nullable
+    private String currentLine() {
+        return (lineLength >= 0 ? new String(line, 0, lineLength) : null);
+    }
+
     /**
      * Creates an {@link AponParseException} representing a syntax error.
      * @param message the detail error message
@@ -758,7 +941,7 @@ public class AponParser {
      */
     @NonNull
     private AponParseException syntaxError(String message) {
-        return new MalformedAponException(lineNumber, linePos + 1, currentLine, message);
+        return new MalformedAponException(lineNumber, linePos + 1, currentLine(), message);
     }
 
     /**
@@ -769,7 +952,7 @@ public class AponParser {
      */
     @NonNull
     private AponParseException syntaxError(String message, Throwable cause) {
-        MalformedAponException e = new MalformedAponException(lineNumber, linePos + 1, currentLine, message);
+        MalformedAponException e = new MalformedAponException(lineNumber, linePos + 1, currentLine(), message);
         e.initCause(cause);
         return e;
     }
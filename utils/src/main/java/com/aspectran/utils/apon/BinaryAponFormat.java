@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.apon;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Defines the binary encoding of APON (Aspectran Parameters Object Notation) used by
+ * {@link BinaryAponWriter} and {@link BinaryAponReader}.
+ * <p>A document starts with a four-byte header ({@code 'A' 'P' 'B'} followed by the
+ * format version) and contains a single parameters block. A block consists of a flags
+ * byte, an optional render style, the number of parameters, and the parameters. Each
+ * parameter is written as a key reference, a flags byte, the code of its
+ * {@link ValueType}, and its value or values. Value types and render styles are written
+ * as fixed codes defined here rather than as enum ordinals, so that adding or reordering
+ * enum constants does not change the meaning of documents already written. Values are prefixed with a one-byte tag;
+ * integers are encoded as zigzag variable-length quantities and strings as UTF-8 bytes
+ * prefixed with their length.</p>
+ * <p>Parameter names are interned per document: the first occurrence of a name is
+ * written as a literal and each subsequent occurrence as a reference to it.</p>
+ *
+ * @since 9.6.5
+ */
+abstract class BinaryAponFormat {
+
+    static final byte[] MAGIC = { 'A', 'P', 'B' };
+
+    static final int VERSION = 1;
+
+    /** Key reference that indicates a literal name follows. */
+    static final int NEW_KEY = 0;
+
+    static final int BLOCK_BRACELESS = 0x01;
+
+    static final int BLOCK_RENDER_STYLE = 0x02;
+
+    static final int PARAM_VALUE_TYPE_HINTED = 0x01;
+
+    static final int PARAM_ARRAY = 0x02;
+
+    static final int PARAM_BRACKETED = 0x04;
+
+    static final int PARAM_ASSIGNED = 0x08;
+
+    static final int TAG_NULL = 0;
+
+    static final int TAG_STRING = 1;
+
+    static final int TAG_INT = 2;
+
+    static final int TAG_LONG = 3;
+
+    static final int TAG_FLOAT = 4;
+
+    static final int TAG_DOUBLE = 5;
+
+    static final int TAG_TRUE = 6;
+
+    static final int TAG_FALSE = 7;
+
+    static final int TAG_PARAMETERS = 8;
+
+    static final int TAG_LIST = 9;
+
+    static final int TYPE_STRING = 0;
+
+    static final int TYPE_TEXT = 1;
+
+    static final int TYPE_INT = 2;
+
+    static final int TYPE_LONG = 3;
+
+    static final int TYPE_FLOAT = 4;
+
+    static final int TYPE_DOUBLE = 5;
+
+    static final int TYPE_BOOLEAN = 6;
+
+    static final int TYPE_OBJECT = 7;
+
+    static final int TYPE_VARIABLE = 8;
+
+    static final int TYPE_PARAMETERS = 9;
+
+    static final int STYLE_PRETTY = 0;
+
+    static final int STYLE_SINGLE_LINE = 1;
+
+    static final int STYLE_COMPACT = 2;
+
+    static int valueTypeCode(@NonNull ValueType valueType) {
+        return switch (valueType) {
+            case STRING -> TYPE_STRING;
+            case TEXT -> TYPE_TEXT;
+            case INT -> TYPE_INT;
+            case LONG -> TYPE_LONG;
+            case FLOAT -> TYPE_FLOAT;
+            case DOUBLE -> TYPE_DOUBLE;
+            case BOOLEAN -> TYPE_BOOLEAN;
+            case OBJECT -> TYPE_OBJECT;
+            case VARIABLE -> TYPE_VARIABLE;
+            case PARAMETERS -> TYPE_PARAMETERS;
+        };
+    }
+
+    @NonNull
+    static ValueType valueTypeOf(int code) throws MalformedAponException {
+        return switch (code) {
+            case TYPE_STRING -> ValueType.STRING;
+            case TYPE_TEXT -> ValueType.TEXT;
+            case TYPE_INT -> ValueType.INT;
+            case TYPE_LONG -> ValueType.LONG;
+            case TYPE_FLOAT -> ValueType.FLOAT;
+            case TYPE_DOUBLE -> ValueType.DOUBLE;
+            case TYPE_BOOLEAN -> ValueType.BOOLEAN;
+            case TYPE_OBJECT -> ValueType.OBJECT;
+            case TYPE_VARIABLE -> ValueType.VARIABLE;
+            case TYPE_PARAMETERS -> ValueType.PARAMETERS;
+            default -> throw new MalformedAponException("Invalid value type code: " + code);
+        };
+    }
+
+    static int renderStyleCode(@NonNull AponRenderStyle renderStyle) {
+        return switch (renderStyle) {
+            case PRETTY -> STYLE_PRETTY;
+            case SINGLE_LINE -> STYLE_SINGLE_LINE;
+            case COMPACT -> STYLE_COMPACT;
+        };
+    }
+
+    @NonNull
+    static AponRenderStyle renderStyleOf(int code) throws MalformedAponException {
+        return switch (code) {
+            case STYLE_PRETTY -> AponRenderStyle.PRETTY;
+            case STYLE_SINGLE_LINE -> AponRenderStyle.SINGLE_LINE;
+            case STYLE_COMPACT -> AponRenderStyle.COMPACT;
+            default -> throw new MalformedAponException("Invalid render style code: " + code);
+        };
+    }
+
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.apon;
+
+import com.aspectran.utils.Assert;
+import com.aspectran.utils.ClassUtils;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.aspectran.utils.apon.BinaryAponFormat.BLOCK_BRACELESS;
+import static com.aspectran.utils.apon.BinaryAponFormat.BLOCK_RENDER_STYLE;
+import static com.aspectran.utils.apon.BinaryAponFormat.MAGIC;
+import static com.aspectran.utils.apon.BinaryAponFormat.NEW_KEY;
+import static com.aspectran.utils.apon.BinaryAponFormat.PARAM_ARRAY;
+import static com.aspectran.utils.apon.BinaryAponFormat.PARAM_ASSIGNED;
+import static com.aspectran.utils.apon.BinaryAponFormat.PARAM_BRACKETED;
+import static com.aspectran.utils.apon.BinaryAponFormat.PARAM_VALUE_TYPE_HINTED;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_DOUBLE;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_FALSE;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_FLOAT;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_INT;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_LIST;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_LONG;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_NULL;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_PARAMETERS;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_STRING;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_TRUE;
+import static com.aspectran.utils.apon.BinaryAponFormat.VERSION;
+import static com.aspectran.utils.apon.BinaryAponFormat.renderStyleOf;
+import static com.aspectran.utils.apon.BinaryAponFormat.valueTypeOf;
+
+/**
+ * A streaming reader that decodes documents written by {@link BinaryAponWriter}
+ * into {@link Parameters} containers.
+ * <p>Values are put into the target container in the same way as {@link AponParser}
+ * does for APON text, so containers with a fixed structure receive nested parameters
+ * of their declared types and values converted to their declared value types.</p>
+ * <p>Each call to {@link #read()} reads one document, so several documents written
+ * to the same stream can be read one after another.</p>
+ *
+ * @see BinaryAponWriter
+ * @since 9.6.5
+ */
+public class BinaryAponReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+
+    private final byte[] buffer;
+
+    private final List<String> keys = new ArrayList<>();
+
+    private int pos;
+
+    private int limit;
+
+    /**
+     * Creates a new BinaryAponReader that reads from the given input stream.
+     * @param in the input stream to read from
+     */
+    public BinaryAponReader(InputStream in) {
+        Assert.notNull(in, "in must not be null");
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Creates a new BinaryAponReader that reads from the given byte array
+     * without copying it.
+     * @param bytes the binary APON document
+     */
+    public BinaryAponReader(byte[] bytes) {
+        Assert.notNull(bytes, "bytes must not be null");
+        this.in = null;
+        this.buffer = bytes;
+        this.limit = bytes.length;
+    }
+
+    /**
+     * Reads a binary APON document and populates a new {@link VariableParameters} instance.
+     * @return a new {@code Parameters} object containing the decoded data
+     * @throws AponParseException if the document is malformed or an I/O error occurs
+     */
+    public Parameters read() throws AponParseException {
+        return read(new VariableParameters());
+    }
+
+    /**
+     * Reads a binary APON document and populates the given {@link Parameters} object.
+     * @param <T> the type of the {@code Parameters} object
+     * @param parameters the {@code Parameters} object to populate
+     * @return the populated {@code Parameters} object
+     * @throws AponParseException if the document is malformed or an I/O error occurs
+     */
+    public <T extends Parameters> T read(T parameters) throws AponParseException {
+        Assert.notNull(parameters, "parameters must not be null");
+        keys.clear();
+        try {
+            for (byte b : MAGIC) {
+                if (readByte() != b) {
+                    throw new MalformedAponException("Not a binary APON document");
+                }
+            }
+            int version = readByte();
+            if (version != VERSION) {
+                throw new MalformedAponException("Unsupported binary APON version: " + version);
+            }
+            readBlock(parameters);
+        } catch (AponParseException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new AponParseException("Failed to read binary APON document", e);
+        }
+        return parameters;
+    }
+
+    private void readBlock(@NonNull Parameters parameters) throws IOException {
+        int flags = readByte();
+        parameters.setBraceless((flags & BLOCK_BRACELESS) != 0);
+        if ((flags & BLOCK_RENDER_STYLE) != 0) {
+            parameters.setRenderStyle(renderStyleOf(readByte()));
+        }
+        int size = readVarInt();
+        for (int i = 0; i < size; i++) {
+            readParameter(parameters);
+        }
+    }
+
+    private void readParameter(@NonNull Parameters container) throws IOException {
+        String name = readKey();
+        int flags = readByte();
+        ValueType valueType = valueTypeOf(readByte());
+        boolean array = ((flags & PARAM_ARRAY) != 0);
+
+        Parameter parameter = container.getParameter(name);
+        if (parameter == null) {
+            if (container.isStructureFixed()) {
+                throw new UnknownParameterException(name, container);
+            }
+            parameter = container.attachParameterValue(name, valueType, array);
+        }
+        if ((flags & PARAM_ASSIGNED) != 0) {
+            if (array) {
+                container.putValue(name, readList(container, name));
+            } else {
+                container.putValue(name, readValue(container, name));
+            }
+        }
+        if ((flags & PARAM_VALUE_TYPE_HINTED) != 0) {
+            parameter.setValueTypeHinted(true);
+        }
+        if (parameter.isArray() && !parameter.isValueTypeFixed()) {
+            parameter.setBracketed((flags & PARAM_BRACKETED) != 0);
+        }
+    }
+
+    @NonNull
+    private String readKey() throws IOException {
+        int ref = readVarInt();
+        if (ref == NEW_KEY) {
+            String name = readString();
+            keys.add(name);
+            return name;
+        }
+        if (ref < 0 || ref > keys.size()) {
+            throw new MalformedAponException("Invalid parameter name reference: " + ref);
+        }
+        return keys.get(ref - 1);
+    }
+
+    @NonNull
+    private List<Object> readList(Parameters container, String name) throws IOException {
+        int size = readVarInt();
+        List<Object> list = new ArrayList<>(Math.min(size, 1024));
+        for (int i = 0; i < size; i++) {
+            list.add(readValue(container, name));
+        }
+        return list;
+    }
+
+    @Nullable
+    private Object readValue(Parameters container, String name) throws IOException {
+        int tag = readByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> readString();
+            case TAG_INT -> {
+                int n = readVarInt();
+                yield ((n >>> 1) ^ -(n & 1));
+            }
+            case TAG_LONG -> {
+                long n = readVarLong();
+                yield ((n >>> 1) ^ -(n & 1L));
+            }
+            case TAG_FLOAT -> Float.intBitsToFloat(readFixedInt());
+            case TAG_DOUBLE -> {
+                long high = readFixedInt();
+                long low = readFixedInt() & 0xFFFFFFFFL;
+                yield Double.longBitsToDouble((high << 32) | low);
+            }
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_PARAMETERS -> {
+                Parameters nestedParams = createParameters(container, name);
+                readBlock(nestedParams);
+                yield nestedParams;
+            }
+            case TAG_LIST -> readList(container, name);
+            default -> throw new MalformedAponException("Unknown value tag: " + tag);
+        };
+    }
+
+    @NonNull
+    private Parameters createParameters(@NonNull Parameters container, String name) {
+        Parameter parameter = container.getParameter(name);
+        if (parameter != null) {
+            ValueType valueType = parameter.getValueType();
+            if (valueType == ValueType.PARAMETERS || valueType == ValueType.VARIABLE) {
+                return container.createParameters(name);
+            }
+        }
+        return new VariableParameters();
+    }
+
+    @NonNull
+    private String readString() throws IOException {
+        int len = readVarInt();
+        if (len < 0) {
+            throw new MalformedAponException("Invalid string length: " + len);
+        }
+        if (limit - pos >= len) {
+            String str = new String(buffer, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return str;
+        }
+        if (in == null) {
+            throw new MalformedAponException("Unexpected end of binary APON document");
+        }
+        byte[] bytes = new byte[len];
+        int off = 0;
+        while (off < len) {
+            if (pos == limit) {
+                fill();
+            }
+            int n = Math.min(len - off, limit - pos);
+            System.arraycopy(buffer, pos, bytes, off, n);
+            pos += n;
+            off += n;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new MalformedAponException("Malformed variable-length integer");
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new MalformedAponException("Malformed variable-length integer");
+    }
+
+    private int readFixedInt() throws IOException {
+        return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    private int readByte() throws IOException {
+        if (pos == limit) {
+            fill();
+        }
+        return (buffer[pos++] & 0xFF);
+    }
+
+    private void fill() throws IOException {
+        int n = (in != null ? in.read(buffer, 0, buffer.length) : -1);
+        if (n <= 0) {
+            throw new MalformedAponException("Unexpected end of binary APON document");
+        }
+        pos = 0;
+        limit = n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        }
+    }
+
+    /**
+     * A static utility method that decodes a binary APON document into a new
+     * {@link VariableParameters} object.
+     * @param bytes the binary APON document
+     * @return a new {@code Parameters} object containing the decoded data
+     * @throws AponParseException if the document is malformed
+     */
+    public static Parameters read(byte[] bytes) throws AponParseException {
+        return new BinaryAponReader(bytes).read();
+    }
+
+    /**
+     * A static utility method that decodes a binary APON document into a new
+     * container of the given type.
+     * @param <T> the type of the new container
+     * @param bytes the binary APON document
+     * @param requiredType the concrete {@link Parameters} implementation to instantiate
+     * @return a new, populated container instance
+     * @throws AponParseException if the document is malformed
+     */
+    public static <T extends Parameters> T read(byte[] bytes, Class<T> requiredType) throws AponParseException {
+        T parameters = ClassUtils.createInstance(requiredType);
+        return read(bytes, parameters);
+    }
+
+    /**
+     * A static utility method that decodes a binary APON document into the given
+     * {@link Parameters} object.
+     * @param <T> the type of the {@code Parameters} object
+     * @param bytes the binary APON document
+     * @param parameters the {@code Parameters} object to populate
+     * @return the populated {@code Parameters} object
+     * @throws AponParseException if the document is malformed
+     */
+    public static <T extends Parameters> T read(byte[] bytes, T parameters) throws AponParseException {
+        return new BinaryAponReader(bytes).read(parameters);
+    }
+
+}
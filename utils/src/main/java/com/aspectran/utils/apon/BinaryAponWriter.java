@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.apon;
+
+import com.aspectran.utils.Assert;
+import com.aspectran.utils.StringifyContext;
+import org.jspecify.annotations.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.aspectran.utils.apon.BinaryAponFormat.BLOCK_BRACELESS;
+import static com.aspectran.utils.apon.BinaryAponFormat.BLOCK_RENDER_STYLE;
+import static com.aspectran.utils.apon.BinaryAponFormat.MAGIC;
+import static com.aspectran.utils.apon.BinaryAponFormat.NEW_KEY;
+import static com.aspectran.utils.apon.BinaryAponFormat.PARAM_ARRAY;
+import static com.aspectran.utils.apon.BinaryAponFormat.PARAM_ASSIGNED;
+import static com.aspectran.utils.apon.BinaryAponFormat.PARAM_BRACKETED;
+import static com.aspectran.utils.apon.BinaryAponFormat.PARAM_VALUE_TYPE_HINTED;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_DOUBLE;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_FALSE;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_FLOAT;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_INT;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_LIST;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_LONG;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_NULL;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_PARAMETERS;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_STRING;
+import static com.aspectran.utils.apon.BinaryAponFormat.TAG_TRUE;
+import static com.aspectran.utils.apon.BinaryAponFormat.VERSION;
+import static com.aspectran.utils.apon.BinaryAponFormat.renderStyleCode;
+import static com.aspectran.utils.apon.BinaryAponFormat.valueTypeCode;
+
+/**
+ * A writer that outputs {@link Parameters} objects in the compact binary encoding
+ * defined by {@link BinaryAponFormat}.
+ * <p>The binary encoding preserves everything that the APON text format preserves,
+ * including value types, type hints, array brackets, and nested parameters, so a
+ * document read back with {@link BinaryAponReader} is equivalent to one read from
+ * the APON text written by {@link AponWriter}. Values that have no binary
+ * representation of their own, such as dates, are written as strings in the same
+ * way as {@link AponWriter} renders them.</p>
+ * <p>Each call to {@link #write(Parameters)} writes a self-contained document, so
+ * several documents can be written to the same stream one after another.</p>
+ *
+ * @see BinaryAponReader
+ * @since 9.6.5
+ */
+public class BinaryAponWriter implements Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private final Map<String, Integer> keys = new HashMap<>();
+
+    private int count;
+
+    private StringifyContext stringifyContext;
+
+    /**
+     * Creates a new BinaryAponWriter that writes to the given output stream.
+     * @param out the output stream to write to
+     */
+    public BinaryAponWriter(OutputStream out) {
+        Assert.notNull(out, "out must not be null");
+        this.out = out;
+    }
+
+    /**
+     * Sets the context used to format date and time values, which are written as strings.
+     * @param stringifyContext the context to use
+     */
+    public void setStringifyContext(StringifyContext stringifyContext) {
+        this.stringifyContext = stringifyContext;
+    }
+
+    /**
+     * Writes the given {@link Parameters} object as a binary APON document.
+     * @param parameters the parameters to write
+     * @return this BinaryAponWriter
+     * @throws IOException if an I/O error occurs
+     */
+    public BinaryAponWriter write(Parameters parameters) throws IOException {
+        Assert.notNull(parameters, "parameters must not be null");
+        keys.clear();
+        writeBytes(MAGIC, 0, MAGIC.length);
+        writeByte(VERSION);
+        writeBlock(parameters);
+        return this;
+    }
+
+    private void writeBlock(@NonNull Parameters parameters) throws IOException {
+        int flags = 0;
+        if (parameters.isBraceless()) {
+            flags |= BLOCK_BRACELESS;
+        }
+        AponRenderStyle renderStyle = parameters.getRenderStyle();
+        if (renderStyle != null) {
+            flags |= BLOCK_RENDER_STYLE;
+        }
+        writeByte(flags);
+        if (renderStyle != null) {
+            writeByte(renderStyleCode(renderStyle));
+        }
+        Collection<ParameterValue> parameterValues = parameters.getParameterValues();
+        writeVarInt(parameterValues.size());
+        for (ParameterValue parameterValue : parameterValues) {
+            writeParameter(parameterValue);
+        }
+    }
+
+    private void writeParameter(@NonNull Parameter parameter) throws IOException {
+        writeKey(parameter.getName());
+        int flags = 0;
+        if (parameter.isValueTypeHinted()) {
+            flags |= PARAM_VALUE_TYPE_HINTED;
+        }
+        if (parameter.isArray()) {
+            flags |= PARAM_ARRAY;
+            if (parameter.isBracketed()) {
+                flags |= PARAM_BRACKETED;
+            }
+        }
+        if (parameter.isAssigned()) {
+            flags |= PARAM_ASSIGNED;
+        }
+        writeByte(flags);
+        writeByte(valueTypeCode(parameter.getValueType()));
+        if (parameter.isAssigned()) {
+            if (parameter.isArray()) {
+                List<?> list = parameter.getValueList();
+                if (list != null) {
+                    writeList(list);
+                } else {
+                    writeVarInt(0);
+                }
+            } else {
+                writeValue(parameter.getValue());
+            }
+        }
+    }
+
+    private void writeKey(String name) throws IOException {
+        Integer index = keys.get(name);
+        if (index != null) {
+            writeVarInt(index);
+        } else {
+            keys.put(name, keys.size() + 1);
+            writeVarInt(NEW_KEY);
+            writeString(name);
+        }
+    }
+
+    private void writeList(@NonNull List<?> list) throws IOException {
+        writeVarInt(list.size());
+        for (Object value : list) {
+            writeValue(value);
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            writeByte(TAG_NULL);
+        } else if (value instanceof String str) {
+            writeByte(TAG_STRING);
+            writeString(str);
+        } else if (value instanceof Integer i) {
+            writeByte(TAG_INT);
+            writeVarInt((i << 1) ^ (i >> 31));
+        } else if (value instanceof Long l) {
+            writeByte(TAG_LONG);
+            writeVarLong((l << 1) ^ (l >> 63));
+        } else if (value instanceof Float f) {
+            writeByte(TAG_FLOAT);
+            writeFixedInt(Float.floatToIntBits(f));
+        } else if (value instanceof Double d) {
+            writeByte(TAG_DOUBLE);
+            long bits = Double.doubleToLongBits(d);
+            writeFixedInt((int)(bits >>> 32));
+            writeFixedInt((int)bits);
+        } else if (value instanceof Boolean b) {
+            writeByte(b ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof ArrayParameters arrayParameters) {
+            writeByte(TAG_LIST);
+            writeList(arrayParameters.getValueList());
+        } else if (value instanceof Parameters parameters) {
+            writeByte(TAG_PARAMETERS);
+            writeBlock(parameters);
+        } else if (value instanceof List<?> list) {
+            writeByte(TAG_LIST);
+            writeList(list);
+        } else {
+            writeByte(TAG_STRING);
+            writeString(stringify(value));
+        }
+    }
+
+    private String stringify(Object value) {
+        if (stringifyContext != null) {
+            if (value instanceof LocalDateTime localDateTime) {
+                return stringifyContext.toString(localDateTime);
+            } else if (value instanceof LocalDate localDate) {
+                return stringifyContext.toString(localDate);
+            } else if (value instanceof LocalTime localTime) {
+                return stringifyContext.toString(localTime);
+            } else if (value instanceof Date date) {
+                return stringifyContext.toString(date);
+            }
+        }
+        return value.toString();
+    }
+
+    private void writeString(@NonNull String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        if (count + 5 > BUFFER_SIZE) {
+            flushBuffer();
+        }
+        while ((value & ~0x7F) != 0) {
+            buffer[count++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte)value;
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        if (count + 10 > BUFFER_SIZE) {
+            flushBuffer();
+        }
+        while ((value & ~0x7FL) != 0L) {
+            buffer[count++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte)value;
+    }
+
+    private void writeFixedInt(int value) throws IOException {
+        if (count + 4 > BUFFER_SIZE) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte)(value >>> 24);
+        buffer[count++] = (byte)(value >>> 16);
+        buffer[count++] = (byte)(value >>> 8);
+        buffer[count++] = (byte)value;
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (count == BUFFER_SIZE) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte)b;
+    }
+
+    private void writeBytes(byte[] bytes, int off, int len) throws IOException {
+        if (len > BUFFER_SIZE - count) {
+            flushBuffer();
+            if (len > BUFFER_SIZE) {
+                out.write(bytes, off, len);
+                return;
+            }
+        }
+        System.arraycopy(bytes, off, buffer, count, len);
+        count += len;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Converts the given {@link Parameters} object to a binary APON document.
+     * @param parameters the parameters to convert
+     * @return the binary APON document
+     */
+    @NonNull
+    public static byte[] toByteArray(Parameters parameters) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            new BinaryAponWriter(out).write(parameters).flush();
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -43,6 +43,10 @@
  *       Streaming reader/writer for APON text. Closeable variants are available as
  *       {@link com.aspectran.utils.apon.AponReaderCloseable} and
  *       {@link com.aspectran.utils.apon.AponWriterCloseable}.</li>
+ *   <li>{@link com.aspectran.utils.apon.BinaryAponReader} and
+ *       {@link com.aspectran.utils.apon.BinaryAponWriter} – Streaming reader/writer for a compact,
+ *       type-tagged binary encoding of {@code Parameters}, for payloads that are exchanged
+ *       or cached rather than edited by hand.</li>
  *   <li>{@link com.aspectran.utils.apon.AponParser} – A modern, structure-based parser for APON.</li>
  *   <li>{@link com.aspectran.utils.apon.AponLines} – A small builder to programmatically
  *       assemble APON text using a fluent API.</li>
@@ -32,6 +32,8 @@ public class OutputStringWriter extends Writer {
 
     private int initialSize;
 
+    private boolean dirty;
+
     /**
      * Create a new string writer using the default initial string-builder size.
      */
@@ -115,7 +117,19 @@ public class OutputStringWriter extends Writer {
      * @return true if any write operation has occurred, false otherwise
      */
     public boolean isDirty() {
-        return (buffer != null);
+        return dirty;
+    }
+
+    /**
+     * Discards everything written so far while keeping the allocated buffer,
+     * so that this writer can be reused without growing a new buffer.
+     * @since 9.6.5
+     */
+    public void reset() {
+        if (buffer != null) {
+            buffer.setLength(0);
+        }
+        dirty = false;
     }
 
     private StringBuilder touchBuffer() {
@@ -126,6 +140,7 @@ public class OutputStringWriter extends Writer {
                 buffer = new StringBuilder();
             }
         }
+        dirty = true;
         return buffer;
     }
 
@@ -0,0 +1,536 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.json;
+
+import com.aspectran.utils.BeanDescriptor;
+import com.aspectran.utils.ClassUtils;
+import com.aspectran.utils.ToStringBuilder;
+import com.aspectran.utils.cache.ConcurrentReferenceCache;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Binds JSON text directly to typed Java objects, such as JavaBeans and records,
+ * while it is being read with a {@link JsonReader}.
+ * <p>Unlike converting JSON to {@code Parameters} and then copying the values to
+ * an object, no intermediate tree or string is created. For each target class, a
+ * binding plan is built once and cached: it holds method handles for the
+ * no-argument constructor and the property setters of a JavaBean, or for the
+ * canonical constructor of a record, along with the generic types of the
+ * properties, so that nested objects, arrays, collections and maps are bound
+ * to their declared element types.</p>
+ * <p>Supported value types are primitives and their wrappers, {@code String},
+ * {@code BigDecimal}, {@code BigInteger}, enums, {@code LocalDate},
+ * {@code LocalTime} and {@code LocalDateTime} in ISO-8601 format, arrays,
+ * collections, maps with string keys, and {@code Object}, which is bound to the
+ * same types as {@link JsonParser} produces. JSON members that do not match a
+ * property are skipped.</p>
+ *
+ * @since 9.6.5
+ */
+public final class JsonBinder {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ConcurrentReferenceCache<Class<?>, BindingPlan> plans =
+            new ConcurrentReferenceCache<>(JsonBinder::createPlan);
+
+    private JsonBinder() {
+    }
+
+    /**
+     * Binds the given JSON text to a new object of the specified type.
+     * @param json the JSON text
+     * @param type the type of the object to bind to
+     * @param <T> the type of the object
+     * @return the bound object, or {@code null} if the JSON value is {@code null}
+     * @throws IOException if the JSON is malformed or cannot be bound to the type
+     */
+    @Nullable
+    public static <T> T bind(String json, Class<T> type) throws IOException {
+        if (json == null) {
+            throw new IllegalArgumentException("json must not be null");
+        }
+        return bind(new JsonReader(json), type);
+    }
+
+    /**
+     * Binds the JSON text read from the given reader to a new object of the specified type.
+     * The reader is not closed.
+     * @param reader the reader to read the JSON text from
+     * @param type the type of the object to bind to
+     * @param <T> the type of the object
+     * @return the bound object, or {@code null} if the JSON value is {@code null}
+     * @throws IOException if an I/O error occurs, or the JSON is malformed or cannot be bound to the type
+     */
+    @Nullable
+    public static <T> T bind(Reader reader, Class<T> type) throws IOException {
+        if (reader == null) {
+            throw new IllegalArgumentException("reader must not be null");
+        }
+        return bind(new JsonReader(reader), type);
+    }
+
+    /**
+     * Binds the next value of the given JSON reader to a new object of the specified type.
+     * @param reader the JSON reader
+     * @param type the type of the object to bind to
+     * @param <T> the type of the object
+     * @return the bound object, or {@code null} if the JSON value is {@code null}
+     * @throws IOException if an I/O error occurs, or the JSON is malformed or cannot be bound to the type
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> T bind(JsonReader reader, Class<T> type) throws IOException {
+        if (reader == null) {
+            throw new IllegalArgumentException("reader must not be null");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("type must not be null");
+        }
+        Object value = readValue(reader, type);
+        if (value == null && type.isPrimitive()) {
+            throw new MalformedJsonException("Cannot bind null to primitive type " + type.getName());
+        }
+        return (T)value;
+    }
+
+    @Nullable
+    private static Object readValue(@NonNull JsonReader reader, Type type) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        Class<?> rawType = rawClass(type);
+        try {
+            if (rawType == String.class) {
+                if (token == JsonToken.BOOLEAN) {
+                    return Boolean.toString(reader.nextBoolean());
+                }
+                return reader.nextString();
+            } else if (rawType == Object.class) {
+                return readUntyped(reader);
+            } else if (rawType == int.class || rawType == Integer.class) {
+                return reader.nextInt();
+            } else if (rawType == long.class || rawType == Long.class) {
+                return reader.nextLong();
+            } else if (rawType == boolean.class || rawType == Boolean.class) {
+                if (token == JsonToken.STRING) {
+                    return Boolean.parseBoolean(reader.nextString());
+                }
+                return reader.nextBoolean();
+            } else if (rawType == double.class || rawType == Double.class) {
+                return reader.nextDouble();
+            } else if (rawType == float.class || rawType == Float.class) {
+                return (float)reader.nextDouble();
+            } else if (rawType == short.class || rawType == Short.class) {
+                return Short.valueOf(reader.nextString());
+            } else if (rawType == byte.class || rawType == Byte.class) {
+                return Byte.valueOf(reader.nextString());
+            } else if (rawType == char.class || rawType == Character.class) {
+                String str = reader.nextString();
+                if (str.length() != 1) {
+                    throw new MalformedJsonException("Expected a single character but was \"" + str +
+                            "\" at path " + reader.getPath());
+                }
+                return str.charAt(0);
+            } else if (rawType == BigDecimal.class) {
+                return new BigDecimal(reader.nextString());
+            } else if (rawType == BigInteger.class) {
+                return new BigInteger(reader.nextString());
+            } else if (rawType.isEnum()) {
+                return toEnum(rawType, reader.nextString());
+            } else if (rawType == LocalDate.class) {
+                return LocalDate.parse(reader.nextString());
+            } else if (rawType == LocalDateTime.class) {
+                return LocalDateTime.parse(reader.nextString());
+            } else if (rawType == LocalTime.class) {
+                return LocalTime.parse(reader.nextString());
+            } else if (rawType.isArray()) {
+                return readArray(reader, componentType(type, rawType));
+            } else if (Collection.class.isAssignableFrom(rawType)) {
+                return readCollection(reader, rawType, typeArgument(type, 0));
+            } else if (Map.class.isAssignableFrom(rawType)) {
+                return readMap(reader, rawType, typeArgument(type, 1));
+            } else {
+                return plans.get(rawType).read(reader);
+            }
+        } catch (NumberFormatException | IllegalStateException | DateTimeException e) {
+            throw new MalformedJsonException("Cannot bind value to type " + rawType.getName() +
+                    " at path " + reader.getPath(), e);
+        }
+    }
+
+    @Nullable
+    private static Object readUntyped(@NonNull JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readMap(reader, Map.class, Object.class);
+            case BEGIN_ARRAY:
+                return readCollection(reader, List.class, Object.class);
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                try {
+                    return reader.nextInt();
+                } catch (NumberFormatException e0) {
+                    try {
+                        return reader.nextLong();
+                    } catch (NumberFormatException e1) {
+                        return reader.nextDouble();
+                    }
+                }
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                throw new MalformedJsonException("Unexpected token: " + reader.peek());
+        }
+    }
+
+    @NonNull
+    private static Object readArray(@NonNull JsonReader reader, Type componentType) throws IOException {
+        Class<?> rawComponentType = rawClass(componentType);
+        List<Object> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(readValue(reader, componentType));
+        }
+        reader.endArray();
+        Object array = Array.newInstance(rawComponentType, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Object element = list.get(i);
+            if (element != null || !rawComponentType.isPrimitive()) {
+                Array.set(array, i, element);
+            }
+        }
+        return array;
+    }
+
+    @NonNull
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> readCollection(@NonNull JsonReader reader, Class<?> rawType, Type elementType)
+            throws IOException {
+        Collection<Object> collection;
+        if (!rawType.isInterface() && !Modifier.isAbstract(rawType.getModifiers())) {
+            collection = (Collection<Object>)ClassUtils.createInstance(rawType);
+        } else if (SortedSet.class.isAssignableFrom(rawType)) {
+            collection = new TreeSet<>();
+        } else if (Set.class.isAssignableFrom(rawType)) {
+            collection = new LinkedHashSet<>();
+        } else {
+            collection = new ArrayList<>();
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            collection.add(readValue(reader, elementType));
+        }
+        reader.endArray();
+        return collection;
+    }
+
+    @NonNull
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readMap(@NonNull JsonReader reader, Class<?> rawType, Type valueType)
+            throws IOException {
+        Map<String, Object> map;
+        if (!rawType.isInterface() && !Modifier.isAbstract(rawType.getModifiers())) {
+            map = (Map<String, Object>)ClassUtils.createInstance(rawType);
+        } else {
+            map = new LinkedHashMap<>();
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            map.put(name, readValue(reader, valueType));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object toEnum(Class<?> enumType, String name) {
+        try {
+            return Enum.valueOf((Class<? extends Enum>)enumType, name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("No enum constant " + enumType.getName() + "." + name, e);
+        }
+    }
+
+    @NonNull
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        } else if (type instanceof ParameterizedType parameterizedType) {
+            return (Class<?>)parameterizedType.getRawType();
+        } else if (type instanceof GenericArrayType genericArrayType) {
+            return Array.newInstance(rawClass(genericArrayType.getGenericComponentType()), 0).getClass();
+        } else if (type instanceof WildcardType wildcardType) {
+            return rawClass(wildcardType.getUpperBounds()[0]);
+        } else {
+            // type variables are bound as untyped values
+            return Object.class;
+        }
+    }
+
+    private static Type componentType(Type type, Class<?> rawType) {
+        if (type instanceof GenericArrayType genericArrayType) {
+            return genericArrayType.getGenericComponentType();
+        } else {
+            return rawType.getComponentType();
+        }
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType parameterizedType) {
+            Type[] args = parameterizedType.getActualTypeArguments();
+            if (index < args.length) {
+                return args[index];
+            }
+        }
+        return Object.class;
+    }
+
+    @NonNull
+    private static BindingPlan createPlan(@NonNull Class<?> type) {
+        try {
+            if (type.isRecord()) {
+                return new RecordBindingPlan(type);
+            } else {
+                return new BeanBindingPlan(type);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot bind JSON to type " + type.getName(), e);
+        }
+    }
+
+    @NonNull
+    private static MethodHandle unreflect(@NonNull AccessibleObject member) throws IllegalAccessException {
+        try {
+            member.setAccessible(true);
+        } catch (RuntimeException e) {
+            // fall back to public access
+        }
+        if (member instanceof Constructor<?> constructor) {
+            return LOOKUP.unreflectConstructor(constructor);
+        } else {
+            return LOOKUP.unreflect((Method)member);
+        }
+    }
+
+    private static Object defaultValue(@NonNull Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == byte.class) {
+            return (byte)0;
+        } else if (type == short.class) {
+            return (short)0;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0.0f;
+        } else if (type == double.class) {
+            return 0.0d;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * A precomputed plan for binding a JSON object to instances of a type.
+     */
+    private abstract static class BindingPlan {
+
+        final Class<?> type;
+
+        BindingPlan(Class<?> type) {
+            this.type = type;
+        }
+
+        abstract Object read(JsonReader reader) throws IOException;
+
+        MalformedJsonException bindingFailed(JsonReader reader, Throwable cause) {
+            return new MalformedJsonException("Failed to bind JSON object to type " + type.getName() +
+                    " at path " + reader.getPath(), cause);
+        }
+
+        @Override
+        public String toString() {
+            ToStringBuilder tsb = new ToStringBuilder(getClass().getSimpleName());
+            tsb.append("type", type);
+            return tsb.toString();
+        }
+
+    }
+
+    /**
+     * Binds JSON objects to JavaBeans through a no-argument constructor and property setters.
+     */
+    private static final class BeanBindingPlan extends BindingPlan {
+
+        private final MethodHandle constructor;
+
+        private final Map<String, Property> properties;
+
+        BeanBindingPlan(Class<?> type) throws ReflectiveOperationException {
+            super(type);
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                throw new IllegalArgumentException("Cannot instantiate " + type.getName());
+            }
+            this.constructor = unreflect(type.getDeclaredConstructor())
+                    .asType(MethodType.methodType(Object.class));
+            BeanDescriptor bd = BeanDescriptor.getInstance(type);
+            String[] names = bd.getWritablePropertyNames();
+            this.properties = new HashMap<>(names.length * 2);
+            for (String name : names) {
+                Method setter = bd.getSetter(name);
+                MethodHandle handle = unreflect(setter)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+                Class<?> rawType = setter.getParameterTypes()[0];
+                Type genericType = setter.getGenericParameterTypes()[0];
+                properties.put(name, new Property(handle, rawType, genericType));
+            }
+        }
+
+        @Override
+        Object read(@NonNull JsonReader reader) throws IOException {
+            Object bean;
+            try {
+                bean = constructor.invokeExact();
+            } catch (Throwable e) {
+                throw bindingFailed(reader, e);
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                Property property = properties.get(reader.nextName());
+                if (property == null) {
+                    reader.skipValue();
+                    continue;
+                }
+                Object value = readValue(reader, property.genericType);
+                if (value != null || !property.rawType.isPrimitive()) {
+                    try {
+                        property.setter.invokeExact(bean, value);
+                    } catch (Throwable e) {
+                        throw bindingFailed(reader, e);
+                    }
+                }
+            }
+            reader.endObject();
+            return bean;
+        }
+
+        private record Property(MethodHandle setter, Class<?> rawType, Type genericType) {
+        }
+
+    }
+
+    /**
+     * Binds JSON objects to records through their canonical constructor.
+     */
+    private static final class RecordBindingPlan extends BindingPlan {
+
+        private final MethodHandle constructor;
+
+        private final Map<String, Integer> indexes;
+
+        private final Type[] componentTypes;
+
+        private final Object[] defaultValues;
+
+        RecordBindingPlan(@NonNull Class<?> type) throws ReflectiveOperationException {
+            super(type);
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] rawTypes = new Class<?>[components.length];
+            this.indexes = new HashMap<>(components.length * 2);
+            this.componentTypes = new Type[components.length];
+            this.defaultValues = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                rawTypes[i] = components[i].getType();
+                indexes.put(components[i].getName(), i);
+                componentTypes[i] = components[i].getGenericType();
+                defaultValues[i] = defaultValue(rawTypes[i]);
+            }
+            this.constructor = unreflect(type.getDeclaredConstructor(rawTypes))
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        }
+
+        @Override
+        Object read(@NonNull JsonReader reader) throws IOException {
+            Object[] args = defaultValues.clone();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                Integer index = indexes.get(reader.nextName());
+                if (index == null) {
+                    reader.skipValue();
+                    continue;
+                }
+                Object value = readValue(reader, componentTypes[index]);
+                if (value != null) {
+                    args[index] = value;
+                }
+            }
+            reader.endObject();
+            try {
+                return constructor.invokeExact(args);
+            } catch (Throwable e) {
+                throw bindingFailed(reader, e);
+            }
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@
 package com.aspectran.utils.json;
 
 import com.aspectran.utils.Assert;
+import com.aspectran.utils.StringInterner;
 import org.jspecify.annotations.NonNull;
 
 import java.io.EOFException;
@@ -173,6 +174,12 @@ public class JsonReader {
     private String[] pathNames = new String[32];
     private int[] pathIndices = new int[32];
 
+    /**
+     * Interned property names, so that names repeated throughout a document
+     * share a single string and are resolved without allocation.
+     */
+    private final StringInterner nameInterner = new StringInterner();
+
     /**
      * Creates a new instance that reads a JSON-encoded stream from the given string.
      * @param json the JSON string to read
@@ -655,11 +662,11 @@ public class JsonReader {
         }
         String result;
         if (p == PEEKED_UNQUOTED_NAME) {
-            result = nextUnquotedValue();
+            result = nameInterner.intern(nextUnquotedValue());
         } else if (p == PEEKED_SINGLE_QUOTED_NAME) {
-            result = nextQuotedValue('\'');
+            result = nextQuotedName('\'');
         } else if (p == PEEKED_DOUBLE_QUOTED_NAME) {
-            result = nextQuotedValue('"');
+            result = nextQuotedName('"');
         } else {
             throw new IllegalStateException("Expected a name but was " + peek() + locationString());
         }
@@ -905,6 +912,31 @@ public class JsonReader {
         }
     }
 
+    /**
+     * Returns the quoted property name at the current position, interned.
+     * Names without escape sequences that lie entirely within the buffer are
+     * looked up directly in the buffer, so a repeated name allocates nothing.
+     * The opening quote should have already been read.
+     * @param quote either ' or ".
+     * @return the interned property name
+     * @throws IOException if an I/O error occurs
+     */
+    @NonNull
+    private String nextQuotedName(char quote) throws IOException {
+        char[] buffer = this.buffer;
+        int start = pos;
+        for (int p = start, l = limit; p < l; p++) {
+            char c = buffer[p];
+            if (c == quote) {
+                pos = p + 1;
+                return nameInterner.intern(buffer, start, p - start);
+            } else if (c == '\\' || c == '\n') {
+                break;
+            }
+        }
+        return nameInterner.intern(nextQuotedValue(quote));
+    }
+
     /**
      * Returns an unquoted value as a string.
      * @return the unquoted string value
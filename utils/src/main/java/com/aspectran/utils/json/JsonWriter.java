@@ -39,6 +39,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.BaseStream;
 
 /**
  * Converts an object to a JSON formatted string.
@@ -47,6 +48,10 @@ import java.util.Map;
  * It supports various data types, including primitive types, strings, collections,
  * maps, and custom objects. Custom serialization can be registered for specific types.</p>
  *
+ * <p>Iterators and streams are written as JSON arrays element by element while they
+ * are being consumed, and are closed once written if they hold resources, which
+ * allows large results to be written without materializing them first.</p>
+ *
  * <p>If pretty-printing is enabled, the {@code JsonWriter} will add newlines and
  * indentation to the written data. Pretty-printing is enabled by default.</p>
  *
@@ -409,16 +414,17 @@ public class JsonWriter {
             }
             endArray();
         } else if (object instanceof Iterator<?> iterator) {
-            beginArray();
-            while (iterator.hasNext()) {
-                Object value = iterator.next();
-                if (value != null) {
-                    writeValue(value, object);
-                } else {
-                    writeNull(true);
+            try {
+                writeElements(iterator, object);
+            } finally {
+                if (iterator instanceof AutoCloseable closeable) {
+                    closeQuietly(closeable);
                 }
             }
-            endArray();
+        } else if (object instanceof BaseStream<?, ?> stream) {
+            try (stream) {
+                writeElements(stream.iterator(), object);
+            }
         } else if (object instanceof Enumeration<?> enumeration) {
             beginArray();
             while (enumeration.hasMoreElements()) {
@@ -487,6 +493,36 @@ public class JsonWriter {
         }
     }
 
+    /**
+     * Writes the remaining elements of the given iterator as a JSON array.
+     * Elements are written one at a time as they are pulled from the iterator,
+     * so that a lazily populated source such as a database cursor never has to
+     * be held in memory as a whole.
+     * @param iterator the iterator over the elements
+     * @param container the object that provides the iterator
+     * @throws IOException if an I/O error has occurred
+     */
+    private void writeElements(@NonNull Iterator<?> iterator, Object container) throws IOException {
+        beginArray();
+        while (iterator.hasNext()) {
+            Object value = iterator.next();
+            if (value != null) {
+                writeValue(value, container);
+            } else {
+                writeNull(true);
+            }
+        }
+        endArray();
+    }
+
+    private static void closeQuietly(@NonNull AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // ignore
+        }
+    }
+
     private void writeValue(Object object, Object container) throws IOException {
         checkCircularReference(container, object);
         this.upperObject = container;
@@ -30,6 +30,8 @@
  *   <li>{@link com.aspectran.utils.json.JsonWriter} &ndash; A streaming writer for
  *       producing JSON text, with support for pretty-printing and custom
  *       object serialization via {@link com.aspectran.utils.json.JsonSerializer}.</li>
+ *   <li>{@link com.aspectran.utils.json.JsonBinder} &ndash; Binds JSON text directly
+ *       to JavaBeans and records while reading it, using cached per-type binding plans.</li>
  *   <li>{@link com.aspectran.utils.json.JsonBuilder} &ndash; A fluent builder API that
  *       simplifies the programmatic construction of JSON objects and arrays.</li>
  *   <li>{@link com.aspectran.utils.json.JsonString} &ndash; A wrapper class to embed a
@@ -16,6 +16,7 @@
 package com.aspectran.utils.logging;
 
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.MDC;
 
 /**
@@ -66,6 +67,16 @@ public abstract class LoggingGroupHelper {
         MDC.put(LOGGING_GROUP, groupName);
     }
 
+    /**
+     * Returns the logging group associated with the current thread's MDC.
+     * @return the logging group name, or {@code null} if none is set
+     * @since 9.6.5
+     */
+    @Nullable
+    public static String get() {
+        return MDC.get(LOGGING_GROUP);
+    }
+
     /**
      * Removes the logging group from the current thread's MDC. It is safe to
      * call this method even if no logging group was previously set.
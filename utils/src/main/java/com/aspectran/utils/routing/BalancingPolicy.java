@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.routing;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The policy by which a {@link ReplicaPool} selects one of its replicas.
+ *
+ * @since 9.6.5
+ */
+public enum BalancingPolicy {
+
+    /** Replicas are selected in turn. */
+    ROUND_ROBIN,
+
+    /** The replica with the fewest selections still in use is selected;
+     * ties are broken in turn. */
+    LEAST_IN_FLIGHT;
+
+    /**
+     * Returns a {@code BalancingPolicy} with a value represented
+     * by the specified {@code String}.
+     * @param policy the policy as a {@code String}
+     * @return a {@code BalancingPolicy}, may be {@code null}
+     */
+    @Nullable
+    public static BalancingPolicy resolve(String policy) {
+        for (BalancingPolicy type : values()) {
+            if (type.name().equalsIgnoreCase(policy)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.routing;
+
+import com.aspectran.utils.Assert;
+import com.aspectran.utils.ToStringBuilder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of named replicas, such as read replicas of a database, that selects
+ * one of them according to a {@link BalancingPolicy} and passively tracks
+ * their health.
+ *
+ * <p>Callers report the outcome of using a selected replica with
+ * {@link #markSuccess(String)} or {@link #markFailure(String)}, and hand it
+ * back with {@link #release(String)} once it is no longer in use. A replica
+ * that fails a given number of consecutive times is ejected from selection
+ * for the retry interval. After that interval a single caller is allowed to
+ * probe it again: a success restores the replica, and a failure ejects it for
+ * another interval. If every replica is ejected, the one that is due for a
+ * retry the soonest is selected anyway, so that reads are not refused
+ * outright while all replicas are recovering.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 9.6.5
+ */
+public class ReplicaPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+
+    /** The default number of consecutive failures after which a replica is ejected. */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+
+    /** The default time in milliseconds an ejected replica waits before it is probed again. */
+    public static final long DEFAULT_RETRY_INTERVAL = 30000L;
+
+    private final Replica[] replicas;
+
+    private final Map<String, Replica> replicaMap;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private BalancingPolicy balancingPolicy = BalancingPolicy.ROUND_ROBIN;
+
+    private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+
+    private long retryIntervalNanos = DEFAULT_RETRY_INTERVAL * 1_000_000L;
+
+    /**
+     * Creates a new pool of the given replicas.
+     * @param names the unique names of the replicas
+     */
+    public ReplicaPool(@NonNull String... names) {
+        Assert.notEmpty(names, "names must not be empty");
+        this.replicas = new Replica[names.length];
+        this.replicaMap = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            Assert.notNull(names[i], "Replica name must not be null");
+            Replica replica = new Replica(names[i]);
+            if (replicaMap.put(names[i], replica) != null) {
+                throw new IllegalArgumentException("Duplicate replica name: " + names[i]);
+            }
+            replicas[i] = replica;
+        }
+    }
+
+    /**
+     * Returns the policy by which replicas are selected.
+     * @return the balancing policy
+     */
+    public BalancingPolicy getBalancingPolicy() {
+        return balancingPolicy;
+    }
+
+    /**
+     * Sets the policy by which replicas are selected.
+     * The default is {@link BalancingPolicy#ROUND_ROBIN}.
+     * @param balancingPolicy the balancing policy
+     */
+    public void setBalancingPolicy(@NonNull BalancingPolicy balancingPolicy) {
+        Assert.notNull(balancingPolicy, "balancingPolicy must not be null");
+        this.balancingPolicy = balancingPolicy;
+    }
+
+    /**
+     * Returns the number of consecutive failures after which a replica is ejected.
+     * @return the failure threshold
+     */
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Sets the number of consecutive failures after which a replica is ejected.
+     * @param failureThreshold the failure threshold, at least 1
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        Assert.isTrue(failureThreshold > 0, "failureThreshold must be greater than 0");
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Returns the time in milliseconds an ejected replica waits before it is probed again.
+     * @return the retry interval in milliseconds
+     */
+    public long getRetryInterval() {
+        return retryIntervalNanos / 1_000_000L;
+    }
+
+    /**
+     * Sets the time in milliseconds an ejected replica waits before it is probed again.
+     * @param retryInterval the retry interval in milliseconds
+     */
+    public void setRetryInterval(long retryInterval) {
+        Assert.isTrue(retryInterval >= 0L, "retryInterval must not be negative");
+        this.retryIntervalNanos = retryInterval * 1_000_000L;
+    }
+
+    /**
+     * Returns the number of replicas in this pool.
+     * @return the number of replicas
+     */
+    public int size() {
+        return replicas.length;
+    }
+
+    /**
+     * Selects a replica and counts it as in flight until it is released.
+     * @return the name of the selected replica
+     */
+    @NonNull
+    public String select() {
+        String name = select(null);
+        Assert.state(name != null, "No replica selected");
+        return name;
+    }
+
+    /**
+     * Selects a replica other than the excluded ones and counts it as in flight
+     * until it is released.
+     * @param excluded the names of replicas not to select, typically those that
+     *      have already failed for the current caller; may be {@code null}
+     * @return the name of the selected replica, or {@code null} if every
+     *      replica is excluded
+     */
+    @Nullable
+    public String select(@Nullable Collection<String> excluded) {
+        int start = Math.floorMod(counter.getAndIncrement(), replicas.length);
+        while (true) {
+            long now = System.nanoTime();
+            Replica selected = null;
+            Replica fallback = null;
+            for (int i = 0; i < replicas.length; i++) {
+                Replica replica = replicas[(start + i) % replicas.length];
+                if (excluded != null && excluded.contains(replica.name)) {
+                    continue;
+                }
+                if (replica.isSelectable(now)) {
+                    if (balancingPolicy == BalancingPolicy.ROUND_ROBIN) {
+                        selected = replica;
+                        break;
+                    }
+                    if (selected == null || replica.inFlight.get() < selected.inFlight.get()) {
+                        selected = replica;
+                    }
+                } else if (fallback == null || replica.ejectedUntil - fallback.ejectedUntil < 0L) {
+                    fallback = replica;
+                }
+            }
+            if (selected == null) {
+                if (fallback == null) {
+                    return null;
+                }
+                fallback.inFlight.incrementAndGet();
+                return fallback.name;
+            }
+            if (selected.ejectedUntil == 0L || selected.probing.compareAndSet(false, true)) {
+                selected.inFlight.incrementAndGet();
+                return selected.name;
+            }
+            // Another caller claimed the probe in the meantime; select again
+        }
+    }
+
+    /**
+     * Hands back a replica previously returned by {@link #select()}.
+     * @param name the name of the replica
+     */
+    public void release(String name) {
+        Replica replica = getReplica(name);
+        replica.inFlight.updateAndGet(n -> (n > 0 ? n - 1 : 0));
+    }
+
+    /**
+     * Records a successful use of the given replica. An ejected replica is restored.
+     * @param name the name of the replica
+     */
+    public void markSuccess(String name) {
+        Replica replica = getReplica(name);
+        replica.failures.set(0);
+        if (replica.ejectedUntil != 0L) {
+            replica.ejectedUntil = 0L;
+            replica.probing.set(false);
+            if (logger.isInfoEnabled()) {
+                logger.info("Replica '{}' has been restored", name);
+            }
+        }
+    }
+
+    /**
+     * Records a failed use of the given replica. The replica is ejected once
+     * the number of consecutive failures reaches the failure threshold, or
+     * immediately if it was being probed after an earlier ejection.
+     * @param name the name of the replica
+     */
+    public void markFailure(String name) {
+        Replica replica = getReplica(name);
+        int failures = replica.failures.incrementAndGet();
+        if (failures >= failureThreshold || replica.probing.get()) {
+            long until = System.nanoTime() + retryIntervalNanos;
+            replica.ejectedUntil = (until != 0L ? until : 1L);
+            replica.probing.set(false);
+            if (logger.isWarnEnabled()) {
+                logger.warn("Replica '{}' has been ejected after {} consecutive failures; " +
+                        "it will be retried in {} ms", name, failures, getRetryInterval());
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given replica is currently eligible for selection,
+     * that is, it has not been ejected or is due for a retry.
+     * @param name the name of the replica
+     * @return true if the replica is available, false if it has been ejected
+     */
+    public boolean isAvailable(String name) {
+        return getReplica(name).isSelectable(System.nanoTime());
+    }
+
+    /**
+     * Returns the number of selections of the given replica that have not yet been released.
+     * @param name the name of the replica
+     * @return the number of selections in flight
+     */
+    public int getInFlight(String name) {
+        return getReplica(name).inFlight.get();
+    }
+
+    @NonNull
+    private Replica getReplica(String name) {
+        Replica replica = replicaMap.get(name);
+        if (replica == null) {
+            throw new IllegalArgumentException("Unknown replica: " + name);
+        }
+        return replica;
+    }
+
+    @Override
+    public String toString() {
+        long now = System.nanoTime();
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("balancingPolicy", balancingPolicy);
+        for (Replica replica : replicas) {
+            String state = (replica.isSelectable(now) ? "available" : "ejected");
+            tsb.append(replica.name, state + "/" + replica.inFlight.get());
+        }
+        return tsb.toString();
+    }
+
+    /**
+     * The health and load of a single replica.
+     */
+    private static class Replica {
+
+        private final String name;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private final AtomicBoolean probing = new AtomicBoolean();
+
+        /** The time in nanoseconds until which this replica is ejected; {@code 0} if it is healthy. */
+        private volatile long ejectedUntil;
+
+        Replica(String name) {
+            this.name = name;
+        }
+
+        boolean isSelectable(long now) {
+            long until = ejectedUntil;
+            return (until == 0L || (until - now <= 0L && !probing.get()));
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.routing;
+
+import com.aspectran.utils.Assert;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes a caller to one of the replicas of a {@link ReplicaPool}, failing
+ * over to the next replica when a connection to the selected one cannot
+ * be established.
+ *
+ * <p>A replica that fails to connect is released, reported to the pool and
+ * excluded for the rest of the routing attempt; a replica that connects is
+ * reported as successful and stays in flight until the resource obtained
+ * for it is released. If no replica can be connected, an
+ * {@link IllegalStateException} is thrown with the last connection failure
+ * as its cause.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 9.6.5
+ */
+public class ReplicaRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    private final ReplicaPool replicaPool;
+
+    /**
+     * Creates a new router over the given replicas.
+     * @param names the unique names of the replicas
+     */
+    public ReplicaRouter(@NonNull String... names) {
+        this.replicaPool = new ReplicaPool(names);
+    }
+
+    /**
+     * Returns the pool from which replicas are selected.
+     * @return the replica pool
+     */
+    public ReplicaPool getReplicaPool() {
+        return replicaPool;
+    }
+
+    /**
+     * Sets the policy by which a replica is selected.
+     * The default is {@link BalancingPolicy#ROUND_ROBIN}.
+     * @param balancingPolicy the balancing policy
+     */
+    public void setBalancingPolicy(@NonNull BalancingPolicy balancingPolicy) {
+        replicaPool.setBalancingPolicy(balancingPolicy);
+    }
+
+    /**
+     * Sets the policy by which a replica is selected.
+     * <p>Supported policies are:</p>
+     * <ul>
+     *   <li>{@code ROUND_ROBIN} - Replicas are selected in turn.</li>
+     *   <li>{@code LEAST_IN_FLIGHT} - The replica with the fewest selections
+     *       still in use is selected.</li>
+     * </ul>
+     * @param balancingPolicy the balancing policy name
+     * @throws IllegalArgumentException if the policy is unknown
+     */
+    public void setBalancingPolicyAsString(String balancingPolicy) {
+        if (balancingPolicy != null) {
+            BalancingPolicy policy = BalancingPolicy.resolve(balancingPolicy);
+            if (policy == null) {
+                throw new IllegalArgumentException("Unknown balancing policy: " + balancingPolicy);
+            }
+            setBalancingPolicy(policy);
+        }
+    }
+
+    /**
+     * Sets the number of consecutive failures after which a replica is ejected.
+     * @param failureThreshold the failure threshold, at least 1
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        replicaPool.setFailureThreshold(failureThreshold);
+    }
+
+    /**
+     * Sets the time in milliseconds an ejected replica waits before it is tried again.
+     * @param retryInterval the retry interval in milliseconds
+     */
+    public void setRetryInterval(long retryInterval) {
+        replicaPool.setRetryInterval(retryInterval);
+    }
+
+    /**
+     * Selects a replica and connects to it, trying the next replica each time
+     * a connection fails.
+     * @param connector the connector that obtains and connects the resource of a replica
+     * @param <T> the type of the resource of a replica
+     * @return the connected resource of the selected replica
+     * @throws IllegalStateException if none of the replicas could be connected
+     */
+    @NonNull
+    public <T> T route(@NonNull Connector<T> connector) {
+        Assert.notNull(connector, "connector must not be null");
+        List<String> failedNames = null;
+        RuntimeException lastException = null;
+        while (true) {
+            String name = replicaPool.select(failedNames);
+            if (name == null) {
+                throw new IllegalStateException("None of the replicas " + failedNames +
+                        " could be connected", lastException);
+            }
+            T resource;
+            try {
+                resource = connector.obtain(name);
+            } catch (RuntimeException e) {
+                replicaPool.release(name);
+                throw e;
+            }
+            try {
+                connector.connect(resource);
+            } catch (RuntimeException e) {
+                replicaPool.release(name);
+                replicaPool.markFailure(name);
+                try {
+                    connector.discard(resource);
+                } catch (RuntimeException ex) {
+                    // ignore
+                }
+                logger.warn("Failed to connect to replica '{}'", name, e);
+                if (failedNames == null) {
+                    failedNames = new ArrayList<>(replicaPool.size());
+                }
+                failedNames.add(name);
+                lastException = e;
+                continue;
+            }
+            replicaPool.markSuccess(name);
+            connector.onRelease(resource, () -> replicaPool.release(name));
+            return resource;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return replicaPool.toString();
+    }
+
+    /**
+     * Obtains and connects the resource, such as a session, used to access a replica.
+     * @param <T> the type of the resource
+     */
+    public interface Connector<T> {
+
+        /**
+         * Obtains the resource for the given replica. An exception thrown here
+         * is not a connection failure and is propagated to the caller.
+         * @param name the name of the replica
+         * @return the resource of the replica
+         */
+        @NonNull
+        T obtain(String name);
+
+        /**
+         * Establishes the connection of the given resource.
+         * @param resource the resource of the selected replica
+         * @throws RuntimeException if the connection cannot be established
+         */
+        void connect(T resource);
+
+        /**
+         * Discards a resource whose connection failed.
+         * @param resource the resource to discard
+         */
+        void discard(T resource);
+
+        /**
+         * Registers the callback to run when the given connected resource is
+         * no longer in use, so that its replica is handed back to the pool.
+         * @param resource the connected resource
+         * @param callback the callback that releases the replica
+         */
+        void onRelease(T resource, Runnable callback);
+
+    }
+
+}
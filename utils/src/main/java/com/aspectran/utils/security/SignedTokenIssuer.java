@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.security;
+
+import com.aspectran.utils.Assert;
+import com.aspectran.utils.InsufficientEnvironmentException;
+import com.aspectran.utils.PBEncryptionUtils;
+import com.aspectran.utils.StringUtils;
+import com.aspectran.utils.apon.AponReader;
+import com.aspectran.utils.apon.Parameters;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * A utility for issuing and validating compact tokens that are signed with HMAC-SHA256
+ * but not encrypted.
+ * <p>Unlike {@link PBTokenIssuer} and {@link TimeLimitedPBTokenIssuer}, the payload of
+ * a signed token can be read by anyone who holds the token; the signature only guarantees
+ * that the payload has not been altered. In exchange, issuing and validating a token
+ * requires no password-based key derivation or cipher, which makes this issuer suitable
+ * for tokens that are validated on every request and carry no confidential data.</p>
+ * <p>The token's structure is {@code base64url(body) + "." + base64url(signature)}, where
+ * the body is {@code expiration_timestamp_in_radix36 + "_" + payload}. The expiration
+ * timestamp is empty for tokens that never expire. If no secret is given, the global
+ * encryption password configured in {@link PBEncryptionUtils} is used as the secret.</p>
+ *
+ * @see PBTokenIssuer
+ * @see TimeLimitedPBTokenIssuer
+ * @since 9.6.5
+ */
+public final class SignedTokenIssuer {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private static final String SIGNATURE_SEPARATOR = ".";
+
+    private static final String TOKEN_SEPARATOR = "_";
+
+    private static final int DIGIT_RADIX = 36;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private SignedTokenIssuer() {
+    }
+
+    /**
+     * Creates a new signed token that never expires, using the global encryption password as the secret.
+     * @param payload the parameters to be included in the token (must not be null)
+     * @return the signed token string
+     * @throws InsufficientEnvironmentException if the global encryption password is not set
+     */
+    public static String createToken(Parameters payload) {
+        return createToken(payload, getDefaultSecret());
+    }
+
+    /**
+     * Creates a new signed token that never expires.
+     * @param payload the parameters to be included in the token (must not be null)
+     * @param secret the secret to sign the token with
+     * @return the signed token string
+     * @throws IllegalArgumentException if the payload is null or the secret is null or empty
+     */
+    public static String createToken(Parameters payload, String secret) {
+        return createToken(payload, 0L, secret);
+    }
+
+    /**
+     * Creates a new signed token that expires after the given time, using the global
+     * encryption password as the secret.
+     * @param payload the parameters to be included in the token (must not be null)
+     * @param expirationTime the expiration time in milliseconds from the current time
+     * @return the signed token string
+     * @throws InsufficientEnvironmentException if the global encryption password is not set
+     */
+    public static String createToken(Parameters payload, long expirationTime) {
+        return createToken(payload, expirationTime, getDefaultSecret());
+    }
+
+    /**
+     * Creates a new signed token that expires after the given time.
+     * @param payload the parameters to be included in the token (must not be null)
+     * @param expirationTime the expiration time in milliseconds from the current time;
+     *      zero or less if the token never expires
+     * @param secret the secret to sign the token with
+     * @return the signed token string
+     * @throws IllegalArgumentException if the payload is null or the secret is null or empty
+     */
+    public static String createToken(Parameters payload, long expirationTime, String secret) {
+        Assert.notNull(payload, "payload must not be null");
+        Assert.hasLength(secret, "secret must not be null or empty");
+        String expiration = StringUtils.EMPTY;
+        if (expirationTime > 0L) {
+            long time = System.currentTimeMillis() + expirationTime;
+            expiration = Long.toString(time, DIGIT_RADIX);
+        }
+        byte[] body = (expiration + TOKEN_SEPARATOR + payload).getBytes(StandardCharsets.UTF_8);
+        String encodedBody = ENCODER.encodeToString(body);
+        String signature = ENCODER.encodeToString(sign(encodedBody, secret));
+        return encodedBody + SIGNATURE_SEPARATOR + signature;
+    }
+
+    /**
+     * Parses the specified token using the global encryption password as the secret and
+     * extracts the payload as a {@link com.aspectran.utils.apon.VariableParameters} instance.
+     * @param token the token string to parse
+     * @param <T> the type of the payload
+     * @return the payload
+     * @throws ExpiredPBTokenException if the token has expired
+     * @throws InvalidPBTokenException if the token is malformed or its signature does not match
+     * @throws InsufficientEnvironmentException if the global encryption password is not set
+     */
+    public static <T extends Parameters> T parseToken(String token) throws InvalidPBTokenException {
+        return parseToken(token, getDefaultSecret(), null);
+    }
+
+    /**
+     * Parses the specified token using the global encryption password as the secret and
+     * extracts the payload into a new instance of the given type.
+     * @param token the token string to parse
+     * @param payloadType the class of the payload, a subclass of {@link Parameters}.
+     *      If null, a {@link com.aspectran.utils.apon.VariableParameters} instance is returned.
+     * @param <T> the type of the payload
+     * @return the payload
+     * @throws ExpiredPBTokenException if the token has expired
+     * @throws InvalidPBTokenException if the token is malformed or its signature does not match
+     * @throws InsufficientEnvironmentException if the global encryption password is not set
+     */
+    public static <T extends Parameters> T parseToken(String token, @Nullable Class<T> payloadType)
+            throws InvalidPBTokenException {
+        return parseToken(token, getDefaultSecret(), payloadType);
+    }
+
+    /**
+     * Parses the specified token and extracts the payload as a
+     * {@link com.aspectran.utils.apon.VariableParameters} instance.
+     * @param token the token string to parse
+     * @param secret the secret the token was signed with
+     * @param <T> the type of the payload
+     * @return the payload
+     * @throws ExpiredPBTokenException if the token has expired
+     * @throws InvalidPBTokenException if the token is malformed or its signature does not match
+     * @throws IllegalArgumentException if the token or secret is null or empty
+     */
+    public static <T extends Parameters> T parseToken(String token, String secret) throws InvalidPBTokenException {
+        return parseToken(token, secret, null);
+    }
+
+    /**
+     * Parses the specified token and extracts the payload into a new instance of the given type.
+     * The signature is verified before the payload is decoded, and the expiration time is
+     * checked before the payload is parsed.
+     * @param token the token string to parse
+     * @param secret the secret the token was signed with
+     * @param payloadType the class of the payload, a subclass of {@link Parameters}.
+     *      If null, a {@link com.aspectran.utils.apon.VariableParameters} instance is returned.
+     * @param <T> the type of the payload
+     * @return the payload
+     * @throws ExpiredPBTokenException if the token has expired
+     * @throws InvalidPBTokenException if the token is malformed or its signature does not match
+     * @throws IllegalArgumentException if the token or secret is null or empty
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Parameters> T parseToken(String token, String secret, @Nullable Class<T> payloadType)
+            throws InvalidPBTokenException {
+        Assert.hasLength(token, "token must not be null or empty");
+        Assert.hasLength(secret, "secret must not be null or empty");
+        int index = token.lastIndexOf(SIGNATURE_SEPARATOR);
+        if (index <= 0 || index == token.length() - 1) {
+            throw new InvalidPBTokenException("Malformed signed token", token);
+        }
+        String encodedBody = token.substring(0, index);
+        String payloadString;
+        long expirationTimeMillis;
+        try {
+            byte[] signature = DECODER.decode(token.substring(index + 1));
+            if (!MessageDigest.isEqual(signature, sign(encodedBody, secret))) {
+                throw new InvalidPBTokenException("Signature mismatch", token);
+            }
+            String body = new String(DECODER.decode(encodedBody), StandardCharsets.UTF_8);
+            int separatorIndex = body.indexOf(TOKEN_SEPARATOR);
+            if (separatorIndex == -1) {
+                throw new InvalidPBTokenException("Malformed signed token", token);
+            }
+            expirationTimeMillis = (separatorIndex > 0 ?
+                    Long.parseLong(body.substring(0, separatorIndex), DIGIT_RADIX) : 0L);
+            payloadString = body.substring(separatorIndex + 1);
+        } catch (InvalidPBTokenException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidPBTokenException(token, e);
+        }
+        if (expirationTimeMillis > 0L && expirationTimeMillis < System.currentTimeMillis()) {
+            throw new ExpiredPBTokenException(token);
+        }
+        try {
+            if (payloadType != null) {
+                return AponReader.read(payloadString, payloadType);
+            } else {
+                return (T)AponReader.read(payloadString);
+            }
+        } catch (Exception e) {
+            throw new InvalidPBTokenException(token, e);
+        }
+    }
+
+    /**
+     * Validates the given token using the global encryption password as the secret.
+     * @param token the token to validate
+     * @throws InvalidPBTokenException if the token is invalid or has expired
+     */
+    public static void validate(String token) throws InvalidPBTokenException {
+        parseToken(token);
+    }
+
+    /**
+     * Validates the given token.
+     * @param token the token to validate
+     * @param secret the secret the token was signed with
+     * @throws InvalidPBTokenException if the token is invalid or has expired
+     */
+    public static void validate(String token, String secret) throws InvalidPBTokenException {
+        parseToken(token, secret);
+    }
+
+    @NonNull
+    private static byte[] sign(@NonNull String encodedBody, @NonNull String secret) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM));
+            return mac.doFinal(encodedBody.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token with " + MAC_ALGORITHM, e);
+        }
+    }
+
+    @NonNull
+    private static String getDefaultSecret() {
+        String secret = PBEncryptionUtils.getPassword();
+        if (!StringUtils.hasText(secret)) {
+            throw new InsufficientEnvironmentException("A secret is required to sign or verify tokens; " +
+                    "Make sure the JVM system property \"" + PBEncryptionUtils.ENCRYPTION_PASSWORD_PROPERTY +
+                    "\" is set up");
+        }
+        return secret;
+    }
+
+}
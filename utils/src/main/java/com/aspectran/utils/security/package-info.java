@@ -16,6 +16,7 @@
 /**
  * Provides security-related utility classes.
  * <p>This package includes utilities for password-based encryption (PBE) and
- * for issuing and validating secure tokens, which can be time-limited.</p>
+ * for issuing and validating secure tokens, which can be time-limited or signed
+ * rather than encrypted.</p>
  */
 package com.aspectran.utils.security;
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.statistic;
+
+import com.aspectran.utils.ToStringBuilder;
+
+/**
+ * An immutable snapshot of the distribution recorded by a {@link HistogramStatistic}.
+ * <p>Percentiles are reported as the highest value that falls into the same bucket
+ * as the value at the requested rank, but never above the recorded maximum.</p>
+ *
+ * @since 9.6.5
+ */
+public class HistogramSnapshot {
+
+    private final int precision;
+
+    private final long[] counts;
+
+    private final long count;
+
+    private final long total;
+
+    private final long max;
+
+    HistogramSnapshot(int precision, long[] counts, long total, long max) {
+        this.precision = precision;
+        this.counts = counts;
+        long sum = 0L;
+        for (long c : counts) {
+            sum += c;
+        }
+        this.count = sum;
+        this.total = total;
+        this.max = max;
+    }
+
+    /**
+     * Returns the number of values in this snapshot.
+     * @return the count of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of the values in this snapshot.
+     * @return the total sum of values
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the maximum value in this snapshot.
+     * @return the maximum value
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the average of the values in this snapshot.
+     * @return the mean value, or 0.0 if the snapshot is empty
+     */
+    public double getMean() {
+        return (count > 0L ? (double)total / count : 0.0D);
+    }
+
+    /**
+     * Returns the value at the given percentile.
+     * @param percentile the percentile, between 0 and 100 (e.g. 99.9)
+     * @return the value at the given percentile, or 0 if the snapshot is empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0.0D || percentile > 100.0D) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        if (count == 0L) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long)Math.ceil(percentile / 100.0D * count));
+        long cumulative = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(HistogramStatistic.highestValue(i, precision), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the number of values that are less than or equal to the given value.
+     * Values in the bucket that contains the given value are counted only if the
+     * whole bucket lies at or below it, so the result never overstates the count.
+     * This is suitable for rendering cumulative buckets with fixed boundaries.
+     * @param value the upper bound
+     * @return the number of values at or below the given value
+     */
+    public long getCountAtOrBelow(long value) {
+        if (value < 0L) {
+            return 0L;
+        }
+        long cumulative = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            if (HistogramStatistic.highestValue(i, precision) > value) {
+                break;
+            }
+            cumulative += counts[i];
+        }
+        return cumulative;
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("count", count);
+        tsb.append("mean", getMean());
+        tsb.append("p50", getValueAtPercentile(50.0D));
+        tsb.append("p99", getValueAtPercentile(99.0D));
+        tsb.append("max", max);
+        return tsb.toString();
+    }
+
+}
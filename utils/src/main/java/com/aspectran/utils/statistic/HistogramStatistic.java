@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.statistic;
+
+import com.aspectran.utils.ObjectUtils;
+import com.aspectran.utils.ToStringBuilder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Provides the distribution of recorded non-negative values, such as latencies,
+ * using log-linear buckets.
+ * <p>Each power-of-two range of values is split into {@code 2^precision} linear
+ * sub-buckets, so that the relative error of a reported percentile never exceeds
+ * {@code 1 / 2^precision} (12.5% with the default precision of 3), while the whole
+ * range of {@code long} values is covered by a few hundred buckets.</p>
+ * <p>Recording is lock-free. The bucket counters are kept in a single stripe until
+ * concurrent recordings collide, at which point the colliding thread switches to a
+ * stripe of its own, in the same spirit as {@link LongAdder}. Histograms that are
+ * rarely contended therefore stay small.</p>
+ * <p>Use {@link #snapshot()} to obtain a consistent, immutable view from which
+ * percentiles can be computed. This class is thread-safe.</p>
+ *
+ * @since 9.6.5
+ */
+public class HistogramStatistic {
+
+    /** The default number of bits used to split each power-of-two range. */
+    public static final int DEFAULT_PRECISION = 3;
+
+    private static final int MAX_STRIPES = 8;
+
+    private static final int DEFAULT_STRIPES = Math.min(MAX_STRIPES,
+            Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+
+    private final int precision;
+
+    private final int subBucketCount;
+
+    private final int bucketCount;
+
+    private final int stripeMask;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Creates a new histogram with the default precision.
+     */
+    public HistogramStatistic() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a new histogram with the given precision.
+     * @param precision the number of bits used to split each power-of-two range
+     *      into linear sub-buckets, between 1 and 8
+     */
+    public HistogramStatistic(int precision) {
+        if (precision < 1 || precision > 8) {
+            throw new IllegalArgumentException("precision must be between 1 and 8");
+        }
+        this.precision = precision;
+        this.subBucketCount = 1 << precision;
+        this.bucketCount = (64 - precision) * subBucketCount;
+        this.stripeMask = DEFAULT_STRIPES - 1;
+        this.stripes = new AtomicReferenceArray<>(DEFAULT_STRIPES);
+        this.stripes.set(0, new AtomicLongArray(bucketCount));
+    }
+
+    /**
+     * Returns the number of bits used to split each power-of-two range.
+     * @return the precision
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     * @param value the value to record
+     */
+    public void record(long value) {
+        if (value < 0L) {
+            value = 0L;
+        }
+        int index = bucketIndex(value, precision);
+        int stripe = (stripeMask == 0 ? 0 : threadStripe() & stripeMask);
+        AtomicLongArray counts = stripes.get(stripe);
+        if (counts != null) {
+            counts.getAndIncrement(index);
+        } else {
+            counts = stripes.get(0);
+            long current = counts.get(index);
+            if (!counts.compareAndSet(index, current, current + 1)) {
+                // Contended: move this thread to a stripe of its own
+                createStripe(stripe).getAndIncrement(index);
+            }
+        }
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     * @return the count of values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of all recorded values.
+     * @return the total sum of values
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Returns the maximum value recorded.
+     * @return the maximum value
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns an immutable snapshot of the current distribution.
+     * <p>Values recorded concurrently with taking the snapshot may or may not be included.</p>
+     * @return a new snapshot
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[bucketCount];
+        for (int i = 0; i < stripes.length(); i++) {
+            AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null) {
+                for (int j = 0; j < bucketCount; j++) {
+                    counts[j] += stripe.get(j);
+                }
+            }
+        }
+        return new HistogramSnapshot(precision, counts, total.sum(), max.get());
+    }
+
+    /**
+     * Returns an immutable snapshot of the current distribution and resets this histogram.
+     * <p>Every value recorded concurrently is either included in the returned snapshot
+     * or left in this histogram for the next snapshot.</p>
+     * @return a new snapshot
+     */
+    public HistogramSnapshot snapshotAndReset() {
+        long[] counts = new long[bucketCount];
+        for (int i = 0; i < stripes.length(); i++) {
+            AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null) {
+                for (int j = 0; j < bucketCount; j++) {
+                    if (stripe.get(j) != 0L) {
+                        counts[j] += stripe.getAndSet(j, 0L);
+                    }
+                }
+            }
+        }
+        count.reset();
+        return new HistogramSnapshot(precision, counts, total.sumThenReset(), max.getThenReset());
+    }
+
+    /**
+     * Resets all recorded values.
+     */
+    public void reset() {
+        snapshotAndReset();
+    }
+
+    @NonNull
+    private AtomicLongArray createStripe(int stripe) {
+        AtomicLongArray counts = new AtomicLongArray(bucketCount);
+        if (stripes.compareAndSet(stripe, null, counts)) {
+            return counts;
+        } else {
+            return stripes.get(stripe);
+        }
+    }
+
+    private static int threadStripe() {
+        long id = Thread.currentThread().threadId();
+        int h = (int)(id ^ (id >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16));
+    }
+
+    /**
+     * Returns the index of the bucket into which the given non-negative value falls.
+     */
+    static int bucketIndex(long value, int precision) {
+        int subBucketCount = 1 << precision;
+        if (value < subBucketCount) {
+            return (int)value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int)(value >>> (exponent - precision)) & (subBucketCount - 1);
+        return (exponent - precision + 1) * subBucketCount + subBucket;
+    }
+
+    /**
+     * Returns the lowest value that falls into the bucket at the given index.
+     */
+    static long lowestValue(int index, int precision) {
+        int subBucketCount = 1 << precision;
+        if (index < subBucketCount) {
+            return index;
+        }
+        int exponent = index / subBucketCount + precision - 1;
+        int subBucket = index % subBucketCount;
+        return (1L << exponent) + ((long)subBucket << (exponent - precision));
+    }
+
+    /**
+     * Returns the highest value that falls into the bucket at the given index.
+     */
+    static long highestValue(int index, int precision) {
+        int subBucketCount = 1 << precision;
+        if (index < subBucketCount) {
+            return index;
+        }
+        int exponent = index / subBucketCount + precision - 1;
+        return lowestValue(index, precision) + (1L << (exponent - precision)) - 1L;
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder(ObjectUtils.simpleIdentityToString(this));
+        tsb.append("count", getCount());
+        tsb.append("total", getTotal());
+        tsb.append("max", getMax());
+        return tsb.toString();
+    }
+
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.wildcard;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static com.aspectran.utils.wildcard.WildcardPattern.EOT_TYPE;
+import static com.aspectran.utils.wildcard.WildcardPattern.LITERAL_TYPE;
+import static com.aspectran.utils.wildcard.WildcardPattern.PLUS_TYPE;
+import static com.aspectran.utils.wildcard.WildcardPattern.QUESTION_TYPE;
+import static com.aspectran.utils.wildcard.WildcardPattern.SEPARATOR_TYPE;
+import static com.aspectran.utils.wildcard.WildcardPattern.STAR_STAR_TYPE;
+import static com.aspectran.utils.wildcard.WildcardPattern.STAR_TYPE;
+import static java.lang.Character.MIN_VALUE;
+
+/**
+ * Internal automaton that matches an input against a set of wildcard patterns
+ * in a single pass, without backtracking.
+ * <p>Each pattern is translated into a nondeterministic automaton whose states are
+ * the token positions of the pattern, following exactly the rules applied by
+ * {@link WildcardEngine}. The automata of all patterns are then combined, and the
+ * deterministic states are built lazily by subset construction as inputs are matched,
+ * so matching takes time linear in the length of the input regardless of how many
+ * wildcards the patterns contain. Input characters are first reduced to classes,
+ * one for each character that appears literally in the patterns or as a separator
+ * and one for all other characters, which keeps the transition tables small.</p>
+ * <p>The number of cached deterministic states is bounded; states beyond the limit
+ * are computed on the fly without being cached. This class is thread-safe.</p>
+ */
+final class WildcardAutomaton {
+
+    /** The maximum number of deterministic states that are cached. */
+    private static final int MAX_CACHED_STATES = 1024;
+
+    /** State kind: the accepting state at the end of a pattern. */
+    private static final int ACCEPT_KIND = -1;
+
+    /**
+     * State kind: a '**' that has consumed at least one character. The separator
+     * following a '**' may only be swallowed while the '**' has matched nothing,
+     * so each '**' token is given this extra state to loop in.
+     */
+    private static final int STAR_STAR_LOOP_KIND = -2;
+
+    private static final int NONE = -1;
+
+    /** The kind of each state, either a token type or {@link #ACCEPT_KIND}. */
+    private final int[] kinds;
+
+    /** The character of literal and separator states. */
+    private final char[] chars;
+
+    /** The separator of the pattern each state belongs to. */
+    private final char[] separators;
+
+    /** The index of the pattern for accepting states; {@link #NONE} otherwise. */
+    private final int[] owners;
+
+    /** The state that a '**' state moves to when consuming a character. */
+    private final int[] loops;
+
+    /** Epsilon transitions available at any input position. */
+    private final int[] epsilons1;
+
+    private final int[] epsilons2;
+
+    /** Epsilon transitions available only at the end of the input. */
+    private final int[] endEpsilons;
+
+    /** Sorted characters that have a class of their own. */
+    private final char[] classChars;
+
+    /** Classes of ASCII characters, for fast lookup. */
+    private final int[] asciiClasses = new int[128];
+
+    /** Index of the first pattern that matches a null input; {@link #NONE} if none. */
+    private final int nullMatchIndex;
+
+    private final Map<BitSet, DfaState> cachedStates = new HashMap<>();
+
+    private final DfaState startState;
+
+    WildcardAutomaton(@NonNull WildcardPattern[] patterns) {
+        int stateCount = 0;
+        int loopCount = 0;
+        int[] tokenCounts = new int[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            tokenCounts[i] = tokenCount(patterns[i]);
+            stateCount += tokenCounts[i] + 1;
+            int[] types = patterns[i].getTypes();
+            for (int t = 0; t < tokenCounts[i]; t++) {
+                if (types[t] == STAR_STAR_TYPE) {
+                    loopCount++;
+                }
+            }
+        }
+        int loopState = stateCount;
+        stateCount += loopCount;
+
+        this.kinds = new int[stateCount];
+        this.chars = new char[stateCount];
+        this.separators = new char[stateCount];
+        this.owners = new int[stateCount];
+        this.loops = new int[stateCount];
+        this.epsilons1 = new int[stateCount];
+        this.epsilons2 = new int[stateCount];
+        this.endEpsilons = new int[stateCount];
+        Arrays.fill(owners, NONE);
+        Arrays.fill(epsilons1, NONE);
+        Arrays.fill(epsilons2, NONE);
+        Arrays.fill(endEpsilons, NONE);
+
+        TreeSet<Character> distinctChars = new TreeSet<>();
+        int nullMatch = NONE;
+        int base = 0;
+        for (int p = 0; p < patterns.length; p++) {
+            WildcardPattern pattern = patterns[p];
+            char[] tokens = pattern.getTokens();
+            int[] types = pattern.getTypes();
+            char separator = pattern.getSeparator();
+            int count = tokenCounts[p];
+            if (separator > MIN_VALUE) {
+                distinctChars.add(separator);
+            }
+            for (int t = 0; t < count; t++) {
+                int s = base + t;
+                int type = types[t];
+                kinds[s] = type;
+                chars[s] = tokens[t];
+                separators[s] = separator;
+                if (type == LITERAL_TYPE || type == SEPARATOR_TYPE) {
+                    distinctChars.add(tokens[t]);
+                    if (type == SEPARATOR_TYPE && t + 1 < count && types[t + 1] == STAR_STAR_TYPE) {
+                        // Optional trailing separator followed by **
+                        endEpsilons[s] = s + 1;
+                    }
+                } else if (type == STAR_TYPE || type == QUESTION_TYPE) {
+                    epsilons1[s] = s + 1;
+                } else if (type == STAR_STAR_TYPE) {
+                    epsilons1[s] = s + 1;
+                    loops[s] = loopState;
+                    kinds[loopState] = STAR_STAR_LOOP_KIND;
+                    loops[loopState] = loopState;
+                    epsilons1[loopState] = s + 1;
+                    loopState++;
+                    if ((t == 0 || types[t - 1] == SEPARATOR_TYPE) &&
+                            t + 1 < count && types[t + 1] == SEPARATOR_TYPE) {
+                        // ** matching nothing swallows the following separator
+                        epsilons2[s] = s + 2;
+                    }
+                }
+            }
+            kinds[base + count] = ACCEPT_KIND;
+            owners[base + count] = p;
+            if (nullMatch == NONE && matchesNull(types, count)) {
+                nullMatch = p;
+            }
+            base += count + 1;
+        }
+        this.nullMatchIndex = nullMatch;
+
+        this.classChars = new char[distinctChars.size()];
+        int index = 0;
+        for (char c : distinctChars) {
+            classChars[index++] = c;
+        }
+        for (char c = 0; c < asciiClasses.length; c++) {
+            asciiClasses[c] = lookupClass(c);
+        }
+
+        BitSet initial = new BitSet(stateCount);
+        base = 0;
+        for (int count : tokenCounts) {
+            initial.set(base);
+            base += count + 1;
+        }
+        this.startState = obtainState(closure(initial), true);
+    }
+
+    /**
+     * Returns the index of the first pattern that matches the given input.
+     * @param input the input to match
+     * @return the index of the first matching pattern, or -1 if none matches
+     */
+    int matchIndex(CharSequence input) {
+        if (input == null) {
+            return nullMatchIndex;
+        }
+        DfaState state = startState;
+        for (int i = 0, len = input.length(); i < len; i++) {
+            if (state.dead) {
+                return NONE;
+            }
+            int cls = classOf(input.charAt(i));
+            DfaState next = state.next[cls];
+            if (next == null) {
+                next = computeNext(state, cls);
+            }
+            state = next;
+        }
+        return state.acceptIndex;
+    }
+
+    private int classOf(char c) {
+        return (c < asciiClasses.length ? asciiClasses[c] : lookupClass(c));
+    }
+
+    private int lookupClass(char c) {
+        int index = Arrays.binarySearch(classChars, c);
+        return (index >= 0 ? index + 1 : 0);
+    }
+
+    private synchronized DfaState computeNext(@NonNull DfaState state, int cls) {
+        DfaState next = state.next[cls];
+        if (next != null) {
+            return next;
+        }
+        char c = (cls > 0 ? classChars[cls - 1] : MIN_VALUE);
+        BitSet target = new BitSet(kinds.length);
+        BitSet states = state.states;
+        for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+            int kind = kinds[s];
+            if (kind == LITERAL_TYPE || kind == SEPARATOR_TYPE) {
+                if (cls > 0 && chars[s] == c) {
+                    target.set(s + 1);
+                }
+            } else if (kind == STAR_STAR_TYPE || kind == STAR_STAR_LOOP_KIND) {
+                target.set(loops[s]);
+            } else if (kind == STAR_TYPE || kind == QUESTION_TYPE || kind == PLUS_TYPE) {
+                char separator = separators[s];
+                if (separator == MIN_VALUE || cls == 0 || c != separator) {
+                    target.set(kind == STAR_TYPE ? s : s + 1);
+                }
+            }
+        }
+        next = obtainState(closure(target), false);
+        if (next.cached) {
+            state.next[cls] = next;
+        }
+        return next;
+    }
+
+    private DfaState obtainState(BitSet states, boolean force) {
+        DfaState state = cachedStates.get(states);
+        if (state == null) {
+            boolean cached = (force || cachedStates.size() < MAX_CACHED_STATES);
+            state = new DfaState(states, acceptIndexOf(states), classChars.length + 1, cached);
+            if (cached) {
+                cachedStates.put(states, state);
+            }
+        }
+        return state;
+    }
+
+    @NonNull
+    private BitSet closure(@NonNull BitSet states) {
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+            stack.push(s);
+        }
+        while (!stack.isEmpty()) {
+            int s = stack.pop();
+            addEpsilon(states, stack, epsilons1[s]);
+            addEpsilon(states, stack, epsilons2[s]);
+        }
+        return states;
+    }
+
+    private int acceptIndexOf(@NonNull BitSet states) {
+        BitSet end = (BitSet)states.clone();
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int s = end.nextSetBit(0); s >= 0; s = end.nextSetBit(s + 1)) {
+            stack.push(s);
+        }
+        while (!stack.isEmpty()) {
+            int s = stack.pop();
+            addEpsilon(end, stack, epsilons1[s]);
+            addEpsilon(end, stack, epsilons2[s]);
+            addEpsilon(end, stack, endEpsilons[s]);
+        }
+        for (int s = end.nextSetBit(0); s >= 0; s = end.nextSetBit(s + 1)) {
+            if (kinds[s] == ACCEPT_KIND) {
+                return owners[s];
+            }
+        }
+        return NONE;
+    }
+
+    private static void addEpsilon(BitSet states, Deque<Integer> stack, int target) {
+        if (target != NONE && !states.get(target)) {
+            states.set(target);
+            stack.push(target);
+        }
+    }
+
+    private static int tokenCount(@NonNull WildcardPattern pattern) {
+        int[] types = pattern.getTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == EOT_TYPE) {
+                return i;
+            }
+        }
+        return types.length;
+    }
+
+    private static boolean matchesNull(int[] types, int count) {
+        for (int t = 0; t < count; t++) {
+            int type = types[t];
+            if (type == LITERAL_TYPE || type == PLUS_TYPE || type == SEPARATOR_TYPE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A deterministic state, representing a set of states of the combined
+     * nondeterministic automaton.
+     */
+    private static class DfaState {
+
+        final BitSet states;
+
+        final int acceptIndex;
+
+        final boolean dead;
+
+        final boolean cached;
+
+        final DfaState[] next;
+
+        DfaState(BitSet states, int acceptIndex, int classCount, boolean cached) {
+            this.states = states;
+            this.acceptIndex = acceptIndex;
+            this.dead = states.isEmpty();
+            this.cached = cached;
+            this.next = new DfaState[classCount];
+        }
+
+    }
+
+}
@@ -29,18 +29,27 @@ import java.util.List;
  * methods are null-safe and will return {@code null} when no effective
  * patterns are provided.
  * </p>
+ * <p>
+ * The patterns are compiled together into a single automaton, so that an input is
+ * evaluated against all of them in one pass that takes time linear in the length
+ * of the input, rather than being tried against each pattern in turn.
+ * </p>
  */
 public class WildcardPatterns {
 
     /** The compiled patterns to evaluate in order. */
     private final WildcardPattern[] patterns;
 
+    /** The automaton that evaluates all patterns at once. */
+    private final WildcardAutomaton automaton;
+
     /**
      * Construct a new container with the given compiled patterns.
      * @param patterns the compiled patterns (must not be {@code null})
      */
     private WildcardPatterns(@NonNull WildcardPattern[] patterns) {
         this.patterns = patterns;
+        this.automaton = new WildcardAutomaton(patterns);
     }
 
     /**
@@ -66,12 +75,29 @@ public class WildcardPatterns {
      * @return {@code true} if any pattern matches; {@code false} otherwise
      */
     public boolean matches(CharSequence input) {
-        for (WildcardPattern pattern : patterns) {
-            if (pattern.matches(input)) {
-                return true;
-            }
-        }
-        return false;
+        return (automaton.matchIndex(input) >= 0);
+    }
+
+    /**
+     * Return the index of the first pattern in this container that matches the given input.
+     * @param input the character sequence to match
+     * @return the index of the first matching pattern, or -1 if no pattern matches
+     * @since 9.6.5
+     */
+    public int matchIndex(CharSequence input) {
+        return automaton.matchIndex(input);
+    }
+
+    /**
+     * Return the first pattern in this container that matches the given input.
+     * @param input the character sequence to match
+     * @return the first matching pattern, or {@code null} if no pattern matches
+     * @since 9.6.5
+     */
+    @Nullable
+    public WildcardPattern match(CharSequence input) {
+        int index = automaton.matchIndex(input);
+        return (index >= 0 ? patterns[index] : null);
     }
 
     /**
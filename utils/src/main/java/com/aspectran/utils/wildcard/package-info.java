@@ -56,7 +56,8 @@
  *       according to the wildcard positions in a pattern.</li>
  *   <li>{@link com.aspectran.utils.wildcard.WildcardPatterns} – a holder for
  *       multiple compiled patterns with a convenience {@code matches-any}
- *       operation.</li>
+ *       operation, evaluated in a single pass by a combined automaton that
+ *       also reports which pattern matched.</li>
  *   <li>{@link com.aspectran.utils.wildcard.IncludeExcludeParameters} and
  *       {@link com.aspectran.utils.wildcard.IncludeExcludeWildcardPatterns} –
  *       helpers to configure and evaluate include/exclude rules.</li>
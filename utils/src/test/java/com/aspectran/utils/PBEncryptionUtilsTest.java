@@ -21,6 +21,8 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * Test cases for PBEncryptionUtils with various algorithms and salt configurations.
@@ -107,6 +109,21 @@ class PBEncryptionUtilsTest {
         }
     }
 
+    @Test
+    void testCachedEncryptor() {
+        String password = "shared-cluster-password";
+        String salt = "this-is-a-very-long-fixed-salt-for-testing";
+
+        StringEncryptor encryptor1 = PBEncryptionUtils.getStringEncryptor(password, salt);
+        StringEncryptor encryptor2 = PBEncryptionUtils.getStringEncryptor(password, salt);
+        assertSame(encryptor1, encryptor2);
+        assertNotSame(encryptor1, PBEncryptionUtils.getStringEncryptor(password, null));
+        assertNotSame(encryptor1, PBEncryptionUtils.getStringEncryptor("another-password", salt));
+
+        String encrypted = PBEncryptionUtils.encrypt("Aspectow-Secret-Data", password, salt);
+        assertEquals("Aspectow-Secret-Data", PBEncryptionUtils.decrypt(encrypted, password, salt));
+    }
+
     @Test
     void testSystemPropertySalt() {
         String original = "Aspectow-Secret-Data";
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test cases for {@link StringInterner}.
+ */
+class StringInternerTest {
+
+    @Test
+    void testInternFromCharArray() {
+        StringInterner interner = new StringInterner();
+        char[] chars = "xxnamexxname".toCharArray();
+        String first = interner.intern(chars, 2, 4);
+        String second = interner.intern(chars, 8, 4);
+        assertEquals("name", first);
+        assertSame(first, second);
+        assertSame(first, interner.intern(new StringBuilder("the name"), 4, 8));
+        assertSame(first, interner.intern(new String("name")));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void testGrowth() {
+        StringInterner interner = new StringInterner();
+        String[] strings = new String[200];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = interner.intern("key" + i);
+        }
+        assertEquals(200, interner.size());
+        for (int i = 0; i < strings.length; i++) {
+            char[] chars = ("key" + i).toCharArray();
+            assertSame(strings[i], interner.intern(chars, 0, chars.length));
+        }
+    }
+
+    @Test
+    void testLimits() {
+        StringInterner interner = new StringInterner(2, 3);
+        String longString = interner.intern("long");
+        assertNotSame(longString, interner.intern("long".toCharArray(), 0, 4));
+        interner.intern("a");
+        interner.intern("b");
+        String c = interner.intern("c");
+        assertEquals(2, interner.size());
+        assertNotSame(c, interner.intern("c".toCharArray(), 0, 1));
+        assertSame(interner.intern("a"), interner.intern("a".toCharArray(), 0, 1));
+
+        interner.clear();
+        assertEquals(0, interner.size());
+    }
+
+}
@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -463,4 +464,32 @@ class AponParserTest {
         assertEquals("value", p5.getString("key"));
     }
 
+    @Test
+    void testLineTerminatorsAndLongLines() throws AponParseException {
+        String longValue = "x".repeat(20000);
+        String apon = "a: 1\r\nb: 2\rc: 3\n\rtext: (\r\n  |line1\r\n  |line2\r\n)\r\nlong: " + longValue;
+        Parameters parameters = AponReader.read(apon);
+        assertEquals(1, parameters.getInt("a"));
+        assertEquals(2, parameters.getInt("b"));
+        assertEquals(3, parameters.getInt("c"));
+        assertEquals("line1" + SYSTEM_NEW_LINE + "line2", parameters.getString("text"));
+        assertEquals(longValue, parameters.getString("long"));
+    }
+
+    @Test
+    void testRepeatedNamesAreShared() throws AponParseException {
+        Parameters parameters = AponReader.read("""
+                items: [
+                  {
+                    name: a
+                  }
+                  {
+                    "name": b
+                  }
+                ]
+                """);
+        List<Parameters> items = parameters.getParametersList("items");
+        assertSame(items.get(0).getParameterNames()[0], items.get(1).getParameterNames()[0]);
+    }
+
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.apon;
+
+import com.aspectran.utils.ResourceUtils;
+import com.aspectran.utils.apon.test.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link BinaryAponWriter} and {@link BinaryAponReader}.
+ */
+class BinaryAponReadWriteTest {
+
+    @Test
+    void testFileRoundTrip() throws IOException {
+        File inputFile = ResourceUtils.getResourceAsFile("config/apon/apon-test.apon");
+        Parameters original = AponReader.read(inputFile);
+
+        byte[] bytes = BinaryAponWriter.toByteArray(original);
+        Parameters decoded = BinaryAponReader.read(bytes);
+
+        assertEquals(original.toString(), decoded.toString());
+        assertEquals(new AponWriter().enableValueTypeHints(true).write(original).toString(),
+                new AponWriter().enableValueTypeHints(true).write(decoded).toString());
+    }
+
+    @Test
+    void testValueTypes() throws IOException {
+        String apon = """
+                string: hello
+                int: 123
+                negative: -7
+                long: 9999999999
+                double: 3.14
+                float(float): 1.5
+                bool: true
+                nothing: null
+                text(text): (
+                  |line 1
+                  |line 2
+                )
+                hinted(long): 5
+                array: [
+                  1
+                  2
+                  3
+                ]
+                repeated: a
+                repeated: b
+                empty: []
+                nested: {
+                  name: inner
+                  items: [
+                    {
+                      id: 1
+                    }
+                    {
+                      id: 2
+                    }
+                  ]
+                }
+                """;
+        Parameters original = AponReader.read(apon);
+        Parameters decoded = BinaryAponReader.read(BinaryAponWriter.toByteArray(original));
+
+        assertEquals("hello", decoded.getString("string"));
+        assertEquals(123, decoded.getValue("int"));
+        assertEquals(-7, decoded.getValue("negative"));
+        assertEquals(9999999999L, decoded.getValue("long"));
+        assertEquals(3.14, decoded.getValue("double"));
+        assertEquals(1.5f, decoded.getValue("float"));
+        assertEquals(Boolean.TRUE, decoded.getValue("bool"));
+        assertTrue(decoded.isAssigned("nothing"));
+        assertNull(decoded.getValue("nothing"));
+        assertEquals("line 1\nline 2", decoded.getString("text"));
+        assertEquals(ValueType.TEXT, decoded.getParameter("text").getValueType());
+        assertEquals(5L, decoded.getValue("hinted"));
+        assertTrue(decoded.getParameter("hinted").isValueTypeHinted());
+        assertEquals(List.of(1, 2, 3), decoded.getValueList("array"));
+        assertTrue(decoded.getParameter("array").isBracketed());
+        assertEquals(List.of("a", "b"), decoded.getValueList("repeated"));
+        assertFalse(decoded.getParameter("repeated").isBracketed());
+        assertTrue(decoded.isAssigned("empty"));
+        assertTrue(decoded.getValueList("empty").isEmpty());
+        Parameters nested = decoded.getParameters("nested");
+        assertEquals("inner", nested.getString("name"));
+        assertEquals(2, nested.getParametersList("items").size());
+        assertEquals(2, nested.getParametersList("items").get(1).getInt("id"));
+
+        assertEquals(original.toString(), decoded.toString());
+    }
+
+    @Test
+    void testArrayParameters() throws IOException {
+        ArrayParameters original = new ArrayParameters("""
+                [
+                  {
+                    name: a
+                  }
+                  {
+                    name: b
+                  }
+                ]
+                """);
+        ArrayParameters decoded = BinaryAponReader.read(BinaryAponWriter.toByteArray(original), ArrayParameters.class);
+        assertEquals(2, decoded.getParametersList().size());
+        assertEquals("b", decoded.getParametersList().get(1).getString("name"));
+        assertEquals(original.toString(), decoded.toString());
+    }
+
+    @Test
+    void testFixedStructure() throws IOException {
+        Customer customer = new Customer();
+        customer.putValue(Customer.id, "guest");
+        customer.putValue(Customer.age, 20);
+        customer.putValue(Customer.approved, true);
+        customer.putValue(Customer.episode, "first\nsecond");
+
+        Customer decoded = BinaryAponReader.read(BinaryAponWriter.toByteArray(customer), Customer.class);
+        assertEquals("guest", decoded.getString(Customer.id));
+        assertEquals(20, decoded.getInt(Customer.age));
+        assertTrue(decoded.getBoolean(Customer.approved));
+        assertEquals("first\nsecond", decoded.getString(Customer.episode));
+
+        Parameters unknown = new VariableParameters();
+        unknown.putValue("unknown", 1);
+        byte[] bytes = BinaryAponWriter.toByteArray(unknown);
+        assertThrows(UnknownParameterException.class, () -> BinaryAponReader.read(bytes, Customer.class));
+    }
+
+    @Test
+    void testStreamingMultipleDocuments() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryAponWriter writer = new BinaryAponWriter(out)) {
+            for (int i = 0; i < 3; i++) {
+                Parameters parameters = new VariableParameters();
+                parameters.putValue("index", i);
+                parameters.putValue("payload", "x".repeat(10000 * i));
+                writer.write(parameters);
+            }
+        }
+        try (BinaryAponReader reader = new BinaryAponReader(new ByteArrayInputStream(out.toByteArray()))) {
+            for (int i = 0; i < 3; i++) {
+                Parameters parameters = reader.read();
+                assertEquals(i, parameters.getInt("index"));
+                assertEquals(10000 * i, parameters.getString("payload").length());
+            }
+        }
+    }
+
+    @Test
+    void testKeysAreInterned() {
+        ArrayParameters array = new ArrayParameters();
+        for (int i = 0; i < 10; i++) {
+            Parameters item = new VariableParameters();
+            item.putValue("customerName", "name" + i);
+            array.addValue(item);
+        }
+        byte[] bytes = BinaryAponWriter.toByteArray(array);
+        String content = new String(bytes, StandardCharsets.ISO_8859_1);
+        assertEquals(content.indexOf("customerName"), content.lastIndexOf("customerName"));
+    }
+
+    @Test
+    void testMalformedDocument() {
+        assertThrows(MalformedAponException.class,
+                () -> BinaryAponReader.read("not binary".getBytes(StandardCharsets.US_ASCII)));
+
+        Parameters parameters = new VariableParameters();
+        parameters.putValue("name", "value");
+        byte[] bytes = BinaryAponWriter.toByteArray(parameters);
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 2);
+        assertThrows(MalformedAponException.class, () -> BinaryAponReader.read(truncated));
+    }
+
+    @Test
+    void testStableTypeAndStyleCodes() throws IOException {
+        // value types and render styles are written as fixed codes, not enum ordinals
+        byte[] bytes = {
+                'A', 'P', 'B', 1,
+                0x02, 2, // block with the COMPACT render style
+                1, // one parameter
+                0, 1, 'n', // literal name "n"
+                0x09, 2, // hinted and assigned, of type INT
+                2, 14 // int value 7
+        };
+        Parameters decoded = BinaryAponReader.read(bytes);
+        assertEquals(AponRenderStyle.COMPACT, decoded.getRenderStyle());
+        assertEquals(ValueType.INT, decoded.getParameter("n").getValueType());
+        assertEquals(7, decoded.getInt("n"));
+        assertArrayEquals(bytes, BinaryAponWriter.toByteArray(decoded));
+    }
+
+    @Test
+    void testInvalidCodesAndReferences() {
+        byte[] invalidValueType = { 'A', 'P', 'B', 1, 0, 1, 0, 1, 'n', 0x08, 99 };
+        assertThrows(MalformedAponException.class, () -> BinaryAponReader.read(invalidValueType));
+
+        byte[] invalidRenderStyle = { 'A', 'P', 'B', 1, 0x02, 99, 0 };
+        assertThrows(MalformedAponException.class, () -> BinaryAponReader.read(invalidRenderStyle));
+
+        // a key reference whose variable-length integer overflows to a negative value
+        byte[] negativeKeyReference = { 'A', 'P', 'B', 1, 0, 1, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x0F };
+        assertThrows(MalformedAponException.class, () -> BinaryAponReader.read(negativeKeyReference));
+    }
+
+    @Test
+    void testDecodedValueTypesAreCompatibleWithText() throws IOException {
+        Parameters original = new VariableParameters();
+        original.putValue("count", 1L);
+        original.putValue("ratio", 0.5f);
+        Parameters decoded = BinaryAponReader.read(BinaryAponWriter.toByteArray(original));
+        assertInstanceOf(Long.class, decoded.getValue("count"));
+        assertInstanceOf(Float.class, decoded.getValue("ratio"));
+        assertEquals(ValueType.LONG, decoded.getParameter("count").getValueType());
+        assertEquals(ValueType.FLOAT, decoded.getParameter("ratio").getValueType());
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for {@link JsonBinder}.
+ */
+class JsonBinderTest {
+
+    @Test
+    void bindBean() throws IOException {
+        String json = """
+                {
+                  "name": "Jane",
+                  "age": 31,
+                  "active": true,
+                  "score": 12.5,
+                  "unknown": {"nested": [1, 2, 3]},
+                  "role": "ADMIN",
+                  "birthday": "1994-05-17",
+                  "tags": ["a", "b", "a"],
+                  "codes": [3, 5, 8],
+                  "address": {"city": "Seoul", "zipCode": "04524"},
+                  "addresses": [{"city": "Busan", "zipCode": null}],
+                  "attributes": {"x": 1, "y": [true, "z"]},
+                  "balance": "1000.25"
+                }
+                """;
+        Member member = JsonBinder.bind(json, Member.class);
+        assertEquals("Jane", member.getName());
+        assertEquals(31, member.getAge());
+        assertEquals(true, member.isActive());
+        assertEquals(12.5, member.getScore());
+        assertEquals(Role.ADMIN, member.getRole());
+        assertEquals(LocalDate.of(1994, 5, 17), member.getBirthday());
+        assertEquals(Set.of("a", "b"), member.getTags());
+        assertArrayEquals(new int[] {3, 5, 8}, member.getCodes());
+        assertEquals(new Address("Seoul", "04524"), member.getAddress());
+        assertEquals(List.of(new Address("Busan", null)), member.getAddresses());
+        assertEquals(Map.of("x", 1, "y", List.of(true, "z")), member.getAttributes());
+        assertEquals(new BigDecimal("1000.25"), member.getBalance());
+    }
+
+    @Test
+    void bindRecordWithMissingComponents() throws IOException {
+        Point point = JsonBinder.bind(new StringReader("{\"y\": 7, \"label\": null}"), Point.class);
+        assertEquals(new Point(0, 7, null), point);
+    }
+
+    @Test
+    void bindNull() throws IOException {
+        assertNull(JsonBinder.bind("null", Member.class));
+    }
+
+    @Test
+    void bindInvalidValue() {
+        assertThrows(MalformedJsonException.class, () -> JsonBinder.bind("{\"age\": \"abc\"}", Member.class));
+        assertThrows(MalformedJsonException.class, () -> JsonBinder.bind("{\"role\": \"GUEST\"}", Member.class));
+    }
+
+    public enum Role {
+        USER, ADMIN
+    }
+
+    public record Address(String city, String zipCode) {
+    }
+
+    public record Point(int x, int y, String label) {
+    }
+
+    public static class Member {
+
+        private String name;
+
+        private int age;
+
+        private boolean active;
+
+        private double score;
+
+        private Role role;
+
+        private LocalDate birthday;
+
+        private Set<String> tags;
+
+        private int[] codes;
+
+        private Address address;
+
+        private List<Address> addresses;
+
+        private Map<String, Object> attributes;
+
+        private BigDecimal balance;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+
+        public void setRole(Role role) {
+            this.role = role;
+        }
+
+        public LocalDate getBirthday() {
+            return birthday;
+        }
+
+        public void setBirthday(LocalDate birthday) {
+            this.birthday = birthday;
+        }
+
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(Set<String> tags) {
+            this.tags = tags;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public void setCodes(int[] codes) {
+            this.codes = codes;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        public List<Address> getAddresses() {
+            return addresses;
+        }
+
+        public void setAddresses(List<Address> addresses) {
+            this.addresses = addresses;
+        }
+
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        public void setAttributes(Map<String, Object> attributes) {
+            this.attributes = attributes;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public void setBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+    }
+
+}
@@ -21,6 +21,7 @@ import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -99,4 +100,28 @@ class JsonReaderTest {
         });
     }
 
+    @Test
+    void testRepeatedNamesAreShared() throws IOException {
+        String json = "[{\"id\":1,\"na\\u006De\":\"a\"},{\"id\":2,\"name\":\"b\"}]";
+        JsonReader reader = new JsonReader(json);
+        reader.beginArray();
+        reader.beginObject();
+        String id1 = reader.nextName();
+        reader.nextInt();
+        String name1 = reader.nextName();
+        reader.nextString();
+        reader.endObject();
+        reader.beginObject();
+        String id2 = reader.nextName();
+        reader.nextInt();
+        String name2 = reader.nextName();
+        reader.nextString();
+        reader.endObject();
+        reader.endArray();
+        assertEquals("id", id1);
+        assertSame(id1, id2);
+        assertEquals("name", name1);
+        assertSame(name1, name2);
+    }
+
 }
@@ -27,9 +27,12 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -322,6 +325,37 @@ class JsonWriterTest {
         assertEquals("{\n  \"amount\": \"123.46\"\n}", writer.toString().trim());
     }
 
+    @Test
+    void testWriteStreamAndCloseableIterator() throws IOException {
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        Stream<String> stream = Stream.of("a", "b").onClose(() -> streamClosed.set(true));
+        String json = new JsonWriter(new StringWriter()).prettyPrint(false).value(stream).toString();
+        assertEquals("[\"a\",\"b\"]", json);
+        assertTrue(streamClosed.get());
+
+        AtomicBoolean iteratorClosed = new AtomicBoolean();
+        Iterator<Integer> source = List.of(1, 2, 3).iterator();
+        class CloseableIterator implements Iterator<Integer>, AutoCloseable {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+            @Override
+            public Integer next() {
+                return source.next();
+            }
+            @Override
+            public void close() {
+                iteratorClosed.set(true);
+            }
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("numbers", new CloseableIterator());
+        json = new JsonWriter(new StringWriter()).prettyPrint(false).value(map).toString();
+        assertEquals("{\"numbers\":[1,2,3]}", json);
+        assertTrue(iteratorClosed.get());
+    }
+
     @Test
     void testCustomSerializerForUserObject() throws IOException {
         class User {
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link ReplicaPool}.
+ */
+class ReplicaPoolTest {
+
+    @Test
+    void testRoundRobin() {
+        ReplicaPool pool = new ReplicaPool("r1", "r2", "r3");
+        assertEquals("r1", pool.select());
+        assertEquals("r2", pool.select());
+        assertEquals("r3", pool.select());
+        assertEquals("r1", pool.select());
+        assertEquals(2, pool.getInFlight("r1"));
+        pool.release("r1");
+        pool.release("r1");
+        pool.release("r1");
+        assertEquals(0, pool.getInFlight("r1"));
+    }
+
+    @Test
+    void testLeastInFlight() {
+        ReplicaPool pool = new ReplicaPool("r1", "r2", "r3");
+        pool.setBalancingPolicy(BalancingPolicy.LEAST_IN_FLIGHT);
+        String first = pool.select();
+        String second = pool.select();
+        String third = pool.select();
+        assertEquals(3, List.of(first, second, third).stream().distinct().count());
+        pool.release("r2");
+        assertEquals("r2", pool.select());
+    }
+
+    @Test
+    void testExcluded() {
+        ReplicaPool pool = new ReplicaPool("r1", "r2");
+        assertEquals("r2", pool.select(List.of("r1")));
+        assertNull(pool.select(List.of("r1", "r2")));
+    }
+
+    @Test
+    void testEjectAndProbe() throws InterruptedException {
+        ReplicaPool pool = new ReplicaPool("r1", "r2");
+        pool.setFailureThreshold(2);
+        pool.setRetryInterval(50L);
+
+        pool.markFailure("r1");
+        assertTrue(pool.isAvailable("r1"));
+        pool.markFailure("r1");
+        assertFalse(pool.isAvailable("r1"));
+        for (int i = 0; i < 4; i++) {
+            assertEquals("r2", pool.select());
+        }
+
+        Thread.sleep(100L);
+        assertTrue(pool.isAvailable("r1"));
+        String probe = pool.select(List.of("r2"));
+        assertEquals("r1", probe);
+        // Only one caller probes an ejected replica at a time
+        assertFalse(pool.isAvailable("r1"));
+        assertEquals("r2", pool.select());
+
+        // A failed probe ejects the replica again at once
+        pool.markFailure("r1");
+        assertFalse(pool.isAvailable("r1"));
+
+        Thread.sleep(100L);
+        assertEquals("r1", pool.select(List.of("r2")));
+        pool.markSuccess("r1");
+        assertTrue(pool.isAvailable("r1"));
+    }
+
+    @Test
+    void testAllEjected() {
+        ReplicaPool pool = new ReplicaPool("r1", "r2");
+        pool.setFailureThreshold(1);
+        pool.markFailure("r1");
+        pool.markFailure("r2");
+        // Fails open to the replica that is due for a retry the soonest
+        assertEquals("r1", pool.select());
+    }
+
+    @Test
+    void testDuplicateNames() {
+        assertThrows(IllegalArgumentException.class, () -> new ReplicaPool("r1", "r1"));
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link ReplicaRouter}.
+ */
+class ReplicaRouterTest {
+
+    @Test
+    void testFailover() {
+        ReplicaRouter router = new ReplicaRouter("r1", "r2");
+        router.setFailureThreshold(1);
+        router.setRetryInterval(60000L);
+        TestConnector connector = new TestConnector(Set.of("r1"));
+        String connected = router.route(connector);
+        assertEquals("r2", connected);
+        assertEquals(List.of("r1"), connector.discarded);
+        ReplicaPool pool = router.getReplicaPool();
+        assertFalse(pool.isAvailable("r1"));
+        assertTrue(pool.isAvailable("r2"));
+        assertEquals(0, pool.getInFlight("r1"));
+        assertEquals(1, pool.getInFlight("r2"));
+        connector.callbacks.get("r2").run();
+        assertEquals(0, pool.getInFlight("r2"));
+    }
+
+    @Test
+    void testNoReplicaConnected() {
+        ReplicaRouter router = new ReplicaRouter("r1", "r2");
+        TestConnector connector = new TestConnector(Set.of("r1", "r2"));
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> router.route(connector));
+        assertTrue(e.getMessage().contains("r1"));
+        assertTrue(e.getMessage().contains("r2"));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertTrue(e.getCause().getMessage().startsWith("Connection refused"));
+        assertEquals(0, router.getReplicaPool().getInFlight("r1"));
+        assertEquals(0, router.getReplicaPool().getInFlight("r2"));
+    }
+
+    @Test
+    void testObtainFailure() {
+        ReplicaRouter router = new ReplicaRouter("r1");
+        RuntimeException cause = new UnsupportedOperationException();
+        TestConnector connector = new TestConnector(Set.of()) {
+            @Override
+            public String obtain(String name) {
+                throw cause;
+            }
+        };
+        assertSame(cause, assertThrows(UnsupportedOperationException.class, () -> router.route(connector)));
+        assertEquals(0, router.getReplicaPool().getInFlight("r1"));
+        assertTrue(router.getReplicaPool().isAvailable("r1"));
+    }
+
+    @Test
+    void testUnknownBalancingPolicy() {
+        ReplicaRouter router = new ReplicaRouter("r1");
+        router.setBalancingPolicyAsString("least_in_flight");
+        assertEquals(BalancingPolicy.LEAST_IN_FLIGHT, router.getReplicaPool().getBalancingPolicy());
+        assertThrows(IllegalArgumentException.class, () -> router.setBalancingPolicyAsString("random"));
+    }
+
+    private static class TestConnector implements ReplicaRouter.Connector<String> {
+
+        private final Set<String> refused;
+
+        private final List<String> discarded = new ArrayList<>();
+
+        private final Map<String, Runnable> callbacks = new HashMap<>();
+
+        TestConnector(Set<String> refused) {
+            this.refused = refused;
+        }
+
+        @Override
+        public String obtain(String name) {
+            return name;
+        }
+
+        @Override
+        public void connect(String resource) {
+            if (refused.contains(resource)) {
+                throw new IllegalStateException("Connection refused: " + resource);
+            }
+        }
+
+        @Override
+        public void discard(String resource) {
+            discarded.add(resource);
+        }
+
+        @Override
+        public void onRelease(String resource, Runnable callback) {
+            callbacks.put(resource, callback);
+        }
+
+    }
+
+}
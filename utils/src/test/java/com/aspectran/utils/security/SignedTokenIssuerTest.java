@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.security;
+
+import com.aspectran.utils.PBEncryptionUtils;
+import com.aspectran.utils.apon.Parameters;
+import com.aspectran.utils.apon.VariableParameters;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for {@link SignedTokenIssuer}.
+ */
+class SignedTokenIssuerTest {
+
+    private static final String DEFAULT_PASSWORD = "encryption-password-for-test";
+
+    private static final String CUSTOM_SECRET = "custom-signing-secret";
+
+    @BeforeAll
+    static void passwordSetting() {
+        System.setProperty(PBEncryptionUtils.ENCRYPTION_PASSWORD_PROPERTY, DEFAULT_PASSWORD);
+        PBEncryptionUtils.reload();
+    }
+
+    @AfterAll
+    static void restoreProperties() {
+        System.clearProperty(PBEncryptionUtils.ENCRYPTION_PASSWORD_PROPERTY);
+        PBEncryptionUtils.reload();
+    }
+
+    @Test
+    void testSignedToken() throws InvalidPBTokenException {
+        Parameters params = new VariableParameters();
+        params.putValue("p1", "v1");
+        params.putValue("p2", "값");
+        String token = SignedTokenIssuer.createToken(params);
+        Parameters params2 = SignedTokenIssuer.parseToken(token);
+        assertEquals(params.toString(), params2.toString());
+    }
+
+    @Test
+    void testSignedTokenWithCustomSecret() throws InvalidPBTokenException {
+        Parameters params = new VariableParameters();
+        params.putValue("p1", "v1");
+        String token = SignedTokenIssuer.createToken(params, 1000L, CUSTOM_SECRET);
+        Parameters params2 = SignedTokenIssuer.parseToken(token, CUSTOM_SECRET);
+        assertEquals(params.toString(), params2.toString());
+        assertThrows(InvalidPBTokenException.class, () -> SignedTokenIssuer.parseToken(token));
+    }
+
+    @Test
+    void testTamperedToken() {
+        Parameters params = new VariableParameters();
+        params.putValue("role", "user");
+        String token = SignedTokenIssuer.createToken(params, CUSTOM_SECRET);
+
+        Parameters forged = new VariableParameters();
+        forged.putValue("role", "admin");
+        String forgedToken = SignedTokenIssuer.createToken(forged, CUSTOM_SECRET);
+        String tampered = forgedToken.substring(0, forgedToken.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertThrows(InvalidPBTokenException.class, () -> SignedTokenIssuer.validate(tampered, CUSTOM_SECRET));
+        assertThrows(InvalidPBTokenException.class, () -> SignedTokenIssuer.validate("malformed", CUSTOM_SECRET));
+    }
+
+    @Test
+    void testSignedTokenExpiration() throws InterruptedException {
+        Parameters params = new VariableParameters();
+        params.putValue("p1", "v1");
+        String token = SignedTokenIssuer.createToken(params, 100L);
+        Thread.sleep(200L);
+        assertThrows(ExpiredPBTokenException.class, () -> SignedTokenIssuer.parseToken(token));
+    }
+
+}
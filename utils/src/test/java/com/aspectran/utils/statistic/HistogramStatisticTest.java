@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.statistic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link HistogramStatistic}.
+ */
+class HistogramStatisticTest {
+
+    @Test
+    void testBucketBoundaries() {
+        for (int precision = 1; precision <= 8; precision++) {
+            int lastIndex = -1;
+            for (long value : new long[] {0L, 1L, 7L, 8L, 9L, 15L, 16L, 1000L, 123456789L, Long.MAX_VALUE}) {
+                int index = HistogramStatistic.bucketIndex(value, precision);
+                assertTrue(index >= lastIndex);
+                assertTrue(HistogramStatistic.lowestValue(index, precision) <= value);
+                assertTrue(HistogramStatistic.highestValue(index, precision) >= value);
+                lastIndex = index;
+            }
+            assertEquals((64 - precision) * (1 << precision) - 1,
+                    HistogramStatistic.bucketIndex(Long.MAX_VALUE, precision));
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        HistogramStatistic histogram = new HistogramStatistic();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500500, snapshot.getTotal());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(500.5, snapshot.getMean());
+        assertWithinPrecision(500, snapshot.getValueAtPercentile(50.0));
+        assertWithinPrecision(990, snapshot.getValueAtPercentile(99.0));
+        assertEquals(1000, snapshot.getValueAtPercentile(100.0));
+        assertEquals(1, snapshot.getValueAtPercentile(0.0));
+        assertEquals(7, snapshot.getCountAtOrBelow(7));
+        assertEquals(1000, snapshot.getCountAtOrBelow(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testSnapshotAndReset() {
+        HistogramStatistic histogram = new HistogramStatistic();
+        histogram.record(10);
+        histogram.record(-5);
+        HistogramSnapshot snapshot = histogram.snapshotAndReset();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(10, snapshot.getMax());
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(99.0));
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        HistogramStatistic histogram = new HistogramStatistic();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80000, histogram.getCount());
+        assertEquals(80000, histogram.snapshot().getCount());
+        assertEquals(9999, histogram.getMax());
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        double error = Math.abs(actual - expected) / (double)expected;
+        assertTrue(error <= 1.0 / (1 << HistogramStatistic.DEFAULT_PRECISION),
+                "expected about " + expected + " but was " + actual);
+    }
+
+}
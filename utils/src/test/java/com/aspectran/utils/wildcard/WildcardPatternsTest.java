@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.utils.wildcard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link WildcardPatterns}.
+ * <p>The compiled automaton is checked against {@link WildcardEngine}, which
+ * tries each pattern in turn, for randomly generated patterns and inputs.</p>
+ */
+class WildcardPatternsTest {
+
+    private static final String[] PATTERN_PARTS = {"a", "b", "/", ".", "*", "**", "?", "+", "\\*", "\\/"};
+
+    private static final String[] INPUT_PARTS = {"a", "b", "/", ".", "*", "ab", "//"};
+
+    @Test
+    void testMatchIndex() {
+        WildcardPatterns patterns = WildcardPatterns.of(new String[] {
+                "/static/**", "/**/*.json", "/users/*", "/users/+/edit"}, '/');
+        assertEquals(0, patterns.matchIndex("/static/css/site.css"));
+        assertEquals(1, patterns.matchIndex("/users/1.json"));
+        assertEquals(2, patterns.matchIndex("/users/1"));
+        assertEquals(3, patterns.matchIndex("/users/1/edit"));
+        assertEquals(-1, patterns.matchIndex("/users/12/edit"));
+        assertSame(patterns.getPatterns()[2], patterns.match("/users/abc"));
+        assertNull(patterns.match("/orders/1"));
+        assertFalse(patterns.matches(null));
+    }
+
+    @Test
+    void testPathologicalPattern() {
+        WildcardPatterns patterns = WildcardPatterns.of(new String[] {"*a*a*a*a*a*a*a*a*a*b"});
+        String input = "a".repeat(5000);
+        assertFalse(patterns.matches(input));
+        assertTrue(patterns.matches(input + "b"));
+    }
+
+    @Test
+    void testDifferentialWithSeparator() {
+        differential('/', 1L);
+    }
+
+    @Test
+    void testDifferentialWithDotSeparator() {
+        differential('.', 2L);
+    }
+
+    @Test
+    void testDifferentialWithoutSeparator() {
+        differential(Character.MIN_VALUE, 3L);
+    }
+
+    private static void differential(char separator, long seed) {
+        Random random = new Random(seed);
+        for (int round = 0; round < 2000; round++) {
+            String[] patternStrings = new String[1 + random.nextInt(4)];
+            for (int i = 0; i < patternStrings.length; i++) {
+                patternStrings[i] = randomString(random, PATTERN_PARTS, 1 + random.nextInt(7));
+            }
+            WildcardPatterns patterns = WildcardPatterns.of(patternStrings, separator);
+            WildcardPattern[] compiled = patterns.getPatterns();
+            for (int k = 0; k < 30; k++) {
+                String input = (k == 0 ? null : randomString(random, INPUT_PARTS, random.nextInt(8)));
+                int expected = -1;
+                for (int i = 0; i < compiled.length; i++) {
+                    if (WildcardEngine.match(compiled[i], input, null)) {
+                        expected = i;
+                        break;
+                    }
+                }
+                assertEquals(expected, patterns.matchIndex(input),
+                        () -> "patterns: " + String.join(" | ", patternStrings) + ", input: " + input);
+            }
+        }
+    }
+
+    private static String randomString(Random random, String[] parts, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(parts[random.nextInt(parts.length)]);
+        }
+        return sb.toString();
+    }
+
+}
@@ -30,6 +30,7 @@ import com.aspectran.utils.apon.Parameters;
 import com.aspectran.utils.apon.XmlToParameters;
 import com.aspectran.utils.io.CountingInputStream;
 import com.aspectran.utils.io.StreamReadLimitExceededException;
+import com.aspectran.utils.json.JsonBinder;
 import com.aspectran.web.adapter.WebRequestAdapter;
 import com.aspectran.web.support.http.MediaType;
 import org.jspecify.annotations.NonNull;
@@ -37,6 +38,7 @@ import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -175,6 +177,75 @@ public final class WebRequestBodyParser {
         }
     }
 
+    /**
+     * Binds a JSON request body read from the request's input stream directly to
+     * a new object of the specified type, without buffering the body as a string.
+     * The input stream is consumed. This method respects the maximum request size limit.
+     * @param requestAdapter the web request adapter
+     * @param requiredType the type of the object to bind to
+     * @param <T> the type of the object
+     * @return the bound object, or {@code null} if the body is empty or its JSON value is {@code null}
+     * @throws RequestParseException if reading or binding fails
+     * @since 9.6.5
+     */
+    @Nullable
+    public static <T> T parseBodyAsObject(@NonNull WebRequestAdapter requestAdapter, Class<T> requiredType)
+            throws RequestParseException {
+        Charset encoding = determineEncoding(requestAdapter);
+        long maxSize = requestAdapter.getMaxRequestSize();
+        try {
+            InputStream inputStream = requestAdapter.getInputStream();
+            if (inputStream == null) {
+                return null;
+            }
+            InputStream in = (maxSize > 0L ? new CountingInputStream(inputStream, maxSize) : inputStream);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, encoding), BUFFER_SIZE);
+            reader.mark(1);
+            if (reader.read() == -1) {
+                return null;
+            }
+            reader.reset();
+            return JsonBinder.bind(reader, requiredType);
+        } catch (StreamReadLimitExceededException e) {
+            throw new SizeLimitExceededException(e.getMessage(), e.getCount(), e.getLimit());
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            throw new RequestParseException("Failed to bind request body of JSON format to required type [" +
+                    requiredType.getName() + "]", e);
+        }
+    }
+
+    /**
+     * Binds the given JSON request body directly to a new object of the specified type.
+     * @param body the request body
+     * @param requiredType the type of the object to bind to
+     * @param <T> the type of the object
+     * @return the bound object, or {@code null} if the body is empty or its JSON value is {@code null}
+     * @throws RequestParseException if binding fails
+     * @since 9.6.5
+     */
+    @Nullable
+    public static <T> T parseBodyAsObject(String body, Class<T> requiredType) throws RequestParseException {
+        if (StringUtils.isEmpty(body)) {
+            return null;
+        }
+        try {
+            return JsonBinder.bind(body, requiredType);
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            throw new RequestParseException("Failed to bind request body of JSON format to required type [" +
+                    requiredType.getName() + "]", e);
+        }
+    }
+
+    /**
+     * Returns whether the request's content type is {@code application/json}.
+     * @param mediaType the media type of the request
+     * @return true if the request body is JSON, false otherwise
+     * @since 9.6.5
+     */
+    public static boolean isJson(@Nullable MediaType mediaType) {
+        return (mediaType != null && MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType));
+    }
+
     /**
      * Parses a URL-encoded request body, adds the parsed parameters to the
      * request adapter, and then clears the body from the adapter.
@@ -41,6 +41,8 @@ public abstract class AbstractWebRequestAdapter extends AbstractRequestAdapter i
 
     private boolean bodyObtained;
 
+    private boolean bodyConsumed;
+
     /**
      * Creates a new {@code AbstractWebRequestAdapter}.
      * @param requestMethod the request method
@@ -99,4 +101,28 @@ public abstract class AbstractWebRequestAdapter extends AbstractRequestAdapter i
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>This implementation binds a JSON body with {@link WebRequestBodyParser}.
+     * If the body has already been obtained by {@link #getBody()}, the stored string
+     * is bound; otherwise the body is bound straight from the decoded input stream
+     * and is no longer available afterwards, neither from {@link #getBody()} nor
+     * for binding again.</p>
+     */
+    @Override
+    public <T> T getBodyAsObject(Class<T> requiredType) throws RequestParseException {
+        if (!WebRequestBodyParser.isJson(getMediaType())) {
+            return null;
+        }
+        if (bodyConsumed) {
+            throw new RequestParseException("Request body has already been consumed by binding it to an object");
+        }
+        if (bodyObtained) {
+            return WebRequestBodyParser.parseBodyAsObject(super.getBody(), requiredType);
+        }
+        bodyObtained = true;
+        bodyConsumed = true;
+        return WebRequestBodyParser.parseBodyAsObject(this, requiredType);
+    }
+
 }
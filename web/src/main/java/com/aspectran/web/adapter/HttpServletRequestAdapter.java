@@ -28,7 +28,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.security.Principal;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -79,6 +81,49 @@ public class HttpServletRequestAdapter extends AbstractWebRequestAdapter {
         return super.getHeaderMap();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Until the header map has been populated, this implementation reads
+     * the header directly from the underlying {@link HttpServletRequest}.</p>
+     */
+    @Override
+    public String getHeader(String name) {
+        if (!headersObtained) {
+            return getHttpServletRequest().getHeader(name);
+        }
+        return super.getHeader(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Until the header map has been populated, this implementation reads
+     * the header directly from the underlying {@link HttpServletRequest}.</p>
+     */
+    @Override
+    public List<String> getHeaderValues(String name) {
+        if (!headersObtained) {
+            Enumeration<String> values = getHttpServletRequest().getHeaders(name);
+            if (values == null || !values.hasMoreElements()) {
+                return null;
+            }
+            return Collections.list(values);
+        }
+        return super.getHeaderValues(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Until the header map has been populated, this implementation reads
+     * the header directly from the underlying {@link HttpServletRequest}.</p>
+     */
+    @Override
+    public boolean containsHeader(String name) {
+        if (!headersObtained) {
+            return (getHttpServletRequest().getHeader(name) != null);
+        }
+        return super.containsHeader(name);
+    }
+
     /**
      * {@inheritDoc}
      * <p>Delegates to {@link HttpServletRequest#getCharacterEncoding()}.</p>
@@ -136,9 +181,11 @@ public class HttpServletRequestAdapter extends AbstractWebRequestAdapter {
         requestAttributeMap.setRequest(request);
         setAttributeMap(requestAttributeMap);
 
+        // The container's parameter map is read-only, so it is read through
+        // and only copied once parameters are modified
         Map<String, String[]> parameters = request.getParameterMap();
         if (!parameters.isEmpty()) {
-            getParameterMap().putAll(parameters);
+            setParameterSource(parameters);
         }
 
         String contentType = request.getContentType();
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.servlet;
+
+import com.aspectran.core.component.session.SessionManager;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.metrics.OpenMetricsExporter;
+import com.aspectran.core.context.metrics.OpenMetricsWriter;
+import com.aspectran.utils.StringUtils;
+import com.aspectran.web.service.WebService;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.UnavailableException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Serial;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A servlet that serves the metrics of the root {@link WebService} in the OpenMetrics
+ * text format, so that they can be scraped by Prometheus and compatible monitoring systems.
+ * <p>The servlet must be initialized after the root {@code WebService}, which is usually
+ * created by {@link com.aspectran.web.servlet.listener.WebServiceListener}. The following
+ * init-params are supported:</p>
+ * <ul>
+ *   <li>{@code sessionManagers}: a comma-separated list of the IDs of beans implementing
+ *       {@link SessionManager} whose statistics are to be exported</li>
+ *   <li>{@code jvmMetricsEnabled}: whether to export JVM metrics; defaults to {@code true}</li>
+ * </ul>
+ *
+ * @since 9.6.5
+ */
+public class OpenMetricsServlet extends HttpServlet {
+
+    @Serial
+    private static final long serialVersionUID = -4725180355924876104L;
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenMetricsServlet.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private transient OpenMetricsExporter exporter;
+
+    /**
+     * Instantiates a new {@code OpenMetricsServlet}.
+     */
+    public OpenMetricsServlet() {
+        super();
+    }
+
+    @Override
+    public void init() throws ServletException {
+        try {
+            ActivityContext context = WebService.findWebService(getServletContext()).getActivityContext();
+            OpenMetricsExporter exporter = new OpenMetricsExporter(context);
+            String jvmMetricsEnabled = getServletConfig().getInitParameter("jvmMetricsEnabled");
+            if (StringUtils.hasText(jvmMetricsEnabled)) {
+                exporter.setJvmMetricsEnabled(Boolean.parseBoolean(jvmMetricsEnabled.trim()));
+            }
+            String sessionManagers = getServletConfig().getInitParameter("sessionManagers");
+            if (StringUtils.hasText(sessionManagers)) {
+                for (String beanId : StringUtils.splitWithComma(sessionManagers)) {
+                    SessionManager sessionManager = context.getBeanRegistry().getBean(beanId);
+                    exporter.addSessionManager(sessionManager);
+                }
+            }
+            this.exporter = exporter;
+        } catch (Exception e) {
+            logger.error("Failed to initialize OpenMetricsServlet", e);
+            throw new UnavailableException(e.getMessage());
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse res) throws IOException {
+        res.setStatus(HttpServletResponse.SC_OK);
+        res.setContentType(OpenMetricsWriter.CONTENT_TYPE);
+        res.setHeader("Cache-Control", "no-store");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                res.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+        exporter.export(writer);
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.support.etag;
+
+import com.aspectran.utils.ToStringBuilder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the ETags generated by an {@link ETagInterceptor}.
+ * <p>Entries are keyed by the name of the translet and a cache key declared for it,
+ * such as a path variable or a version attribute, so that a conditional request can
+ * be answered without asking the {@link ETagTokenFactory} for the token again.
+ * When the cache is full, the least recently used entry is discarded. An entry can
+ * also expire after a given time to live; otherwise, it stays valid until it is
+ * evicted explicitly when the underlying resource changes.</p>
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 9.6.5
+ */
+public class ETagCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final int maxEntries;
+
+    private final Map<Key, Entry> entries;
+
+    private volatile long timeToLive;
+
+    /**
+     * Instantiates a new ETagCache with the default maximum number of entries.
+     */
+    public ETagCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Instantiates a new ETagCache.
+     * @param maxEntries the maximum number of entries
+     */
+    public ETagCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return (size() > ETagCache.this.maxEntries);
+            }
+        };
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the time in milliseconds after which a cached ETag expires.
+     * @return the time to live in milliseconds; zero or less if entries never expire
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the time in milliseconds after which a cached ETag expires.
+     * @param timeToLive the time to live in milliseconds; zero or less if entries never expire
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the cached ETag for the given translet and cache key.
+     * @param transletName the name of the translet
+     * @param cacheKey the cache key
+     * @return the cached ETag, or {@code null} if there is none or it has expired
+     */
+    @Nullable
+    public String get(String transletName, String cacheKey) {
+        Key key = new Key(transletName, cacheKey);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiryTime > 0L && entry.expiryTime <= System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.eTag;
+        }
+    }
+
+    /**
+     * Caches the ETag for the given translet and cache key.
+     * @param transletName the name of the translet
+     * @param cacheKey the cache key
+     * @param eTag the ETag to cache
+     */
+    public void put(String transletName, String cacheKey, @NonNull String eTag) {
+        long ttl = timeToLive;
+        long expiryTime = (ttl > 0L ? System.currentTimeMillis() + ttl : 0L);
+        Key key = new Key(transletName, cacheKey);
+        synchronized (entries) {
+            entries.put(key, new Entry(eTag, expiryTime));
+        }
+    }
+
+    /**
+     * Removes the cached ETag for the given translet and cache key.
+     * @param transletName the name of the translet
+     * @param cacheKey the cache key
+     */
+    public void evict(String transletName, String cacheKey) {
+        Key key = new Key(transletName, cacheKey);
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes all cached ETags for the given translet.
+     * @param transletName the name of the translet
+     */
+    public void evict(String transletName) {
+        synchronized (entries) {
+            Iterator<Key> it = entries.keySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().transletName().equals(transletName)) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached ETags.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of cached ETags.
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("maxEntries", maxEntries);
+        tsb.append("timeToLive", timeToLive);
+        tsb.append("size", size());
+        return tsb.toString();
+    }
+
+    private record Key(String transletName, String cacheKey) {
+    }
+
+    private record Entry(String eTag, long expiryTime) {
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.support.etag;
+
+import com.aspectran.core.activity.Translet;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A strategy for resolving the key under which the ETag of the current request
+ * is cached in an {@link ETagCache}.
+ * <p>The key, together with the name of the translet, must identify the state of
+ * the resource, for example a path variable that names the resource or an attribute
+ * that carries its version.</p>
+ *
+ * @since 9.6.5
+ */
+@FunctionalInterface
+public interface ETagCacheKeyResolver {
+
+    /**
+     * Returns the cache key for the current request.
+     * @param translet the current translet
+     * @return the cache key, or {@code null} if the ETag of this request should not be cached
+     */
+    @Nullable
+    String resolveCacheKey(Translet translet);
+
+}
@@ -39,6 +39,13 @@ import java.util.regex.Pattern;
  * current resource state, it sends a {@code 304 Not Modified} response.
  * Otherwise, it computes and sets the {@code ETag} header on the response.
  * </p>
+ * <p>If an {@link ETagCache} and an {@link ETagCacheKeyResolver} are set, the generated
+ * ETag is cached under the name of the translet and a cache key resolved for the
+ * request, and later requests with
+ * the same key are validated against the cached ETag without asking the
+ * {@link ETagTokenFactory} for a token. When the interceptor runs as a before
+ * advice, a matching {@code If-None-Match} header is answered with
+ * {@code 304 Not Modified} before any action of the translet is executed.</p>
  *
  * @since 6.9.4
  */
@@ -53,10 +60,24 @@ public class ETagInterceptor {
      */
     private static final Pattern ETAG_HEADER_VALUE_PATTERN = Pattern.compile("\\*|\\s*((W/)?(\"[^\"]*\"))\\s*,?");
 
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
     private final ETagTokenFactory tokenFactory;
 
     private boolean writeWeakETag = false;
 
+    private boolean fastHash = false;
+
+    @Nullable
+    private ETagCache eTagCache;
+
+    @Nullable
+    private ETagCacheKeyResolver cacheKeyResolver;
+
     /**
      * Instantiates a new ETag interceptor.
      * @param tokenFactory the factory to generate the token for the ETag
@@ -82,6 +103,81 @@ public class ETagInterceptor {
         return this.writeWeakETag;
     }
 
+    /**
+     * Sets whether weak ETags should be generated with a fast non-cryptographic
+     * 64-bit hash (FNV-1a) instead of MD5. Strong ETags are always generated with MD5.
+     * @param fastHash {@code true} to hash the tokens of weak ETags with FNV-1a
+     * @since 9.6.5
+     */
+    public void setFastHash(boolean fastHash) {
+        this.fastHash = fastHash;
+    }
+
+    /**
+     * Returns whether weak ETags are generated with a fast non-cryptographic hash.
+     * @return {@code true} if the tokens of weak ETags are hashed with FNV-1a
+     * @since 9.6.5
+     */
+    public boolean isFastHash() {
+        return fastHash;
+    }
+
+    /**
+     * Sets the cache in which generated ETags are kept.
+     * ETags are only cached when a cache key resolver is also set, since a translet
+     * may serve different resources for different requests; without one, the ETag
+     * is generated for every request.
+     * @param eTagCache the ETag cache
+     * @since 9.6.5
+     */
+    public void setETagCache(@Nullable ETagCache eTagCache) {
+        this.eTagCache = eTagCache;
+    }
+
+    /**
+     * Returns the cache in which generated ETags are kept.
+     * @return the ETag cache, or {@code null} if ETags are not cached
+     * @since 9.6.5
+     */
+    @Nullable
+    public ETagCache getETagCache() {
+        return eTagCache;
+    }
+
+    /**
+     * Sets the strategy for resolving the key under which the ETag of a request is cached.
+     * The key must identify the resource served by the translet; if the resolver returns
+     * {@code null}, the ETag of that request is not cached.
+     * @param cacheKeyResolver the cache key resolver
+     * @since 9.6.5
+     */
+    public void setCacheKeyResolver(@Nullable ETagCacheKeyResolver cacheKeyResolver) {
+        this.cacheKeyResolver = cacheKeyResolver;
+    }
+
+    /**
+     * Sets the name of the request parameter or attribute whose value is used as the
+     * cache key, such as a path variable or a version attribute. The parameter is looked
+     * up first, then the attribute.
+     * @param cacheKeyName the name of the parameter or attribute
+     * @since 9.6.5
+     */
+    public void setCacheKeyName(String cacheKeyName) {
+        if (!StringUtils.hasText(cacheKeyName)) {
+            throw new IllegalArgumentException("cacheKeyName must not be null or empty");
+        }
+        this.cacheKeyResolver = translet -> {
+            String value = translet.getParameter(cacheKeyName);
+            if (value == null) {
+                Object attribute = translet.getAttribute(cacheKeyName);
+                if (attribute != null) {
+                    value = attribute.toString();
+                }
+            }
+            return value;
+        };
+    }
+
     /**
      * Intercepts the request to perform ETag validation and generation.
      * @param translet the current translet
@@ -96,9 +192,18 @@ public class ETagInterceptor {
         if (cacheControl == null || !cacheControl.contains(DIRECTIVE_NO_STORE)) {
             String token = response.getHeader(HttpHeaders.ETAG);
             if (!StringUtils.hasText(token)) {
-                token = generateETagToken(translet, writeWeakETag);
+                String cacheKey = resolveCacheKey(translet);
+                if (cacheKey != null) {
+                    token = eTagCache.get(translet.getTransletName(), cacheKey);
+                }
                 if (token == null) {
-                    return;
+                    token = generateETagToken(translet, writeWeakETag);
+                    if (token == null) {
+                        return;
+                    }
+                    if (cacheKey != null) {
+                        eTagCache.put(translet.getTransletName(), cacheKey, token);
+                    }
                 }
                 response.setHeader(HttpHeaders.ETAG, token);
             }
@@ -128,12 +233,41 @@ public class ETagInterceptor {
         if (isWeak) {
             builder.append("W/");
         }
-        builder.append("\"0");
-        builder.append(DigestUtils.md5DigestAsHex(token));
+        if (isWeak && fastHash) {
+            builder.append('"');
+            appendHex(builder, fnv1a64(token));
+        } else {
+            builder.append("\"0");
+            builder.append(DigestUtils.md5DigestAsHex(token));
+        }
         builder.append('"');
         return builder.toString();
     }
 
+    @Nullable
+    @NullUnmarked
+    private String resolveCacheKey(Translet translet) {
+        if (eTagCache == null || cacheKeyResolver == null) {
+            return null;
+        }
+        return cacheKeyResolver.resolveCacheKey(translet);
+    }
+
+    private static long fnv1a64(byte[] bytes) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static void appendHex(StringBuilder builder, long value) {
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            builder.append(HEX_CHARS[(int)(value >>> shift) & 0xf]);
+        }
+    }
+
     private boolean validateIfNoneMatch(RequestAdapter requestAdapter, String token) {
         List<String> ifNoneMatch = requestAdapter.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
         if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.support.multipart.streaming;
+
+import com.aspectran.core.activity.request.FileParameter;
+import com.aspectran.utils.FilenameUtils;
+import com.aspectran.utils.ToStringBuilder;
+import com.aspectran.utils.io.CountingInputStream;
+import org.apache.commons.fileupload.FileItemStream;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A {@link FileParameter} whose contents are read directly from the request body
+ * instead of from a temporary file or an in-memory buffer.
+ * <p>The contents can be read only once, either through {@link #getInputStream()},
+ * {@link #getChannel()}, {@link #getBytes()}, or by saving them with
+ * {@link #saveAs(File)} or {@link #transferTo(java.nio.file.Path)}. Once
+ * {@link #next()} has been called, any unread contents are skipped and can no
+ * longer be read. The size of the file is known only after its contents have
+ * been read to the end.</p>
+ *
+ * @since 9.6.5
+ */
+public class StreamingMultipartFileParameter extends FileParameter {
+
+    private final FileItemStream item;
+
+    private final StreamingMultipartReader reader;
+
+    private PartInputStream inputStream;
+
+    private volatile boolean expired;
+
+    StreamingMultipartFileParameter(@NonNull FileItemStream item, StreamingMultipartReader reader) {
+        super(null, item.getContentType());
+        this.item = item;
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the original filename in the client's filesystem.
+     * @return the original filename, or {@code null} if not defined
+     */
+    @Override
+    public String getFileName() {
+        return FilenameUtils.getName(item.getName());
+    }
+
+    /**
+     * Returns the number of bytes of the file, which is known only once its
+     * contents have been read to the end.
+     * @return the size of the file in bytes, or -1 if the contents have not
+     *      been read to the end
+     */
+    @Override
+    public long getFileSize() {
+        PartInputStream input = inputStream;
+        return (input != null && input.eof ? input.getCount() : -1L);
+    }
+
+    /**
+     * Returns an {@link InputStream} that reads the contents of the file directly
+     * from the request body. This method can be called only once.
+     * @return an {@link InputStream} for the file's contents
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if the contents have already been read or skipped
+     */
+    @Override
+    public synchronized InputStream getInputStream() throws IOException {
+        if (expired) {
+            throw new IllegalStateException("File part has been skipped - cannot be read anymore");
+        }
+        if (inputStream != null) {
+            throw new IllegalStateException("File part has already been read - cannot be read again");
+        }
+        inputStream = new PartInputStream(item.openStream());
+        return inputStream;
+    }
+
+    /**
+     * Returns a channel that reads the contents of the file directly from the
+     * request body. This method can be called only once, and not in addition
+     * to {@link #getInputStream()}.
+     * @return a channel for the file's contents
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if the contents have already been read or skipped
+     */
+    public ReadableByteChannel getChannel() throws IOException {
+        return Channels.newChannel(getInputStream());
+    }
+
+    /**
+     * Reads the whole contents of the file into a byte array.
+     * This consumes the contents, so they cannot be read again.
+     * @return the file's contents as a byte array
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public byte[] getBytes() throws IOException {
+        try (InputStream input = getInputStream()) {
+            return input.readAllBytes();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Since the contents are not stored in a temporary file, this is the same
+     * as {@link #saveAs(File, boolean)}.</p>
+     */
+    @Override
+    public File moveTo(File destFile, boolean overwrite) throws IOException {
+        return saveAs(destFile, overwrite);
+    }
+
+    /**
+     * Advances to the next file part in the request, skipping whatever remains
+     * unread of this part. Form fields that are passed on the way are added to
+     * the request parameters, and the next file part is added to the file
+     * parameters under its field name.
+     * @return the next file parameter, or {@code null} if there are no more file parts
+     * @throws IOException if an I/O error occurs or the request is malformed
+     */
+    @Nullable
+    public StreamingMultipartFileParameter next() throws IOException {
+        return reader.next();
+    }
+
+    /**
+     * Marks this parameter as skipped, so that its contents can no longer be read.
+     */
+    void expire() {
+        expired = true;
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("fieldName", item.getFieldName());
+        tsb.append("fileName", getFileName());
+        tsb.append("contentType", getContentType());
+        tsb.append("savedFile", getSavedFile());
+        tsb.append("refused", isRefused());
+        return tsb.toString();
+    }
+
+    /**
+     * An input stream that counts the bytes read from the file part and
+     * remembers whether its end has been reached.
+     */
+    private static final class PartInputStream extends CountingInputStream {
+
+        private volatile boolean eof;
+
+        PartInputStream(InputStream in) {
+            super(in, -1L);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                eof = true;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte @NonNull [] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n == -1) {
+                eof = true;
+            }
+            return n;
+        }
+
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.support.multipart.streaming;
+
+import com.aspectran.core.activity.request.SizeLimitExceededException;
+import com.aspectran.core.adapter.RequestAdapter;
+import com.aspectran.utils.ExceptionUtils;
+import com.aspectran.web.activity.request.MultipartFormDataParser;
+import com.aspectran.web.activity.request.MultipartRequestParseException;
+import com.aspectran.web.support.multipart.commons.CommonsRequestContext;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileUpload;
+import org.apache.commons.fileupload.FileUploadBase;
+
+/**
+ * A {@link MultipartFormDataParser} implementation that does not store uploaded
+ * files anywhere, but exposes each file part as a one-shot stream that is read
+ * directly from the request body.
+ * <p>This avoids writing large uploads to temporary files or buffering them in
+ * memory before the translet runs. In exchange, the parts must be consumed in the
+ * order in which they were sent: parsing stops at the first file part, which is
+ * registered as a {@link StreamingMultipartFileParameter}, and the following
+ * parts are reached by calling {@link StreamingMultipartFileParameter#next()}.
+ * Form fields that precede the first file part are available as request
+ * parameters right away; those that follow it become available only as the file
+ * parts are advanced. Clients should therefore send form fields before files.</p>
+ * <p>This parser does not support temporary file storage, so methods related to
+ * file-based operations (e.g., {@code setTempFileDir}) are not supported.</p>
+ *
+ * @since 9.6.5
+ */
+public class StreamingMultipartFormDataParser implements MultipartFormDataParser {
+
+    private long maxRequestSize = -1L;
+
+    private long maxFileSize = -1L;
+
+    private String allowedFileExtensions;
+
+    private String deniedFileExtensions;
+
+    /**
+     * Instantiates a new StreamingMultipartFormDataParser.
+     */
+    public StreamingMultipartFormDataParser() {
+    }
+
+    /**
+     * This operation is not supported by the streaming parser.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public String getTempFileDir() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This operation is not supported by the streaming parser.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setTempFileDir(String tempFileDir) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sets the maximum size of the entire multipart request, in bytes.
+     * A value of -1 indicates no limit.
+     * @param maxRequestSize the maximum request size
+     */
+    @Override
+    public void setMaxRequestSize(long maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    /**
+     * Sets the maximum size of a single uploaded file, in bytes.
+     * Since file parts are read after parsing, a file that exceeds this size
+     * causes an {@link java.io.IOException} while its stream is being read.
+     * A value of -1 indicates no limit.
+     * @param maxFileSize the maximum file size
+     */
+    @Override
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * This operation is not supported by the streaming parser,
+     * since no part is held in memory.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setMaxInMemorySize(int maxInMemorySize) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sets the comma-separated list of allowed file extensions.
+     * @param allowedFileExtensions a string containing allowed extensions
+     */
+    @Override
+    public void setAllowedFileExtensions(String allowedFileExtensions) {
+        this.allowedFileExtensions = allowedFileExtensions;
+    }
+
+    /**
+     * Sets the comma-separated list of denied file extensions.
+     * @param deniedFileExtensions a string containing denied extensions
+     */
+    @Override
+    public void setDeniedFileExtensions(String deniedFileExtensions) {
+        this.deniedFileExtensions = deniedFileExtensions;
+    }
+
+    /**
+     * Parses the form fields of the given multipart request up to the first file
+     * part, and registers that part as a {@link StreamingMultipartFileParameter}.
+     * @param requestAdapter the request adapter for the current request
+     * @throws MultipartRequestParseException if the request cannot be parsed
+     */
+    @Override
+    public void parse(RequestAdapter requestAdapter) throws MultipartRequestParseException {
+        try {
+            FileUpload upload = new FileUpload();
+            upload.setHeaderEncoding(requestAdapter.getEncoding());
+            if (maxRequestSize > -1L) {
+                upload.setSizeMax(maxRequestSize);
+            }
+            if (maxFileSize > -1L) {
+                upload.setFileSizeMax(maxFileSize);
+            }
+
+            try {
+                FileItemIterator iterator = upload.getItemIterator(new CommonsRequestContext(requestAdapter));
+                StreamingMultipartReader reader = new StreamingMultipartReader(iterator, requestAdapter,
+                        allowedFileExtensions, deniedFileExtensions);
+                reader.next();
+            } catch (FileUploadBase.SizeLimitExceededException e) {
+                throw new SizeLimitExceededException("Maximum request length exceeded; actual: " +
+                        e.getActualSize() + "; permitted: " + e.getPermittedSize(),
+                        e.getActualSize(), e.getPermittedSize());
+            }
+        } catch (Exception e) {
+            Throwable cause = ExceptionUtils.getRootCause(e);
+            throw new MultipartRequestParseException("Failed to parse multipart request; Cause: " +
+                    ExceptionUtils.getSimpleMessage(cause), e);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.support.multipart.streaming;
+
+import com.aspectran.core.component.bean.ablility.InitializableFactoryBean;
+import com.aspectran.web.activity.request.MultipartFormDataParser;
+
+/**
+ * A {@link com.aspectran.core.component.bean.ablility.FactoryBean} that creates and
+ * configures a {@link StreamingMultipartFormDataParser}.
+ * <p>This bean simplifies the integration of the streaming multipart parser into the
+ * Aspectran framework, allowing its properties to be set via bean configuration.
+ *
+ * @since 9.6.5
+ */
+public class StreamingMultipartFormDataParserFactoryBean extends StreamingMultipartFormDataParserFactory
+        implements InitializableFactoryBean<MultipartFormDataParser> {
+
+    private MultipartFormDataParser parser;
+
+    /**
+     * Initializes the bean by creating the {@link MultipartFormDataParser} instance.
+     */
+    @Override
+    public void initialize() {
+        if (parser == null) {
+            parser = createMultipartFormDataParser();
+        }
+    }
+
+    /**
+     * Returns the created {@link MultipartFormDataParser} instance.
+     * @return the parser instance
+     */
+    @Override
+    public MultipartFormDataParser getObject() {
+        return parser;
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.support.multipart.streaming;
+
+import com.aspectran.core.activity.request.FileParameter;
+import com.aspectran.core.adapter.RequestAdapter;
+import com.aspectran.utils.FilenameUtils;
+import com.aspectran.utils.StringUtils;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.util.Streams;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Walks through the parts of a multipart request in order, registering form
+ * fields as request parameters and file parts as file parameters as they are
+ * reached.
+ *
+ * @since 9.6.5
+ */
+final class StreamingMultipartReader {
+
+    private final FileItemIterator iterator;
+
+    private final RequestAdapter requestAdapter;
+
+    private final String allowedFileExtensions;
+
+    private final String deniedFileExtensions;
+
+    private StreamingMultipartFileParameter current;
+
+    StreamingMultipartReader(FileItemIterator iterator, RequestAdapter requestAdapter,
+                             String allowedFileExtensions, String deniedFileExtensions) {
+        this.iterator = iterator;
+        this.requestAdapter = requestAdapter;
+        this.allowedFileExtensions = allowedFileExtensions;
+        this.deniedFileExtensions = deniedFileExtensions;
+    }
+
+    /**
+     * Advances to the next file part, skipping whatever remains unread of the
+     * current one and registering the form fields in between.
+     * @return the next file parameter, or {@code null} if there are no more file parts
+     * @throws IOException if an I/O error occurs or the request is malformed
+     */
+    @Nullable
+    synchronized StreamingMultipartFileParameter next() throws IOException {
+        if (current != null) {
+            current.expire();
+            current = null;
+        }
+        try {
+            while (iterator.hasNext()) {
+                FileItemStream item = iterator.next();
+                String fieldName = item.getFieldName();
+                if (item.isFormField()) {
+                    addParameter(fieldName, readString(item));
+                } else {
+                    String fileName = item.getName();
+
+                    // Skip file uploads that don't have a file name - meaning that
+                    // no file was selected.
+                    if (StringUtils.isEmpty(fileName)) {
+                        continue;
+                    }
+
+                    boolean valid = FilenameUtils.isValidFileExtension(fileName,
+                            allowedFileExtensions, deniedFileExtensions);
+                    if (!valid) {
+                        continue;
+                    }
+
+                    current = new StreamingMultipartFileParameter(item, this);
+                    addFileParameter(fieldName, current);
+                    return current;
+                }
+            }
+        } catch (FileUploadException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private String readString(@NonNull FileItemStream item) throws IOException {
+        String encoding = requestAdapter.getEncoding();
+        try (InputStream input = item.openStream()) {
+            return (encoding != null ? Streams.asString(input, encoding) : Streams.asString(input));
+        }
+    }
+
+    private void addParameter(String name, String value) {
+        String[] values = requestAdapter.getParameterValues(name);
+        if (values == null) {
+            requestAdapter.setParameter(name, value);
+        } else {
+            String[] newValues = Arrays.copyOf(values, values.length + 1);
+            newValues[values.length] = value;
+            requestAdapter.setParameter(name, newValues);
+        }
+    }
+
+    private void addFileParameter(String name, FileParameter fileParameter) {
+        FileParameter[] fileParameters = requestAdapter.getFileParameterValues(name);
+        if (fileParameters == null) {
+            requestAdapter.setFileParameter(name, fileParameter);
+        } else {
+            FileParameter[] newFileParameters = Arrays.copyOf(fileParameters, fileParameters.length + 1);
+            newFileParameters[fileParameters.length] = fileParameter;
+            requestAdapter.setFileParameter(name, newFileParameters);
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Support for parsing Multi-part form data as a stream, using the streaming API of
+ * Apache Commons FileUpload. Uploaded files are neither buffered in memory nor written
+ * to temporary files; each file part is read directly from the request body, in order.
+ */
+package com.aspectran.web.support.multipart.streaming;
@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.websocket.jsr356;
+
+import com.aspectran.utils.Assert;
+import com.aspectran.utils.ToStringBuilder;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Sends messages to WebSocket sessions asynchronously while bounding the number
+ * of messages that may be pending for each session.
+ * <p>Each session has at most one asynchronous send in flight; further messages
+ * are queued, up to {@link #setMaxPendingMessages(int) maxPendingMessages}. When
+ * the queue of a session is full, the configured {@link SlowConsumerPolicy}
+ * decides whether to drop the oldest message, coalesce to the newest message,
+ * or disconnect the session, so that slow clients cannot make unsent messages
+ * pile up on the heap.</p>
+ * <p>Messages are only queued for sessions that have been {@link #register(Session)
+ * registered}; messages for other sessions are dropped. A session's queue is
+ * released when the session is {@link #remove(Session) removed} or found to be
+ * closed.</p>
+ * <p>A broadcast message is shared by all recipients: a text message is handed
+ * to every session as the same string, and a binary message is wrapped once in
+ * a read-only buffer of which each session receives a duplicate. If a fan-out
+ * executor is set, the message is queued for every session on the calling
+ * thread, so each session receives messages in the order they were broadcast,
+ * and the sends that have to be started are split into batches that run on
+ * the executor.</p>
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 9.6.5
+ */
+public class SessionBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionBroadcaster.class);
+
+    private static final int DEFAULT_MAX_PENDING_MESSAGES = 64;
+
+    private static final int DEFAULT_FAN_OUT_BATCH_SIZE = 512;
+
+    private final Map<Session, Outbox> outboxes = new ConcurrentHashMap<>();
+
+    private final LongAdder sentMessages = new LongAdder();
+
+    private final LongAdder droppedMessages = new LongAdder();
+
+    private final LongAdder failedMessages = new LongAdder();
+
+    private final LongAdder disconnectedSessions = new LongAdder();
+
+    private volatile int maxPendingMessages = DEFAULT_MAX_PENDING_MESSAGES;
+
+    private volatile SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DROP_OLDEST;
+
+    private volatile Executor fanOutExecutor;
+
+    private volatile int fanOutBatchSize = DEFAULT_FAN_OUT_BATCH_SIZE;
+
+    /**
+     * Returns the maximum number of messages that may be queued for a session
+     * while a send to it is in flight.
+     * @return the maximum number of pending messages per session
+     */
+    public int getMaxPendingMessages() {
+        return maxPendingMessages;
+    }
+
+    /**
+     * Sets the maximum number of messages that may be queued for a session
+     * while a send to it is in flight. Defaults to 64.
+     * @param maxPendingMessages the maximum number of pending messages per session
+     */
+    public void setMaxPendingMessages(int maxPendingMessages) {
+        if (maxPendingMessages < 1) {
+            throw new IllegalArgumentException("maxPendingMessages must be greater than 0");
+        }
+        this.maxPendingMessages = maxPendingMessages;
+    }
+
+    /**
+     * Returns the policy applied to a session whose queue of pending messages is full.
+     * @return the slow consumer policy
+     */
+    public SlowConsumerPolicy getSlowConsumerPolicy() {
+        return slowConsumerPolicy;
+    }
+
+    /**
+     * Sets the policy applied to a session whose queue of pending messages is full.
+     * Defaults to {@link SlowConsumerPolicy#DROP_OLDEST}.
+     * @param slowConsumerPolicy the slow consumer policy
+     */
+    public void setSlowConsumerPolicy(SlowConsumerPolicy slowConsumerPolicy) {
+        Assert.notNull(slowConsumerPolicy, "slowConsumerPolicy must not be null");
+        this.slowConsumerPolicy = slowConsumerPolicy;
+    }
+
+    /**
+     * Sets the executor used to start sending a broadcast message to large audiences in parallel.
+     * If not set, all sessions are processed on the calling thread.
+     * @param fanOutExecutor the executor for parallel fan-out
+     */
+    public void setFanOutExecutor(@Nullable Executor fanOutExecutor) {
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    /**
+     * Sets the number of sessions to which each parallel fan-out task starts sending.
+     * Audiences that are not larger than this are processed on the calling thread.
+     * Defaults to 512.
+     * @param fanOutBatchSize the number of sessions per fan-out task
+     */
+    public void setFanOutBatchSize(int fanOutBatchSize) {
+        if (fanOutBatchSize < 1) {
+            throw new IllegalArgumentException("fanOutBatchSize must be greater than 0");
+        }
+        this.fanOutBatchSize = fanOutBatchSize;
+    }
+
+    /**
+     * Returns the number of messages that have been sent successfully.
+     * @return the number of sent messages
+     */
+    public long getSentMessages() {
+        return sentMessages.sum();
+    }
+
+    /**
+     * Returns the number of messages that were discarded without being sent,
+     * because of the slow consumer policy or because the session was closed.
+     * @return the number of dropped messages
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    /**
+     * Returns the number of messages whose asynchronous send failed.
+     * @return the number of failed messages
+     */
+    public long getFailedMessages() {
+        return failedMessages.sum();
+    }
+
+    /**
+     * Returns the number of sessions that were closed because they could not keep up.
+     * @return the number of disconnected sessions
+     */
+    public long getDisconnectedSessions() {
+        return disconnectedSessions.sum();
+    }
+
+    /**
+     * Registers a session so that messages can be queued for it.
+     * This is typically called when the session is opened.
+     * @param session the session to register
+     */
+    public void register(Session session) {
+        Assert.notNull(session, "session must not be null");
+        if (session.isOpen()) {
+            outboxes.computeIfAbsent(session, Outbox::new);
+        }
+    }
+
+    /**
+     * Returns whether the given session is registered.
+     * @param session the session to check
+     * @return true if messages can be queued for the session, false otherwise
+     */
+    public boolean isRegistered(Session session) {
+        return outboxes.containsKey(session);
+    }
+
+    /**
+     * Sends a text message to the given session.
+     * The message is dropped if the session is not registered.
+     * @param session the session to send the message to
+     * @param text the text message to send
+     */
+    public void send(Session session, String text) {
+        Assert.notNull(session, "session must not be null");
+        Assert.notNull(text, "text must not be null");
+        deliver(session, text);
+    }
+
+    /**
+     * Sends a binary message to the given session.
+     * The message is dropped if the session is not registered.
+     * The content of the buffer must not be modified until the message has been sent.
+     * @param session the session to send the message to
+     * @param data the binary message to send
+     */
+    public void send(Session session, ByteBuffer data) {
+        Assert.notNull(session, "session must not be null");
+        Assert.notNull(data, "data must not be null");
+        deliver(session, data.asReadOnlyBuffer());
+    }
+
+    /**
+     * Sends a text message to each of the given sessions that matches the filter.
+     * @param sessions the sessions to send the message to
+     * @param text the text message to send
+     * @param filter the filter to apply to each session, or {@code null} to send to all sessions
+     */
+    public void broadcast(Collection<Session> sessions, String text, @Nullable Predicate<Session> filter) {
+        Assert.notNull(sessions, "sessions must not be null");
+        Assert.notNull(text, "text must not be null");
+        fanOut(sessions, text, filter);
+    }
+
+    /**
+     * Sends a binary message to each of the given sessions that matches the filter.
+     * The buffer is shared by all recipients, so its content must not be modified
+     * until the message has been sent.
+     * @param sessions the sessions to send the message to
+     * @param data the binary message to send
+     * @param filter the filter to apply to each session, or {@code null} to send to all sessions
+     */
+    public void broadcast(Collection<Session> sessions, ByteBuffer data, @Nullable Predicate<Session> filter) {
+        Assert.notNull(sessions, "sessions must not be null");
+        Assert.notNull(data, "data must not be null");
+        fanOut(sessions, data.asReadOnlyBuffer(), filter);
+    }
+
+    /**
+     * Releases the pending messages of the given session, which is typically
+     * called when the session is closed.
+     * @param session the session to release
+     */
+    public void remove(Session session) {
+        Outbox outbox = outboxes.remove(session);
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
+    private void fanOut(@NonNull Collection<Session> sessions, Object message, Predicate<Session> filter) {
+        Executor executor = fanOutExecutor;
+        int batchSize = fanOutBatchSize;
+        if (executor == null || sessions.size() <= batchSize) {
+            for (Session session : sessions) {
+                if (filter == null || filter.test(session)) {
+                    deliver(session, message);
+                }
+            }
+            return;
+        }
+        // Queue the message on this thread to keep the order of messages per session,
+        // and only start the sends in parallel
+        List<Outbox> idle = new ArrayList<>();
+        for (Session session : sessions) {
+            if (filter == null || filter.test(session)) {
+                Outbox outbox = lookup(session);
+                if (outbox != null && outbox.enqueue(message)) {
+                    idle.add(outbox);
+                }
+            }
+        }
+        for (int from = 0; from < idle.size(); from += batchSize) {
+            List<Outbox> batch = idle.subList(from, Math.min(from + batchSize, idle.size()));
+            Runnable task = () -> {
+                for (Outbox outbox : batch) {
+                    outbox.start();
+                }
+            };
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+    }
+
+    private void deliver(@NonNull Session session, Object message) {
+        Outbox outbox = lookup(session);
+        if (outbox != null && outbox.enqueue(message)) {
+            outbox.start();
+        }
+    }
+
+    @Nullable
+    private Outbox lookup(@NonNull Session session) {
+        if (!session.isOpen()) {
+            droppedMessages.increment();
+            remove(session);
+            return null;
+        }
+        Outbox outbox = outboxes.get(session);
+        if (outbox == null) {
+            droppedMessages.increment();
+        }
+        return outbox;
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("maxPendingMessages", maxPendingMessages);
+        tsb.append("slowConsumerPolicy", slowConsumerPolicy);
+        tsb.append("sessions", outboxes.size());
+        tsb.append("sent", getSentMessages());
+        tsb.append("dropped", getDroppedMessages());
+        tsb.append("failed", getFailedMessages());
+        tsb.append("disconnected", getDisconnectedSessions());
+        return tsb.toString();
+    }
+
+    /**
+     * The queue of pending messages for a single session, with at most one send in flight.
+     */
+    private final class Outbox implements SendHandler {
+
+        private final Session session;
+
+        private final ArrayDeque<Object> queue = new ArrayDeque<>();
+
+        private boolean sending;
+
+        private boolean closed;
+
+        Outbox(Session session) {
+            this.session = session;
+        }
+
+        /**
+         * Queues the given message.
+         * @param message the message to queue
+         * @return true if no send was in flight, in which case the caller
+         *      must call {@link #start()}
+         */
+        boolean enqueue(Object message) {
+            boolean disconnect = false;
+            synchronized (this) {
+                if (closed) {
+                    droppedMessages.increment();
+                    return false;
+                }
+                if (!sending) {
+                    sending = true;
+                    queue.add(message);
+                    return true;
+                } else if (queue.size() < maxPendingMessages) {
+                    queue.add(message);
+                    return false;
+                } else {
+                    switch (slowConsumerPolicy) {
+                        case DROP_OLDEST -> {
+                            queue.poll();
+                            queue.add(message);
+                            droppedMessages.increment();
+                        }
+                        case COALESCE -> {
+                            droppedMessages.add(queue.size());
+                            queue.clear();
+                            queue.add(message);
+                        }
+                        case DISCONNECT -> {
+                            droppedMessages.add(queue.size() + 1);
+                            queue.clear();
+                            disconnect = true;
+                        }
+                    }
+                }
+            }
+            if (disconnect) {
+                disconnect();
+            }
+            return false;
+        }
+
+        void start() {
+            transmit(next());
+        }
+
+        private void transmit(Object message) {
+            while (message != null) {
+                if (!session.isOpen()) {
+                    droppedMessages.increment();
+                    release();
+                    return;
+                }
+                try {
+                    if (message instanceof String text) {
+                        session.getAsyncRemote().sendText(text, this);
+                    } else {
+                        session.getAsyncRemote().sendBinary(((ByteBuffer)message).duplicate(), this);
+                    }
+                    return;
+                } catch (RuntimeException e) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Failed to send message to websocket session {}", session.getId(), e);
+                    }
+                    failedMessages.increment();
+                    if (!session.isOpen()) {
+                        release();
+                        return;
+                    }
+                    message = next();
+                }
+            }
+        }
+
+        @Override
+        public void onResult(@NonNull SendResult result) {
+            if (result.isOK()) {
+                sentMessages.increment();
+            } else {
+                failedMessages.increment();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Failed to send message to websocket session {}",
+                            session.getId(), result.getException());
+                }
+                if (!session.isOpen()) {
+                    release();
+                    return;
+                }
+            }
+            transmit(next());
+        }
+
+        @Nullable
+        private synchronized Object next() {
+            Object next = queue.poll();
+            if (next == null) {
+                sending = false;
+            }
+            return next;
+        }
+
+        /**
+         * Discards the pending messages and stops accepting new ones.
+         */
+        synchronized void close() {
+            closed = true;
+            droppedMessages.add(queue.size());
+            queue.clear();
+            sending = false;
+        }
+
+        private void release() {
+            outboxes.remove(session, this);
+            close();
+        }
+
+        private void disconnect() {
+            disconnectedSessions.increment();
+            release();
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Slow consumer"));
+            } catch (IOException e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Failed to close slow websocket session {}", session.getId(), e);
+                }
+            }
+        }
+
+    }
+
+}
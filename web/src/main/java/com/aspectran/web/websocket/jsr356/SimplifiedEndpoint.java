@@ -19,6 +19,7 @@ import com.aspectran.utils.Assert;
 import jakarta.websocket.Session;
 import org.jspecify.annotations.NonNull;
 
+import java.nio.ByteBuffer;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.Consumer;
@@ -30,6 +31,9 @@ import java.util.function.Predicate;
  * <p>This class is ideal for typical WebSocket use cases where messages need to be
  * sent to multiple clients.
  * </p>
+ * <p>Messages are sent through a {@link SessionBroadcaster}, which keeps at most
+ * one send in flight per session and bounds the number of messages queued for
+ * slow clients; use {@link #getBroadcaster()} to tune its limits and policy.</p>
  *
  * <p>Created: 2025-03-24</p>
  */
@@ -38,6 +42,17 @@ public abstract class SimplifiedEndpoint extends AbstractEndpoint {
     /** A thread-safe collection of authorized sessions */
     private final Set<Session> sessions = new CopyOnWriteArraySet<>();
 
+    private final SessionBroadcaster broadcaster = new SessionBroadcaster();
+
+    /**
+     * Returns the broadcaster used to send messages to the authorized sessions.
+     * @return the session broadcaster
+     * @since 9.6.5
+     */
+    public SessionBroadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
     /**
      * Adds a session to the collection of authorized sessions.
      * @param session the session to add
@@ -45,7 +60,12 @@ public abstract class SimplifiedEndpoint extends AbstractEndpoint {
      */
     protected boolean addSession(@NonNull Session session) {
         synchronized (sessions) {
-            return (session.isOpen() && sessions.add(session));
+            if (session.isOpen() && sessions.add(session)) {
+                broadcaster.register(session);
+                return true;
+            } else {
+                return false;
+            }
         }
     }
 
@@ -53,6 +73,7 @@ public abstract class SimplifiedEndpoint extends AbstractEndpoint {
     protected void removeSession(Session session) {
         synchronized (sessions) {
             if (sessions.remove(session)) {
+                broadcaster.remove(session);
                 onSessionRemoved(session);
             }
         }
@@ -122,9 +143,7 @@ public abstract class SimplifiedEndpoint extends AbstractEndpoint {
      * @param message the text message to send
      */
     public void broadcast(String message) {
-        for (Session session : sessions) {
-            sendText(session, message);
-        }
+        broadcaster.broadcast(sessions, message, null);
     }
 
     /**
@@ -133,11 +152,7 @@ public abstract class SimplifiedEndpoint extends AbstractEndpoint {
      * @param sessionToSkip the session to exclude from the broadcast
      */
     public void broadcast(String message, Session sessionToSkip) {
-        for (Session session : sessions) {
-            if (session != sessionToSkip) {
-                sendText(session, message);
-            }
-        }
+        broadcaster.broadcast(sessions, message, session -> session != sessionToSkip);
     }
 
     /**
@@ -147,22 +162,35 @@ public abstract class SimplifiedEndpoint extends AbstractEndpoint {
      */
     public void broadcast(String message, Predicate<Session> predicate) {
         Assert.notNull(predicate, "predicate must not be null");
-        for (Session session : sessions) {
-            if (session.isOpen() && predicate.test(session)) {
-                sendText(session, message);
-            }
-        }
+        broadcaster.broadcast(sessions, message, session -> session.isOpen() && predicate.test(session));
+    }
+
+    /**
+     * Sends a binary message to all authorized sessions.
+     * The buffer is shared by all sessions, so its content must not be modified
+     * until the message has been sent.
+     * @param data the binary message to send
+     * @since 9.6.5
+     */
+    public void broadcast(ByteBuffer data) {
+        broadcaster.broadcast(sessions, data, null);
     }
 
     /**
      * Sends a text message to the given session asynchronously.
+     * Messages to authorized sessions go through the broadcaster; other
+     * sessions are sent to directly.
      * @param session the session to send the message to
      * @param text the text message to send
      */
     public void sendText(Session session, String text) {
         Assert.notNull(session, "session must not be null");
         if (session.isOpen()) {
-            session.getAsyncRemote().sendText(text);
+            if (broadcaster.isRegistered(session)) {
+                broadcaster.send(session, text);
+            } else {
+                session.getAsyncRemote().sendText(text);
+            }
         }
     }
 
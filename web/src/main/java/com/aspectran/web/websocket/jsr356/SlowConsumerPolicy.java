@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.websocket.jsr356;
+
+/**
+ * Policies for handling a WebSocket session that does not keep up with the
+ * messages sent to it, that is, whose queue of pending messages is full.
+ *
+ * @see SessionBroadcaster
+ * @since 9.6.5
+ */
+public enum SlowConsumerPolicy {
+
+    /** Discards the oldest pending message to make room for the new one. */
+    DROP_OLDEST,
+
+    /**
+     * Discards all pending messages and keeps only the new one, for streams
+     * where only the latest state matters.
+     */
+    COALESCE,
+
+    /** Discards all pending messages and closes the session. */
+    DISCONNECT
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.adapter;
+
+import com.aspectran.core.activity.request.RequestParseException;
+import com.aspectran.core.context.rule.type.MethodType;
+import com.aspectran.test.web.mock.MockHttpServletRequest;
+import com.aspectran.utils.apon.Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for binding the request body in {@link AbstractWebRequestAdapter}.
+ */
+class HttpServletRequestAdapterTest {
+
+    private static final String JSON = "{\"name\":\"Juho\",\"age\":7}";
+
+    @Test
+    void bodyIsBoundFromInputStream() throws Exception {
+        HttpServletRequestAdapter requestAdapter = newRequestAdapter("application/json", JSON);
+
+        Person person = requestAdapter.getBodyAsObject(Person.class);
+        assertNotNull(person);
+        assertEquals("Juho", person.name());
+        assertEquals(7, person.age());
+
+        // the body was never buffered as a string
+        assertNull(requestAdapter.getBody());
+        assertThrows(RequestParseException.class, () -> requestAdapter.getBodyAsObject(Person.class));
+    }
+
+    @Test
+    void storedBodyIsBoundWhenAlreadyObtained() throws Exception {
+        HttpServletRequestAdapter requestAdapter = newRequestAdapter("application/json", JSON);
+        assertEquals(JSON, requestAdapter.getBody());
+
+        Person person = requestAdapter.getBodyAsObject(Person.class);
+        assertNotNull(person);
+        assertEquals("Juho", person.name());
+        assertEquals(person, requestAdapter.getBodyAsObject(Person.class));
+        assertEquals(JSON, requestAdapter.getBody());
+        Parameters parameters = requestAdapter.getBodyAsParameters();
+        assertNotNull(parameters);
+        assertEquals("Juho", parameters.getString("name"));
+    }
+
+    @Test
+    void emptyBodyIsBoundAsNull() throws Exception {
+        HttpServletRequestAdapter requestAdapter = newRequestAdapter("application/json", "");
+        assertNull(requestAdapter.getBodyAsObject(Person.class));
+    }
+
+    @Test
+    void bodyIsNotBoundUnlessJson() throws Exception {
+        HttpServletRequestAdapter requestAdapter = newRequestAdapter("text/plain", JSON);
+        assertNull(requestAdapter.getBodyAsObject(Person.class));
+        assertEquals(JSON, requestAdapter.getBody());
+    }
+
+    @Test
+    void unbindableTypeFailsWithParseException() {
+        HttpServletRequestAdapter requestAdapter = newRequestAdapter("application/json", JSON);
+        assertThrows(RequestParseException.class, () -> requestAdapter.getBodyAsObject(NoDefaultConstructor.class));
+    }
+
+    private static HttpServletRequestAdapter newRequestAdapter(String contentType, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setMethod("POST");
+        request.setRequestURI("/people");
+        request.setContentType(contentType);
+        request.setBody(body.getBytes(StandardCharsets.UTF_8));
+        HttpServletRequestAdapter requestAdapter = new HttpServletRequestAdapter(MethodType.POST, request);
+        requestAdapter.preparse();
+        return requestAdapter;
+    }
+
+    record Person(String name, int age) {
+    }
+
+    static class NoDefaultConstructor {
+
+        NoDefaultConstructor(String name) {
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.support.etag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for {@link ETagCache}.
+ */
+class ETagCacheTest {
+
+    @Test
+    void putAndEvict() {
+        ETagCache cache = new ETagCache();
+        cache.put("/users/*", "1", "\"a\"");
+        cache.put("/users/*", "2", "\"b\"");
+        cache.put("/orders/*", "1", "\"c\"");
+        assertEquals("\"a\"", cache.get("/users/*", "1"));
+        assertEquals("\"c\"", cache.get("/orders/*", "1"));
+        assertNull(cache.get("/users/*", "3"));
+
+        cache.evict("/users/*", "1");
+        assertNull(cache.get("/users/*", "1"));
+        assertEquals("\"b\"", cache.get("/users/*", "2"));
+
+        cache.evict("/users/*");
+        assertNull(cache.get("/users/*", "2"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void leastRecentlyUsedIsDiscarded() {
+        ETagCache cache = new ETagCache(2);
+        cache.put("t", "1", "\"1\"");
+        cache.put("t", "2", "\"2\"");
+        cache.get("t", "1");
+        cache.put("t", "3", "\"3\"");
+        assertEquals("\"1\"", cache.get("t", "1"));
+        assertNull(cache.get("t", "2"));
+        assertEquals("\"3\"", cache.get("t", "3"));
+    }
+
+    @Test
+    void expiredEntryIsRemoved() throws InterruptedException {
+        ETagCache cache = new ETagCache();
+        cache.setTimeToLive(1L);
+        cache.put("t", "1", "\"1\"");
+        Thread.sleep(5L);
+        assertNull(cache.get("t", "1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void fastHashForWeakETags() {
+        ETagInterceptor interceptor = new ETagInterceptor(translet -> "hello".getBytes());
+        interceptor.setFastHash(true);
+        // FNV-1a 64-bit of "hello"
+        assertEquals("W/\"a430d84680aabd0b\"", interceptor.generateETagToken(null, true));
+        assertEquals("\"05d41402abc4b2a76b9719d911017c592\"", interceptor.generateETagToken(null, false));
+    }
+
+}
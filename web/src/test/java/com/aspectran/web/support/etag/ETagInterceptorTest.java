@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.support.etag;
+
+import com.aspectran.core.activity.Translet;
+import com.aspectran.core.adapter.RequestAdapter;
+import com.aspectran.core.adapter.ResponseAdapter;
+import com.aspectran.core.activity.response.Response;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for {@link ETagInterceptor}.
+ */
+class ETagInterceptorTest {
+
+    private final AtomicInteger tokenCount = new AtomicInteger();
+
+    private ETagInterceptor newInterceptor() {
+        return new ETagInterceptor(translet -> {
+            tokenCount.incrementAndGet();
+            return ("user-" + translet.getParameter("id")).getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    @Test
+    void notModifiedWhenIfNoneMatchMatches() {
+        ETagInterceptor interceptor = newInterceptor();
+        FakeTranslet first = new FakeTranslet("1", null);
+        interceptor.intercept(first.translet);
+        String eTag = first.responseHeaders.get("ETag");
+        assertNotNull(eTag);
+        assertNull(first.response);
+
+        FakeTranslet second = new FakeTranslet("1", eTag);
+        interceptor.intercept(second.translet);
+        assertEquals(304, second.status);
+        assertNotNull(second.response);
+
+        FakeTranslet other = new FakeTranslet("2", eTag);
+        interceptor.intercept(other.translet);
+        assertEquals(0, other.status);
+        assertNull(other.response);
+    }
+
+    @Test
+    void cacheWithoutKeyResolverIsNotShared() {
+        ETagInterceptor interceptor = newInterceptor();
+        ETagCache cache = new ETagCache();
+        interceptor.setETagCache(cache);
+
+        FakeTranslet user1 = new FakeTranslet("1", null);
+        interceptor.intercept(user1.translet);
+        FakeTranslet user2 = new FakeTranslet("2", user1.responseHeaders.get("ETag"));
+        interceptor.intercept(user2.translet);
+
+        assertNotEquals(user1.responseHeaders.get("ETag"), user2.responseHeaders.get("ETag"));
+        assertNull(user2.response);
+        assertEquals(0, cache.size());
+        assertEquals(2, tokenCount.get());
+    }
+
+    @Test
+    void cacheIsKeyedPerResource() {
+        ETagInterceptor interceptor = newInterceptor();
+        ETagCache cache = new ETagCache();
+        interceptor.setETagCache(cache);
+        interceptor.setCacheKeyName("id");
+
+        FakeTranslet user1 = new FakeTranslet("1", null);
+        interceptor.intercept(user1.translet);
+        FakeTranslet user2 = new FakeTranslet("2", null);
+        interceptor.intercept(user2.translet);
+        assertNotEquals(user1.responseHeaders.get("ETag"), user2.responseHeaders.get("ETag"));
+        assertEquals(2, cache.size());
+
+        FakeTranslet again = new FakeTranslet("1", user1.responseHeaders.get("ETag"));
+        interceptor.intercept(again.translet);
+        assertEquals(304, again.status);
+        assertEquals(2, tokenCount.get());
+    }
+
+    private static class FakeTranslet {
+
+        final Map<String, String> responseHeaders = new HashMap<>();
+
+        final Translet translet;
+
+        int status;
+
+        Response response;
+
+        FakeTranslet(String id, String ifNoneMatch) {
+            ClassLoader classLoader = getClass().getClassLoader();
+            HttpServletResponse servletResponse = (HttpServletResponse)Proxy.newProxyInstance(
+                    classLoader, new Class<?>[] {HttpServletResponse.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getHeader" -> responseHeaders.get((String)args[0]);
+                        case "setHeader" -> {
+                            responseHeaders.put((String)args[0], (String)args[1]);
+                            yield null;
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+            RequestAdapter requestAdapter = (RequestAdapter)Proxy.newProxyInstance(
+                    classLoader, new Class<?>[] {RequestAdapter.class},
+                    (proxy, method, args) -> {
+                        if ("getHeaderValues".equals(method.getName())) {
+                            return ("If-None-Match".equals(args[0]) && ifNoneMatch != null ?
+                                    List.of(ifNoneMatch) : null);
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+            ResponseAdapter responseAdapter = (ResponseAdapter)Proxy.newProxyInstance(
+                    classLoader, new Class<?>[] {ResponseAdapter.class},
+                    (proxy, method, args) -> {
+                        if ("setStatus".equals(method.getName())) {
+                            status = (Integer)args[0];
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+            this.translet = (Translet)Proxy.newProxyInstance(
+                    classLoader, new Class<?>[] {Translet.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getResponseAdaptee" -> servletResponse;
+                        case "getRequestAdapter" -> requestAdapter;
+                        case "getResponseAdapter" -> responseAdapter;
+                        case "getTransletName" -> "/users/*";
+                        case "getParameter" -> ("id".equals(args[0]) ? id : null);
+                        case "getAttribute" -> null;
+                        case "response" -> {
+                            response = (Response)args[0];
+                            yield null;
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.support.multipart.streaming;
+
+import com.aspectran.core.activity.request.FileParameter;
+import com.aspectran.core.adapter.DefaultRequestAdapter;
+import com.aspectran.core.adapter.RequestAdapter;
+import com.aspectran.web.activity.request.MultipartRequestParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for {@link StreamingMultipartFormDataParser}.
+ */
+class StreamingMultipartFormDataParserTest {
+
+    private static final String BOUNDARY = "----AspectranBoundary";
+
+    private static final String FIRST_CONTENT = "first file contents";
+
+    private static final byte[] SECOND_CONTENT = new byte[100_000];
+
+    static {
+        for (int i = 0; i < SECOND_CONTENT.length; i++) {
+            SECOND_CONTENT[i] = (byte)(i % 251);
+        }
+    }
+
+    @Test
+    void testReadPartsInOrder(@TempDir Path tempDir) throws Exception {
+        RequestAdapter requestAdapter = createRequestAdapter();
+        new StreamingMultipartFormDataParser().parse(requestAdapter);
+
+        assertEquals("hello", requestAdapter.getParameter("title"));
+        assertNull(requestAdapter.getParameter("middle"));
+
+        StreamingMultipartFileParameter first = assertInstanceOf(StreamingMultipartFileParameter.class,
+                requestAdapter.getFileParameter("first"));
+        assertEquals("first.txt", first.getFileName());
+        assertEquals("text/plain", first.getContentType());
+        assertEquals(-1L, first.getFileSize());
+        assertEquals(FIRST_CONTENT, new String(first.getBytes(), StandardCharsets.UTF_8));
+        assertEquals(FIRST_CONTENT.length(), first.getFileSize());
+        assertThrows(IllegalStateException.class, first::getInputStream);
+
+        StreamingMultipartFileParameter second = first.next();
+        assertEquals("middle value", requestAdapter.getParameter("middle"));
+        assertEquals(second, requestAdapter.getFileParameter("second"));
+        Path target = tempDir.resolve("second.bin");
+        assertEquals(SECOND_CONTENT.length, second.transferTo(target));
+        assertArrayEquals(SECOND_CONTENT, Files.readAllBytes(target));
+
+        assertNull(second.next());
+        assertEquals("bye", requestAdapter.getParameter("tail"));
+        FileParameter[] seconds = requestAdapter.getFileParameterValues("second");
+        assertEquals(1, seconds.length);
+    }
+
+    @Test
+    void testSkipUnreadPart() throws Exception {
+        RequestAdapter requestAdapter = createRequestAdapter();
+        new StreamingMultipartFormDataParser().parse(requestAdapter);
+
+        StreamingMultipartFileParameter first =
+                (StreamingMultipartFileParameter)requestAdapter.getFileParameter("first");
+        StreamingMultipartFileParameter second = first.next();
+        assertThrows(IllegalStateException.class, first::getInputStream);
+        try (ReadableByteChannel channel = second.getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(SECOND_CONTENT.length + 1);
+            while (channel.read(buffer) != -1) {
+                // read to the end
+            }
+            assertEquals(SECOND_CONTENT.length, buffer.position());
+        }
+        assertEquals(SECOND_CONTENT.length, second.getFileSize());
+        assertThrows(IllegalStateException.class, second::getBytes);
+    }
+
+    @Test
+    void testMaxRequestSize() {
+        RequestAdapter requestAdapter = createRequestAdapter();
+        StreamingMultipartFormDataParser parser = new StreamingMultipartFormDataParser();
+        parser.setMaxRequestSize(1024L);
+        assertThrows(MultipartRequestParseException.class, () -> parser.parse(requestAdapter));
+    }
+
+    private static RequestAdapter createRequestAdapter() {
+        byte[] body = createBody();
+        DefaultRequestAdapter requestAdapter = new DefaultRequestAdapter() {
+            private final InputStream inputStream = new ByteArrayInputStream(body);
+
+            @Override
+            public InputStream getInputStream() {
+                return inputStream;
+            }
+        };
+        requestAdapter.setHeader("Content-Type", "multipart/form-data; boundary=" + BOUNDARY);
+        requestAdapter.setHeader("Content-Length", String.valueOf(body.length));
+        return requestAdapter;
+    }
+
+    private static byte[] createBody() {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeField(out, "title", "hello");
+            writeFile(out, "empty", "", new byte[0]);
+            writeFile(out, "first", "first.txt", FIRST_CONTENT.getBytes(StandardCharsets.UTF_8));
+            writeField(out, "middle", "middle value");
+            writeFile(out, "second", "second.bin", SECOND_CONTENT);
+            writeField(out, "tail", "bye");
+            out.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeField(ByteArrayOutputStream out, String name, String value) throws IOException {
+        out.write(("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" +
+                value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeFile(ByteArrayOutputStream out, String name, String fileName, byte[] content)
+            throws IOException {
+        String contentType = (fileName.endsWith(".txt") ? "text/plain" : "application/octet-stream");
+        out.write(("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n" +
+                "Content-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(content);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+}
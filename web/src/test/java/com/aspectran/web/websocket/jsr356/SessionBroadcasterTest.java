@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.websocket.jsr356;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link SessionBroadcaster}.
+ */
+class SessionBroadcasterTest {
+
+    @Test
+    void sendOneAtATime() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        FakeSession fake = new FakeSession("s1");
+        broadcaster.register(fake.session);
+        broadcaster.send(fake.session, "a");
+        broadcaster.send(fake.session, "b");
+        broadcaster.send(fake.session, "c");
+        assertEquals(List.of("a"), fake.sent);
+
+        fake.complete();
+        assertEquals(List.of("a", "b"), fake.sent);
+        fake.complete();
+        fake.complete();
+        assertEquals(List.of("a", "b", "c"), fake.sent);
+        assertEquals(3, broadcaster.getSentMessages());
+        assertEquals(0, broadcaster.getDroppedMessages());
+
+        // Once the queue has drained, the next message is sent immediately
+        broadcaster.send(fake.session, "d");
+        assertEquals(List.of("a", "b", "c", "d"), fake.sent);
+    }
+
+    @Test
+    void dropOldest() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        broadcaster.setMaxPendingMessages(2);
+        FakeSession fake = new FakeSession("s1");
+        broadcaster.register(fake.session);
+        for (int i = 1; i <= 5; i++) {
+            broadcaster.send(fake.session, "m" + i);
+        }
+        drain(fake);
+        assertEquals(List.of("m1", "m4", "m5"), fake.sent);
+        assertEquals(2, broadcaster.getDroppedMessages());
+    }
+
+    @Test
+    void coalesce() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        broadcaster.setMaxPendingMessages(2);
+        broadcaster.setSlowConsumerPolicy(SlowConsumerPolicy.COALESCE);
+        FakeSession fake = new FakeSession("s1");
+        broadcaster.register(fake.session);
+        for (int i = 1; i <= 5; i++) {
+            broadcaster.send(fake.session, "m" + i);
+        }
+        drain(fake);
+        assertEquals(List.of("m1", "m4", "m5"), fake.sent);
+        assertEquals(2, broadcaster.getDroppedMessages());
+    }
+
+    @Test
+    void disconnect() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        broadcaster.setMaxPendingMessages(1);
+        broadcaster.setSlowConsumerPolicy(SlowConsumerPolicy.DISCONNECT);
+        FakeSession fake = new FakeSession("s1");
+        broadcaster.register(fake.session);
+        broadcaster.send(fake.session, "m1");
+        broadcaster.send(fake.session, "m2");
+        broadcaster.send(fake.session, "m3");
+        assertFalse(fake.open);
+        assertNotNull(fake.closeReason);
+        assertEquals(CloseReason.CloseCodes.TRY_AGAIN_LATER, fake.closeReason.getCloseCode());
+        assertEquals(1, broadcaster.getDisconnectedSessions());
+        assertEquals(2, broadcaster.getDroppedMessages());
+
+        // Messages to a closed session are dropped
+        broadcaster.send(fake.session, "m4");
+        assertEquals(3, broadcaster.getDroppedMessages());
+        assertEquals(List.of("m1"), fake.sent);
+    }
+
+    @Test
+    void broadcastWithFilter() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        FakeSession fake1 = new FakeSession("s1");
+        broadcaster.register(fake1.session);
+        FakeSession fake2 = new FakeSession("s2");
+        broadcaster.register(fake2.session);
+        FakeSession fake3 = new FakeSession("s3");
+        broadcaster.register(fake3.session);
+        List<Session> sessions = List.of(fake1.session, fake2.session, fake3.session);
+        broadcaster.broadcast(sessions, "hello", session -> !"s2".equals(session.getId()));
+        assertEquals(List.of("hello"), fake1.sent);
+        assertTrue(fake2.sent.isEmpty());
+        assertEquals(List.of("hello"), fake3.sent);
+    }
+
+    @Test
+    void broadcastBinarySharesContent() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        FakeSession fake1 = new FakeSession("s1");
+        broadcaster.register(fake1.session);
+        FakeSession fake2 = new FakeSession("s2");
+        broadcaster.register(fake2.session);
+        ByteBuffer data = ByteBuffer.wrap("payload".getBytes(StandardCharsets.UTF_8));
+        broadcaster.broadcast(List.of(fake1.session, fake2.session), data, null);
+        assertEquals(List.of("payload"), fake1.sent);
+        assertEquals(List.of("payload"), fake2.sent);
+        assertEquals(0, data.position());
+    }
+
+    @Test
+    void broadcastWithFanOutExecutor() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        List<Runnable> tasks = new ArrayList<>();
+        broadcaster.setFanOutExecutor(tasks::add);
+        broadcaster.setFanOutBatchSize(2);
+        List<FakeSession> fakes = new ArrayList<>();
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            FakeSession fake = new FakeSession("s" + i);
+            broadcaster.register(fake.session);
+            fakes.add(fake);
+            sessions.add(fake.session);
+        }
+        broadcaster.broadcast(sessions, "hello", null);
+        assertEquals(3, tasks.size());
+        tasks.forEach(Runnable::run);
+        for (FakeSession fake : fakes) {
+            assertEquals(List.of("hello"), fake.sent);
+        }
+    }
+
+    @Test
+    void failedSendContinuesWithNext() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        FakeSession fake = new FakeSession("s1");
+        broadcaster.register(fake.session);
+        broadcaster.send(fake.session, "a");
+        broadcaster.send(fake.session, "b");
+        fake.fail();
+        assertEquals(List.of("a", "b"), fake.sent);
+        assertEquals(1, broadcaster.getFailedMessages());
+    }
+
+    @Test
+    void removeDiscardsPendingMessages() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        FakeSession fake = new FakeSession("s1");
+        broadcaster.register(fake.session);
+        broadcaster.send(fake.session, "a");
+        broadcaster.send(fake.session, "b");
+        broadcaster.send(fake.session, "c");
+        broadcaster.remove(fake.session);
+        assertEquals(2, broadcaster.getDroppedMessages());
+    }
+
+    @Test
+    void unregisteredSessionIsNotTracked() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        FakeSession fake = new FakeSession("s1");
+        broadcaster.send(fake.session, "a");
+        broadcaster.broadcast(List.of(fake.session), "b", null);
+        assertTrue(fake.sent.isEmpty());
+        assertFalse(broadcaster.isRegistered(fake.session));
+        assertEquals(2, broadcaster.getDroppedMessages());
+    }
+
+    @Test
+    void closedSessionIsReleased() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        FakeSession fake = new FakeSession("s1");
+        broadcaster.register(fake.session);
+        broadcaster.send(fake.session, "a");
+        broadcaster.send(fake.session, "b");
+        fake.open = false;
+        fake.fail();
+        assertFalse(broadcaster.isRegistered(fake.session));
+        assertEquals(1, broadcaster.getDroppedMessages());
+
+        // Registering a closed session has no effect
+        broadcaster.register(fake.session);
+        assertFalse(broadcaster.isRegistered(fake.session));
+    }
+
+    @Test
+    void removedSessionDropsLateMessages() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        FakeSession fake = new FakeSession("s1");
+        broadcaster.register(fake.session);
+        broadcaster.remove(fake.session);
+        broadcaster.send(fake.session, "a");
+        assertTrue(fake.sent.isEmpty());
+        assertFalse(broadcaster.isRegistered(fake.session));
+        assertEquals(1, broadcaster.getDroppedMessages());
+    }
+
+    @Test
+    void fanOutKeepsOrderAcrossBroadcasts() {
+        SessionBroadcaster broadcaster = new SessionBroadcaster();
+        List<Runnable> tasks = new ArrayList<>();
+        broadcaster.setFanOutExecutor(tasks::add);
+        broadcaster.setFanOutBatchSize(1);
+        FakeSession fake1 = new FakeSession("s1");
+        broadcaster.register(fake1.session);
+        FakeSession fake2 = new FakeSession("s2");
+        broadcaster.register(fake2.session);
+        List<Session> sessions = List.of(fake1.session, fake2.session);
+        broadcaster.broadcast(sessions, "first", null);
+        broadcaster.broadcast(sessions, "second", null);
+        assertEquals(2, tasks.size());
+
+        // Run the fan-out tasks in reverse order of submission
+        for (int i = tasks.size() - 1; i >= 0; i--) {
+            tasks.get(i).run();
+        }
+        drain(fake1);
+        drain(fake2);
+        assertEquals(List.of("first", "second"), fake1.sent);
+        assertEquals(List.of("first", "second"), fake2.sent);
+    }
+
+    private static void drain(FakeSession fake) {
+        while (!fake.handlers.isEmpty()) {
+            fake.complete();
+        }
+    }
+
+    private static class FakeSession {
+
+        final List<String> sent = new ArrayList<>();
+
+        final List<SendHandler> handlers = new ArrayList<>();
+
+        final Session session;
+
+        boolean open = true;
+
+        CloseReason closeReason;
+
+        FakeSession(String id) {
+            RemoteEndpoint.Async async = (RemoteEndpoint.Async)Proxy.newProxyInstance(
+                    getClass().getClassLoader(), new Class<?>[] {RemoteEndpoint.Async.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "sendText" -> sent.add((String)args[0]);
+                            case "sendBinary" -> sent.add(StandardCharsets.UTF_8.decode((ByteBuffer)args[0]).toString());
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        }
+                        handlers.add((SendHandler)args[1]);
+                        return null;
+                    });
+            this.session = (Session)Proxy.newProxyInstance(
+                    getClass().getClassLoader(), new Class<?>[] {Session.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getId" -> id;
+                        case "isOpen" -> open;
+                        case "getAsyncRemote" -> async;
+                        case "close" -> {
+                            open = false;
+                            closeReason = (CloseReason)args[0];
+                            yield null;
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> id;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        void complete() {
+            handlers.remove(0).onResult(new SendResult(session));
+        }
+
+        void fail() {
+            handlers.remove(0).onResult(new SendResult(session, new RuntimeException("test")));
+        }
+
+    }
+
+}
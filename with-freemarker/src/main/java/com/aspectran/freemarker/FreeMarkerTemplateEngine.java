@@ -19,6 +19,8 @@ import com.aspectran.core.activity.Activity;
 import com.aspectran.core.component.template.engine.TemplateEngine;
 import com.aspectran.core.component.template.engine.TemplateEngineProcessException;
 import com.aspectran.utils.Assert;
+import com.aspectran.utils.cache.Cache;
+import com.aspectran.utils.cache.ConcurrentLruCache;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
@@ -27,6 +29,7 @@ import org.jspecify.annotations.NonNull;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.Locale;
 import java.util.Map;
@@ -35,13 +38,21 @@ import java.util.Map;
  * The concrete implementation of {@link TemplateEngine} for the FreeMarker template engine.
  * <p>This class uses a pre-configured FreeMarker {@link Configuration} object to process
  * templates, either from a file resolved by a template loader or from a raw string source.</p>
+ * <p>Templates processed from a raw string source are parsed once and kept in a bounded
+ * LRU cache keyed by the template source, so that inline templates are not re-parsed
+ * on every request. A changed template source simply results in a new cache entry.</p>
  *
  * @since 2016. 1. 9.
  */
 public class FreeMarkerTemplateEngine implements TemplateEngine {
 
+    /** The default maximum number of compiled inline templates to keep. */
+    public static final int DEFAULT_INLINE_TEMPLATE_CACHE_SIZE = 256;
+
     private final Configuration configuration;
 
+    private volatile Cache<String, Template> inlineTemplateCache;
+
     /**
      * Constructs a new FreeMarkerTemplateEngine with a given FreeMarker Configuration.
      * @param configuration the pre-configured FreeMarker {@link Configuration} instance
@@ -49,6 +60,7 @@ public class FreeMarkerTemplateEngine implements TemplateEngine {
     public FreeMarkerTemplateEngine(Configuration configuration) {
         Assert.notNull(configuration, "configuration must not be null");
         this.configuration = configuration;
+        this.inlineTemplateCache = createInlineTemplateCache(DEFAULT_INLINE_TEMPLATE_CACHE_SIZE);
     }
 
     /**
@@ -59,6 +71,35 @@ public class FreeMarkerTemplateEngine implements TemplateEngine {
         return configuration;
     }
 
+    /**
+     * Sets the maximum number of compiled inline templates to keep.
+     * A value of {@code 0} disables caching, so that inline templates are
+     * parsed each time they are processed.
+     * @param inlineTemplateCacheSize the maximum number of cached inline templates
+     */
+    public void setInlineTemplateCacheSize(int inlineTemplateCacheSize) {
+        Assert.isTrue(inlineTemplateCacheSize >= 0, "inlineTemplateCacheSize must not be negative");
+        this.inlineTemplateCache = createInlineTemplateCache(inlineTemplateCacheSize);
+    }
+
+    /**
+     * Discards all compiled inline templates.
+     */
+    public void clearInlineTemplateCache() {
+        Cache<String, Template> cache = inlineTemplateCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the cache of compiled inline templates.
+     * @return the inline template cache, or {@code null} if caching is disabled
+     */
+    Cache<String, Template> getInlineTemplateCache() {
+        return inlineTemplateCache;
+    }
+
     /**
      * Processes a template specified by its name, which is resolved by the template loader.
      * @param templateName the name of the template to process
@@ -91,17 +132,60 @@ public class FreeMarkerTemplateEngine implements TemplateEngine {
             Map<String, Object> variables = activity.getActivityData();
             Writer writer = activity.getResponseAdapter().getWriter();
 
-            String templateName = createTemplateName(templateSource);
-            Reader reader = new StringReader(templateSource);
-            Template template = new Template(templateName, reader, configuration);
+            Template template = getInlineTemplate(templateSource);
             template.process(variables, writer);
 
             writer.flush();
+        } catch (UncheckedIOException e) {
+            throw new TemplateEngineProcessException(e.getCause());
         } catch (Exception e) {
             throw new TemplateEngineProcessException(e);
         }
     }
 
+    /**
+     * Returns the compiled template for the given template source, parsing it
+     * only if it is not already cached.
+     * @param templateSource the raw string content of the template
+     * @return the compiled template
+     * @throws IOException if the template source cannot be parsed
+     */
+    private Template getInlineTemplate(String templateSource) throws IOException {
+        Cache<String, Template> cache = inlineTemplateCache;
+        if (cache != null) {
+            return cache.get(templateSource);
+        } else {
+            return parseTemplate(templateSource);
+        }
+    }
+
+    /**
+     * Parses the given template source into a FreeMarker {@link Template}.
+     * @param templateSource the raw string content of the template
+     * @return the compiled template
+     * @throws IOException if the template source cannot be parsed
+     */
+    @NonNull
+    private Template parseTemplate(@NonNull String templateSource) throws IOException {
+        String templateName = createTemplateName(templateSource);
+        Reader reader = new StringReader(templateSource);
+        return new Template(templateName, reader, configuration);
+    }
+
+    private Cache<String, Template> createInlineTemplateCache(int capacity) {
+        if (capacity > 0) {
+            return new ConcurrentLruCache<>(capacity, templateSource -> {
+                try {
+                    return parseTemplate(templateSource);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } else {
+            return null;
+        }
+    }
+
     /**
      * Static helper method that encapsulates the core logic of processing a FreeMarker template.
      * @param configuration the FreeMarker configuration
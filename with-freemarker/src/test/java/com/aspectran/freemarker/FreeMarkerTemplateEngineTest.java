@@ -22,12 +22,16 @@ import com.aspectran.core.context.config.ContextConfig;
 import com.aspectran.core.context.rule.ResourceAppendRule;
 import com.aspectran.core.context.rule.params.AspectranParameters;
 import com.aspectran.embed.service.EmbeddedAspectran;
+import com.aspectran.utils.cache.Cache;
+import freemarker.template.Template;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class FreeMarkerTemplateEngineTest {
@@ -82,4 +86,30 @@ class FreeMarkerTemplateEngineTest {
         assertEquals(result1, result3);
     }
 
+    @Test
+    void testRepeatedInlineTemplate() {
+        ParameterMap params = new ParameterMap();
+        params.setParameter("name", "tester");
+        params.setParameter("email", "tester@aspectran.com");
+
+        FreeMarkerTemplateEngine engine = aspectran.getBean("freemarker");
+        engine.clearInlineTemplateCache();
+        Cache<String, Template> cache = engine.getInlineTemplateCache();
+        assertNotNull(cache);
+
+        String result1 = aspectran.render("update-template", params.extractAsMap());
+        assertEquals(1, cache.size());
+        String templateSource = cache.keySet().iterator().next();
+        Template template = cache.get(templateSource);
+
+        for (int i = 0; i < 100; i++) {
+            String result2 = aspectran.translate("update-translet-1", params).getWrittenResponse();
+            assertEquals(result1, result2);
+        }
+
+        // Every render was served by the template parsed the first time
+        assertEquals(1, cache.size());
+        assertSame(template, cache.get(templateSource));
+    }
+
 }
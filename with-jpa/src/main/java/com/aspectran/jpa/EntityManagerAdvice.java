@@ -55,6 +55,8 @@ public class EntityManagerAdvice {
 
     private boolean transactional;
 
+    private Runnable closeCallback;
+
     /**
      * Creates a new {@code EntityManagerAdvice} with the specified factory.
      * @param entityManagerFactory the factory to be used for creating {@link EntityManager} instances
@@ -63,6 +65,17 @@ public class EntityManagerAdvice {
         this.entityManagerFactory = entityManagerFactory;
     }
 
+    /**
+     * Sets a callback to be invoked once the managed entity manager is next closed.
+     * This allows a routing agent to hand back a replica it selected for the
+     * entity manager when the transaction ends.
+     * @param closeCallback the callback, or {@code null} to remove it
+     * @since 9.6.5
+     */
+    public void setCloseCallback(Runnable closeCallback) {
+        this.closeCallback = closeCallback;
+    }
+
     /**
      * Returns the {@link EntityManager} currently managed by this advice.
      * @return the active {@link EntityManager}
@@ -130,6 +143,12 @@ public class EntityManagerAdvice {
             }
 
             entityManager = null;
+
+            if (closeCallback != null) {
+                Runnable callback = closeCallback;
+                closeCallback = null;
+                callback.run();
+            }
         }
     }
 
@@ -28,6 +28,13 @@ import com.querydsl.jpa.impl.JPAInsertClause;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAUpdateClause;
 import jakarta.persistence.EntityManager;
+import org.jspecify.annotations.NonNull;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Base support class for integrated {@link EntityManager} and {@link JPQLQueryFactory}.
@@ -39,6 +46,12 @@ import jakarta.persistence.EntityManager;
  */
 public abstract class AbstractEntityQuery extends AbstractEntityManagerProvider implements EntityQuery {
 
+    private static final String HIBERNATE_FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+
+    private static final String HIBERNATE_READ_ONLY_HINT = "org.hibernate.readOnly";
+
+    private static final String ECLIPSELINK_FETCH_SIZE_HINT = "eclipselink.jdbc.fetch-size";
+
     private JPQLTemplates templates;
 
     /**
@@ -150,4 +163,68 @@ public abstract class AbstractEntityQuery extends AbstractEntityManagerProvider
         }
     }
 
+    @Override
+    public <T> Stream<T> stream(@NonNull JPAQuery<T> query, int fetchSize) {
+        if (fetchSize > 0) {
+            query.setHint(HIBERNATE_FETCH_SIZE_HINT, fetchSize);
+            query.setHint(ECLIPSELINK_FETCH_SIZE_HINT, fetchSize);
+        }
+        query.setHint(HIBERNATE_READ_ONLY_HINT, true);
+        Stream<T> stream = query.stream();
+        Iterator<T> iterator = new DetachingIterator<>(stream.iterator(), getEntityManager());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(stream::close);
+    }
+
+    /**
+     * An iterator that detaches the previously returned entity from the persistence
+     * context whenever the next one is pulled, keeping the persistence context small
+     * while a large result is being streamed.
+     */
+    private static class DetachingIterator<T> implements Iterator<T> {
+
+        private final Iterator<T> iterator;
+
+        private final EntityManager entityManager;
+
+        private T previous;
+
+        private Boolean entityResult;
+
+        DetachingIterator(Iterator<T> iterator, EntityManager entityManager) {
+            this.iterator = iterator;
+            this.entityManager = entityManager;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            detachPrevious();
+            T next = iterator.next();
+            previous = next;
+            return next;
+        }
+
+        private void detachPrevious() {
+            if (previous == null || Boolean.FALSE.equals(entityResult)) {
+                return;
+            }
+            try {
+                if (entityManager.contains(previous)) {
+                    entityManager.detach(previous);
+                }
+                entityResult = Boolean.TRUE;
+            } catch (IllegalArgumentException e) {
+                // The results are not entities, such as tuples or scalar values
+                entityResult = Boolean.FALSE;
+            }
+            previous = null;
+        }
+
+    }
+
 }
@@ -16,8 +16,11 @@
 package com.aspectran.jpa.querydsl;
 
 import com.querydsl.jpa.JPQLQueryFactory;
+import com.querydsl.jpa.impl.JPAQuery;
 import jakarta.persistence.EntityManager;
 
+import java.util.stream.Stream;
+
 /**
  * Integrated interface combining JPA {@link EntityManager} and Querydsl {@link JPQLQueryFactory}.
  *
@@ -27,4 +30,24 @@ import jakarta.persistence.EntityManager;
  * <p>Created: 2026. 4. 6.</p>
  */
 public interface EntityQuery extends EntityManager, JPQLQueryFactory {
+
+    /**
+     * Executes the given query and returns its results as a lazily populated stream
+     * backed by a database cursor, instead of loading them all into memory.
+     * <p>Each entity returned by the stream is detached from the persistence context
+     * as soon as the next one is pulled, so that the persistence context does not grow
+     * with the number of rows; the streamed entities should therefore be treated as
+     * read-only. The stream holds the underlying JDBC result set open and must be
+     * closed after use. A stream returned from an action may be handed over as is
+     * to the JSON transform response, which writes it incrementally and closes it,
+     * since the entity manager stays open until the response is complete.</p>
+     * @param query the query to execute
+     * @param fetchSize the number of rows to fetch from the database per round trip
+     *      as a hint to the JDBC driver; zero or less to use the driver's default
+     * @param <T> the type of the results
+     * @return a stream of the results
+     * @since 9.6.5
+     */
+    <T> Stream<T> stream(JPAQuery<T> query, int fetchSize);
+
 }
@@ -21,6 +21,9 @@ import com.aspectran.jpa.AbstractEntityManagerProvider;
 import com.aspectran.jpa.EntityManagerAdvice;
 import com.aspectran.jpa.EntityManagerAdviceRegister;
 import com.aspectran.utils.Assert;
+import com.aspectran.utils.routing.BalancingPolicy;
+import com.aspectran.utils.routing.ReplicaPool;
+import com.aspectran.utils.routing.ReplicaRouter;
 import org.jspecify.annotations.NonNull;
 
 /**
@@ -31,6 +34,13 @@ import org.jspecify.annotations.NonNull;
  * read-only operations to a separate transactional context, which can be
  * configured differently (e.g., directed to a read-replica database).</p>
  *
+ * <p>Reads may be spread over several replica aspects, each of which can use its
+ * own {@link jakarta.persistence.EntityManagerFactory}. Once an activity has
+ * chosen a replica it keeps using it, and once it has written to the primary,
+ * its subsequent reads also go to the primary so that it sees its own writes.
+ * A replica whose connection cannot be acquired is skipped in favor of the
+ * next one, and is ejected after consecutive failures; see {@link ReplicaPool}.</p>
+ *
  * <p>Created: 2026. 4. 5.</p>
  */
 public class RoutingEntityManagerAgent extends AbstractEntityManagerProvider implements InitializableBean {
@@ -65,7 +75,11 @@ public class RoutingEntityManagerAgent extends AbstractEntityManagerProvider imp
 
     private final String primaryAspectId;
 
-    private final String replicaAspectId;
+    private final String[] replicaAspectIds;
+
+    private String[] replicaEntityManagerFactoryBeanIds;
+
+    private final ReplicaRouter replicaRouter;
 
     /**
      * Instantiates a new RoutingEntityManagerAgent.
@@ -73,10 +87,90 @@ public class RoutingEntityManagerAgent extends AbstractEntityManagerProvider imp
      * @param replicaAspectId the ID for the replica aspect rule
      */
     public RoutingEntityManagerAgent(String primaryAspectId, String replicaAspectId) {
+        this(primaryAspectId, new String[] {replicaAspectId});
+    }
+
+    /**
+     * Instantiates a new RoutingEntityManagerAgent that balances reads over several replicas.
+     * @param primaryAspectId the ID for the primary aspect rule
+     * @param replicaAspectIds the IDs for the replica aspect rules
+     * @since 9.6.5
+     */
+    public RoutingEntityManagerAgent(String primaryAspectId, String[] replicaAspectIds) {
         Assert.notNull(primaryAspectId, "primaryAspectId must not be null");
-        Assert.notNull(replicaAspectId, "replicaAspectId must not be null");
+        Assert.notEmpty(replicaAspectIds, "replicaAspectIds must not be empty");
+        for (String replicaAspectId : replicaAspectIds) {
+            Assert.notNull(replicaAspectId, "replicaAspectId must not be null");
+        }
         this.primaryAspectId = primaryAspectId;
-        this.replicaAspectId = replicaAspectId;
+        this.replicaAspectIds = replicaAspectIds;
+        this.replicaRouter = new ReplicaRouter(replicaAspectIds);
+    }
+
+    /**
+     * Sets the bean IDs of the {@link jakarta.persistence.EntityManagerFactory}
+     * for each replica aspect, in the same order as the replica aspect IDs.
+     * If not specified, the replicas use the same EntityManagerFactory as the primary.
+     * @param replicaEntityManagerFactoryBeanIds the bean IDs of the EntityManagerFactory for each replica
+     * @since 9.6.5
+     */
+    public void setReplicaEntityManagerFactoryBeanIds(String[] replicaEntityManagerFactoryBeanIds) {
+        checkNotInitialized();
+        Assert.isTrue(replicaEntityManagerFactoryBeanIds == null ||
+                        replicaEntityManagerFactoryBeanIds.length == replicaAspectIds.length,
+                "The number of replica EntityManagerFactory bean IDs must match the number of replica aspects");
+        this.replicaEntityManagerFactoryBeanIds = replicaEntityManagerFactoryBeanIds;
+    }
+
+    /**
+     * Sets the policy by which a replica is chosen for an activity.
+     * The default is {@link BalancingPolicy#ROUND_ROBIN}.
+     * @param balancingPolicy the balancing policy
+     * @since 9.6.5
+     */
+    public void setBalancingPolicy(BalancingPolicy balancingPolicy) {
+        checkNotInitialized();
+        replicaRouter.setBalancingPolicy(balancingPolicy);
+    }
+
+    /**
+     * Sets the policy by which a replica is chosen for an activity.
+     * @param balancingPolicy the balancing policy name
+     * @see ReplicaRouter#setBalancingPolicyAsString(String)
+     * @since 9.6.5
+     */
+    public void setBalancingPolicyAsString(String balancingPolicy) {
+        checkNotInitialized();
+        replicaRouter.setBalancingPolicyAsString(balancingPolicy);
+    }
+
+    /**
+     * Sets the number of consecutive failures after which a replica is ejected.
+     * @param failureThreshold the failure threshold
+     * @since 9.6.5
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        checkNotInitialized();
+        replicaRouter.setFailureThreshold(failureThreshold);
+    }
+
+    /**
+     * Sets the time in milliseconds an ejected replica waits before it is tried again.
+     * @param retryInterval the retry interval in milliseconds
+     * @since 9.6.5
+     */
+    public void setRetryInterval(long retryInterval) {
+        checkNotInitialized();
+        replicaRouter.setRetryInterval(retryInterval);
+    }
+
+    /**
+     * Returns the pool that balances reads over the replica aspects.
+     * @return the replica pool
+     * @since 9.6.5
+     */
+    public ReplicaPool getReplicaPool() {
+        return replicaRouter.getReplicaPool();
     }
 
     @Override
@@ -86,21 +180,59 @@ public class RoutingEntityManagerAgent extends AbstractEntityManagerProvider imp
         checkTransactional(currentActivity);
 
         EntityManagerAdvice primaryAdvice = currentActivity.getAvailableAdvice(primaryAspectId);
-        if (primaryAdvice != null && primaryAdvice.isOpen()) {
+        if (primaryAdvice != null) {
             return primaryAdvice;
         }
 
-        EntityManagerAdvice replicaAdvice = currentActivity.getAvailableAdvice(replicaAspectId);
-        if (replicaAdvice != null && replicaAdvice.isOpen()) {
-            return replicaAdvice;
+        for (String replicaAspectId : replicaAspectIds) {
+            EntityManagerAdvice replicaAdvice = currentActivity.getAvailableAdvice(replicaAspectId);
+            if (replicaAdvice != null && replicaAdvice.isOpen()) {
+                return replicaAdvice;
+            }
         }
 
-        EntityManagerAdvice entityManagerAdvice = (primaryAdvice != null ? primaryAdvice : replicaAdvice);
-        if (entityManagerAdvice == null) {
-            throw new IllegalStateException("No transactional context found for the current activity; " +
-                    "ensure the activity is advised by aspect '" + primaryAspectId + "' or '" + replicaAspectId + "'");
-        }
-        return entityManagerAdvice;
+        return selectReplicaAdvice(currentActivity);
+    }
+
+    /**
+     * Chooses a replica for the given activity and opens its entity manager.
+     * A replica whose connection cannot be acquired is reported to the replica
+     * pool and the next one is tried.
+     * @param activity the current activity
+     * @return the EntityManagerAdvice of the chosen replica
+     */
+    @NonNull
+    private EntityManagerAdvice selectReplicaAdvice(@NonNull Activity activity) {
+        return replicaRouter.route(new ReplicaRouter.Connector<>() {
+            @Override
+            @NonNull
+            public EntityManagerAdvice obtain(String replicaAspectId) {
+                EntityManagerAdvice replicaAdvice = activity.getAvailableAdvice(replicaAspectId);
+                if (replicaAdvice == null) {
+                    throw new IllegalStateException("No transactional context found for the current activity; " +
+                            "ensure the activity is advised by aspect '" + primaryAspectId + "' or '" +
+                            replicaAspectId + "'");
+                }
+                return replicaAdvice;
+            }
+
+            @Override
+            public void connect(@NonNull EntityManagerAdvice replicaAdvice) {
+                replicaAdvice.getEntityManager().runWithConnection(connection -> {
+                    // Only makes sure that a connection can be acquired
+                });
+            }
+
+            @Override
+            public void discard(@NonNull EntityManagerAdvice replicaAdvice) {
+                replicaAdvice.close();
+            }
+
+            @Override
+            public void onRelease(@NonNull EntityManagerAdvice replicaAdvice, Runnable callback) {
+                replicaAdvice.setCloseCallback(callback);
+            }
+        });
     }
 
     @Override
@@ -119,16 +251,22 @@ public class RoutingEntityManagerAgent extends AbstractEntityManagerProvider imp
 
             register.register();
         }
-        if (!getAspectRuleRegistry().contains(replicaAspectId)) {
-            EntityManagerAdviceRegister register = new EntityManagerAdviceRegister(getActivityContext());
-            register.setTxAspectId(replicaAspectId);
-            register.setEntityManagerFactoryBeanId(getEntityManagerFactoryBeanId());
-            register.setTargetBeanId(getTargetBeanId());
-            register.setTargetBeanClass(getTargetBeanClass());
+        for (int i = 0; i < replicaAspectIds.length; i++) {
+            if (!getAspectRuleRegistry().contains(replicaAspectIds[i])) {
+                EntityManagerAdviceRegister register = new EntityManagerAdviceRegister(getActivityContext());
+                register.setTxAspectId(replicaAspectIds[i]);
+                if (replicaEntityManagerFactoryBeanIds != null) {
+                    register.setEntityManagerFactoryBeanId(replicaEntityManagerFactoryBeanIds[i]);
+                } else {
+                    register.setEntityManagerFactoryBeanId(getEntityManagerFactoryBeanId());
+                }
+                register.setTargetBeanId(getTargetBeanId());
+                register.setTargetBeanClass(getTargetBeanClass());
 
-            register.setIncludeMethodNamePatterns(DEFAULT_READONLY_METHOD_PATTERNS);
+                register.setIncludeMethodNamePatterns(DEFAULT_READONLY_METHOD_PATTERNS);
 
-            register.register();
+                register.register();
+            }
         }
         setInitialized(true);
     }
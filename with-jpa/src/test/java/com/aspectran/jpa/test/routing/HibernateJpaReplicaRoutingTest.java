@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.jpa.test.routing;
+
+import com.aspectran.core.activity.ActivityPerformException;
+import com.aspectran.jpa.EntityManagerAdvice;
+import com.aspectran.jpa.querydsl.routing.RoutingEntityQuery;
+import com.aspectran.jpa.routing.RoutingEntityManagerAgent;
+import com.aspectran.jpa.test.common.model.Vet;
+import com.aspectran.jpa.test.routing.dao.JpaTestDao;
+import com.aspectran.test.ActivityTester;
+import com.aspectran.test.AspectranTest;
+import com.aspectran.utils.routing.ReplicaPool;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@AspectranTest(
+    rules = "com/aspectran/jpa/test/routing/replica-routing-test-context.xml",
+    profiles = {"h2", "hibernate"},
+    basePackages = {
+            "com.aspectran.jpa.common",
+            "com.aspectran.jpa.test"
+    }
+)
+class HibernateJpaReplicaRoutingTest {
+
+    @Test
+    void testFailoverToHealthyReplica(@NonNull ActivityTester tester) throws ActivityPerformException {
+        for (int i = 0; i < 3; i++) {
+            tester.perform(activity -> {
+                JpaTestDao replicaDao = activity.getBean("replicaDao");
+                replicaDao.getVet(1);
+
+                EntityManagerAdvice replicaAdvice = activity.getAvailableAdvice("replicaTxAspect1");
+                assertTrue(replicaAdvice.isOpen());
+                return null;
+            });
+        }
+
+        RoutingEntityManagerAgent agent = tester.getActivityContext().getBeanRegistry().getBean("replicaRoutingEntityManager");
+        ReplicaPool replicaPool = agent.getReplicaPool();
+        assertTrue(replicaPool.isAvailable("replicaTxAspect1"));
+        assertFalse(replicaPool.isAvailable("replicaTxAspect2"));
+        assertEquals(0, replicaPool.getInFlight("replicaTxAspect1"));
+        assertEquals(0, replicaPool.getInFlight("replicaTxAspect2"));
+    }
+
+    @Test
+    void testEntityQueryFailoverToHealthyReplica(@NonNull ActivityTester tester) throws ActivityPerformException {
+        for (int i = 0; i < 3; i++) {
+            tester.perform(activity -> {
+                JpaTestDao replicaQueryDao = activity.getBean("replicaQueryDao");
+                replicaQueryDao.getVet(1);
+
+                EntityManagerAdvice replicaAdvice = activity.getAvailableAdvice("queryReplicaTxAspect2");
+                assertTrue(replicaAdvice.isOpen());
+                return null;
+            });
+        }
+
+        RoutingEntityQuery entityQuery = tester.getActivityContext().getBeanRegistry().getBean("replicaRoutingEntityQuery");
+        ReplicaPool replicaPool = entityQuery.getReplicaPool();
+        assertFalse(replicaPool.isAvailable("queryReplicaTxAspect1"));
+        assertTrue(replicaPool.isAvailable("queryReplicaTxAspect2"));
+        assertEquals(0, replicaPool.getInFlight("queryReplicaTxAspect1"));
+        assertEquals(0, replicaPool.getInFlight("queryReplicaTxAspect2"));
+    }
+
+    @Test
+    void testReadYourWrites(@NonNull ActivityTester tester) throws ActivityPerformException {
+        tester.perform(activity -> {
+            JpaTestDao replicaDao = activity.getBean("replicaDao");
+
+            Vet vet = new Vet();
+            vet.setFirstName("Replica");
+            vet.setLastName("User");
+            replicaDao.insertVet(vet);
+            assertNotNull(vet.getId());
+
+            // Reads after a write stay on the primary and see the uncommitted record
+            Vet foundVet = replicaDao.getVet(vet.getId());
+            assertNotNull(foundVet);
+            assertEquals("Replica", foundVet.getFirstName());
+
+            EntityManagerAdvice primaryAdvice = activity.getAvailableAdvice("replicaPrimaryTxAspect");
+            assertTrue(primaryAdvice.isOpen());
+            EntityManagerAdvice replicaAdvice1 = activity.getAvailableAdvice("replicaTxAspect1");
+            EntityManagerAdvice replicaAdvice2 = activity.getAvailableAdvice("replicaTxAspect2");
+            assertFalse(replicaAdvice1 != null && replicaAdvice1.isOpen());
+            assertFalse(replicaAdvice2 != null && replicaAdvice2.isOpen());
+            return null;
+        });
+    }
+
+    @Test
+    void testWriteAfterReadGoesToPrimary(@NonNull ActivityTester tester) throws ActivityPerformException {
+        tester.perform(activity -> {
+            JpaTestDao replicaDao = activity.getBean("replicaDao");
+            replicaDao.getVet(1);
+
+            EntityManagerAdvice replicaAdvice = activity.getAvailableAdvice("replicaTxAspect1");
+            assertTrue(replicaAdvice.isOpen());
+
+            Vet vet = new Vet();
+            vet.setFirstName("Replica");
+            vet.setLastName("Writer");
+            replicaDao.insertVet(vet);
+
+            EntityManagerAdvice primaryAdvice = activity.getAvailableAdvice("replicaPrimaryTxAspect");
+            assertTrue(primaryAdvice.isOpen());
+            assertNotNull(replicaDao.getVet(vet.getId()));
+            return null;
+        });
+    }
+
+}
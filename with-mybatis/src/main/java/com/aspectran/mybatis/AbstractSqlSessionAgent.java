@@ -25,6 +25,7 @@ import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
+import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
 import java.sql.Connection;
@@ -32,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * Base class for {@link SqlSession} agents that delegate calls to a context-bound
@@ -66,87 +68,87 @@ public abstract class AbstractSqlSessionAgent extends InstantActivitySupport
     @Advisable
     @Override
     public <T> T selectOne(String statement) {
-        return invoke(() -> getSqlSession().selectOne(statement),
-                p -> getSqlSession().selectOne(statement, p));
+        return invoke(() -> getSqlSessionForQuery().selectOne(statement),
+                p -> getSqlSessionForQuery().selectOne(statement, p));
     }
 
     @Advisable
     @Override
     public <T> T selectOne(String statement, Object parameter) {
-        return getSqlSession().selectOne(statement, parameter);
+        return getSqlSessionForQuery().selectOne(statement, parameter);
     }
 
     @Advisable
     @Override
     public <E> List<E> selectList(String statement) {
-        return invoke(() -> getSqlSession().selectList(statement),
-                p -> getSqlSession().selectList(statement, p));
+        return invoke(() -> getSqlSessionForQuery().selectList(statement),
+                p -> getSqlSessionForQuery().selectList(statement, p));
     }
 
     @Advisable
     @Override
     public <E> List<E> selectList(String statement, Object parameter) {
-        return getSqlSession().selectList(statement, parameter);
+        return getSqlSessionForQuery().selectList(statement, parameter);
     }
 
     @Advisable
     @Override
     public <E> List<E> selectList(String statement, Object parameter, RowBounds rowBounds) {
-        return getSqlSession().selectList(statement, parameter, rowBounds);
+        return getSqlSessionForQuery().selectList(statement, parameter, rowBounds);
     }
 
     @Advisable
     @Override
     public <K, V> Map<K, V> selectMap(String statement, String mapKey) {
-        return invoke(() -> getSqlSession().selectMap(statement, mapKey),
-                p -> getSqlSession().selectMap(statement, p, mapKey));
+        return invoke(() -> getSqlSessionForQuery().selectMap(statement, mapKey),
+                p -> getSqlSessionForQuery().selectMap(statement, p, mapKey));
     }
 
     @Advisable
     @Override
     public <K, V> Map<K, V> selectMap(String statement, Object parameter, String mapKey) {
-        return getSqlSession().selectMap(statement, parameter, mapKey);
+        return getSqlSessionForQuery().selectMap(statement, parameter, mapKey);
     }
 
     @Advisable
     @Override
     public <K, V> Map<K, V> selectMap(String statement, Object parameter, String mapKey, RowBounds rowBounds) {
-        return getSqlSession().selectMap(statement, parameter, mapKey, rowBounds);
+        return getSqlSessionForQuery().selectMap(statement, parameter, mapKey, rowBounds);
     }
 
     @Advisable
     @Override
     public <T> Cursor<T> selectCursor(String statement) {
-        return invoke(() -> getSqlSession().selectCursor(statement),
-                p -> getSqlSession().selectCursor(statement, p));
+        return invoke(() -> getSqlSessionForQuery().selectCursor(statement),
+                p -> getSqlSessionForQuery().selectCursor(statement, p));
     }
 
     @Advisable
     @Override
     public <T> Cursor<T> selectCursor(String statement, Object parameter) {
-        return getSqlSession().selectCursor(statement, parameter);
+        return getSqlSessionForQuery().selectCursor(statement, parameter);
     }
 
     @Advisable
     @Override
     public <T> Cursor<T> selectCursor(String statement, Object parameter, RowBounds rowBounds) {
-        return getSqlSession().selectCursor(statement, parameter, rowBounds);
+        return getSqlSessionForQuery().selectCursor(statement, parameter, rowBounds);
     }
 
     @Advisable
     @Override
     public void select(String statement, Object parameter, ResultHandler handler) {
-        getSqlSession().select(statement, parameter, handler);
+        getSqlSessionForQuery().select(statement, parameter, handler);
     }
 
     @Advisable
     @Override
     public void select(String statement, ResultHandler handler) {
         invoke(() -> {
-            getSqlSession().select(statement, handler);
+            getSqlSessionForQuery().select(statement, handler);
             return null;
         }, p -> {
-            getSqlSession().select(statement, p, handler);
+            getSqlSessionForQuery().select(statement, p, handler);
             return null;
         });
     }
@@ -154,52 +156,52 @@ public abstract class AbstractSqlSessionAgent extends InstantActivitySupport
     @Advisable
     @Override
     public void select(String statement, Object parameter, RowBounds rowBounds, ResultHandler handler) {
-        getSqlSession().select(statement, parameter, rowBounds, handler);
+        getSqlSessionForQuery().select(statement, parameter, rowBounds, handler);
     }
 
     @Advisable
     @Override
     public int insert(String statement) {
         assertNotReadOnly();
-        return invoke(() -> getSqlSession().insert(statement),
-                p -> getSqlSession().insert(statement, p));
+        return invoke(() -> executeUpdate(sqlSession -> sqlSession.insert(statement)),
+                p -> executeUpdate(sqlSession -> sqlSession.insert(statement, p)));
     }
 
     @Advisable
     @Override
     public int insert(String statement, Object parameter) {
         assertNotReadOnly();
-        return getSqlSession().insert(statement, parameter);
+        return executeUpdate(sqlSession -> sqlSession.insert(statement, parameter));
     }
 
     @Advisable
     @Override
     public int update(String statement) {
         assertNotReadOnly();
-        return invoke(() -> getSqlSession().update(statement),
-                p -> getSqlSession().update(statement, p));
+        return invoke(() -> executeUpdate(sqlSession -> sqlSession.update(statement)),
+                p -> executeUpdate(sqlSession -> sqlSession.update(statement, p)));
     }
 
     @Advisable
     @Override
     public int update(String statement, Object parameter) {
         assertNotReadOnly();
-        return getSqlSession().update(statement, parameter);
+        return executeUpdate(sqlSession -> sqlSession.update(statement, parameter));
     }
 
     @Advisable
     @Override
     public int delete(String statement) {
         assertNotReadOnly();
-        return invoke(() -> getSqlSession().delete(statement),
-                p -> getSqlSession().delete(statement, p));
+        return invoke(() -> executeUpdate(sqlSession -> sqlSession.delete(statement)),
+                p -> executeUpdate(sqlSession -> sqlSession.delete(statement, p)));
     }
 
     @Advisable
     @Override
     public int delete(String statement, Object parameter) {
         assertNotReadOnly();
-        return getSqlSession().delete(statement, parameter);
+        return executeUpdate(sqlSession -> sqlSession.delete(statement, parameter));
     }
 
     @Advisable
@@ -229,7 +231,7 @@ public abstract class AbstractSqlSessionAgent extends InstantActivitySupport
     @Advisable
     @Override
     public List<BatchResult> flushStatements() {
-        return getSqlSession().flushStatements();
+        return getSqlSessionAdvice().flushStatements();
     }
 
     @Advisable
@@ -267,6 +269,40 @@ public abstract class AbstractSqlSessionAgent extends InstantActivitySupport
         return getAvailableActivity().getActivityData();
     }
 
+    /**
+     * Returns the current SqlSession for a select, flushing any statements that are
+     * still queued in a batch session so that the select sees them.
+     * @return the active SqlSession
+     */
+    private SqlSession getSqlSessionForQuery() {
+        SqlSessionAdvice sqlSessionAdvice = getSqlSessionAdvice();
+        sqlSessionAdvice.flushPendingStatements();
+        return sqlSessionAdvice.getSqlSession();
+    }
+
+    /**
+     * Executes an update statement on the current SqlSession and lets the
+     * {@link SqlSessionAdvice} count it towards the current batch.
+     * <p>If the session is not yet open, a batch size may be designated for it with
+     * a {@code @Hint(type = "transactional", value = "batchSize: 1000")}.
+     * Note that in batch mode the returned update count is not meaningful until
+     * the statements are flushed.</p>
+     * @param action the function that executes the statement
+     * @return the result of the statement
+     */
+    private int executeUpdate(@NonNull ToIntFunction<SqlSession> action) {
+        SqlSessionAdvice sqlSessionAdvice = getSqlSessionAdvice();
+        if (!sqlSessionAdvice.isOpen()) {
+            HintParameters hint = getAvailableActivity().peekHint("transactional");
+            if (hint != null && hint.hasValue("batchSize")) {
+                sqlSessionAdvice.setBatchSize(hint.getInt("batchSize", 0));
+            }
+        }
+        int result = action.applyAsInt(sqlSessionAdvice.getSqlSession());
+        sqlSessionAdvice.statementExecuted();
+        return result;
+    }
+
     /**
      * Invokes one of the two provided functions based on the 'autoParameters' flag.
      * @param action function to invoke when auto-parameters are disabled
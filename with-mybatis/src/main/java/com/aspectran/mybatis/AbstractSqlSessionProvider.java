@@ -54,6 +54,8 @@ public abstract class AbstractSqlSessionProvider extends AbstractSqlSessionAgent
 
     private boolean readOnlyRollbackOnClose;
 
+    private int batchSize;
+
     private boolean initialized;
 
     /**
@@ -228,6 +230,29 @@ public abstract class AbstractSqlSessionProvider extends AbstractSqlSessionAgent
         this.readOnlyRollbackOnClose = readOnlyRollbackOnClose;
     }
 
+    /**
+     * Returns the number of statements queued in a batch session before they
+     * are flushed automatically.
+     * @return the batch size
+     * @since 9.6.5
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of statements queued in a batch session before they are
+     * flushed automatically. A batch size greater than zero opens the sessions of
+     * the advice with the {@code BATCH} executor type; queued statements are also
+     * flushed before any select on the same session and on commit.
+     * @param batchSize the batch size, or {@code 0} to disable automatic flushing
+     * @since 9.6.5
+     */
+    public void setBatchSize(int batchSize) {
+        checkNotInitialized();
+        this.batchSize = batchSize;
+    }
+
     /**
      * Returns the {@link SqlSessionFactory} associated with this provider.
      * @return the SqlSessionFactory
@@ -83,6 +83,7 @@ public class DefaultSqlSessionAgent extends AbstractSqlSessionProvider implement
             register.setAutoCommit(isAutoCommit());
             register.setReadOnly(isReadOnly());
             register.setReadOnlyRollbackOnClose(isReadOnlyRollbackOnClose());
+            register.setBatchSize(getBatchSize());
             register.register();
         }
         setInitialized(true);
@@ -18,6 +18,7 @@ package com.aspectran.mybatis;
 import com.aspectran.utils.Assert;
 import com.aspectran.utils.ObjectUtils;
 import com.aspectran.utils.ToStringBuilder;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -26,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Advice bean that manages the lifecycle of a MyBatis {@link SqlSession}.
@@ -39,6 +41,7 @@ import java.sql.SQLException;
  *   <li>Lazy session initialization via {@link #getSqlSession()}</li>
  *   <li>Support for read-only mode and associated connection settings</li>
  *   <li>Configurable executor type and isolation level</li>
+ *   <li>Statement batching with automatic flushing for {@link ExecutorType#BATCH} sessions</li>
  *   <li>Automatic commit and rollback based on method execution outcomes</li>
  * </ul>
  *
@@ -61,10 +64,20 @@ public class SqlSessionAdvice {
 
     private boolean readOnlyRollbackOnClose;
 
+    private int batchSize;
+
     private SqlSession sqlSession;
 
     private boolean arbitrarilyClosed;
 
+    private int pendingStatements;
+
+    private int flushedBatches;
+
+    private int flushedStatements;
+
+    private Runnable closeCallback;
+
     /**
      * Instantiates a new SqlSessionAdvice.
      * @param sqlSessionFactory the SqlSessionFactory to create sessions from
@@ -168,6 +181,85 @@ public class SqlSessionAdvice {
         this.readOnlyRollbackOnClose = readOnlyRollbackOnClose;
     }
 
+    /**
+     * Returns the number of statements that are queued in a batch session before
+     * they are flushed automatically.
+     * @return the batch size, or {@code 0} if statements are flushed only on commit
+     * @since 9.6.5
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of statements that are queued in a batch session before
+     * they are flushed automatically. Setting a batch size greater than zero
+     * implies the {@link ExecutorType#BATCH} executor type.
+     * <p>Regardless of the batch size, queued statements are always flushed before
+     * a select is executed on the same session, so that the select sees them.</p>
+     * @param batchSize the batch size, or {@code 0} to flush only on commit
+     * @since 9.6.5
+     */
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize >= 0, "batchSize must not be negative");
+        ensureNotOpen();
+        this.batchSize = batchSize;
+        if (batchSize > 0) {
+            this.executorType = ExecutorType.BATCH;
+        }
+    }
+
+    /**
+     * Returns whether the session queues update statements in batches.
+     * @return true if the executor type is {@link ExecutorType#BATCH}, false otherwise
+     * @since 9.6.5
+     */
+    public boolean isBatchMode() {
+        if (executorType != null) {
+            return (executorType == ExecutorType.BATCH);
+        } else {
+            return (sqlSessionFactory.getConfiguration().getDefaultExecutorType() == ExecutorType.BATCH);
+        }
+    }
+
+    /**
+     * Returns the number of statements queued since the last flush.
+     * @return the number of pending statements
+     * @since 9.6.5
+     */
+    public int getPendingStatements() {
+        return pendingStatements;
+    }
+
+    /**
+     * Returns the number of JDBC batches flushed in the current transaction.
+     * @return the number of flushed batches
+     * @since 9.6.5
+     */
+    public int getFlushedBatches() {
+        return flushedBatches;
+    }
+
+    /**
+     * Returns the number of statements flushed in the current transaction.
+     * @return the number of flushed statements
+     * @since 9.6.5
+     */
+    public int getFlushedStatements() {
+        return flushedStatements;
+    }
+
+    /**
+     * Sets a callback to be invoked once the managed session is next closed.
+     * This allows a routing agent to hand back a replica it selected for the
+     * session when the transaction ends.
+     * @param closeCallback the callback, or {@code null} to remove it
+     * @since 9.6.5
+     */
+    public void setCloseCallback(Runnable closeCallback) {
+        this.closeCallback = closeCallback;
+    }
+
     /**
      * Returns the managed {@link SqlSession} instance.
      * This session is created by the {@code open()} method and its lifecycle
@@ -233,6 +325,9 @@ public class SqlSessionAdvice {
                     tsb.appendForce("autoCommit", autoCommitToUse);
                 }
                 tsb.appendForce("readOnly", readOnly);
+                if (batchSize > 0) {
+                    tsb.append("batchSize", batchSize);
+                }
                 if (readOnly) {
                     tsb.appendForce("rollbackOnClose", readOnlyRollbackOnClose);
                 }
@@ -243,6 +338,52 @@ public class SqlSessionAdvice {
         }
     }
 
+    /**
+     * Notifies this advice that an update statement has been executed on the session.
+     * In batch mode, the statement is counted as queued, and all queued statements
+     * are flushed once the batch size is reached.
+     * @since 9.6.5
+     */
+    public void statementExecuted() {
+        if (isSessionUnavailable() || !isBatchMode()) {
+            return;
+        }
+        pendingStatements++;
+        if (batchSize > 0 && pendingStatements >= batchSize) {
+            flushStatements();
+        }
+    }
+
+    /**
+     * Flushes the statements queued in a batch session, if any.
+     * This is called before a select is executed on the same session.
+     * @since 9.6.5
+     */
+    public void flushPendingStatements() {
+        if (pendingStatements > 0) {
+            flushStatements();
+        }
+    }
+
+    /**
+     * Flushes the queued batch statements and accumulates the number of flushed
+     * batches and statements for the current transaction.
+     * @return the list of batch results, or an empty list if the session is not open
+     * @since 9.6.5
+     */
+    public List<BatchResult> flushStatements() {
+        if (isSessionUnavailable()) {
+            return List.of();
+        }
+        List<BatchResult> batchResults = sqlSession.flushStatements();
+        for (BatchResult batchResult : batchResults) {
+            flushedBatches++;
+            flushedStatements += batchResult.getUpdateCounts().length;
+        }
+        pendingStatements = 0;
+        return batchResults;
+    }
+
     /**
      * Flushes batch statements and commits database connection.
      * Note that database connection will not be committed if no updates/deletes/inserts were called.
@@ -253,11 +394,22 @@ public class SqlSessionAdvice {
             return;
         }
 
+        flushPendingStatements();
+
         if (logger.isDebugEnabled()) {
-            logger.debug("Commit transaction for {}", ObjectUtils.simpleIdentityToString(sqlSession));
+            if (flushedBatches > 0) {
+                ToStringBuilder tsb = new ToStringBuilder("Commit transaction for " +
+                        ObjectUtils.simpleIdentityToString(sqlSession));
+                tsb.append("batches", flushedBatches);
+                tsb.append("statements", flushedStatements);
+                logger.debug(tsb.toString());
+            } else {
+                logger.debug("Commit transaction for {}", ObjectUtils.simpleIdentityToString(sqlSession));
+            }
         }
 
         sqlSession.commit();
+        resetBatchCounts();
     }
 
     /**
@@ -269,14 +421,21 @@ public class SqlSessionAdvice {
             return;
         }
 
+        flushPendingStatements();
+
         if (logger.isDebugEnabled()) {
             ToStringBuilder tsb = new ToStringBuilder("Commit transaction for " +
                     ObjectUtils.simpleIdentityToString(sqlSession));
             tsb.append("force", force);
+            if (flushedBatches > 0) {
+                tsb.append("batches", flushedBatches);
+                tsb.append("statements", flushedStatements);
+            }
             logger.debug(tsb.toString());
         }
 
         sqlSession.commit(force);
+        resetBatchCounts();
     }
 
     /**
@@ -294,6 +453,7 @@ public class SqlSessionAdvice {
         }
 
         sqlSession.rollback();
+        resetBatchCounts();
     }
 
     /**
@@ -314,6 +474,7 @@ public class SqlSessionAdvice {
         }
 
         sqlSession.rollback(force);
+        resetBatchCounts();
     }
 
     /**
@@ -339,8 +500,8 @@ public class SqlSessionAdvice {
             try {
                 // Reset read-only state before returning connection to the pool
                 sqlSession.getConnection().setReadOnly(false);
-            } catch (SQLException e) {
-                // Ignore
+            } catch (Exception e) {
+                // Ignore; the connection may never have been acquired
             }
         }
 
@@ -352,6 +513,13 @@ public class SqlSessionAdvice {
         }
 
         sqlSession = null;
+        resetBatchCounts();
+
+        if (closeCallback != null) {
+            Runnable callback = closeCallback;
+            closeCallback = null;
+            callback.run();
+        }
     }
 
     /**
@@ -362,6 +530,15 @@ public class SqlSessionAdvice {
         return arbitrarilyClosed;
     }
 
+    /**
+     * Clears the batch counters at the end of a transaction.
+     */
+    private void resetBatchCounts() {
+        pendingStatements = 0;
+        flushedBatches = 0;
+        flushedStatements = 0;
+    }
+
     /**
      * Checks if the SqlSession is unavailable for operations.
      * @return true if the session is not open or has been arbitrarily closed, false otherwise
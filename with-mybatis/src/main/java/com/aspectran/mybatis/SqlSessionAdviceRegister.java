@@ -81,6 +81,8 @@ public class SqlSessionAdviceRegister {
 
     private boolean readOnlyRollbackOnClose;
 
+    private int batchSize;
+
     /**
      * Instantiates a new SqlSessionAdviceRegister.
      * @param activityContext the activity context
@@ -179,6 +181,16 @@ public class SqlSessionAdviceRegister {
         this.readOnlyRollbackOnClose = readOnlyRollbackOnClose;
     }
 
+    /**
+     * Sets the number of statements queued in a batch session before they are
+     * flushed automatically.
+     * @param batchSize the batch size, or {@code 0} to disable automatic flushing
+     * @since 9.6.5
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     public void register() {
         Assert.notNull(txAspectId, "txAspectId must not be null");
         Assert.notNull(targetBeanClass, "targetBeanClass must not be null");
@@ -258,6 +270,9 @@ public class SqlSessionAdviceRegister {
             if (readOnlyRollbackOnClose) {
                 sqlSessionAdvice.setReadOnlyRollbackOnClose(true);
             }
+            if (batchSize > 0) {
+                sqlSessionAdvice.setBatchSize(batchSize);
+            }
             return sqlSessionAdvice;
         });
 
@@ -21,7 +21,11 @@ import com.aspectran.mybatis.AbstractSqlSessionProvider;
 import com.aspectran.mybatis.SqlSessionAdvice;
 import com.aspectran.mybatis.SqlSessionAdviceRegister;
 import com.aspectran.utils.Assert;
+import com.aspectran.utils.routing.BalancingPolicy;
+import com.aspectran.utils.routing.ReplicaPool;
+import com.aspectran.utils.routing.ReplicaRouter;
 import org.apache.ibatis.session.SqlSession;
+import org.jspecify.annotations.NonNull;
 
 /**
  * Advanced {@link SqlSession} agent that routes operations between read-write
@@ -31,6 +35,13 @@ import org.apache.ibatis.session.SqlSession;
  * read-only operations to a separate transactional context, which can be
  * configured differently (e.g., directed to a read-replica database).</p>
  *
+ * <p>Reads may be spread over several replica aspects, each of which can use its
+ * own {@link org.apache.ibatis.session.SqlSessionFactory}. Once an activity has
+ * chosen a replica it keeps using it, and once it has written to the primary,
+ * its subsequent reads also go to the primary so that it sees its own writes.
+ * A replica whose connection cannot be acquired is skipped in favor of the
+ * next one, and is ejected after consecutive failures; see {@link ReplicaPool}.</p>
+ *
  * <p>Created: 2026. 4. 5.</p>
  */
 public class RoutingSqlSessionAgent extends AbstractSqlSessionProvider implements InitializableBean {
@@ -52,7 +63,11 @@ public class RoutingSqlSessionAgent extends AbstractSqlSessionProvider implement
 
     private final String primaryAspectId;
 
-    private final String replicaAspectId;
+    private final String[] replicaAspectIds;
+
+    private String[] replicaSqlSessionFactoryBeanIds;
+
+    private final ReplicaRouter replicaRouter;
 
     /**
      * Instantiates a new RoutingSqlSessionAgent.
@@ -60,15 +75,96 @@ public class RoutingSqlSessionAgent extends AbstractSqlSessionProvider implement
      * @param replicaAspectId the ID for the replica aspect rule
      */
     public RoutingSqlSessionAgent(String primaryAspectId, String replicaAspectId) {
+        this(primaryAspectId, new String[] {replicaAspectId});
+    }
+
+    /**
+     * Instantiates a new RoutingSqlSessionAgent that balances reads over several replicas.
+     * @param primaryAspectId the ID for the primary aspect rule
+     * @param replicaAspectIds the IDs for the replica aspect rules
+     * @since 9.6.5
+     */
+    public RoutingSqlSessionAgent(String primaryAspectId, String[] replicaAspectIds) {
         Assert.notNull(primaryAspectId, "primaryAspectId must not be null");
-        Assert.notNull(replicaAspectId, "replicaAspectId must not be null");
+        Assert.notEmpty(replicaAspectIds, "replicaAspectIds must not be empty");
+        for (String replicaAspectId : replicaAspectIds) {
+            Assert.notNull(replicaAspectId, "replicaAspectId must not be null");
+        }
         this.primaryAspectId = primaryAspectId;
-        this.replicaAspectId = replicaAspectId;
+        this.replicaAspectIds = replicaAspectIds;
+        this.replicaRouter = new ReplicaRouter(replicaAspectIds);
+    }
+
+    /**
+     * Sets the bean IDs of the {@link org.apache.ibatis.session.SqlSessionFactory}
+     * for each replica aspect, in the same order as the replica aspect IDs.
+     * If not specified, the replicas use the same SqlSessionFactory as the primary.
+     * @param replicaSqlSessionFactoryBeanIds the bean IDs of the SqlSessionFactory for each replica
+     * @since 9.6.5
+     */
+    public void setReplicaSqlSessionFactoryBeanIds(String[] replicaSqlSessionFactoryBeanIds) {
+        checkNotInitialized();
+        Assert.isTrue(replicaSqlSessionFactoryBeanIds == null ||
+                        replicaSqlSessionFactoryBeanIds.length == replicaAspectIds.length,
+                "The number of replica SqlSessionFactory bean IDs must match the number of replica aspects");
+        this.replicaSqlSessionFactoryBeanIds = replicaSqlSessionFactoryBeanIds;
+    }
+
+    /**
+     * Sets the policy by which a replica is chosen for an activity.
+     * The default is {@link BalancingPolicy#ROUND_ROBIN}.
+     * @param balancingPolicy the balancing policy
+     * @since 9.6.5
+     */
+    public void setBalancingPolicy(BalancingPolicy balancingPolicy) {
+        checkNotInitialized();
+        replicaRouter.setBalancingPolicy(balancingPolicy);
+    }
+
+    /**
+     * Sets the policy by which a replica is chosen for an activity.
+     * @param balancingPolicy the balancing policy name
+     * @see ReplicaRouter#setBalancingPolicyAsString(String)
+     * @since 9.6.5
+     */
+    public void setBalancingPolicyAsString(String balancingPolicy) {
+        checkNotInitialized();
+        replicaRouter.setBalancingPolicyAsString(balancingPolicy);
+    }
+
+    /**
+     * Sets the number of consecutive failures after which a replica is ejected.
+     * @param failureThreshold the failure threshold
+     * @since 9.6.5
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        checkNotInitialized();
+        replicaRouter.setFailureThreshold(failureThreshold);
     }
 
     /**
-     * Retrieves the {@link SqlSessionAdvice} from the current activity context
-     * by checking for a primary advice first, then falling back to a replica advice.
+     * Sets the time in milliseconds an ejected replica waits before it is tried again.
+     * @param retryInterval the retry interval in milliseconds
+     * @since 9.6.5
+     */
+    public void setRetryInterval(long retryInterval) {
+        checkNotInitialized();
+        replicaRouter.setRetryInterval(retryInterval);
+    }
+
+    /**
+     * Returns the pool that balances reads over the replica aspects.
+     * @return the replica pool
+     * @since 9.6.5
+     */
+    public ReplicaPool getReplicaPool() {
+        return replicaRouter.getReplicaPool();
+    }
+
+    /**
+     * Retrieves the {@link SqlSessionAdvice} from the current activity context.
+     * The primary advice is used once the activity has written; otherwise the
+     * replica already in use by the activity, or else a newly chosen replica.
      * @return the SqlSessionAdvice found in the current activity
      */
     @Override
@@ -77,28 +173,64 @@ public class RoutingSqlSessionAgent extends AbstractSqlSessionProvider implement
         checkTransactional(currentActivity);
 
         SqlSessionAdvice primaryAdvice = currentActivity.getAvailableAdvice(primaryAspectId);
-        if (primaryAdvice != null && primaryAdvice.isOpen()) {
+        if (primaryAdvice != null) {
             return primaryAdvice;
         }
 
-        SqlSessionAdvice replicaAdvice = currentActivity.getAvailableAdvice(replicaAspectId);
-        if (replicaAdvice != null && replicaAdvice.isOpen()) {
-            return replicaAdvice;
+        for (String replicaAspectId : replicaAspectIds) {
+            SqlSessionAdvice replicaAdvice = currentActivity.getAvailableAdvice(replicaAspectId);
+            if (replicaAdvice != null && replicaAdvice.isOpen()) {
+                return replicaAdvice;
+            }
         }
 
-        SqlSessionAdvice sqlSessionAdvice = (primaryAdvice != null ? primaryAdvice : replicaAdvice);
-        if (sqlSessionAdvice == null) {
-            throw new IllegalStateException("No transactional context found for the current activity; " +
-                    "ensure the activity is advised by aspect '" + primaryAspectId + "' or '" + replicaAspectId + "'");
-        }
-        return sqlSessionAdvice;
+        return selectReplicaAdvice(currentActivity);
     }
 
     /**
-     * Initializes the provider. If the aspect specified by {@code primaryAspectId}
-     * is not already registered in the aspect rule registry, this method
-     * automatically creates and registers a new {@link SqlSessionAdvice} aspect
-     * using the current configuration.
+     * Chooses a replica for the given activity and opens its session. A replica
+     * whose connection cannot be acquired is reported to the replica pool and
+     * the next one is tried.
+     * @param activity the current activity
+     * @return the SqlSessionAdvice of the chosen replica
+     */
+    @NonNull
+    private SqlSessionAdvice selectReplicaAdvice(@NonNull Activity activity) {
+        return replicaRouter.route(new ReplicaRouter.Connector<>() {
+            @Override
+            @NonNull
+            public SqlSessionAdvice obtain(String replicaAspectId) {
+                SqlSessionAdvice replicaAdvice = activity.getAvailableAdvice(replicaAspectId);
+                if (replicaAdvice == null) {
+                    throw new IllegalStateException("No transactional context found for the current activity; " +
+                            "ensure the activity is advised by aspect '" + primaryAspectId + "' or '" +
+                            replicaAspectId + "'");
+                }
+                return replicaAdvice;
+            }
+
+            @Override
+            public void connect(@NonNull SqlSessionAdvice replicaAdvice) {
+                replicaAdvice.getSqlSession().getConnection();
+            }
+
+            @Override
+            public void discard(@NonNull SqlSessionAdvice replicaAdvice) {
+                replicaAdvice.close();
+            }
+
+            @Override
+            public void onRelease(@NonNull SqlSessionAdvice replicaAdvice, Runnable callback) {
+                replicaAdvice.setCloseCallback(callback);
+            }
+        });
+    }
+
+    /**
+     * Initializes the provider. If the aspects specified by {@code primaryAspectId}
+     * and the replica aspect IDs are not already registered in the aspect rule
+     * registry, this method automatically creates and registers a new
+     * {@link SqlSessionAdvice} aspect for each of them using the current configuration.
      */
     @Override
     public void initialize() {
@@ -119,23 +251,30 @@ public class RoutingSqlSessionAgent extends AbstractSqlSessionProvider implement
             register.setAutoCommit(isAutoCommit());
             register.setReadOnly(isReadOnly());
             register.setReadOnlyRollbackOnClose(isReadOnlyRollbackOnClose());
+            register.setBatchSize(getBatchSize());
             register.register();
         }
-        if (!getAspectRuleRegistry().contains(replicaAspectId)) {
-            SqlSessionAdviceRegister register = new SqlSessionAdviceRegister(getActivityContext());
-            register.setTxAspectId(replicaAspectId);
-            register.setSqlSessionFactoryBeanId(getSqlSessionFactoryBeanId());
-            register.setTargetBeanId(getTargetBeanId());
-            register.setTargetBeanClass(getTargetBeanClass());
+        for (int i = 0; i < replicaAspectIds.length; i++) {
+            if (!getAspectRuleRegistry().contains(replicaAspectIds[i])) {
+                SqlSessionAdviceRegister register = new SqlSessionAdviceRegister(getActivityContext());
+                register.setTxAspectId(replicaAspectIds[i]);
+                if (replicaSqlSessionFactoryBeanIds != null) {
+                    register.setSqlSessionFactoryBeanId(replicaSqlSessionFactoryBeanIds[i]);
+                } else {
+                    register.setSqlSessionFactoryBeanId(getSqlSessionFactoryBeanId());
+                }
+                register.setTargetBeanId(getTargetBeanId());
+                register.setTargetBeanClass(getTargetBeanClass());
 
-            register.setIncludeMethodNamePatterns(DEFAULT_READONLY_METHOD_PATTERNS);
+                register.setIncludeMethodNamePatterns(DEFAULT_READONLY_METHOD_PATTERNS);
 
-            register.setExecutorType(getExecutorType());
-            register.setIsolationLevel(getIsolationLevel());
-            register.setAutoCommit(isAutoCommit());
-            register.setReadOnly(true);
-            register.setReadOnlyRollbackOnClose(isReadOnlyRollbackOnClose());
-            register.register();
+                register.setExecutorType(getExecutorType());
+                register.setIsolationLevel(getIsolationLevel());
+                register.setAutoCommit(isAutoCommit());
+                register.setReadOnly(true);
+                register.setReadOnlyRollbackOnClose(isReadOnlyRollbackOnClose());
+                register.register();
+            }
         }
         setInitialized(true);
     }
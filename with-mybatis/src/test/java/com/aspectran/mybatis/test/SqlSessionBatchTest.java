@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.mybatis.test;
+
+import com.aspectran.core.activity.ActivityPerformException;
+import com.aspectran.mybatis.DefaultSqlSessionAgent;
+import com.aspectran.mybatis.SqlSessionAdvice;
+import com.aspectran.mybatis.test.dao.TestDao;
+import com.aspectran.mybatis.test.model.Member;
+import com.aspectran.test.ActivityTester;
+import com.aspectran.test.AspectranTest;
+import org.apache.ibatis.session.ExecutorType;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@AspectranTest(
+        rules = {
+                "com/aspectran/mybatis/test/test-datasource.xml",
+                "com/aspectran/mybatis/test/test-batch.xml"
+        }
+)
+class SqlSessionBatchTest {
+
+    @Test
+    void testBatchFlush(@NonNull ActivityTester tester) throws ActivityPerformException {
+        Integer initialCount = tester.perform(activity -> {
+            TestDao batchDao = activity.getBean("batchDao");
+            return batchDao.getMemberList().size();
+        });
+
+        tester.perform(activity -> {
+            TestDao batchDao = activity.getBean("batchDao");
+            DefaultSqlSessionAgent batchSqlSession = activity.getBean("batchSqlSession");
+
+            for (int i = 0; i < 7; i++) {
+                Member member = new Member();
+                member.setName("Batch Member " + i);
+                member.setEmail("batch" + i + "@example.com");
+                batchDao.insertMember(member);
+            }
+
+            SqlSessionAdvice sqlSessionAdvice = batchSqlSession.getSqlSessionAdvice();
+            assertTrue(sqlSessionAdvice.isBatchMode());
+            assertEquals(ExecutorType.BATCH, sqlSessionAdvice.getExecutorType());
+            assertEquals(2, sqlSessionAdvice.getFlushedBatches());
+            assertEquals(6, sqlSessionAdvice.getFlushedStatements());
+            assertEquals(1, sqlSessionAdvice.getPendingStatements());
+
+            // A select on the same session flushes the pending statement first
+            assertEquals(initialCount + 7, batchDao.getMemberList().size());
+            assertEquals(0, sqlSessionAdvice.getPendingStatements());
+            assertEquals(7, sqlSessionAdvice.getFlushedStatements());
+            return null;
+        });
+
+        tester.perform(activity -> {
+            TestDao batchDao = activity.getBean("batchDao");
+            assertEquals(initialCount + 7, batchDao.getMemberList().size());
+            return null;
+        });
+    }
+
+    @Test
+    void testPendingStatementsFlushedOnCommit(@NonNull ActivityTester tester) throws ActivityPerformException {
+        Integer initialCount = tester.perform(activity -> {
+            TestDao batchDao = activity.getBean("batchDao");
+            return batchDao.getMemberList().size();
+        });
+
+        tester.perform(activity -> {
+            TestDao batchDao = activity.getBean("batchDao");
+            Member member = new Member();
+            member.setName("Pending Member");
+            member.setEmail("pending@example.com");
+            batchDao.insertMember(member);
+
+            DefaultSqlSessionAgent batchSqlSession = activity.getBean("batchSqlSession");
+            assertEquals(1, batchSqlSession.getSqlSessionAdvice().getPendingStatements());
+            return null;
+        });
+
+        tester.perform(activity -> {
+            TestDao batchDao = activity.getBean("batchDao");
+            assertEquals(initialCount + 1, batchDao.getMemberList().size());
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.mybatis.test;
+
+import com.aspectran.core.activity.ActivityPerformException;
+import com.aspectran.mybatis.SqlSessionAdvice;
+import com.aspectran.mybatis.routing.RoutingSqlSessionAgent;
+import com.aspectran.mybatis.test.dao.TestDao;
+import com.aspectran.mybatis.test.model.Member;
+import com.aspectran.test.ActivityTester;
+import com.aspectran.test.AspectranTest;
+import com.aspectran.utils.routing.ReplicaPool;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@AspectranTest(
+        rules = {
+                "com/aspectran/mybatis/test/test-datasource.xml",
+                "com/aspectran/mybatis/test/test-routing-replicas.xml"
+        }
+)
+class SqlSessionReplicaRoutingTest {
+
+    @Test
+    void testFailoverToHealthyReplica(@NonNull ActivityTester tester) throws ActivityPerformException {
+        for (int i = 0; i < 3; i++) {
+            tester.perform(activity -> {
+                TestDao replicaDao = activity.getBean("replicaDao");
+                assertNotNull(replicaDao.getMemberList());
+
+                SqlSessionAdvice replicaAdvice = activity.getAvailableAdvice("replicaTxAspect1");
+                assertTrue(replicaAdvice.isOpen());
+                return null;
+            });
+        }
+
+        RoutingSqlSessionAgent agent = tester.getActivityContext().getBeanRegistry().getBean("replicaRoutingSqlSession");
+        ReplicaPool replicaPool = agent.getReplicaPool();
+        assertTrue(replicaPool.isAvailable("replicaTxAspect1"));
+        assertFalse(replicaPool.isAvailable("replicaTxAspect2"));
+        assertEquals(0, replicaPool.getInFlight("replicaTxAspect1"));
+        assertEquals(0, replicaPool.getInFlight("replicaTxAspect2"));
+    }
+
+    @Test
+    void testReadYourWrites(@NonNull ActivityTester tester) throws ActivityPerformException {
+        tester.perform(activity -> {
+            TestDao replicaDao = activity.getBean("replicaDao");
+
+            Member member = new Member();
+            member.setName("Replica User");
+            member.setEmail("replica@example.com");
+            assertEquals(1, replicaDao.insertMember(member));
+
+            // Reads after a write stay on the primary and see the uncommitted record
+            Member foundMember = replicaDao.getMember(member.getId());
+            assertNotNull(foundMember);
+            assertEquals("Replica User", foundMember.getName());
+
+            SqlSessionAdvice primaryAdvice = activity.getAvailableAdvice("replicaPrimaryTxAspect");
+            assertTrue(primaryAdvice.isOpen());
+            SqlSessionAdvice replicaAdvice1 = activity.getAvailableAdvice("replicaTxAspect1");
+            SqlSessionAdvice replicaAdvice2 = activity.getAvailableAdvice("replicaTxAspect2");
+            assertFalse(replicaAdvice1 != null && replicaAdvice1.isOpen());
+            assertFalse(replicaAdvice2 != null && replicaAdvice2.isOpen());
+            return null;
+        });
+    }
+
+    @Test
+    void testWriteAfterReadGoesToPrimary(@NonNull ActivityTester tester) throws ActivityPerformException {
+        tester.perform(activity -> {
+            TestDao replicaDao = activity.getBean("replicaDao");
+            int count = replicaDao.getMemberList().size();
+
+            Member member = new Member();
+            member.setName("Replica Writer");
+            member.setEmail("writer@example.com");
+            assertEquals(1, replicaDao.insertMember(member));
+
+            SqlSessionAdvice primaryAdvice = activity.getAvailableAdvice("replicaPrimaryTxAspect");
+            assertTrue(primaryAdvice.isOpen());
+            assertEquals(count + 1, replicaDao.getMemberList().size());
+            return null;
+        });
+    }
+
+}
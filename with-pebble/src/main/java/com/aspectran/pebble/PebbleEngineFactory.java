@@ -58,6 +58,8 @@ public class PebbleEngineFactory implements ActivityContextAware {
 
     private boolean newLineTrimming = true;
 
+    private boolean cacheActive = true;
+
     private DisallowExtensionCustomizerBuilder disallowExtensionCustomizerBuilder;
 
     @Override
@@ -137,6 +139,16 @@ public class PebbleEngineFactory implements ActivityContextAware {
         this.newLineTrimming = newLineTrimming;
     }
 
+    /**
+     * Sets whether compiled templates, including those compiled from a literal
+     * template source, are cached by the engine. Defaults to {@code true}.
+     * @param cacheActive true to cache compiled templates
+     * @since 9.6.5
+     */
+    public void setCacheActive(boolean cacheActive) {
+        this.cacheActive = cacheActive;
+    }
+
     /**
      * Sets the keys of filters to disallow.
      * @param disallowedFilterKeys the keys of filters to disallow
@@ -221,6 +233,7 @@ public class PebbleEngineFactory implements ActivityContextAware {
 
         builder.strictVariables(strictVariables);
         builder.newLineTrimming(newLineTrimming);
+        builder.cacheActive(cacheActive);
         if (defaultLocale != null) {
             builder.defaultLocale(defaultLocale);
         }
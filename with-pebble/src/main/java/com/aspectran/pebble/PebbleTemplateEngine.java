@@ -29,6 +29,10 @@ import java.util.Map;
 
 /**
  * An Aspectran {@link TemplateEngine} implementation that uses the Pebble templating engine.
+ * <p>Templates processed from a literal template source are compiled through
+ * {@link PebbleEngine#getLiteralTemplate(String)}, so they are kept in the template
+ * cache of the {@link PebbleEngine}, keyed by the template source, and are compiled
+ * on every call if that cache is not active.</p>
  *
  * <p>Created: 2016. 1. 9.</p>
  */
@@ -106,7 +110,7 @@ public class PebbleTemplateEngine implements TemplateEngine {
     private static void processLiteral(PebbleEngine pebbleEngine, String templateSource, Activity activity)
             throws IOException {
         Assert.notNull(pebbleEngine, "pebbleEngine must not be null");
-        Assert.notNull(templateSource, "templateName must not be null");
+        Assert.notNull(templateSource, "templateSource must not be null");
         Assert.notNull(activity, "activity must not be null");
 
         Locale locale = activity.getRequestAdapter().getLocale();
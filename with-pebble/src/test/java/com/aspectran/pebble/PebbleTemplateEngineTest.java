@@ -21,12 +21,19 @@ import com.aspectran.core.context.config.AspectranConfig;
 import com.aspectran.core.context.rule.ResourceAppendRule;
 import com.aspectran.core.context.rule.params.AspectranParameters;
 import com.aspectran.embed.service.EmbeddedAspectran;
+import io.pebbletemplates.pebble.PebbleEngine;
+import io.pebbletemplates.pebble.cache.template.NoOpTemplateCache;
+import io.pebbletemplates.pebble.template.PebbleTemplate;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * <p>Created: 2019-03-18</p>
@@ -34,6 +41,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class PebbleTemplateEngineTest {
 
+    private static final String LITERAL_TEMPLATE_SOURCE = "{{ input_1 }}{{ input_2 }}";
+
     private EmbeddedAspectran aspectran;
 
     @BeforeAll
@@ -90,4 +99,32 @@ class PebbleTemplateEngineTest {
         assertEquals(result1, result2);
     }
 
+    @Test
+    void testLiteralTemplateCache() {
+        PebbleEngine pebbleEngine = aspectran.<PebbleTemplateEngine>getBean("pebble").getPebbleEngine();
+        pebbleEngine.getTemplateCache().invalidateAll();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("1234567890", aspectran.translate("echo-1").getWrittenResponse());
+        }
+
+        // The literal template is held by the engine's own template cache
+        PebbleTemplate cachedTemplate = pebbleEngine.getTemplateCache()
+                .computeIfAbsent(LITERAL_TEMPLATE_SOURCE, key -> null);
+        assertNotNull(cachedTemplate);
+        assertSame(cachedTemplate, pebbleEngine.getLiteralTemplate(LITERAL_TEMPLATE_SOURCE));
+    }
+
+    @Test
+    void testLiteralTemplateNotCachedWhenCacheInactive() {
+        PebbleEngine pebbleEngine = aspectran.<PebbleTemplateEngine>getBean("uncachedPebble").getPebbleEngine();
+        assertInstanceOf(NoOpTemplateCache.class, pebbleEngine.getTemplateCache());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("1234567890", aspectran.translate("echo-2").getWrittenResponse());
+        }
+        assertNotSame(pebbleEngine.getLiteralTemplate(LITERAL_TEMPLATE_SOURCE),
+                pebbleEngine.getLiteralTemplate(LITERAL_TEMPLATE_SOURCE));
+    }
+
 }
@@ -29,10 +29,15 @@ import io.undertow.util.LocaleUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * An adapter that wraps an Undertow {@link HttpServerExchange}, exposing it as a
@@ -76,6 +81,46 @@ public class TowRequestAdapter extends AbstractWebRequestAdapter {
         return super.getHeaderMap();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Until the header map has been populated, this implementation reads
+     * the header directly from the underlying {@link HttpServerExchange}.</p>
+     */
+    @Override
+    public String getHeader(String name) {
+        if (!headersObtained) {
+            return getHttpServerExchange().getRequestHeaders().getFirst(name);
+        }
+        return super.getHeader(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Until the header map has been populated, this implementation reads
+     * the header directly from the underlying {@link HttpServerExchange}.</p>
+     */
+    @Override
+    public List<String> getHeaderValues(String name) {
+        if (!headersObtained) {
+            HeaderValues headerValues = getHttpServerExchange().getRequestHeaders().get(name);
+            return (headerValues != null && !headerValues.isEmpty() ? new ArrayList<>(headerValues) : null);
+        }
+        return super.getHeaderValues(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Until the header map has been populated, this implementation reads
+     * the header directly from the underlying {@link HttpServerExchange}.</p>
+     */
+    @Override
+    public boolean containsHeader(String name) {
+        if (!headersObtained) {
+            return (getHttpServerExchange().getRequestHeaders().getFirst(name) != null);
+        }
+        return super.containsHeader(name);
+    }
+
     /**
      * {@inheritDoc}
      * <p>This implementation starts blocking I/O on the exchange if not already started.</p>
@@ -104,10 +149,9 @@ public class TowRequestAdapter extends AbstractWebRequestAdapter {
     @Override
     public void preparse() {
         HttpServerExchange exchange = getAdaptee();
-        for (Map.Entry<String, Deque<String>> entry : exchange.getQueryParameters().entrySet()) {
-            String name = entry.getKey();
-            String[] values = entry.getValue().toArray(new String[0]);
-            getParameterMap().put(name, values);
+        Map<String, Deque<String>> queryParameters = exchange.getQueryParameters();
+        if (!queryParameters.isEmpty()) {
+            setParameterSource(new QueryParameterView(queryParameters));
         }
         String contentType = exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE);
         if (StringUtils.hasLength(contentType)) {
@@ -143,4 +187,54 @@ public class TowRequestAdapter extends AbstractWebRequestAdapter {
         setLocale(requestAdapter.getLocale());
     }
 
+    /**
+     * A read-only view of the Undertow query parameters that converts the values
+     * of a parameter to an array only when that parameter is looked up.
+     */
+    private static class QueryParameterView extends AbstractMap<String, String[]> {
+
+        private final Map<String, Deque<String>> queryParameters;
+
+        QueryParameterView(Map<String, Deque<String>> queryParameters) {
+            this.queryParameters = queryParameters;
+        }
+
+        @Override
+        public String[] get(Object key) {
+            Deque<String> values = queryParameters.get(key);
+            return (values != null ? values.toArray(new String[0]) : null);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return queryParameters.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return queryParameters.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queryParameters.isEmpty();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(queryParameters.keySet());
+        }
+
+        @Override
+        public Set<Entry<String, String[]>> entrySet() {
+            Set<Entry<String, String[]>> entries = new LinkedHashSet<>();
+            for (Map.Entry<String, Deque<String>> entry : queryParameters.entrySet()) {
+                String[] values = entry.getValue().toArray(new String[0]);
+                entries.add(new SimpleImmutableEntry<>(entry.getKey(), values));
+            }
+            return Collections.unmodifiableSet(entries);
+        }
+
+    }
+
 }
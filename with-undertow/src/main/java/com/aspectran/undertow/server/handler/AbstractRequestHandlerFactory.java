@@ -18,6 +18,8 @@ package com.aspectran.undertow.server.handler;
 import com.aspectran.core.component.bean.aware.ActivityContextAware;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.undertow.server.handler.logging.LoggingGroupHandlerWrapper;
+import com.aspectran.undertow.server.handler.resource.ResourceCacheConfig;
+import com.aspectran.undertow.server.handler.resource.TowResourceHandler;
 import com.aspectran.utils.Assert;
 import io.undertow.server.HandlerWrapper;
 import io.undertow.server.HttpHandler;
@@ -40,6 +42,8 @@ public abstract class AbstractRequestHandlerFactory implements ActivityContextAw
 
     private List<HandlerWrapper> handlerChainWrappers;
 
+    private ResourceCacheConfig resourceCacheConfig;
+
     /**
      * Returns the current {@link ActivityContext}.
      * @return the activity context
@@ -67,6 +71,29 @@ public abstract class AbstractRequestHandlerFactory implements ActivityContextAw
         this.handlerChainWrappers = Arrays.asList(handlerWrappers);
     }
 
+    /**
+     * Sets the settings for caching static resources in memory.
+     * If not set, static resources are read from the resource manager on every request.
+     * Each resource handler created by this factory keeps its own cache.
+     * @param resourceCacheConfig the resource cache settings
+     * @since 9.6.5
+     */
+    public void setResourceCacheConfig(ResourceCacheConfig resourceCacheConfig) {
+        this.resourceCacheConfig = resourceCacheConfig;
+    }
+
+    /**
+     * Enables resource caching on the given resource handler if resource cache
+     * settings have been configured.
+     * @param resourceHandler the resource handler to configure
+     * @since 9.6.5
+     */
+    protected void configureResourceCache(@NonNull TowResourceHandler resourceHandler) {
+        if (resourceCacheConfig != null) {
+            resourceHandler.setResourceCacheConfig(resourceCacheConfig);
+        }
+    }
+
     /**
      * Checks if a {@link LoggingGroupHandlerWrapper} is present in the handler chain.
      * @return true if the logging group handler wrapper exists, false otherwise
@@ -117,6 +117,7 @@ public class LightRequestHandlerFactory extends AbstractRequestHandlerFactory im
             TowResourceHandler resourceHandler = new TowResourceHandler(resourceManager, requestHandler);
             resourceHandler.autoDetect(null);
             if (resourceHandler.hasPatterns()) {
+                configureResourceCache(resourceHandler);
                 rootHandler = resourceHandler;
             }
         }
@@ -105,6 +105,7 @@ public class ServletRequestHandlerFactory extends AbstractRequestHandlerFactory
                 }
                 resourceHandler.autoDetect(pathPrefix);
                 if (resourceHandler.hasPatterns()) {
+                    configureResourceCache(resourceHandler);
                     handler = resourceHandler;
                 }
             }
@@ -136,6 +137,7 @@ public class ServletRequestHandlerFactory extends AbstractRequestHandlerFactory
                             fullPath = "/";
                         }
                         resourceHandler.autoDetect(fullPath);
+                        configureResourceCache(resourceHandler);
                         pathHandler.addPrefixPath(fullPath, resourceHandler);
                     }
                 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.handler.metrics;
+
+import com.aspectran.core.context.metrics.OpenMetricsExporter;
+import com.aspectran.core.context.metrics.OpenMetricsWriter;
+import com.aspectran.utils.Assert;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import io.undertow.util.StatusCodes;
+import org.jspecify.annotations.NonNull;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An Undertow {@link HttpHandler} that serves the metrics rendered by an
+ * {@link OpenMetricsExporter} in the OpenMetrics text format.
+ * <p>Only GET requests whose path equals the configured metrics path are handled;
+ * all other requests are passed to the next handler. The exposition is written
+ * straight to the response stream on a worker thread.</p>
+ *
+ * @since 9.6.5
+ */
+public class OpenMetricsHandler implements HttpHandler {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final HttpHandler next;
+
+    private final OpenMetricsExporter exporter;
+
+    private final String path;
+
+    /**
+     * Constructs a new OpenMetricsHandler.
+     * @param next the next handler in the chain
+     * @param exporter the exporter that renders the metrics
+     * @param path the request path at which the metrics are served
+     */
+    public OpenMetricsHandler(HttpHandler next, OpenMetricsExporter exporter, String path) {
+        Assert.notNull(next, "next must not be null");
+        Assert.notNull(exporter, "exporter must not be null");
+        Assert.hasLength(path, "path must not be null or empty");
+        this.next = next;
+        this.exporter = exporter;
+        this.path = path;
+    }
+
+    @Override
+    public void handleRequest(@NonNull HttpServerExchange exchange) throws Exception {
+        if (!path.equals(exchange.getRequestPath()) || !Methods.GET.equals(exchange.getRequestMethod())) {
+            next.handleRequest(exchange);
+            return;
+        }
+        if (exchange.isInIoThread()) {
+            exchange.dispatch(this);
+            return;
+        }
+        exchange.setStatusCode(StatusCodes.OK);
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, OpenMetricsWriter.CONTENT_TYPE);
+        exchange.getResponseHeaders().put(Headers.CACHE_CONTROL, "no-store");
+        exchange.startBlocking();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                exchange.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            exporter.export(writer);
+        }
+    }
+
+}
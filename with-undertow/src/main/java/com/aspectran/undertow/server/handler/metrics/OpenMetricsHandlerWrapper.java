@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.handler.metrics;
+
+import com.aspectran.core.component.bean.aware.ActivityContextAware;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.metrics.OpenMetricsExporter;
+import com.aspectran.undertow.server.session.TowSessionManager;
+import com.aspectran.utils.Assert;
+import io.undertow.server.HandlerWrapper;
+import io.undertow.server.HttpHandler;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A {@link HandlerWrapper} that installs an {@link OpenMetricsHandler} in front of
+ * the given handler, so that a Prometheus-compatible metrics endpoint can be added
+ * to the handler chain of a {@code LightRequestHandlerFactory} or
+ * {@code ServletRequestHandlerFactory} with bean-style configuration.
+ * <p>The statistics of the session managers set with {@link #setSessionManagers}
+ * are included in the exposition.</p>
+ *
+ * @since 9.6.5
+ */
+public class OpenMetricsHandlerWrapper implements ActivityContextAware, HandlerWrapper {
+
+    /** The default request path at which the metrics are served. */
+    public static final String DEFAULT_PATH = "/metrics";
+
+    private ActivityContext context;
+
+    private String path = DEFAULT_PATH;
+
+    private TowSessionManager[] sessionManagers;
+
+    private boolean jvmMetricsEnabled = true;
+
+    @Override
+    public void setActivityContext(@NonNull ActivityContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Sets the request path at which the metrics are served.
+     * Defaults to {@value #DEFAULT_PATH}.
+     * @param path the request path
+     */
+    public void setPath(String path) {
+        Assert.hasLength(path, "path must not be null or empty");
+        this.path = path;
+    }
+
+    /**
+     * Sets the session managers whose statistics are to be exported.
+     * @param sessionManagers the session managers
+     */
+    public void setSessionManagers(TowSessionManager... sessionManagers) {
+        this.sessionManagers = sessionManagers;
+    }
+
+    /**
+     * Sets whether JVM metrics are included in the exposition.
+     * Defaults to {@code true}.
+     * @param jvmMetricsEnabled {@code true} to export JVM metrics
+     */
+    public void setJvmMetricsEnabled(boolean jvmMetricsEnabled) {
+        this.jvmMetricsEnabled = jvmMetricsEnabled;
+    }
+
+    /**
+     * Wraps the given handler with a new {@link OpenMetricsHandler}.
+     * @param handler the next handler in the chain
+     * @return the new {@code OpenMetricsHandler}
+     */
+    @Override
+    public HttpHandler wrap(HttpHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("handler must not be null");
+        }
+        Assert.state(context != null, "No ActivityContext injected");
+        OpenMetricsExporter exporter = new OpenMetricsExporter(context);
+        exporter.setJvmMetricsEnabled(jvmMetricsEnabled);
+        if (sessionManagers != null) {
+            for (TowSessionManager sessionManager : sessionManagers) {
+                exporter.addSessionManager(sessionManager.getSessionManager());
+            }
+        }
+        return new OpenMetricsHandler(handler, exporter, path);
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.handler.resource;
+
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.resource.RangeAwareResource;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.util.DateUtils;
+import io.undertow.util.ETag;
+import io.undertow.util.MimeMappings;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A static resource cached by {@link CachingResourceSupplier}.
+ * <p>The ETag, last-modified time and content length are fixed when the resource
+ * is cached. If the content was loaded into memory, it is served from a duplicate
+ * of the shared read-only buffer; otherwise serving is delegated to the underlying
+ * resource. A precompressed variant reports the path and content type of the
+ * original resource.</p>
+ *
+ * @since 9.6.5
+ */
+class CachedStaticResource implements RangeAwareResource {
+
+    private final Resource resource;
+
+    private final String path;
+
+    private final String encoding;
+
+    private final Date lastModified;
+
+    private final String lastModifiedString;
+
+    private final Long contentLength;
+
+    private final ByteBuffer content;
+
+    private final ETag eTag;
+
+    CachedStaticResource(Resource resource, String path, String encoding, Date lastModified,
+                         Long contentLength, ByteBuffer content, ETag eTag) {
+        this.resource = resource;
+        this.path = path;
+        this.encoding = encoding;
+        this.lastModified = lastModified;
+        this.lastModifiedString = (lastModified != null ? DateUtils.toDateString(lastModified) : null);
+        this.contentLength = contentLength;
+        this.content = content;
+        this.eTag = eTag;
+    }
+
+    @Override
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String getLastModifiedString() {
+        return lastModifiedString;
+    }
+
+    @Override
+    public ETag getETag() {
+        return eTag;
+    }
+
+    @Override
+    public String getName() {
+        if (encoding == null) {
+            return resource.getName();
+        }
+        int index = path.lastIndexOf('/');
+        return (index != -1 ? path.substring(index + 1) : path);
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return false;
+    }
+
+    @Override
+    public List<Resource> list() {
+        return resource.list();
+    }
+
+    @Override
+    public String getContentType(MimeMappings mimeMappings) {
+        if (encoding == null) {
+            return resource.getContentType(mimeMappings);
+        }
+        String name = getName();
+        int index = name.lastIndexOf('.');
+        return (index != -1 ? mimeMappings.getMimeType(name.substring(index + 1)) : null);
+    }
+
+    @Override
+    public void serve(Sender sender, HttpServerExchange exchange, IoCallback completionCallback) {
+        if (content != null) {
+            sender.send(content.duplicate(), completionCallback);
+        } else {
+            resource.serve(sender, exchange, completionCallback);
+        }
+    }
+
+    @Override
+    public void serveRange(Sender sender, HttpServerExchange exchange, long start, long end,
+                           IoCallback completionCallback) {
+        if (content != null) {
+            ByteBuffer buffer = content.duplicate();
+            buffer.limit((int)end + 1);
+            buffer.position((int)start);
+            sender.send(buffer, completionCallback);
+        } else if (resource instanceof RangeAwareResource rangeAwareResource) {
+            rangeAwareResource.serveRange(sender, exchange, start, end, completionCallback);
+        } else {
+            throw new UnsupportedOperationException("Range requests are not supported for " + path);
+        }
+    }
+
+    @Override
+    public boolean isRangeSupported() {
+        return (content != null ||
+                (resource instanceof RangeAwareResource rangeAwareResource && rangeAwareResource.isRangeSupported()));
+    }
+
+    @Override
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public String getCacheKey() {
+        return resource.getCacheKey();
+    }
+
+    @Override
+    public File getFile() {
+        return resource.getFile();
+    }
+
+    @Override
+    public Path getFilePath() {
+        return resource.getFilePath();
+    }
+
+    @Override
+    public File getResourceManagerRoot() {
+        return resource.getResourceManagerRoot();
+    }
+
+    @Override
+    public Path getResourceManagerRootPath() {
+        return resource.getResourceManagerRootPath();
+    }
+
+    @Override
+    public URL getUrl() {
+        return resource.getUrl();
+    }
+
+}
@@ -0,0 +1,425 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.handler.resource;
+
+import com.aspectran.utils.Assert;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.server.handlers.resource.ResourceSupplier;
+import io.undertow.util.ETag;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link ResourceSupplier} that keeps the static resources of a {@link ResourceManager}
+ * in memory and serves precompressed variants of them.
+ * <p>The contents of resources up to {@link ResourceCacheConfig#getMaxFileSize()} are
+ * read once into direct byte buffers and served from memory; the total size of cached
+ * contents is bounded by {@link ResourceCacheConfig#getMaxSize()}, evicting the least
+ * recently used contents first. Each cached entry is revalidated against the
+ * last-modified time and size of the underlying resource at most once every
+ * {@link ResourceCacheConfig#getCheckInterval()} milliseconds, and is reloaded if
+ * either has changed. The strong ETag and the Last-Modified header value of an entry
+ * are computed once when it is loaded.</p>
+ * <p>Lookups of resources that do not exist, such as precompressed variants that were
+ * never generated, are remembered separately from the cached entries so that they do
+ * not evict them. At most {@link ResourceCacheConfig#getMaxMissingEntries()} such
+ * lookups are remembered, and each is checked again after the check interval.</p>
+ * <p>If the client accepts one of the configured content encodings and a sibling file
+ * with the corresponding extension exists (e.g. {@code app.js.br} or {@code app.js.gz}
+ * for {@code app.js}), that file is served instead with the matching
+ * {@code Content-Encoding} header, so that it need not be compressed on every request.</p>
+ *
+ * @since 9.6.5
+ */
+public class CachingResourceSupplier implements ResourceSupplier {
+
+    private static final String BROTLI = "br";
+
+    private static final String GZIP = "gzip";
+
+    private final ResourceManager resourceManager;
+
+    private final long maxSize;
+
+    private final long maxFileSize;
+
+    private final int maxEntries;
+
+    private final int maxMissingEntries;
+
+    private final long checkInterval;
+
+    private final String[] encodings;
+
+    private final String[] extensions;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** The next check times of the resources known not to exist, guarded by {@code entries} */
+    private final LinkedHashMap<String, Long> missingEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cachedBytes;
+
+    /**
+     * Instantiates a new CachingResourceSupplier.
+     * @param resourceManager the resource manager that provides the resources
+     * @param cacheConfig the cache settings
+     */
+    public CachingResourceSupplier(ResourceManager resourceManager, ResourceCacheConfig cacheConfig) {
+        Assert.notNull(resourceManager, "resourceManager must not be null");
+        Assert.notNull(cacheConfig, "cacheConfig must not be null");
+        this.resourceManager = resourceManager;
+        this.maxSize = cacheConfig.getMaxSize();
+        this.maxFileSize = Math.min(cacheConfig.getMaxFileSize(), Integer.MAX_VALUE);
+        this.maxEntries = cacheConfig.getMaxEntries();
+        this.maxMissingEntries = cacheConfig.getMaxMissingEntries();
+        this.checkInterval = cacheConfig.getCheckInterval();
+        String[] precompressedEncodings = cacheConfig.getPrecompressedEncodings();
+        this.encodings = new String[precompressedEncodings.length];
+        this.extensions = new String[precompressedEncodings.length];
+        for (int i = 0; i < precompressedEncodings.length; i++) {
+            String encoding = precompressedEncodings[i].trim().toLowerCase(Locale.ROOT);
+            if (BROTLI.equals(encoding)) {
+                extensions[i] = ".br";
+            } else if (GZIP.equals(encoding)) {
+                extensions[i] = ".gz";
+            } else {
+                throw new IllegalArgumentException("Unknown precompressed content encoding '" +
+                        precompressedEncodings[i] + "'");
+            }
+            encodings[i] = encoding;
+        }
+    }
+
+    /**
+     * Returns the resource manager that provides the resources.
+     * @return the resource manager
+     */
+    public ResourceManager getResourceManager() {
+        return resourceManager;
+    }
+
+    /**
+     * Returns the number of bytes of resource contents currently held in memory.
+     * @return the number of cached bytes
+     */
+    public long getCachedBytes() {
+        synchronized (entries) {
+            return cachedBytes;
+        }
+    }
+
+    /**
+     * Removes all cached entries.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            missingEntries.clear();
+            cachedBytes = 0L;
+        }
+    }
+
+    @Override
+    @Nullable
+    public Resource getResource(@NonNull HttpServerExchange exchange, String path) throws IOException {
+        Entry entry = getEntry(path, -1);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.directory || encodings.length == 0) {
+            return entry.resource;
+        }
+        HeaderValues acceptEncodings = exchange.getRequestHeaders().get(Headers.ACCEPT_ENCODING);
+        boolean varies = false;
+        for (int i = 0; i < encodings.length; i++) {
+            Entry variant = getEntry(path, i);
+            if (variant != null && !variant.directory) {
+                varies = true;
+                if (isAcceptable(acceptEncodings, encodings[i])) {
+                    exchange.getResponseHeaders().put(Headers.CONTENT_ENCODING, encodings[i]);
+                    exchange.getResponseHeaders().add(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+                    return variant.resource;
+                }
+            }
+        }
+        if (varies) {
+            exchange.getResponseHeaders().add(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+        }
+        return entry.resource;
+    }
+
+    @Nullable
+    private Entry getEntry(String path, int encodingIndex) throws IOException {
+        String key = (encodingIndex < 0 ? path : path + extensions[encodingIndex]);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null && isKnownMissing(key)) {
+                return null;
+            }
+        }
+        if (entry != null && !isStale(entry)) {
+            return entry;
+        }
+        entry = load(key, path, encodingIndex);
+        synchronized (entries) {
+            if (entry == null) {
+                Entry old = entries.remove(key);
+                if (old != null) {
+                    cachedBytes -= old.size;
+                }
+                addMissing(key);
+                return null;
+            }
+            missingEntries.remove(key);
+            Entry old = entries.put(key, entry);
+            if (old != null) {
+                cachedBytes -= old.size;
+            }
+            cachedBytes += entry.size;
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while ((cachedBytes > maxSize || entries.size() > maxEntries) && it.hasNext()) {
+                Entry eldest = it.next().getValue();
+                it.remove();
+                cachedBytes -= eldest.size;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Returns whether the given resource is remembered not to exist and is not
+     * yet due to be checked again. Must be called while holding the lock on
+     * {@code entries}.
+     */
+    private boolean isKnownMissing(String key) {
+        Long nextCheckTime = missingEntries.get(key);
+        if (nextCheckTime == null) {
+            return false;
+        }
+        if (checkInterval < 0L || System.currentTimeMillis() < nextCheckTime) {
+            return true;
+        }
+        missingEntries.remove(key);
+        return false;
+    }
+
+    /**
+     * Remembers that the given resource does not exist, evicting the least
+     * recently used lookups beyond the limit. Must be called while holding
+     * the lock on {@code entries}.
+     */
+    private void addMissing(String key) {
+        if (maxMissingEntries <= 0) {
+            return;
+        }
+        long nextCheckTime = (checkInterval > 0L ? System.currentTimeMillis() + checkInterval : 0L);
+        missingEntries.put(key, nextCheckTime);
+        Iterator<String> it = missingEntries.keySet().iterator();
+        while (missingEntries.size() > maxMissingEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private boolean isStale(@NonNull Entry entry) throws IOException {
+        if (checkInterval < 0L) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (now < entry.nextCheckTime) {
+            return false;
+        }
+        Resource resource = resourceManager.getResource(entry.key);
+        boolean stale = (resource == null || lastModifiedOf(resource) != entry.lastModified ||
+                !Objects.equals(resource.getContentLength(), entry.contentLength));
+        if (!stale) {
+            entry.nextCheckTime = now + checkInterval;
+        }
+        return stale;
+    }
+
+    @Nullable
+    private Entry load(String key, String path, int encodingIndex) throws IOException {
+        Resource resource = resourceManager.getResource(key);
+        if (resource == null) {
+            return null;
+        }
+        long lastModified = lastModifiedOf(resource);
+        Long contentLength = resource.getContentLength();
+        if (resource.isDirectory()) {
+            return new Entry(key, resource, true, lastModified, contentLength, 0);
+        }
+        ByteBuffer content = null;
+        if (contentLength != null && contentLength <= maxFileSize && contentLength <= maxSize) {
+            content = readContent(resource, contentLength.intValue());
+        }
+        String encoding = (encodingIndex < 0 ? null : encodings[encodingIndex]);
+        ETag eTag = createETag(resource, lastModified, contentLength, encoding);
+        Date lastModifiedDate = (lastModified > 0L ? new Date(lastModified) : null);
+        CachedStaticResource cachedResource = new CachedStaticResource(
+                resource, path, encoding, lastModifiedDate, contentLength, content, eTag);
+        return new Entry(key, cachedResource, false, lastModified, contentLength,
+                (content != null ? content.capacity() : 0));
+    }
+
+    @Nullable
+    private static ETag createETag(Resource resource, long lastModified, Long contentLength, String encoding) {
+        if (lastModified <= 0L || contentLength == null) {
+            return resource.getETag();
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(Long.toHexString(lastModified)).append('-').append(Long.toHexString(contentLength));
+        if (encoding != null) {
+            sb.append('-').append(encoding);
+        }
+        return new ETag(false, sb.toString());
+    }
+
+    @Nullable
+    private static ByteBuffer readContent(@NonNull Resource resource, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+        Path filePath = resource.getFilePath();
+        if (filePath != null) {
+            try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+                fill(channel, buffer);
+            }
+        } else {
+            URL url = resource.getUrl();
+            if (url == null) {
+                return null;
+            }
+            try (InputStream input = url.openStream(); ReadableByteChannel channel = Channels.newChannel(input)) {
+                fill(channel, buffer);
+            }
+        }
+        if (buffer.hasRemaining()) {
+            // The resource was shrunk while being read
+            return null;
+        }
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private static void fill(@NonNull ReadableByteChannel channel, @NonNull ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                break;
+            }
+        }
+    }
+
+    private static long lastModifiedOf(@NonNull Resource resource) {
+        Date lastModified = resource.getLastModified();
+        return (lastModified != null ? lastModified.getTime() : 0L);
+    }
+
+    /**
+     * Returns whether the given Accept-Encoding header values accept the given
+     * content encoding with a non-zero quality value. An explicit entry for the
+     * encoding takes precedence over the {@code *} wildcard wherever it appears.
+     */
+    static boolean isAcceptable(@Nullable Iterable<String> acceptEncodings, String encoding) {
+        if (acceptEncodings == null) {
+            return false;
+        }
+        Boolean wildcardAccepted = null;
+        for (String value : acceptEncodings) {
+            for (String token : value.split(",")) {
+                String coding = token;
+                String params = null;
+                int semicolon = token.indexOf(';');
+                if (semicolon != -1) {
+                    coding = token.substring(0, semicolon);
+                    params = token.substring(semicolon + 1);
+                }
+                coding = coding.trim();
+                if (coding.equalsIgnoreCase(encoding)) {
+                    return (params == null || !isZeroQuality(params));
+                } else if (coding.equals("*") && wildcardAccepted == null) {
+                    wildcardAccepted = (params == null || !isZeroQuality(params));
+                }
+            }
+        }
+        return (wildcardAccepted != null && wildcardAccepted);
+    }
+
+    private static boolean isZeroQuality(@NonNull String params) {
+        for (String param : params.split(";")) {
+            param = param.trim();
+            if (param.startsWith("q=") || param.startsWith("Q=")) {
+                try {
+                    return (Float.parseFloat(param.substring(2).trim()) <= 0.0f);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A cached resource, along with the metadata it is revalidated against.
+     */
+    private static final class Entry {
+
+        final String key;
+
+        final Resource resource;
+
+        final boolean directory;
+
+        final long lastModified;
+
+        final Long contentLength;
+
+        final int size;
+
+        volatile long nextCheckTime;
+
+        Entry(String key, Resource resource, boolean directory, long lastModified, Long contentLength, int size) {
+            this.key = key;
+            this.resource = resource;
+            this.directory = directory;
+            this.lastModified = lastModified;
+            this.contentLength = contentLength;
+            this.size = size;
+        }
+
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.handler.resource;
+
+import com.aspectran.utils.DataSizeUtils;
+import com.aspectran.utils.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Settings for the in-memory cache of static resources used by the {@link TowResourceHandler}.
+ * <p>This class can be configured as a bean and passed to a request handler factory
+ * to enable caching of static resources. See {@link CachingResourceSupplier} for how
+ * the cache behaves.</p>
+ *
+ * @since 9.6.5
+ */
+public class ResourceCacheConfig {
+
+    private static final long DEFAULT_MAX_SIZE = 32L * 1024L * 1024L;
+
+    private static final long DEFAULT_MAX_FILE_SIZE = 1024L * 1024L;
+
+    private static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private static final int DEFAULT_MAX_MISSING_ENTRIES = 1024;
+
+    private static final long DEFAULT_CHECK_INTERVAL = 2000L;
+
+    private static final String[] DEFAULT_PRECOMPRESSED_ENCODINGS = { "br", "gzip" };
+
+    private long maxSize = DEFAULT_MAX_SIZE;
+
+    private long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    private int maxMissingEntries = DEFAULT_MAX_MISSING_ENTRIES;
+
+    private long checkInterval = DEFAULT_CHECK_INTERVAL;
+
+    private String[] precompressedEncodings = DEFAULT_PRECOMPRESSED_ENCODINGS;
+
+    /**
+     * Instantiates a new ResourceCacheConfig with the default settings.
+     */
+    public ResourceCacheConfig() {
+    }
+
+    /**
+     * Returns the maximum number of bytes of resource contents held in memory.
+     * @return the maximum cache size in bytes
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of bytes of resource contents held in memory.
+     * When exceeded, the least recently used contents are evicted.
+     * The default is 32MB.
+     * @param maxSize the maximum cache size in bytes
+     */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Sets the maximum number of bytes of resource contents held in memory using
+     * a human-readable format (e.g., "64MB").
+     * @param maxSize the maximum cache size in a human-readable format
+     */
+    public void setMaxSize(String maxSize) {
+        this.maxSize = DataSizeUtils.toMachineFriendlyByteSize(maxSize);
+    }
+
+    /**
+     * Returns the maximum size of a resource whose contents are held in memory.
+     * @return the maximum file size in bytes
+     */
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * Sets the maximum size of a resource whose contents are held in memory.
+     * Larger resources are still cached, but only their metadata; their contents
+     * are served by the underlying resource. The default is 1MB.
+     * @param maxFileSize the maximum file size in bytes
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Sets the maximum size of a resource whose contents are held in memory using
+     * a human-readable format (e.g., "512KB").
+     * @param maxFileSize the maximum file size in a human-readable format
+     */
+    public void setMaxFileSize(String maxFileSize) {
+        this.maxFileSize = DataSizeUtils.toMachineFriendlyByteSize(maxFileSize);
+    }
+
+    /**
+     * Returns the maximum number of cached entries.
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets the maximum number of cached entries. Lookups of resources that do
+     * not exist are not counted; see {@link #setMaxMissingEntries(int)}.
+     * The default is 1024.
+     * @param maxEntries the maximum number of entries
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the maximum number of remembered lookups of resources that do not exist.
+     * @return the maximum number of missing entries
+     */
+    public int getMaxMissingEntries() {
+        return maxMissingEntries;
+    }
+
+    /**
+     * Sets the maximum number of remembered lookups of resources that do not
+     * exist, such as precompressed variants that were never generated. These
+     * are held apart from the cached entries and are checked again after the
+     * check interval. A value of zero does not remember them. The default is 1024.
+     * @param maxMissingEntries the maximum number of missing entries
+     */
+    public void setMaxMissingEntries(int maxMissingEntries) {
+        this.maxMissingEntries = maxMissingEntries;
+    }
+
+    /**
+     * Returns the interval at which a cached entry is checked against the
+     * last-modified time of the underlying resource.
+     * @return the check interval in milliseconds
+     */
+    public long getCheckInterval() {
+        return checkInterval;
+    }
+
+    /**
+     * Sets the interval at which a cached entry is checked against the
+     * last-modified time of the underlying resource. A value of zero checks
+     * on every request, and a negative value never checks. The default is
+     * 2000 milliseconds.
+     * @param checkInterval the check interval in milliseconds
+     */
+    public void setCheckInterval(long checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * Returns the content encodings whose precompressed variants are served.
+     * @return the content encodings in order of preference
+     */
+    public String[] getPrecompressedEncodings() {
+        return precompressedEncodings;
+    }
+
+    /**
+     * Sets the content encodings whose precompressed variants are served, in order
+     * of preference. Supported encodings are "br" and "gzip", whose variants are
+     * the sibling files with the ".br" and ".gz" extensions. The default is both,
+     * with "br" preferred.
+     * @param precompressedEncodings the content encodings
+     */
+    public void setPrecompressedEncodings(String... precompressedEncodings) {
+        this.precompressedEncodings = (precompressedEncodings != null ? precompressedEncodings : new String[0]);
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("maxSize", maxSize);
+        tsb.append("maxFileSize", maxFileSize);
+        tsb.append("maxEntries", maxEntries);
+        tsb.append("maxMissingEntries", maxMissingEntries);
+        tsb.append("checkInterval", checkInterval);
+        tsb.append("precompressedEncodings", Arrays.toString(precompressedEncodings));
+        return tsb.toString();
+    }
+
+}
@@ -47,6 +47,8 @@ public class TowResourceHandler extends ResourceHandler {
 
     private volatile IncludeExcludeWildcardPatterns pathPatterns;
 
+    private CachingResourceSupplier cachingResourceSupplier;
+
     /**
      * Instantiates a new TowResourceHandler.
      * @param resourceManager the resource manager to use
@@ -94,6 +96,25 @@ public class TowResourceHandler extends ResourceHandler {
         this.pathPatterns = IncludeExcludeWildcardPatterns.of(pathPatterns, '/');
     }
 
+    /**
+     * Enables in-memory caching of the static resources provided by the resource manager,
+     * including serving of precompressed variants.
+     * @param resourceCacheConfig the cache settings
+     * @see CachingResourceSupplier
+     * @since 9.6.5
+     */
+    public void setResourceCacheConfig(ResourceCacheConfig resourceCacheConfig) {
+        if (resourceCacheConfig == null) {
+            throw new IllegalArgumentException("resourceCacheConfig must not be null");
+        }
+        ResourceManager resourceManager = resolveResourceManager();
+        if (resourceManager == null) {
+            throw new IllegalStateException("No resource manager to cache resources from");
+        }
+        cachingResourceSupplier = new CachingResourceSupplier(resourceManager, resourceCacheConfig);
+        setResourceSupplier(cachingResourceSupplier);
+    }
+
     /**
      * Automatically detects and registers common static resource directories and files
      * from the resource manager's base path.
@@ -102,7 +123,7 @@ public class TowResourceHandler extends ResourceHandler {
      */
     public void autoDetect(String pathPrefix) throws IOException {
         Set<String> staticResources = null;
-        if (getResourceManager() instanceof StaticResourceResolvable resolvable) {
+        if (resolveResourceManager() instanceof StaticResourceResolvable resolvable) {
             staticResources = resolvable.findStaticResources();
         }
 
@@ -155,6 +176,14 @@ public class TowResourceHandler extends ResourceHandler {
         return (pathPatterns != null);
     }
 
+    private ResourceManager resolveResourceManager() {
+        if (cachingResourceSupplier != null) {
+            return cachingResourceSupplier.getResourceManager();
+        } else {
+            return getResourceManager();
+        }
+    }
+
     /**
      * Handles the request by checking if the path matches the configured static resource patterns.
      * If it matches, the resource is served. Otherwise, the request is passed to the next handler.
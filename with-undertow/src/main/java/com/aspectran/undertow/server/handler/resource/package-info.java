@@ -18,6 +18,8 @@
  * <p>This package contains extensions of Undertow's resource handling capabilities,
  * such as the {@link com.aspectran.undertow.server.handler.resource.TowResourceHandler},
  * which allows for conditional serving of static resources based on URL patterns,
- * enabling seamless integration with Aspectran's dynamic request processing.</p>
+ * enabling seamless integration with Aspectran's dynamic request processing.
+ * {@link com.aspectran.undertow.server.handler.resource.CachingResourceSupplier}
+ * keeps frequently requested resources in memory and serves precompressed variants.</p>
  */
 package com.aspectran.undertow.server.handler.resource;
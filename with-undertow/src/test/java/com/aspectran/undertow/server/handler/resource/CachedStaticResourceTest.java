@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.handler.resource;
+
+import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.util.DateUtils;
+import io.undertow.util.ETag;
+import io.undertow.util.MimeMappings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link CachedStaticResource}.
+ */
+class CachedStaticResourceTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    private PathResourceManager resourceManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.write(root.resolve("app.js"), CONTENT);
+        Files.write(root.resolve("app.js.gz"), new byte[] {1, 2, 3});
+        resourceManager = new PathResourceManager(root);
+    }
+
+    @Test
+    void testServeFromMemory() throws Exception {
+        Resource resource = resourceManager.getResource("/app.js");
+        ByteBuffer content = ByteBuffer.wrap(CONTENT).asReadOnlyBuffer();
+        CachedStaticResource cachedResource = new CachedStaticResource(
+                resource, "/app.js", null, resource.getLastModified(),
+                (long)CONTENT.length, content, new ETag(false, "abc"));
+
+        List<String> sent = new ArrayList<>();
+        Sender sender = createSender(sent);
+        cachedResource.serve(sender, new HttpServerExchange(null), null);
+        cachedResource.serve(sender, new HttpServerExchange(null), null);
+        assertEquals(List.of("0123456789", "0123456789"), sent);
+        assertEquals(0, content.position());
+        assertTrue(cachedResource.isRangeSupported());
+    }
+
+    @Test
+    void testServeRange() throws Exception {
+        Resource resource = resourceManager.getResource("/app.js");
+        ByteBuffer content = ByteBuffer.wrap(CONTENT).asReadOnlyBuffer();
+        CachedStaticResource cachedResource = new CachedStaticResource(
+                resource, "/app.js", null, resource.getLastModified(),
+                (long)CONTENT.length, content, null);
+
+        List<String> sent = new ArrayList<>();
+        cachedResource.serveRange(createSender(sent), new HttpServerExchange(null), 2, 4, null);
+        assertEquals(List.of("234"), sent);
+        assertEquals(CONTENT.length, content.limit());
+    }
+
+    @Test
+    void testMetadata() throws Exception {
+        Resource resource = resourceManager.getResource("/app.js");
+        Date lastModified = new Date(1700000000000L);
+        ETag eTag = new ETag(false, "18bcfe56800-a");
+        CachedStaticResource cachedResource = new CachedStaticResource(
+                resource, "/app.js", null, lastModified, (long)CONTENT.length, null, eTag);
+        assertEquals("/app.js", cachedResource.getPath());
+        assertEquals("app.js", cachedResource.getName());
+        assertSame(lastModified, cachedResource.getLastModified());
+        assertEquals(DateUtils.toDateString(lastModified), cachedResource.getLastModifiedString());
+        assertSame(eTag, cachedResource.getETag());
+        assertEquals(CONTENT.length, cachedResource.getContentLength());
+        assertEquals(resource.getFilePath(), cachedResource.getFilePath());
+        assertFalse(cachedResource.isDirectory());
+    }
+
+    @Test
+    void testPrecompressedVariant() throws Exception {
+        Resource variant = resourceManager.getResource("/app.js.gz");
+        CachedStaticResource cachedResource = new CachedStaticResource(
+                variant, "/app.js", "gzip", variant.getLastModified(), 3L, null, null);
+        assertEquals("/app.js", cachedResource.getPath());
+        assertEquals("app.js", cachedResource.getName());
+        assertEquals(MimeMappings.DEFAULT.getMimeType("js"), cachedResource.getContentType(MimeMappings.DEFAULT));
+        assertEquals(3L, cachedResource.getContentLength());
+    }
+
+    /**
+     * Creates a sender that records the content of every buffer sent to it.
+     */
+    private static Sender createSender(List<String> sent) {
+        return (Sender)Proxy.newProxyInstance(
+                CachedStaticResourceTest.class.getClassLoader(),
+                new Class<?>[] {Sender.class},
+                (proxy, method, args) -> {
+                    if ("send".equals(method.getName()) && args != null && args[0] instanceof ByteBuffer buffer) {
+                        byte[] bytes = new byte[buffer.remaining()];
+                        buffer.get(bytes);
+                        sent.add(new String(bytes, StandardCharsets.UTF_8));
+                    }
+                    return null;
+                });
+    }
+
+}
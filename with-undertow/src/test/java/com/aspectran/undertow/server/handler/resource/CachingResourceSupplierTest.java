@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.handler.resource;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.util.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link CachingResourceSupplier}.
+ */
+class CachingResourceSupplierTest {
+
+    @TempDir
+    Path root;
+
+    private final Map<String, Integer> lookups = new ConcurrentHashMap<>();
+
+    private ResourceManager resourceManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(root.resolve("app.js"), "console.log('hello, world');");
+        Files.write(root.resolve("app.js.br"), new byte[] {1, 2, 3, 4});
+        Files.write(root.resolve("app.js.gz"), new byte[] {1, 2, 3, 4, 5, 6});
+        Files.writeString(root.resolve("style.css"), "body { margin: 0; }");
+        resourceManager = createCountingResourceManager(new PathResourceManager(root));
+    }
+
+    @Test
+    void testCacheHit() throws Exception {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setCheckInterval(-1L);
+        CachingResourceSupplier supplier = new CachingResourceSupplier(resourceManager, config);
+
+        Resource resource1 = supplier.getResource(new HttpServerExchange(null), "/app.js");
+        Resource resource2 = supplier.getResource(new HttpServerExchange(null), "/app.js");
+        assertNotNull(resource1);
+        assertSame(resource1, resource2);
+        assertEquals(1, lookupsOf("/app.js"));
+        assertEquals(1, lookupsOf("/app.js.br"));
+        assertEquals(1, lookupsOf("/app.js.gz"));
+        assertEquals(sizeOf("app.js") + sizeOf("app.js.br") + sizeOf("app.js.gz"), supplier.getCachedBytes());
+    }
+
+    @Test
+    void testPrecompressedVariants() throws Exception {
+        CachingResourceSupplier supplier = new CachingResourceSupplier(resourceManager, new ResourceCacheConfig());
+
+        HttpServerExchange exchange = createExchange("gzip, deflate, br");
+        Resource resource = supplier.getResource(exchange, "/app.js");
+        assertNotNull(resource);
+        assertEquals("br", exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        assertEquals(Headers.ACCEPT_ENCODING_STRING, exchange.getResponseHeaders().getFirst(Headers.VARY));
+        assertEquals("/app.js", resource.getPath());
+        assertEquals(sizeOf("app.js.br"), resource.getContentLength());
+
+        exchange = createExchange("gzip, br;q=0");
+        resource = supplier.getResource(exchange, "/app.js");
+        assertNotNull(resource);
+        assertEquals("gzip", exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        assertEquals(sizeOf("app.js.gz"), resource.getContentLength());
+
+        exchange = createExchange(null);
+        resource = supplier.getResource(exchange, "/app.js");
+        assertNotNull(resource);
+        assertNull(exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        assertEquals(Headers.ACCEPT_ENCODING_STRING, exchange.getResponseHeaders().getFirst(Headers.VARY));
+        assertEquals(sizeOf("app.js"), resource.getContentLength());
+
+        // Variants and their ETags are distinct from the original resource
+        Resource original = supplier.getResource(createExchange(null), "/app.js");
+        Resource variant = supplier.getResource(createExchange("gzip"), "/app.js");
+        assertNotNull(original);
+        assertNotNull(variant);
+        assertFalse(original.getETag().getTag().equals(variant.getETag().getTag()));
+    }
+
+    @Test
+    void testEvictionByMaxSize() throws Exception {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setPrecompressedEncodings();
+        config.setCheckInterval(-1L);
+        config.setMaxSize(sizeOf("app.js") + sizeOf("style.css") - 1L);
+        CachingResourceSupplier supplier = new CachingResourceSupplier(resourceManager, config);
+
+        supplier.getResource(createExchange(null), "/app.js");
+        supplier.getResource(createExchange(null), "/style.css");
+        assertEquals(sizeOf("style.css"), supplier.getCachedBytes());
+
+        supplier.getResource(createExchange(null), "/style.css");
+        assertEquals(1, lookupsOf("/style.css"));
+        supplier.getResource(createExchange(null), "/app.js");
+        assertEquals(2, lookupsOf("/app.js"));
+    }
+
+    @Test
+    void testEvictionByMaxEntries() throws Exception {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setPrecompressedEncodings();
+        config.setCheckInterval(-1L);
+        config.setMaxEntries(1);
+        CachingResourceSupplier supplier = new CachingResourceSupplier(resourceManager, config);
+
+        supplier.getResource(createExchange(null), "/app.js");
+        supplier.getResource(createExchange(null), "/style.css");
+        assertEquals(sizeOf("style.css"), supplier.getCachedBytes());
+        supplier.getResource(createExchange(null), "/app.js");
+        assertEquals(2, lookupsOf("/app.js"));
+    }
+
+    @Test
+    void testMissingLookupsDoNotEvictEntries() throws Exception {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setCheckInterval(-1L);
+        config.setMaxEntries(1);
+        CachingResourceSupplier supplier = new CachingResourceSupplier(resourceManager, config);
+
+        // style.css has no precompressed variants, so each request also looks them up
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(supplier.getResource(createExchange("br, gzip"), "/style.css"));
+            assertNull(supplier.getResource(createExchange(null), "/missing.css"));
+        }
+        assertEquals(1, lookupsOf("/style.css"));
+        assertEquals(1, lookupsOf("/style.css.br"));
+        assertEquals(1, lookupsOf("/style.css.gz"));
+        assertEquals(1, lookupsOf("/missing.css"));
+        assertEquals(sizeOf("style.css"), supplier.getCachedBytes());
+    }
+
+    @Test
+    void testMaxMissingEntries() throws Exception {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setPrecompressedEncodings("gzip");
+        config.setCheckInterval(-1L);
+        config.setMaxMissingEntries(1);
+        CachingResourceSupplier supplier = new CachingResourceSupplier(resourceManager, config);
+
+        supplier.getResource(createExchange(null), "/style.css");
+        supplier.getResource(createExchange(null), "/style.css");
+        assertEquals(1, lookupsOf("/style.css.gz"));
+
+        // Remembering another missing resource evicts the eldest one
+        supplier.getResource(createExchange(null), "/missing.css");
+        supplier.getResource(createExchange(null), "/style.css");
+        assertEquals(2, lookupsOf("/style.css.gz"));
+        assertEquals(1, lookupsOf("/style.css"));
+    }
+
+    @Test
+    void testMissingResourceIsCheckedAgain() throws Exception {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setPrecompressedEncodings();
+        config.setCheckInterval(0L);
+        CachingResourceSupplier supplier = new CachingResourceSupplier(resourceManager, config);
+
+        assertNull(supplier.getResource(createExchange(null), "/late.css"));
+        Files.writeString(root.resolve("late.css"), "p { color: red; }");
+        Resource resource = supplier.getResource(createExchange(null), "/late.css");
+        assertNotNull(resource);
+        assertEquals(sizeOf("late.css"), resource.getContentLength());
+    }
+
+    @Test
+    void testModifiedResourceIsReloaded() throws Exception {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setPrecompressedEncodings();
+        config.setCheckInterval(0L);
+        CachingResourceSupplier supplier = new CachingResourceSupplier(resourceManager, config);
+
+        Resource resource1 = supplier.getResource(createExchange(null), "/style.css");
+        Files.writeString(root.resolve("style.css"), "body { margin: 0; padding: 0; }");
+        Resource resource2 = supplier.getResource(createExchange(null), "/style.css");
+        assertNotNull(resource1);
+        assertNotNull(resource2);
+        assertEquals(sizeOf("style.css"), resource2.getContentLength());
+        assertEquals(sizeOf("style.css"), supplier.getCachedBytes());
+    }
+
+    @Test
+    void testUnknownEncoding() {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setPrecompressedEncodings("deflate");
+        assertThrows(IllegalArgumentException.class, () -> new CachingResourceSupplier(resourceManager, config));
+    }
+
+    @Test
+    void testIsAcceptable() {
+        assertFalse(CachingResourceSupplier.isAcceptable(null, "br"));
+        assertTrue(CachingResourceSupplier.isAcceptable(List.of("gzip, br"), "br"));
+        assertTrue(CachingResourceSupplier.isAcceptable(List.of("gzip", "BR;q=0.5"), "br"));
+        assertTrue(CachingResourceSupplier.isAcceptable(List.of("*"), "gzip"));
+        assertFalse(CachingResourceSupplier.isAcceptable(List.of("gzip, br;q=0"), "br"));
+        assertFalse(CachingResourceSupplier.isAcceptable(List.of("br; q=0.0"), "br"));
+        assertFalse(CachingResourceSupplier.isAcceptable(List.of("deflate"), "gzip"));
+        assertTrue(CachingResourceSupplier.isAcceptable(List.of("gzip;q=invalid"), "gzip"));
+        // an explicit coding overrides the wildcard regardless of their order
+        assertFalse(CachingResourceSupplier.isAcceptable(List.of("*, br;q=0"), "br"));
+        assertFalse(CachingResourceSupplier.isAcceptable(List.of("*", "br;q=0"), "br"));
+        assertTrue(CachingResourceSupplier.isAcceptable(List.of("*, br;q=0"), "gzip"));
+        assertTrue(CachingResourceSupplier.isAcceptable(List.of("*;q=0, gzip"), "gzip"));
+        assertFalse(CachingResourceSupplier.isAcceptable(List.of("*;q=0, gzip"), "br"));
+    }
+
+    private int lookupsOf(String path) {
+        return lookups.getOrDefault(path, 0);
+    }
+
+    private long sizeOf(String name) throws Exception {
+        return Files.size(root.resolve(name));
+    }
+
+    private static HttpServerExchange createExchange(String acceptEncoding) {
+        HttpServerExchange exchange = new HttpServerExchange(null);
+        if (acceptEncoding != null) {
+            exchange.getRequestHeaders().put(Headers.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return exchange;
+    }
+
+    /**
+     * Creates a resource manager that counts the lookups of each path.
+     */
+    private ResourceManager createCountingResourceManager(ResourceManager resourceManager) {
+        return (ResourceManager)Proxy.newProxyInstance(
+                CachingResourceSupplierTest.class.getClassLoader(),
+                new Class<?>[] {ResourceManager.class},
+                (proxy, method, args) -> {
+                    if ("getResource".equals(method.getName())) {
+                        lookups.merge((String)args[0], 1, Integer::sum);
+                    }
+                    try {
+                        return method.invoke(resourceManager, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+}
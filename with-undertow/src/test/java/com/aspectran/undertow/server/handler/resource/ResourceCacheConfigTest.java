@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-present The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.handler.resource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link ResourceCacheConfig}.
+ */
+class ResourceCacheConfigTest {
+
+    @Test
+    void testDefaults() {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        assertEquals(32L * 1024L * 1024L, config.getMaxSize());
+        assertEquals(1024L * 1024L, config.getMaxFileSize());
+        assertEquals(1024, config.getMaxEntries());
+        assertEquals(1024, config.getMaxMissingEntries());
+        assertEquals(2000L, config.getCheckInterval());
+        assertArrayEquals(new String[] {"br", "gzip"}, config.getPrecompressedEncodings());
+    }
+
+    @Test
+    void testHumanReadableSizes() {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setMaxSize("64MB");
+        config.setMaxFileSize("512KB");
+        assertEquals(64L * 1024L * 1024L, config.getMaxSize());
+        assertEquals(512L * 1024L, config.getMaxFileSize());
+    }
+
+    @Test
+    void testNoPrecompressedEncodings() {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setPrecompressedEncodings((String[])null);
+        assertEquals(0, config.getPrecompressedEncodings().length);
+    }
+
+    @Test
+    void testToString() {
+        ResourceCacheConfig config = new ResourceCacheConfig();
+        config.setMaxMissingEntries(16);
+        String str = config.toString();
+        assertTrue(str.contains("maxMissingEntries=16"), str);
+        assertTrue(str.contains("checkInterval=2000"), str);
+    }
+
+}